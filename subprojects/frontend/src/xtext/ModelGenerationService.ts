@@ -27,6 +27,8 @@ export default class ModelGenerationService {
       this.store.setGeneratedModelMessage(result.uuid, result.status);
     } else if ('error' in result) {
       this.store.setGeneratedModelError(result.uuid, result.error);
+    } else if ('solutionCount' in result) {
+      // Every solution was already displayed when it was streamed to us.
     } else {
       this.store.setGeneratedModelSemantics(result.uuid, result);
     }
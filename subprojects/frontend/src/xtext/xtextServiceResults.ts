@@ -189,6 +189,11 @@ export const ModelGenerationResult = z.union([
     uuid: z.string().nonempty(),
     error: z.string(),
   }),
+  z.object({
+    uuid: z.string().nonempty(),
+    solutionCount: z.number(),
+    timedOut: z.boolean(),
+  }),
   SemanticsSuccessResult.extend({
     uuid: z.string().nonempty(),
   }),
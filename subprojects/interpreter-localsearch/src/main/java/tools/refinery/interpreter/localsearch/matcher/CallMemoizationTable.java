@@ -0,0 +1,170 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.matcher;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import tools.refinery.interpreter.matchers.backend.IQueryResultProvider;
+import tools.refinery.interpreter.matchers.context.IQueryRuntimeContext;
+import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+
+/**
+ * Memoizes the results of pattern calls made by search operations as long as the model is not modified.
+ *
+ * <p> Results are keyed by the called query, its adornment, the parameter mask of the call site, and the values of the
+ * bound parameters. Call sites that bind the same parameters of the called query in a different order don't share
+ * their results. Lookups probe the table with the (possibly volatile) parameter tuple of the call site, and only
+ * create an immutable copy of it if a new result has to be stored. The table is
+ * cleared whenever the {@link IQueryRuntimeContext#getModificationCount() modification count} of the runtime context
+ * changes, and the least recently used results are evicted if the table grows above its maximum size. If the runtime
+ * context does not track modifications, calls are passed to the called matcher without memoization.
+ *
+ * @since 3.0
+ * @noreference This class is not intended to be referenced by clients.
+ */
+public class CallMemoizationTable {
+
+    /**
+     * Passes all calls to the called matcher without memoization.
+     */
+    public static final CallMemoizationTable DISABLED = new CallMemoizationTable(null, 0);
+
+    private final IQueryRuntimeContext runtimeContext;
+    private final Map<Key, Entry> entries;
+    private final Key probe = new Key();
+    private long modificationCount = -1;
+
+    public CallMemoizationTable(IQueryRuntimeContext runtimeContext, int maximumSize) {
+        this.runtimeContext = runtimeContext;
+        if (maximumSize > 0) {
+            entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        } else {
+            entries = null;
+        }
+    }
+
+    public boolean hasMatch(CallWithAdornment call, IQueryResultProvider matcher, TupleMask parameterMask,
+            ITuple parameters) {
+        Entry entry = getEntry(call, parameterMask, parameters);
+        if (entry == null) {
+            return matcher.hasMatch(parameterMask, parameters);
+        }
+        if (entry.matches != null) {
+            return !entry.matches.isEmpty();
+        }
+        if (entry.count != null) {
+            return entry.count > 0;
+        }
+        if (entry.hasMatch == null) {
+            entry.hasMatch = matcher.hasMatch(parameterMask, parameters);
+        }
+        return entry.hasMatch;
+    }
+
+    public int countMatches(CallWithAdornment call, IQueryResultProvider matcher, TupleMask parameterMask,
+            ITuple parameters) {
+        Entry entry = getEntry(call, parameterMask, parameters);
+        if (entry == null) {
+            return matcher.countMatches(parameterMask, parameters);
+        }
+        if (entry.matches != null) {
+            return entry.matches.size();
+        }
+        if (entry.count == null) {
+            entry.count = matcher.countMatches(parameterMask, parameters);
+        }
+        return entry.count;
+    }
+
+    public Stream<Tuple> getAllMatches(CallWithAdornment call, IQueryResultProvider matcher, TupleMask parameterMask,
+            ITuple parameters) {
+        Entry entry = getEntry(call, parameterMask, parameters);
+        if (entry == null) {
+            return matcher.getAllMatches(parameterMask, parameters);
+        }
+        if (entry.matches == null) {
+            entry.matches = matcher.getAllMatches(parameterMask, parameters).collect(Collectors.toList());
+        }
+        return entry.matches.stream();
+    }
+
+    private Entry getEntry(CallWithAdornment call, TupleMask parameterMask, ITuple parameters) {
+        if (entries == null) {
+            return null;
+        }
+        long currentModificationCount = runtimeContext.getModificationCount();
+        if (currentModificationCount < 0) {
+            return null;
+        }
+        if (currentModificationCount != modificationCount) {
+            entries.clear();
+            modificationCount = currentModificationCount;
+        }
+        MatcherReference reference = call.getMatcherReference();
+        int hashCode = 31 * (31 * reference.hashCode() + parameterMask.hashCode()) + parameters.hashCode();
+        probe.set(reference, parameterMask, parameters, hashCode);
+        Entry entry = entries.get(probe);
+        if (entry == null) {
+            entry = new Entry();
+            Key key = new Key();
+            key.set(reference, parameterMask, parameters.toImmutable(), hashCode);
+            entries.put(key, entry);
+        }
+        // Do not keep a reference to the volatile parameters of the call site.
+        probe.boundValues = null;
+        return entry;
+    }
+
+    /**
+     * Keys stored in the table are never modified. Only the {@link #probe} is reused for lookups.
+     */
+    private static final class Key {
+        private MatcherReference reference;
+        private TupleMask parameterMask;
+        private ITuple boundValues;
+        private int hashCode;
+
+        void set(MatcherReference reference, TupleMask parameterMask, ITuple boundValues, int hashCode) {
+            this.reference = reference;
+            this.parameterMask = parameterMask;
+            this.boundValues = boundValues;
+            this.hashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (obj == null || getClass() != obj.getClass())
+                return false;
+            Key other = (Key) obj;
+            return hashCode == other.hashCode && reference.equals(other.reference)
+                    && parameterMask.equals(other.parameterMask) && boundValues.equals(other.boundValues);
+        }
+    }
+
+    private static final class Entry {
+        private Boolean hasMatch;
+        private Integer count;
+        private List<Tuple> matches;
+    }
+}
@@ -60,6 +60,15 @@ public interface ISearchContext {
      */
     Logger getLogger();
 
+    /**
+     * Returns the table memoizing the results of pattern calls in the current state of the model.
+     *
+     * @since 3.0
+     */
+    default CallMemoizationTable getCallMemoizationTable() {
+        return CallMemoizationTable.DISABLED;
+    }
+
     /**
      * @noreference This class is not intended to be referenced by clients.
      * @noimplement This interface is not intended to be implemented by clients.
@@ -72,15 +81,28 @@ public interface ISearchContext {
         private final ICache backendLevelCache;
         private final Logger logger;
         private final ResultProviderRequestor resultProviderRequestor;
+        private final CallMemoizationTable callMemoizationTable;
 
         /**
          * Initializes a search context using an arbitrary backend context
          */
         public SearchContext(IQueryBackendContext backendContext, ICache backendLevelCache,
                 ResultProviderRequestor resultProviderRequestor) {
+            this(backendContext, backendLevelCache, resultProviderRequestor, CallMemoizationTable.DISABLED);
+        }
+
+        /**
+         * Initializes a search context using an arbitrary backend context that memoizes pattern calls in the given
+         * table
+         *
+         * @since 3.0
+         */
+        public SearchContext(IQueryBackendContext backendContext, ICache backendLevelCache,
+                ResultProviderRequestor resultProviderRequestor, CallMemoizationTable callMemoizationTable) {
             this.resultProviderRequestor = resultProviderRequestor;
             this.runtimeContext = backendContext.getRuntimeContext();
             this.logger = backendContext.getLogger();
+            this.callMemoizationTable = callMemoizationTable;
 
             this.backendLevelCache = backendLevelCache;
         }
@@ -116,5 +138,10 @@ public interface ISearchContext {
             return logger;
         }
 
+        @Override
+        public CallMemoizationTable getCallMemoizationTable() {
+            return callMemoizationTable;
+        }
+
     }
 }
@@ -19,6 +19,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -27,6 +28,7 @@ import tools.refinery.interpreter.localsearch.MatchingFrame;
 import tools.refinery.interpreter.localsearch.plan.IPlanDescriptor;
 import tools.refinery.interpreter.localsearch.plan.SearchPlan;
 import tools.refinery.interpreter.localsearch.plan.SearchPlanExecutor;
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
 import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
@@ -65,6 +67,7 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
         protected final Set<ITuple> matchSet;
         protected VolatileModifiableMaskedTuple parametersOfFrameView;
         private boolean isNextMatchCalculated;
+        private boolean started;
 
         public PlanExecutionIterator(final Iterator<SearchPlanExecutor> planIterator) {
             this.planIterator = planIterator;
@@ -116,6 +119,7 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
 
         @Override
         public boolean hasNext() {
+            started = true;
             if (isNextMatchCalculated) {
                 return true;
             }
@@ -146,6 +150,53 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
             matchSet.add(match);
             return match;
         }
+
+        /**
+         * Enumerates all matches without suspending the search after each of them, which lets search plans run
+         * their specialized code if available.
+         */
+        @Override
+        public void forEachRemaining(Consumer<? super Tuple> action) {
+            if (started || !adapters.isEmpty()) {
+                Iterator.super.forEachRemaining(action);
+                return;
+            }
+            started = true;
+            while (currentPlan != null) {
+                currentPlan.forEachMatch(frame, matchingFrame -> {
+                    if (!matchSet.contains(parametersOfFrameView)) {
+                        final Tuple match = parametersOfFrameView.toImmutable();
+                        matchSet.add(match);
+                        action.accept(match);
+                    }
+                });
+                selectNextPlan();
+            }
+        }
+    }
+
+    private static final class PlanExecutionSpliterator extends Spliterators.AbstractSpliterator<Tuple> {
+
+        private final Iterator<Tuple> iterator;
+
+        public PlanExecutionSpliterator(Iterator<Tuple> iterator) {
+            super(Long.MAX_VALUE, Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.DISTINCT);
+            this.iterator = iterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tuple> action) {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            action.accept(iterator.next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Tuple> action) {
+            iterator.forEachRemaining(action);
+        }
     }
 
     private class PlanExecutionIteratorWithArrayParameters extends PlanExecutionIterator {
@@ -218,9 +269,19 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
      * @since 2.0
      */
     public LocalSearchMatcher(ISearchContext searchContext, IPlanDescriptor planDescriptor, List<SearchPlan> plan) {
+        this(searchContext, planDescriptor, plan, null);
+    }
+
+    /**
+     * @param codeGenerator the generator used to specialize search plans, or {@code null} to always interpret them
+     * @since 3.0
+     */
+    public LocalSearchMatcher(ISearchContext searchContext, IPlanDescriptor planDescriptor, List<SearchPlan> plan,
+            ISearchPlanCodeGenerator codeGenerator) {
         Preconditions.checkArgument(planDescriptor != null, "Cannot initialize matcher with null query.");
         this.planDescriptor = planDescriptor;
-        this.plan = plan.stream().map(p -> new SearchPlanExecutor(p, searchContext)).collect(Collectors.toList());
+        this.plan = plan.stream().map(p -> new SearchPlanExecutor(p, searchContext, codeGenerator))
+                .collect(Collectors.toList());
         this.adapters = new LinkedList<>();
     }
 
@@ -268,8 +329,7 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
     public Stream<Tuple> streamMatches(final Object[] parameterValues) {
         matchingStarted();
         PlanExecutionIterator it = new PlanExecutionIteratorWithArrayParameters(plan.iterator(), parameterValues);
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it,
-                Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+        return StreamSupport.stream(new PlanExecutionSpliterator(it), false);
     }
 
     /**
@@ -279,8 +339,7 @@ public final class LocalSearchMatcher implements ILocalSearchAdaptable {
         matchingStarted();
         PlanExecutionIterator it = new PlanExecutionIteratorWithTupleParameters(
                 plan.iterator(), parameterSeedMask, parameterValues);
-        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(it,
-                Spliterator.IMMUTABLE | Spliterator.NONNULL | Spliterator.DISTINCT), false);
+        return StreamSupport.stream(new PlanExecutionSpliterator(it), false);
     }
 
     /**
@@ -28,7 +28,9 @@ import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import tools.refinery.interpreter.localsearch.exceptions.LocalSearchException;
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
 import tools.refinery.interpreter.localsearch.planner.compiler.IOperationCompiler;
+import tools.refinery.interpreter.localsearch.matcher.CallMemoizationTable;
 import tools.refinery.interpreter.localsearch.matcher.CallWithAdornment;
 import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
 import tools.refinery.interpreter.localsearch.matcher.LocalSearchMatcher;
@@ -79,6 +81,9 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
     protected final IPlanProvider planProvider;
     private static final String PLAN_CACHE_KEY = AbstractLocalSearchResultProvider.class.getName() + "#planCache";
     private final Map<MatcherReference, IPlanDescriptor> planCache;
+    private static final String PLAN_STATISTICS_CACHE_KEY = AbstractLocalSearchResultProvider.class.getName()
+            + "#planStatisticsCache";
+    private final Map<MatcherReference, PlanStatistics> planStatisticsCache;
     protected final ISearchContext searchContext;
     /**
      * @since 2.1
@@ -99,8 +104,12 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
         this.userHints = userHints;
         this.runtimeContext = context.getRuntimeContext();
         this.resultProviderRequestor = backend.getResultProviderRequestor(query, userHints);
-        this.searchContext = new ISearchContext.SearchContext(backendContext, backend.getCache(), resultProviderRequestor);
+        CallMemoizationTable callMemoizationTable = new CallMemoizationTable(runtimeContext,
+                overrideDefaultHints(query).getCallMemoizationSize());
+        this.searchContext = new ISearchContext.SearchContext(backendContext, backend.getCache(),
+                resultProviderRequestor, callMemoizationTable);
         this.planCache = backend.getCache().getValue(PLAN_CACHE_KEY, Map.class, HashMap::new);
+        this.planStatisticsCache = backend.getCache().getValue(PLAN_STATISTICS_CACHE_KEY, Map.class, HashMap::new);
     }
 
     protected abstract IOperationCompiler getOperationCompiler(IQueryBackendContext backendContext, LocalSearchHints configuration);
@@ -114,7 +123,8 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
                 .map(input -> new SearchPlan(input.getBody(), input.getCompiledOperations(), input.calculateParameterMask(),
                         input.getVariableKeys()))
                 .collect(Collectors.toList());
-        return new LocalSearchMatcher(searchContext, plan, executors);
+        ISearchPlanCodeGenerator codeGenerator = overrideDefaultHints(query).getSearchPlanCodeGenerator();
+        return new LocalSearchMatcher(searchContext, plan, executors, codeGenerator);
     }
 
     private IPlanDescriptor getOrCreatePlan(MatcherReference key, IQueryBackendContext backendContext, IOperationCompiler compiler, LocalSearchHints configuration, IPlanProvider planProvider) {
@@ -306,6 +316,20 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
         final MatcherReference reference = new MatcherReference(query, adornment, userHints);
 
         IPlanDescriptor plan = getOrCreatePlan(reference, planProvider);
+        PlanStatistics statistics = null;
+        double deviationFactor = overrideDefaultHints(query).getReplanningCostDeviationFactor();
+        if (deviationFactor > 1) {
+            statistics = planStatisticsCache.get(reference);
+            if (statistics == null || statistics.getPlan() != plan) {
+                statistics = new PlanStatistics(plan);
+                planStatisticsCache.put(reference, statistics);
+            } else if (statistics.isDrifted(deviationFactor)) {
+                planCache.remove(reference);
+                plan = getOrCreatePlan(reference, planProvider);
+                statistics = statistics.replan(plan);
+                planStatisticsCache.put(reference, statistics);
+            }
+        }
         if (overrideDefaultHints(reference.getQuery()).isUseBase()){
             try {
                 indexKeys(plan.getIteratedKeys());
@@ -316,6 +340,9 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
 
         LocalSearchMatcher matcher = createMatcher(plan, searchContext);
         matcher.addAdapters(backend.getAdapters());
+        if (statistics != null) {
+            matcher.addAdapter(statistics);
+        }
         return matcher;
     }
 
@@ -517,6 +544,7 @@ public abstract class AbstractLocalSearchResultProvider implements IQueryResultP
      */
     public void forgetAllPlans() {
         planCache.clear();
+        planStatisticsCache.clear();
     }
 
     /**
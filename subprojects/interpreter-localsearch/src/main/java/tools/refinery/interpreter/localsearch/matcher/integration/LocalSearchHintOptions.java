@@ -8,6 +8,7 @@
  *******************************************************************************/
 package tools.refinery.interpreter.localsearch.matcher.integration;
 
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
 import tools.refinery.interpreter.localsearch.planner.cost.ICostFunction;
 import tools.refinery.interpreter.localsearch.planner.cost.impl.IndexerBasedConstraintCostFunction;
 import tools.refinery.interpreter.matchers.backend.ICallDelegationStrategy;
@@ -63,6 +64,36 @@ public final class LocalSearchHintOptions {
     public static final QueryHintOption<IAdornmentProvider> ADORNMENT_PROVIDER =
             hintOption("ADORNMENT_PROVIDER", new AllValidAdornments());
 
+    /**
+     * Maximal number of pattern call results memoized by the matcher of a query while the model is not modified. Set
+     * to 0 to disable memoization. Memoization only takes effect if the runtime context tracks modifications of the
+     * model.
+     *
+     * @since 3.0
+     */
+    public static final QueryHintOption<Integer> CALL_MEMOIZATION_SIZE =
+            hintOption("CALL_MEMOIZATION_SIZE", 0);
+
+    /**
+     * Generator used to specialize search plans to the operations they execute. Set to {@code null} to always
+     * interpret search plans.
+     *
+     * @since 3.0
+     */
+    public static final QueryHintOption<ISearchPlanCodeGenerator> SEARCH_PLAN_CODE_GENERATOR =
+            hintOption("SEARCH_PLAN_CODE_GENERATOR", null);
+
+    /**
+     * Maximal factor by which the average observed cost of executing a search plan may deviate from the cost estimated
+     * by the planner before the plan is discarded and re-planned using the current statistics of the model. Set to 0
+     * to disable re-planning. Observing the costs requires interpreting search plans with adapters, therefore
+     * {@link #SEARCH_PLAN_CODE_GENERATOR} has no effect if re-planning is enabled.
+     *
+     * @since 3.0
+     */
+    public static final QueryHintOption<Double> REPLANNING_COST_DEVIATION_FACTOR =
+            hintOption("REPLANNING_COST_DEVIATION_FACTOR", 0.0);
+
     // internal helper for conciseness
     private static <T, V extends T> QueryHintOption<T> hintOption(String hintKeyLocalName, V defaultValue) {
         return new QueryHintOption<>(LocalSearchHintOptions.class, hintKeyLocalName, defaultValue);
@@ -8,6 +8,7 @@
  *******************************************************************************/
 package tools.refinery.interpreter.localsearch.matcher.integration;
 
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
 import tools.refinery.interpreter.localsearch.planner.cost.ICostFunction;
 import tools.refinery.interpreter.localsearch.planner.cost.impl.IndexerBasedConstraintCostFunction;
 import tools.refinery.interpreter.localsearch.planner.cost.impl.StatisticsBasedConstraintCostFunction;
@@ -48,6 +49,12 @@ public final class LocalSearchHints implements IMatcherCapability {
 
     private IQueryBackendFactory backendFactory = null;
 
+    private Integer callMemoizationSize = null;
+
+    private ISearchPlanCodeGenerator searchPlanCodeGenerator = null;
+
+    private Double replanningCostDeviationFactor = null;
+
     private LocalSearchHints() {}
 
     /**
@@ -77,6 +84,8 @@ public final class LocalSearchHints implements IMatcherCapability {
         result.callDelegationStrategy = ICallDelegationStrategy.FULL_BACKEND_ADHESION;
         result.adornmentProvider = new LazyPlanningAdornments();
         result.backendFactory = LocalSearchGenericBackendFactory.INSTANCE;
+        result.callMemoizationSize = CALL_MEMOIZATION_SIZE.getDefaultValue();
+        result.replanningCostDeviationFactor = REPLANNING_COST_DEVIATION_FACTOR.getDefaultValue();
         return result;
     }
 
@@ -114,6 +123,9 @@ public final class LocalSearchHints implements IMatcherCapability {
         result.costFunction = PLANNER_COST_FUNCTION.getValueOrNull(hint);
         result.adornmentProvider = ADORNMENT_PROVIDER.getValueOrNull(hint);
         result.traceCollector = normalizationTraceCollector.getValueOrDefault(hint);
+        result.callMemoizationSize = CALL_MEMOIZATION_SIZE.getValueOrNull(hint);
+        result.searchPlanCodeGenerator = SEARCH_PLAN_CODE_GENERATOR.getValueOrNull(hint);
+        result.replanningCostDeviationFactor = REPLANNING_COST_DEVIATION_FACTOR.getValueOrNull(hint);
 
         return result;
     }
@@ -142,6 +154,15 @@ public final class LocalSearchHints implements IMatcherCapability {
         if (traceCollector != null){
             normalizationTraceCollector.insertOverridingValue(map, traceCollector);
         }
+        if (callMemoizationSize != null){
+            CALL_MEMOIZATION_SIZE.insertOverridingValue(map, callMemoizationSize);
+        }
+        if (searchPlanCodeGenerator != null){
+            SEARCH_PLAN_CODE_GENERATOR.insertOverridingValue(map, searchPlanCodeGenerator);
+        }
+        if (replanningCostDeviationFactor != null){
+            REPLANNING_COST_DEVIATION_FACTOR.insertOverridingValue(map, replanningCostDeviationFactor);
+        }
         return map;
     }
 
@@ -206,6 +227,28 @@ public final class LocalSearchHints implements IMatcherCapability {
         return traceCollector == null ? normalizationTraceCollector.getDefaultValue() : traceCollector;
     }
 
+    /**
+     * @since 3.0
+     */
+    public int getCallMemoizationSize() {
+        return callMemoizationSize == null ? CALL_MEMOIZATION_SIZE.getDefaultValue() : callMemoizationSize;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public ISearchPlanCodeGenerator getSearchPlanCodeGenerator() {
+        return searchPlanCodeGenerator;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public double getReplanningCostDeviationFactor() {
+        return replanningCostDeviationFactor == null ? REPLANNING_COST_DEVIATION_FACTOR.getDefaultValue()
+                : replanningCostDeviationFactor;
+    }
+
     public LocalSearchHints setUseBase(boolean useBase) {
         this.useBase = useBase;
         return this;
@@ -251,6 +294,30 @@ public final class LocalSearchHints implements IMatcherCapability {
         return this;
     }
 
+    /**
+     * @since 3.0
+     */
+    public LocalSearchHints setCallMemoizationSize(int callMemoizationSize) {
+        this.callMemoizationSize = callMemoizationSize;
+        return this;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public LocalSearchHints setSearchPlanCodeGenerator(ISearchPlanCodeGenerator searchPlanCodeGenerator) {
+        this.searchPlanCodeGenerator = searchPlanCodeGenerator;
+        return this;
+    }
+
+    /**
+     * @since 3.0
+     */
+    public LocalSearchHints setReplanningCostDeviationFactor(double replanningCostDeviationFactor) {
+        this.replanningCostDeviationFactor = replanningCostDeviationFactor;
+        return this;
+    }
+
     public static LocalSearchHints customizeUseBase(boolean useBase){
         return new LocalSearchHints().setUseBase(useBase);
     }
@@ -288,6 +355,27 @@ public final class LocalSearchHints implements IMatcherCapability {
         return new LocalSearchHints().setTraceCollector(traceCollector);
     }
 
+    /**
+     * @since 3.0
+     */
+    public static LocalSearchHints customizeCallMemoizationSize(int callMemoizationSize){
+        return new LocalSearchHints().setCallMemoizationSize(callMemoizationSize);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public static LocalSearchHints customizeSearchPlanCodeGenerator(ISearchPlanCodeGenerator searchPlanCodeGenerator){
+        return new LocalSearchHints().setSearchPlanCodeGenerator(searchPlanCodeGenerator);
+    }
+
+    /**
+     * @since 3.0
+     */
+    public static LocalSearchHints customizeReplanningCostDeviationFactor(double replanningCostDeviationFactor){
+        return new LocalSearchHints().setReplanningCostDeviationFactor(replanningCostDeviationFactor);
+    }
+
     @Override
     public boolean canBeSubstitute(IMatcherCapability capability) {
         if (capability instanceof LocalSearchHints){
@@ -0,0 +1,192 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.matcher.integration;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.matcher.ILocalSearchAdapter;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.plan.IPlanDescriptor;
+import tools.refinery.interpreter.localsearch.plan.SearchPlan;
+import tools.refinery.interpreter.localsearch.plan.SearchPlanForBody;
+import tools.refinery.interpreter.matchers.psystem.PBody;
+
+/**
+ * Collects the number of successful executions of each search operation of a plan and compares them to the cost
+ * estimated by the planner.
+ *
+ * <p> The planner estimates the cost of a body as the expected number of partial matches produced by its operations,
+ * which corresponds to the number of successful operation executions in a single execution of the body. The plan is
+ * considered drifted if the observed average differs from the estimate by more than a given factor in either
+ * direction.
+ *
+ * <p> Only executions that enumerate every match of a body are recorded. Calls like
+ * {@link AbstractLocalSearchResultProvider#hasMatch(Object[])} stop at the first match, so their cost has nothing to do
+ * with the estimate of the planner. The executions of each search plan are buffered until the first operation of the
+ * plan fails, which means that the search was exhausted, and discarded if the plan is initialized again before.
+ *
+ * <p> To avoid re-planning repeatedly if the estimates of the planner are inherently imprecise, the number of
+ * executions required before comparing the costs is doubled each time the plan is replaced.
+ *
+ * @since 3.0
+ */
+final class PlanStatistics implements ILocalSearchAdapter {
+
+    private static final int INITIAL_MINIMUM_RUNS = 8;
+    private static final int MAXIMUM_MINIMUM_RUNS = 1024;
+
+    private final IPlanDescriptor plan;
+    private final int minimumRuns;
+    private final Map<PBody, BodyStatistics> bodyStatistics = new HashMap<>();
+    private final Map<SearchPlan, BodyRun> currentRuns = new WeakHashMap<>();
+    private SearchPlan lastSearchPlan;
+    private BodyRun lastRun;
+
+    PlanStatistics(IPlanDescriptor plan) {
+        this(plan, INITIAL_MINIMUM_RUNS);
+    }
+
+    private PlanStatistics(IPlanDescriptor plan, int minimumRuns) {
+        this.plan = plan;
+        this.minimumRuns = minimumRuns;
+        for (SearchPlanForBody body : plan.getPlan()) {
+            bodyStatistics.put(body.getBody(), new BodyStatistics(body));
+        }
+    }
+
+    public IPlanDescriptor getPlan() {
+        return plan;
+    }
+
+    /**
+     * Creates empty statistics for a plan replacing the plan of these statistics.
+     */
+    public PlanStatistics replan(IPlanDescriptor newPlan) {
+        return new PlanStatistics(newPlan, Math.min(2 * minimumRuns, MAXIMUM_MINIMUM_RUNS));
+    }
+
+    /**
+     * Returns the number of successful executions of the given operation in the fully enumerated executions observed
+     * so far.
+     */
+    public long getSuccessfulExecutions(ISearchOperation operation) {
+        for (BodyStatistics statistics : bodyStatistics.values()) {
+            Integer index = statistics.operationIndices.get(operation);
+            if (index != null) {
+                return statistics.successfulExecutions[index];
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns whether the observed cost of any body deviates from its estimated cost by more than the given factor.
+     */
+    public boolean isDrifted(double deviationFactor) {
+        for (BodyStatistics statistics : bodyStatistics.values()) {
+            if (statistics.runs < minimumRuns) {
+                continue;
+            }
+            // Add one to both costs to avoid dividing by zero for plans estimated on an empty model.
+            double observedCost = (double) statistics.totalSuccessfulExecutions / statistics.runs + 1;
+            double estimatedCost = statistics.estimatedCost + 1;
+            double ratio = observedCost / estimatedCost;
+            if (ratio > deviationFactor || ratio * deviationFactor < 1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void executorInitializing(SearchPlan searchPlan, MatchingFrame frame) {
+        BodyRun run = getRun(searchPlan);
+        if (run != null) {
+            // Any previous execution of the plan was abandoned before enumerating all matches.
+            run.clear();
+        }
+    }
+
+    @Override
+    public void operationExecuted(SearchPlan searchPlan, ISearchOperation operation, MatchingFrame frame,
+            boolean isSuccessful) {
+        BodyRun run = getRun(searchPlan);
+        if (run == null) {
+            return;
+        }
+        Integer index = run.statistics.operationIndices.get(operation);
+        if (index == null) {
+            return;
+        }
+        if (isSuccessful) {
+            run.successfulExecutions[index]++;
+        } else if (index == 0) {
+            // Backtracking from the first operation means that all matches were enumerated.
+            run.statistics.record(run.successfulExecutions);
+            run.clear();
+        }
+    }
+
+    private BodyRun getRun(SearchPlan searchPlan) {
+        // Operations of the same body are executed in a row, so we avoid looking up the body for each operation.
+        if (searchPlan != lastSearchPlan) {
+            lastSearchPlan = searchPlan;
+            lastRun = currentRuns.computeIfAbsent(searchPlan, key -> {
+                BodyStatistics statistics = bodyStatistics.get(key.getSourceBody());
+                return statistics == null ? null : new BodyRun(statistics);
+            });
+        }
+        return lastRun;
+    }
+
+    private static final class BodyStatistics {
+        private final double estimatedCost;
+        private final Map<ISearchOperation, Integer> operationIndices = new IdentityHashMap<>();
+        private final long[] successfulExecutions;
+        private long totalSuccessfulExecutions;
+        private long runs;
+
+        BodyStatistics(SearchPlanForBody body) {
+            estimatedCost = body.getCost();
+            List<ISearchOperation> operations = body.getCompiledOperations();
+            for (int i = 0; i < operations.size(); i++) {
+                operationIndices.put(operations.get(i), i);
+            }
+            successfulExecutions = new long[operations.size()];
+        }
+
+        void record(long[] runSuccessfulExecutions) {
+            for (int i = 0; i < successfulExecutions.length; i++) {
+                successfulExecutions[i] += runSuccessfulExecutions[i];
+                totalSuccessfulExecutions += runSuccessfulExecutions[i];
+            }
+            runs++;
+        }
+    }
+
+    /**
+     * The successful executions of the operations of a search plan in its current, not yet finished execution.
+     */
+    private static final class BodyRun {
+        private final BodyStatistics statistics;
+        private final long[] successfulExecutions;
+
+        BodyRun(BodyStatistics statistics) {
+            this.statistics = statistics;
+            successfulExecutions = new long[statistics.successfulExecutions.length];
+        }
+
+        void clear() {
+            Arrays.fill(successfulExecutions, 0);
+        }
+    }
+}
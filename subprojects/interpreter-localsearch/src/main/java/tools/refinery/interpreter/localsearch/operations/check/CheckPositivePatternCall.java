@@ -48,7 +48,8 @@ public class CheckPositivePatternCall implements ISearchOperation, IPatternMatch
          * @since 1.5
          */
         protected boolean check(MatchingFrame frame, ISearchContext context) {
-            return matcher.hasMatch(information.getParameterMask(), maskedTuple);
+            return context.getCallMemoizationTable().hasMatch(information.getCallWithAdornment(), matcher,
+                    information.getParameterMask(), maskedTuple);
         }
 
         @Override
@@ -47,7 +47,8 @@ public class CountCheck implements ISearchOperation, IPatternMatcherOperation {
 
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
-            int count = matcher.countMatches(information.getParameterMask(), maskedTuple);
+            int count = context.getCallMemoizationTable().countMatches(information.getCallWithAdornment(), matcher,
+                    information.getParameterMask(), maskedTuple);
             return ((Integer)frame.getValue(position)) == count;
         }
 
@@ -17,7 +17,7 @@ import tools.refinery.interpreter.localsearch.MatchingFrame;
 import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
 import tools.refinery.interpreter.localsearch.operations.CheckOperationExecutor;
 import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
-import tools.refinery.interpreter.localsearch.operations.MatchingFrameValueProvider;
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 
 /**
@@ -31,7 +31,7 @@ public class ExpressionCheck implements ISearchOperation {
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
             try {
-                boolean result = (Boolean) evaluator.evaluateExpression(new MatchingFrameValueProvider(frame, nameMap));
+                boolean result = (Boolean) boundEvaluator.evaluateExpression(frame);
                 return result;
             } catch (Exception e) {
                 context.getLogger().warn("Error while evaluating expression", e);
@@ -46,12 +46,14 @@ public class ExpressionCheck implements ISearchOperation {
     }
 
     IExpressionEvaluator evaluator;
+    private final IBoundExpressionEvaluator boundEvaluator;
     Map<String, Integer> nameMap;
 
     public ExpressionCheck(IExpressionEvaluator evaluator, Map<String, Integer> nameMap) {
         super();
         this.evaluator = evaluator;
         this.nameMap = nameMap;
+        this.boundEvaluator = evaluator.bind(nameMap);
     }
 
     @Override
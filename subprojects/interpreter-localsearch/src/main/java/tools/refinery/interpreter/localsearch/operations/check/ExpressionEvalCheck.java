@@ -18,7 +18,7 @@ import tools.refinery.interpreter.localsearch.MatchingFrame;
 import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
 import tools.refinery.interpreter.localsearch.operations.CheckOperationExecutor;
 import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
-import tools.refinery.interpreter.localsearch.operations.MatchingFrameValueProvider;
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 
 /**
@@ -33,7 +33,7 @@ public class ExpressionEvalCheck implements ISearchOperation {
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
             try {
-                Object result = evaluator.evaluateExpression(new MatchingFrameValueProvider(frame, nameMap));
+                Object result = boundEvaluator.evaluateExpression(frame);
                 if (!unwind && result != null) {
                     Object currentValue = frame.get(outputPosition);
                     return result.equals(currentValue);
@@ -55,6 +55,7 @@ public class ExpressionEvalCheck implements ISearchOperation {
 
     private final int outputPosition;
     private final IExpressionEvaluator evaluator;
+    private final IBoundExpressionEvaluator boundEvaluator;
     private final Map<String, Integer> nameMap;
     private final boolean unwind;
 
@@ -67,6 +68,7 @@ public class ExpressionEvalCheck implements ISearchOperation {
      */
     public ExpressionEvalCheck(IExpressionEvaluator evaluator, Map<String, Integer> nameMap, boolean unwind, int position) {
         this.evaluator = evaluator;
+        this.boundEvaluator = evaluator.bind(nameMap);
         this.nameMap = nameMap;
         this.unwind = unwind;
         this.outputPosition = position;
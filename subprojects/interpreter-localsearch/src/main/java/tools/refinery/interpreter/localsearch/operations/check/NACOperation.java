@@ -43,7 +43,8 @@ public class NACOperation implements ISearchOperation, IPatternMatcherOperation
 
         @Override
         protected boolean check(MatchingFrame frame, ISearchContext context) {
-            return !matcher.hasMatch(information.getParameterMask(), maskedTuple);
+            return !context.getCallMemoizationTable().hasMatch(information.getCallWithAdornment(), matcher,
+                    information.getParameterMask(), maskedTuple);
         }
 
         @Override
@@ -19,7 +19,7 @@ import java.util.function.Function;
 import tools.refinery.interpreter.localsearch.MatchingFrame;
 import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
 import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
-import tools.refinery.interpreter.localsearch.operations.MatchingFrameValueProvider;
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 
 /**
@@ -39,7 +39,7 @@ public class ExpressionEval implements ISearchOperation {
         @Override
         public Iterator<?> getIterator(MatchingFrame frame, ISearchContext context) {
             try {
-                Object result = evaluator.evaluateExpression(new MatchingFrameValueProvider(frame, nameMap));
+                Object result = boundEvaluator.evaluateExpression(frame);
                 if (!unwind && result != null){
                     return Collections.singletonList(result).iterator();
                 } else if (unwind && result instanceof Set<?>) {
@@ -60,6 +60,7 @@ public class ExpressionEval implements ISearchOperation {
     }
 
     private final IExpressionEvaluator evaluator;
+    private final IBoundExpressionEvaluator boundEvaluator;
     private final boolean unwind;
     private final Map<String, Integer> nameMap;
     private final int position;
@@ -73,6 +74,7 @@ public class ExpressionEval implements ISearchOperation {
      */
     public ExpressionEval(IExpressionEvaluator evaluator, Map<String, Integer> nameMap, boolean unwind, int position) {
         this.evaluator = evaluator;
+        this.boundEvaluator = evaluator.bind(nameMap);
         this.nameMap = nameMap;
         this.unwind = unwind;
         this.position = position;
@@ -41,7 +41,8 @@ public class ExtendPositivePatternCall implements ISearchOperation, IPatternMatc
         protected Iterator<? extends Tuple> getIterator(MatchingFrame frame, ISearchContext context) {
             maskedTuple.updateTuple(frame);
             IQueryResultProvider matcher = context.getMatcher(information.getCallWithAdornment());
-            return matcher.getAllMatches(information.getParameterMask(), maskedTuple).iterator();
+            return context.getCallMemoizationTable().getAllMatches(information.getCallWithAdornment(), matcher,
+                    information.getParameterMask(), maskedTuple).iterator();
         }
 
         /**
@@ -0,0 +1,39 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.plan;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation.ISearchOperationExecutor;
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
+
+/**
+ * A search plan specialized by an {@link ISearchPlanCodeGenerator}. Unlike {@link SearchPlanExecutor}, it enumerates
+ * all matches of the plan in a single call, therefore, it can't be suspended after a match is found.
+ *
+ * <p> A compiled search plan keeps no state between calls, so it may be shared by every executor of its plan and
+ * may be called again from the action of an ongoing call.
+ *
+ * @since 3.0
+ */
+public interface ICompiledSearchPlan {
+
+    /**
+     * Executes the search plan starting from the given frame and calls the action for every match found. The frame
+     * passed to the action is modified as the search continues, so the action has to copy any values it keeps.
+     *
+     * @param executors the executors created from the operations of the plan, in the order of the operations
+     * @param context the search context of the executors
+     * @param frame the frame to start the search from
+     * @param action the action to call for every match
+     */
+    void forEachMatch(List<ISearchOperationExecutor> executors, ISearchContext context, MatchingFrame frame,
+            Consumer<MatchingFrame> action);
+
+}
@@ -14,6 +14,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.apache.log4j.Logger;
@@ -22,6 +23,7 @@ import tools.refinery.interpreter.localsearch.matcher.ILocalSearchAdaptable;
 import tools.refinery.interpreter.localsearch.matcher.ILocalSearchAdapter;
 import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
 import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
 import tools.refinery.interpreter.localsearch.MatchingFrame;
 import tools.refinery.interpreter.matchers.InterpreterRuntimeException;
 import tools.refinery.interpreter.matchers.psystem.PVariable;
@@ -39,6 +41,7 @@ public class SearchPlanExecutor implements ILocalSearchAdaptable {
     private final SearchPlan plan;
     private final ISearchContext context;
     private final List<ILocalSearchAdapter> adapters = new CopyOnWriteArrayList<>();
+    private final ICompiledSearchPlan compiledPlan;
 
     /**
      * @since 2.0
@@ -85,11 +88,20 @@ public class SearchPlanExecutor implements ILocalSearchAdaptable {
      * @since 2.0
      */
     public SearchPlanExecutor(SearchPlan plan, ISearchContext context) {
+        this(plan, context, null);
+    }
+
+    /**
+     * @param codeGenerator the generator used to specialize the plan, or {@code null} to always interpret the plan
+     * @since 3.0
+     */
+    public SearchPlanExecutor(SearchPlan plan, ISearchContext context, ISearchPlanCodeGenerator codeGenerator) {
         Preconditions.checkArgument(context != null, "Context cannot be null");
         this.plan = plan;
         this.context = context;
         operations = plan.getOperations().stream().map(ISearchOperation::createExecutor).collect(Collectors.toList());
         this.currentOperation = -1;
+        this.compiledPlan = codeGenerator == null ? null : codeGenerator.generate(plan.getOperations());
     }
 
 
@@ -152,6 +164,24 @@ public class SearchPlanExecutor implements ILocalSearchAdaptable {
         return matchFound;
     }
 
+    /**
+     * Calls the action for all remaining matches of the plan. If the plan was specialized by a code generator and
+     * neither adapters nor a partially executed search prevent it, the specialized plan is executed instead of the
+     * interpreted one.
+     *
+     * @throws InterpreterRuntimeException
+     * @since 3.0
+     */
+    public void forEachMatch(MatchingFrame frame, Consumer<MatchingFrame> action) {
+        if (compiledPlan != null && currentOperation == -1 && adapters.isEmpty()) {
+            compiledPlan.forEachMatch(operations, context, frame, action);
+            return;
+        }
+        while (execute(frame)) {
+            action.accept(frame);
+        }
+    }
+
     public void resetPlan() {
         currentOperation = -1;
     }
@@ -11,6 +11,7 @@ package tools.refinery.interpreter.localsearch.planner;
 import java.util.List;
 
 import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.plan.ICompiledSearchPlan;
 
 /**
  * @author Marton Bur
@@ -20,4 +21,17 @@ public interface ISearchPlanCodeGenerator {
 
     void compile(List<List<ISearchOperation>> plans);
 
+    /**
+     * Generates code specialized to a search plan that enumerates all matches of the plan in a single call.
+     * Implementations should cache the generated code, because this method is called whenever a new executor is
+     * created for the search plan.
+     *
+     * @param operations the operations of the search plan
+     * @return the specialized search plan, or {@code null} if this generator does not support the search plan
+     * @since 3.0
+     */
+    default ICompiledSearchPlan generate(List<ISearchOperation> operations) {
+        return null;
+    }
+
 }
@@ -0,0 +1,40 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.planner.specialization;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation.ISearchOperationExecutor;
+
+/**
+ * Template of the hidden classes defined by {@link ProfileSplittingSearchPlanSpecializer} for each search operation.
+ * This class itself is never instantiated, only its hidden copies are.
+ *
+ * <p> Iterates over the values produced by a search operation and runs the next stage for each of them. The
+ * operation is initialized and backtracked the same way as by the interpreted
+ * {@link tools.refinery.interpreter.localsearch.plan.SearchPlanExecutor}.
+ */
+final class OperationStage extends SearchPlanStage {
+
+    OperationStage(int index, SearchPlanStage next) {
+        super(index, next);
+    }
+
+    @Override
+    public void forEachMatch(List<ISearchOperationExecutor> executors, ISearchContext context, MatchingFrame frame,
+            Consumer<MatchingFrame> action) {
+        ISearchOperationExecutor operation = executors.get(index);
+        operation.onInitialize(frame, context);
+        while (operation.execute(frame, context)) {
+            next.forEachMatch(executors, context, frame, action);
+        }
+        operation.onBacktrack(frame, context);
+    }
+
+}
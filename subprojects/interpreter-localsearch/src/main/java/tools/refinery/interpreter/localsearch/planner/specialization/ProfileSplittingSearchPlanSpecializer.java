@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.planner.specialization;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.exceptions.LocalSearchException;
+import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation.ISearchOperationExecutor;
+import tools.refinery.interpreter.localsearch.plan.ICompiledSearchPlan;
+import tools.refinery.interpreter.localsearch.planner.ISearchPlanCodeGenerator;
+
+/**
+ * Specializes search plans by splitting the JIT type profiles of their steps, without generating any new code.
+ *
+ * <p> Every step of a specialized plan is an instance of its own copy of the {@link OperationStage} template class.
+ * The copies are defined as hidden classes with
+ * {@link MethodHandles.Lookup#defineHiddenClass(byte[], boolean, MethodHandles.Lookup.ClassOption...)} from the
+ * unmodified bytecode of the template. Because the copies are distinct classes, the JIT collects a separate type
+ * profile for every step of every search plan. The calls to the operation executor and to the next step become
+ * monomorphic and can be inlined, while the shared loop of
+ * {@link tools.refinery.interpreter.localsearch.plan.SearchPlanExecutor} sees every operation type at the same call
+ * site. The operations themselves are still called through their {@link ISearchOperationExecutor} interface and the
+ * frame is still stored in a {@link MatchingFrame}.
+ *
+ * <p> Hidden classes and the stages of the specialized plans are cached for each search operation and are unloaded
+ * once the operation is no longer reachable. Specializing a plan that was already specialized only looks up its
+ * stages.
+ *
+ * @since 3.0
+ */
+public class ProfileSplittingSearchPlanSpecializer implements ISearchPlanCodeGenerator {
+
+    public static final ProfileSplittingSearchPlanSpecializer INSTANCE = new ProfileSplittingSearchPlanSpecializer();
+
+    private static final MethodType STAGE_CONSTRUCTOR_TYPE = MethodType.methodType(void.class, int.class,
+            SearchPlanStage.class);
+
+    private final Map<ISearchOperation, MethodHandle> stageConstructors = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final Map<ISearchOperation, SearchPlanStage> stages = Collections.synchronizedMap(new WeakHashMap<>());
+
+    @Override
+    public void compile(List<List<ISearchOperation>> plans) {
+        for (List<ISearchOperation> plan : plans) {
+            generate(plan);
+        }
+    }
+
+    @Override
+    public ICompiledSearchPlan generate(List<ISearchOperation> operations) {
+        SearchPlanStage firstStage = MatchStage.INSTANCE;
+        for (int i = operations.size() - 1; i >= 0; i--) {
+            firstStage = getStage(operations.get(i), i, firstStage);
+        }
+        return firstStage;
+    }
+
+    private SearchPlanStage getStage(ISearchOperation operation, int index, SearchPlanStage next) {
+        SearchPlanStage stage = stages.get(operation);
+        // Operations are not shared between search plans, but we still check that the cached stage belongs to
+        // the same position of the same plan.
+        if (stage != null && stage.index == index && stage.next == next) {
+            return stage;
+        }
+        MethodHandle constructor = stageConstructors.computeIfAbsent(operation, key -> defineStageClass());
+        try {
+            stage = (SearchPlanStage) constructor.invoke(index, next);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new LocalSearchException("Could not instantiate search plan stage for " + operation, e);
+        }
+        stages.put(operation, stage);
+        return stage;
+    }
+
+    private static MethodHandle defineStageClass() {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(TemplateHolder.BYTES, true);
+            return lookup.findConstructor(lookup.lookupClass(), STAGE_CONSTRUCTOR_TYPE);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new LocalSearchException("Could not define search plan stage class", e);
+        }
+    }
+
+    private static final class TemplateHolder {
+        private static final byte[] BYTES = loadTemplate();
+
+        private TemplateHolder() {
+            // Holder for lazy initialization
+        }
+
+        private static byte[] loadTemplate() {
+            String resourceName = OperationStage.class.getSimpleName() + ".class";
+            try (InputStream inputStream = OperationStage.class.getResourceAsStream(resourceName)) {
+                if (inputStream == null) {
+                    throw new LocalSearchException("Could not find search plan stage template " + resourceName);
+                }
+                return inputStream.readAllBytes();
+            } catch (IOException e) {
+                throw new LocalSearchException("Could not load search plan stage template " + resourceName, e);
+            }
+        }
+    }
+
+    private static final class MatchStage extends SearchPlanStage {
+        private static final MatchStage INSTANCE = new MatchStage();
+
+        private MatchStage() {
+            super(-1, null);
+        }
+
+        @Override
+        public void forEachMatch(List<ISearchOperationExecutor> executors, ISearchContext context,
+                MatchingFrame frame, Consumer<MatchingFrame> action) {
+            action.accept(frame);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.planner.specialization;
+
+import tools.refinery.interpreter.localsearch.plan.ICompiledSearchPlan;
+
+/**
+ * A step of a compiled search plan that enumerates the matches of the remaining operations of the plan.
+ *
+ * <p> Stages hold no per-execution state. The executors, the search context and the action are passed along the
+ * chain of stages in every call, therefore, a stage may be shared by all executions of its search plan, including
+ * nested ones.
+ */
+abstract class SearchPlanStage implements ICompiledSearchPlan {
+
+    /**
+     * The index of the operation executed by this stage, or {@code -1} if this stage reports a match.
+     */
+    final int index;
+
+    final SearchPlanStage next;
+
+    SearchPlanStage(int index, SearchPlanStage next) {
+        this.index = index;
+        this.next = next;
+    }
+
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.localsearch.matcher.integration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.plan.PlanDescriptor;
+import tools.refinery.interpreter.localsearch.plan.SearchPlan;
+import tools.refinery.interpreter.localsearch.plan.SearchPlanForBody;
+import tools.refinery.interpreter.matchers.psystem.PBody;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class PlanStatisticsTest {
+    private static final double ESTIMATED_COST = 10;
+    private static final double DEVIATION_FACTOR = 2;
+
+    private final ISearchOperation outerOperation = new StubOperation();
+    private final ISearchOperation innerOperation = new StubOperation();
+    private final MatchingFrame frame = new MatchingFrame(0);
+    private PlanStatistics statistics;
+    private SearchPlan searchPlan;
+
+    @BeforeEach
+    void beforeEach() {
+        var body = new PBody(null);
+        var operations = List.of(outerOperation, innerOperation);
+        var bodyPlan = new SearchPlanForBody(body, Map.of(), null, operations, List.of(), null, ESTIMATED_COST);
+        statistics = new PlanStatistics(new PlanDescriptor(null, List.of(bodyPlan), Set.of()));
+        searchPlan = new SearchPlan(body, operations, TupleMask.empty(0), Map.of());
+    }
+
+    @Test
+    void fullEnumerationMatchingEstimateTest() {
+        for (int i = 0; i < 16; i++) {
+            enumerateAll(2, 4);
+            assertThat(statistics.isDrifted(DEVIATION_FACTOR), is(false));
+        }
+        assertThat(statistics.getSuccessfulExecutions(outerOperation), is(32L));
+        assertThat(statistics.getSuccessfulExecutions(innerOperation), is(128L));
+    }
+
+    @Test
+    void fullEnumerationExceedingEstimateTest() {
+        for (int i = 0; i < 7; i++) {
+            enumerateAll(10, 10);
+            assertThat(statistics.isDrifted(DEVIATION_FACTOR), is(false));
+        }
+        enumerateAll(10, 10);
+        assertThat(statistics.isDrifted(DEVIATION_FACTOR), is(true));
+    }
+
+    @Test
+    void hasMatchHeavyTest() {
+        for (int i = 0; i < 1000; i++) {
+            if (i % 10 == 0) {
+                enumerateAll(2, 4);
+            } else {
+                findFirstMatch();
+            }
+            assertThat(statistics.isDrifted(DEVIATION_FACTOR), is(false));
+        }
+        assertThat(statistics.getSuccessfulExecutions(outerOperation), is(200L));
+        assertThat(statistics.getSuccessfulExecutions(innerOperation), is(800L));
+    }
+
+    @Test
+    void abandonedExecutionDiscardedTest() {
+        for (int i = 0; i < 16; i++) {
+            statistics.executorInitializing(searchPlan, frame);
+            for (int j = 0; j < 100; j++) {
+                succeed(outerOperation);
+            }
+            // Start again without backtracking from the first operation.
+            enumerateAll(2, 4);
+        }
+        assertThat(statistics.isDrifted(DEVIATION_FACTOR), is(false));
+        assertThat(statistics.getSuccessfulExecutions(outerOperation), is(32L));
+    }
+
+    /**
+     * Simulates a search that finds every match of the plan with the given number of successful executions of each
+     * operation.
+     */
+    private void enumerateAll(int outerCount, int innerCount) {
+        statistics.executorInitializing(searchPlan, frame);
+        for (int i = 0; i < outerCount; i++) {
+            succeed(outerOperation);
+            for (int j = 0; j < innerCount; j++) {
+                succeed(innerOperation);
+            }
+            fail(innerOperation);
+        }
+        fail(outerOperation);
+    }
+
+    /**
+     * Simulates a search that stops after the first match, like a call to {@code hasMatch}.
+     */
+    private void findFirstMatch() {
+        statistics.executorInitializing(searchPlan, frame);
+        succeed(outerOperation);
+        succeed(innerOperation);
+    }
+
+    private void succeed(ISearchOperation operation) {
+        statistics.operationExecuted(searchPlan, operation, frame, true);
+    }
+
+    private void fail(ISearchOperation operation) {
+        statistics.operationExecuted(searchPlan, operation, frame, false);
+    }
+
+    private static final class StubOperation implements ISearchOperation {
+        @Override
+        public ISearchOperationExecutor createExecutor() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<Integer> getVariablePositions() {
+            return List.of();
+        }
+
+        @Override
+        public String toString(Function<Integer, String> variableMapping) {
+            return "stub";
+        }
+    }
+}
@@ -19,6 +19,7 @@ import tools.refinery.interpreter.rete.recipes.ReteNodeRecipe;
 import tools.refinery.interpreter.matchers.context.IQueryRuntimeContext;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Stores a set of known <em>canonical</em> recipes, each representing a disjoint equivalence class of recipes, modulo
@@ -29,13 +30,18 @@ import java.util.*;
  *
  */
 public class RecipeRecognizer {
-    private static long nextRecipeEquivalenceClassID = 0;
+    private static final AtomicLong nextRecipeEquivalenceClassID = new AtomicLong();
 
     /**
      * if EcoreUtil.equals(recipe1, recipe2), only one of them will be included here
      */
     Map<EClass, Set<ReteNodeRecipe>> canonicalRecipesByClass = new HashMap<>();
     Map<Long, ReteNodeRecipe> canonicalRecipeByEquivalenceClassID = new HashMap<>();
+    /**
+     * Equivalences found for recipes that already belonged to an equivalence class, which are not recorded in the
+     * recipes themselves
+     */
+    Map<ReteNodeRecipe, ReteNodeRecipe> canonicalRecipeByKnownRecipe = new HashMap<>();
 
     private IQueryRuntimeContext runtimeContext;
 
@@ -62,6 +68,9 @@ public class RecipeRecognizer {
             if (knownRecipe != null)
                 return knownRecipe;
         }
+        ReteNodeRecipe equivalentRecipe = canonicalRecipeByKnownRecipe.get(recipe);
+        if (equivalentRecipe != null)
+            return equivalentRecipe;
 
         // equivalence class not known, but maybe equivalent recipe still
         // available
@@ -69,7 +78,12 @@ public class RecipeRecognizer {
         for (ReteNodeRecipe knownRecipe : sameClassRecipes) {
             if (isEquivalentRecipe(recipe, knownRecipe)) {
                 // FOUND EQUIVALENT RECIPE
-                recipe.getEquivalenceClassIDs().add(knownRecipe.getEquivalenceClassIDs().get(0));
+                if (recipe.getEquivalenceClassIDs().isEmpty()) {
+                    recipe.getEquivalenceClassIDs().add(knownRecipe.getEquivalenceClassIDs().get(0));
+                } else {
+                    // the recipe may be shared with other recognizers, so it must not be modified
+                    canonicalRecipeByKnownRecipe.put(recipe, knownRecipe);
+                }
                 return knownRecipe;
             }
         }
@@ -86,7 +100,7 @@ public class RecipeRecognizer {
         // this is a canonical recipe, chosen representative of its new
         // equivalence class
         if (recipe.getEquivalenceClassIDs().isEmpty()) {
-            recipe.getEquivalenceClassIDs().add(nextRecipeEquivalenceClassID++);
+            recipe.getEquivalenceClassIDs().add(nextRecipeEquivalenceClassID.getAndIncrement());
         }
         for (Long classID : recipe.getEquivalenceClassIDs()) {
             canonicalRecipeByEquivalenceClassID.put(classID, recipe);
@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.construction.plancompiler;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import tools.refinery.interpreter.matchers.backend.IQueryBackendHintProvider;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.interpreter.matchers.context.IQueryMetaContext;
+import tools.refinery.interpreter.matchers.planning.SubPlan;
+import tools.refinery.interpreter.matchers.psystem.PBody;
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+import tools.refinery.interpreter.matchers.psystem.rewriters.PBodyNormalizer;
+import tools.refinery.interpreter.matchers.psystem.rewriters.PDisjunctionRewriter;
+import tools.refinery.interpreter.matchers.psystem.rewriters.PDisjunctionRewriterCacher;
+import tools.refinery.interpreter.matchers.psystem.rewriters.SurrogateQueryRewriter;
+import tools.refinery.interpreter.rete.recipes.ReteNodeRecipe;
+import tools.refinery.interpreter.rete.recipes.helper.RecipeRecognizer;
+import tools.refinery.interpreter.rete.traceability.CompiledQuery;
+import tools.refinery.interpreter.rete.traceability.CompiledSubPlan;
+import tools.refinery.interpreter.rete.traceability.RecipeTraceInfo;
+import tools.refinery.interpreter.rete.util.ReteHintOptions;
+
+import java.util.*;
+
+/**
+ * Normalized query bodies, query plans, and compiled recipe traces, which may be shared by the
+ * {@link ReteRecipeCompiler} instances of several Rete engines working on the same set of queries.
+ * <p>
+ * Compilers synchronize on this object while they access the cache. Compiled queries are only added to the cache once
+ * their compilation, including the mending of recursion cut-off points, has finished. Their recipes are
+ * canonicalized before they are added, so the Rete networks built from them never modify them or their traces.
+ * <p>
+ * The Rete layouts plan query bodies without looking at model statistics, so the cached plans do not become stale
+ * when the contents of the models change. The cache is never invalidated: resetting a compiler only clears its own
+ * state.
+ */
+public class QueryPlanCache {
+    private final PDisjunctionRewriter normalizer;
+    private final Map<PBody, SubPlan> plans = new HashMap<>();
+    private final Map<PQuery, CompiledQuery> compiledQueries = new HashMap<>();
+    private final Map<SubPlan, CompiledSubPlan> compiledSubPlans = new HashMap<>();
+    private final RecipeRecognizer recognizer = new RecipeRecognizer();
+    private final Set<ReteNodeRecipe> canonicalizedRecipes = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * @param metaContext The meta context shared by all engines that use this cache.
+     * @param hintProvider Provides the hints of queries, which must not depend on the engine.
+     */
+    public QueryPlanCache(IQueryMetaContext metaContext, IQueryBackendHintProvider hintProvider) {
+        normalizer = new PDisjunctionRewriterCacher(new SurrogateQueryRewriter(),
+                new PBodyNormalizer(metaContext) {
+
+                    @Override
+                    protected boolean shouldExpandWeakenedAlternatives(PQuery query) {
+                        QueryEvaluationHint hint = hintProvider.getQueryEvaluationHint(query);
+                        return ReteHintOptions.expandWeakenedAlternativeConstraints.getValueOrDefault(hint);
+                    }
+
+                });
+    }
+
+    PDisjunctionRewriter getNormalizer() {
+        return normalizer;
+    }
+
+    Map<PBody, SubPlan> getPlans() {
+        return plans;
+    }
+
+    CompiledQuery getCompiledQuery(PQuery query) {
+        return compiledQueries.get(query);
+    }
+
+    CompiledSubPlan getCompiledSubPlan(SubPlan plan) {
+        return compiledSubPlans.get(plan);
+    }
+
+    /**
+     * Shares the compiled forms of a compiler once it has no compilation in progress.
+     * <p>
+     * Compiled forms that were already shared by another compiler are kept, so that all compilers keep seeing the
+     * same traces.
+     */
+    void addCompiledForms(Map<PQuery, CompiledQuery> queries, Map<SubPlan, CompiledSubPlan> subPlans) {
+        for (Map.Entry<PQuery, CompiledQuery> entry : queries.entrySet()) {
+            if (compiledQueries.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                canonicalizeRecipes(entry.getValue());
+            }
+        }
+        for (Map.Entry<SubPlan, CompiledSubPlan> entry : subPlans.entrySet()) {
+            if (compiledSubPlans.putIfAbsent(entry.getKey(), entry.getValue()) == null) {
+                canonicalizeRecipes(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Assigns equivalence classes to all recipes reachable from a trace, so that the {@link RecipeRecognizer} of a
+     * Rete network only has to assign equivalence classes to the recipes it creates itself.
+     */
+    private void canonicalizeRecipes(RecipeTraceInfo trace) {
+        Deque<RecipeTraceInfo> tracesToVisit = new ArrayDeque<>();
+        Set<RecipeTraceInfo> visitedTraces = Collections.newSetFromMap(new IdentityHashMap<>());
+        tracesToVisit.add(trace);
+        while (!tracesToVisit.isEmpty()) {
+            RecipeTraceInfo currentTrace = tracesToVisit.removeFirst();
+            if (!visitedTraces.add(currentTrace)) {
+                continue;
+            }
+            canonicalizeRecipe(currentTrace.getRecipe());
+            tracesToVisit.addAll(currentTrace.getParentRecipeTracesForCloning());
+        }
+    }
+
+    private void canonicalizeRecipe(ReteNodeRecipe recipe) {
+        if (!canonicalizedRecipes.add(recipe)) {
+            return;
+        }
+        recognizer.canonicalizeRecipe(recipe);
+        TreeIterator<EObject> contents = recipe.eAllContents();
+        while (contents.hasNext()) {
+            if (contents.next() instanceof ReteNodeRecipe containedRecipe) {
+                canonicalizeRecipe(containedRecipe);
+            }
+        }
+        for (EObject referencedObject : recipe.eCrossReferences()) {
+            if (referencedObject instanceof ReteNodeRecipe referencedRecipe) {
+                canonicalizeRecipe(referencedRecipe);
+            }
+        }
+    }
+}
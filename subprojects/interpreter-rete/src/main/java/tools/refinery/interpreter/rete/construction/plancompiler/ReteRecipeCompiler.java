@@ -60,6 +60,7 @@ public class ReteRecipeCompiler {
     private final IQueryPlannerStrategy plannerStrategy;
     private final IQueryMetaContext metaContext;
     private final IQueryBackendHintProvider hintProvider;
+    private final QueryPlanCache planCache;
     private final PDisjunctionRewriter normalizer;
     private final QueryAnalyzer queryAnalyzer;
     private final Logger logger;
@@ -87,6 +88,21 @@ public class ReteRecipeCompiler {
     public ReteRecipeCompiler(IQueryPlannerStrategy plannerStrategy, Logger logger, IQueryMetaContext metaContext,
             IQueryCacheContext queryCacheContext, IQueryBackendHintProvider hintProvider, QueryAnalyzer queryAnalyzer,
             boolean deleteAndRederiveEvaluation, TimelyConfiguration timelyEvaluation) {
+        this(plannerStrategy, logger, metaContext, queryCacheContext, hintProvider, queryAnalyzer,
+                deleteAndRederiveEvaluation, timelyEvaluation, new QueryPlanCache(metaContext, hintProvider));
+    }
+
+    /**
+     * Creates a compiler that shares normalized query bodies, query plans, and compiled recipe traces with other
+     * compilers.
+     *
+     * @param planCache The cache of query plans, which must have been created with the same meta context and
+     *                  query evaluation hints as this compiler. All compilers sharing the cache must use the same
+     *                  evaluation mode.
+     */
+    public ReteRecipeCompiler(IQueryPlannerStrategy plannerStrategy, Logger logger, IQueryMetaContext metaContext,
+            IQueryCacheContext queryCacheContext, IQueryBackendHintProvider hintProvider, QueryAnalyzer queryAnalyzer,
+            boolean deleteAndRederiveEvaluation, TimelyConfiguration timelyEvaluation, QueryPlanCache planCache) {
         super();
         this.deleteAndRederiveEvaluation = deleteAndRederiveEvaluation;
         this.timelyEvaluation = timelyEvaluation;
@@ -94,25 +110,17 @@ public class ReteRecipeCompiler {
         this.logger = logger;
         this.metaContext = metaContext;
         this.queryAnalyzer = queryAnalyzer;
-        this.normalizer = new PDisjunctionRewriterCacher(new SurrogateQueryRewriter(),
-                new PBodyNormalizer(metaContext) {
-
-                    @Override
-                    protected boolean shouldExpandWeakenedAlternatives(PQuery query) {
-                        QueryEvaluationHint hint = ReteRecipeCompiler.this.hintProvider.getQueryEvaluationHint(query);
-                        Boolean expandWeakenedAlternativeConstraints = ReteHintOptions.expandWeakenedAlternativeConstraints
-                                .getValueOrDefault(hint);
-                        return expandWeakenedAlternativeConstraints;
-                    }
-
-                });
+        this.planCache = planCache;
+        this.normalizer = planCache.getNormalizer();
+        this.plannerCache = planCache.getPlans();
         this.hintProvider = hintProvider;
     }
 
     static final RecipesFactory FACTORY = RecipesFactory.eINSTANCE;
 
     // INTERNALLY CACHED
-    private Map<PBody, SubPlan> plannerCache = new HashMap<PBody, SubPlan>();
+    // Shared with other compilers, guarded by planCache
+    private final Map<PBody, SubPlan> plannerCache;
     private Set<PBody> planningInProgress = new HashSet<PBody>();
 
     private Map<PQuery, CompiledQuery> queryCompilerCache = new HashMap<PQuery, CompiledQuery>();
@@ -120,16 +128,23 @@ public class ReteRecipeCompiler {
     private IMultiLookup<PQuery, RecursionCutoffPoint> recursionCutoffPoints = CollectionsFactory.createMultiLookup(Object.class, MemoryType.SETS, Object.class);
     private Map<SubPlan, CompiledSubPlan> subPlanCompilerCache = new HashMap<SubPlan, CompiledSubPlan>();
     private Map<ReteNodeRecipe, SubPlan> compilerBackTrace = new HashMap<ReteNodeRecipe, SubPlan>();
+    // Compiled by this compiler, but not yet shared through planCache
+    private Map<PQuery, CompiledQuery> unsharedCompiledQueries = new HashMap<PQuery, CompiledQuery>();
+    private Map<SubPlan, CompiledSubPlan> unsharedCompiledSubPlans = new HashMap<SubPlan, CompiledSubPlan>();
 
     /**
      * Clears internal state
+     * <p>
+     * Query plans and compiled recipe traces shared with other compilers through the {@link QueryPlanCache} are kept,
+     * so the next compilation by this compiler will reuse them.
      */
     public void reset() {
-        plannerCache.clear();
         planningInProgress.clear();
         queryCompilerCache.clear();
         subPlanCompilerCache.clear();
         compilerBackTrace.clear();
+        unsharedCompiledQueries.clear();
+        unsharedCompiledSubPlans.clear();
     }
 
     /**
@@ -138,7 +153,15 @@ public class ReteRecipeCompiler {
      */
     public CompiledQuery getCompiledForm(PQuery query) {
         CompiledQuery compiled = queryCompilerCache.get(query);
-        if (compiled == null) {
+        if (compiled != null) {
+            return compiled;
+        }
+        synchronized (planCache) {
+            compiled = planCache.getCompiledQuery(query);
+            if (compiled != null) {
+                queryCompilerCache.put(query, compiled);
+                return compiled;
+            }
 
             IRewriterTraceCollector traceCollector = CommonQueryHintOptions.normalizationTraceCollector
                     .getValueOrDefault(hintProvider.getQueryEvaluationHint(query));
@@ -156,6 +179,7 @@ public class ReteRecipeCompiler {
                 try {
                     compiled = compileProduction(query);
                     queryCompilerCache.put(query, compiled);
+                    unsharedCompiledQueries.put(query, compiled);
                     // backTrace.put(compiled.getRecipe(), plan);
 
                     // if this was a recursive query, mend all points where recursion was cut off
@@ -165,6 +189,8 @@ public class ReteRecipeCompiler {
                 } finally {
                     compilationInProgress.remove(query);
                 }
+                // Recursion cut-off points are mended by now, so the traces will no longer change.
+                shareCompiledForms();
             }
         }
         return compiled;
@@ -176,14 +202,31 @@ public class ReteRecipeCompiler {
      */
     public CompiledSubPlan getCompiledForm(SubPlan plan) {
         CompiledSubPlan compiled = subPlanCompilerCache.get(plan);
-        if (compiled == null) {
-            compiled = doCompileDispatch(plan);
+        if (compiled != null) {
+            return compiled;
+        }
+        synchronized (planCache) {
+            compiled = planCache.getCompiledSubPlan(plan);
+            if (compiled == null) {
+                compiled = doCompileDispatch(plan);
+                compilerBackTrace.put(compiled.getRecipe(), plan);
+                unsharedCompiledSubPlans.put(plan, compiled);
+            }
             subPlanCompilerCache.put(plan, compiled);
-            compilerBackTrace.put(compiled.getRecipe(), plan);
+            shareCompiledForms();
         }
         return compiled;
     }
 
+    private void shareCompiledForms() {
+        // Traces may still refer to recursion cut-off points that are not mended yet while a compilation is in progress
+        if (compilationInProgress.isEmpty()) {
+            planCache.addCompiledForms(unsharedCompiledQueries, unsharedCompiledSubPlans);
+            unsharedCompiledQueries.clear();
+            unsharedCompiledSubPlans.clear();
+        }
+    }
+
     /**
      * @throws InterpreterRuntimeException
      */
@@ -194,30 +237,36 @@ public class ReteRecipeCompiler {
         if (!compilationInProgress.contains(pQuery))
             getCompiledForm(pQuery);
 
-        // Is the plan already cached?
-        SubPlan plan = plannerCache.get(pBody);
-        if (plan == null) {
-            boolean reentrant = !planningInProgress.add(pBody);
-            if (reentrant) { // oops, recursion into body in progress
-                throw new IllegalArgumentException(
-                        "Planning-level recursion unsupported: " + pBody.getPattern().getFullyQualifiedName());
-            } else { // not reentrant, therefore no recursion, do the planning
-                try {
-                    plan = plannerStrategy.plan(pBody, logger, metaContext);
-                    plannerCache.put(pBody, plan);
-                } finally {
-                    planningInProgress.remove(pBody);
+        synchronized (planCache) {
+            // Is the plan already cached?
+            SubPlan plan = plannerCache.get(pBody);
+            if (plan == null) {
+                boolean reentrant = !planningInProgress.add(pBody);
+                if (reentrant) { // oops, recursion into body in progress
+                    throw new IllegalArgumentException(
+                            "Planning-level recursion unsupported: " + pBody.getPattern().getFullyQualifiedName());
+                } else { // not reentrant, therefore no recursion, do the planning
+                    try {
+                        plan = plannerStrategy.plan(pBody, logger, metaContext);
+                        plannerCache.put(pBody, plan);
+                    } finally {
+                        planningInProgress.remove(pBody);
+                    }
                 }
             }
+            return plan;
         }
-        return plan;
     }
 
     private CompiledQuery compileProduction(PQuery query) {
         Collection<SubPlan> bodyPlans = new ArrayList<SubPlan>();
-        normalizer.setTraceCollector(CommonQueryHintOptions.normalizationTraceCollector
-                .getValueOrDefault(hintProvider.getQueryEvaluationHint(query)));
-        for (PBody pBody : normalizer.rewrite(query).getBodies()) {
+        Set<PBody> bodies;
+        synchronized (planCache) {
+            normalizer.setTraceCollector(CommonQueryHintOptions.normalizationTraceCollector
+                    .getValueOrDefault(hintProvider.getQueryEvaluationHint(query)));
+            bodies = normalizer.rewrite(query).getBodies();
+        }
+        for (PBody pBody : bodies) {
             SubPlan bodyPlan = getPlan(pBody);
             bodyPlans.add(bodyPlan);
         }
@@ -890,7 +939,10 @@ public class ReteRecipeCompiler {
     private RecipeTraceInfo originalTraceOfReferredQuery(PQuery query) {
         // eliminate superfluous production node?
         if (PVisibility.EMBEDDED == query.getVisibility()) { // currently inline patterns only
-            Set<PBody> rewrittenBodies = normalizer.rewrite(query).getBodies();
+            Set<PBody> rewrittenBodies;
+            synchronized (planCache) {
+                rewrittenBodies = normalizer.rewrite(query).getBodies();
+            }
             if (1 == rewrittenBodies.size()) { // non-disjunctive
                 // TODO in the future, check if non-recursive - (not currently permitted)
 
@@ -932,6 +984,8 @@ public class ReteRecipeCompiler {
 
     /**
      * Returns an unmodifiable view of currently cached query plans.
+     * <p>
+     * The returned map may also contain plans created by other compilers sharing the same {@link QueryPlanCache}.
      */
     public Map<PBody, SubPlan> getCachedQueryPlans() {
         return Collections.unmodifiableMap(plannerCache);
@@ -15,9 +15,9 @@ import java.util.Set;
 
 import org.apache.log4j.Logger;
 import tools.refinery.interpreter.matchers.context.IQueryRuntimeContext;
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
-import tools.refinery.interpreter.matchers.tuple.TupleValueProvider;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.interpreter.matchers.util.Sets;
 
@@ -37,6 +37,7 @@ public abstract class EvaluatorCore {
      */
     protected int sourceTupleWidth;
     private Map<String, Integer> parameterPositions;
+    private final IBoundExpressionEvaluator boundEvaluator;
     protected IQueryRuntimeContext runtimeContext;
     protected IEvaluatorNode evaluatorNode;
 
@@ -46,6 +47,7 @@ public abstract class EvaluatorCore {
         this.evaluator = evaluator;
         this.parameterPositions = parameterPositions;
         this.sourceTupleWidth = sourceTupleWidth;
+        this.boundEvaluator = evaluator.bind(parameterPositions);
     }
 
     public void init(final IEvaluatorNode evaluatorNode) {
@@ -64,9 +66,7 @@ public abstract class EvaluatorCore {
         // actual evaluation
         Object result = null;
         try {
-            final TupleValueProvider tupleParameters = new TupleValueProvider(runtimeContext.unwrapTuple(input),
-                    parameterPositions);
-            result = evaluator.evaluateExpression(tupleParameters);
+            result = boundEvaluator.evaluateExpression(runtimeContext.unwrapTuple(input));
         } catch (final Exception e) {
             logger.warn(String.format(
                     "The incremental pattern matcher encountered an error during %s evaluation for pattern(s) %s over values %s. Error message: %s. (Developer note: %s in %s)",
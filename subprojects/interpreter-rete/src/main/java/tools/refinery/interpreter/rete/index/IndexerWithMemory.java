@@ -63,7 +63,8 @@ public abstract class IndexerWithMemory extends StandardIndexer
         final boolean isTimely = reteContainer.isTimelyEvaluation()
                 && reteContainer.getCommunicationTracker().isInRecursiveGroup(this);
         memory = MaskedTupleMemory.create(mask, MemoryType.SETS, this, isTimely, isTimely && reteContainer
-                .getTimelyConfiguration().getTimelineRepresentation() == TimelyConfiguration.TimelineRepresentation.FAITHFUL);
+                .getTimelyConfiguration().getTimelineRepresentation() ==
+                TimelyConfiguration.TimelineRepresentation.FAITHFUL, reteContainer.getIntTupleEncoding());
         reteContainer.registerClearable(memory);
         mailbox = instantiateMailbox();
         reteContainer.registerClearable(mailbox);
@@ -89,7 +90,8 @@ public abstract class IndexerWithMemory extends StandardIndexer
         if (wasTimely != isTimely) {
             final MaskedTupleMemory<Timestamp> newMemory = MaskedTupleMemory.create(mask, MemoryType.SETS, this,
                     isTimely, isTimely && reteContainer.getTimelyConfiguration()
-                            .getTimelineRepresentation() == TimelyConfiguration.TimelineRepresentation.FAITHFUL);
+                            .getTimelineRepresentation() == TimelyConfiguration.TimelineRepresentation.FAITHFUL,
+                    reteContainer.getIntTupleEncoding());
             newMemory.initializeWith(this.memory, Timestamp.ZERO);
             memory.clear();
             memory = newMemory;
@@ -0,0 +1,374 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.itc.alg.bitmatrix;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import tools.refinery.interpreter.matchers.util.CollectionsFactory;
+import tools.refinery.interpreter.rete.itc.alg.misc.DFSPathFinder;
+import tools.refinery.interpreter.rete.itc.alg.misc.IGraphPathFinder;
+import tools.refinery.interpreter.rete.itc.alg.misc.Tuple;
+import tools.refinery.interpreter.rete.itc.igraph.IBiDirectionalGraphDataSource;
+import tools.refinery.interpreter.rete.itc.igraph.IBiDirectionalWrapper;
+import tools.refinery.interpreter.rete.itc.igraph.IGraphDataSource;
+import tools.refinery.interpreter.rete.itc.igraph.IGraphObserver;
+import tools.refinery.interpreter.rete.itc.igraph.ITcDataSource;
+import tools.refinery.interpreter.rete.itc.igraph.ITcObserver;
+
+/**
+ * Maintains the transitive closure of a graph as a dense bit matrix, which is efficient for graphs with up to a few
+ * thousand nodes.
+ *
+ * <p> Each node of the graph is assigned a row index. For each row, the direct successors and the transitively
+ * reachable nodes are stored as bit sets. Inserting an edge {@code (u, v)} adds the reachable set of {@code v} to
+ * every row that reaches {@code u} with word-parallel operations. Deleting an edge re-derives the rows of the nodes
+ * that reached its source, reusing the rows of all other nodes, which are not affected by the deletion.
+ *
+ * <p> A node {@code v} is reachable from itself only if it is on a cycle or has a self-loop, which agrees with the
+ * transitive closure computed by the other algorithms.
+ *
+ * @param <V>
+ *            the type parameter of the nodes in the graph data source
+ * @since 3.0
+ */
+public class BitMatrixTcAlg<V> implements IGraphObserver<V>, ITcDataSource<V> {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final IBiDirectionalGraphDataSource<V> gds;
+    private final List<ITcObserver<V>> observers;
+    private final Map<V, Integer> indices;
+    private final List<V> nodes = new ArrayList<>();
+    private final Deque<Integer> freeIndices = new ArrayDeque<>();
+    private int wordCount;
+    private long[][] successors;
+    private long[][] reachable;
+
+    public BitMatrixTcAlg(IGraphDataSource<V> graphDataSource) {
+        if (graphDataSource instanceof IBiDirectionalGraphDataSource<?>) {
+            gds = (IBiDirectionalGraphDataSource<V>) graphDataSource;
+        } else {
+            gds = new IBiDirectionalWrapper<V>(graphDataSource);
+        }
+        observers = CollectionsFactory.createObserverList();
+        indices = CollectionsFactory.createMap();
+        int capacity = Math.max(INITIAL_CAPACITY, gds.getAllNodes().size());
+        wordCount = (capacity + 63) >>> 6;
+        successors = new long[capacity][];
+        reachable = new long[capacity][];
+        initializeTc();
+        gds.attachObserver(this);
+    }
+
+    private void initializeTc() {
+        for (V node : gds.getAllNodes()) {
+            getOrCreateIndex(node);
+        }
+        for (V source : gds.getAllNodes()) {
+            long[] sourceSuccessors = successors[indices.get(source)];
+            for (V target : gds.getTargetNodes(source).distinctValues()) {
+                setBit(sourceSuccessors, getOrCreateIndex(target));
+            }
+        }
+        // Every row must be derived, so we don't reuse any existing rows.
+        long[] all = new long[wordCount];
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) != null) {
+                setBit(all, i);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            if (nodes.get(i) != null) {
+                reachable[i] = deriveRow(i, all);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of nodes currently stored in the matrix.
+     */
+    public int getNodeCount() {
+        return indices.size();
+    }
+
+    @Override
+    public void nodeInserted(V n) {
+        getOrCreateIndex(n);
+    }
+
+    @Override
+    public void nodeDeleted(V n) {
+        // The graph data source deletes all incident edges before deleting the node, so its row and column are empty.
+        Integer index = indices.remove(n);
+        if (index != null) {
+            nodes.set(index, null);
+            Arrays.fill(successors[index], 0L);
+            Arrays.fill(reachable[index], 0L);
+            freeIndices.push(index);
+        }
+    }
+
+    @Override
+    public void edgeInserted(V source, V target) {
+        if (gds.getTargetNodes(source).getCount(target) > 1) {
+            // Parallel edges do not change the transitive closure.
+            return;
+        }
+        int sourceIndex = getOrCreateIndex(source);
+        int targetIndex = getOrCreateIndex(target);
+        setBit(successors[sourceIndex], targetIndex);
+        long[] added = reachable[targetIndex].clone();
+        setBit(added, targetIndex);
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i != sourceIndex && !getBit(reachable[i], sourceIndex)) {
+                continue;
+            }
+            long[] row = reachable[i];
+            for (int word = 0; word < wordCount; word++) {
+                long newBits = added[word] & ~row[word];
+                if (newBits != 0) {
+                    row[word] |= newBits;
+                    notifyTcObservers(i, word, newBits, true);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void edgeDeleted(V source, V target) {
+        if (gds.getTargetNodes(source).containsNonZero(target)) {
+            // A parallel edge still remains.
+            return;
+        }
+        int sourceIndex = indices.get(source);
+        int targetIndex = indices.get(target);
+        clearBit(successors[sourceIndex], targetIndex);
+        // Only the rows of nodes that could reach the deleted edge may change.
+        long[] affected = new long[wordCount];
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i == sourceIndex || getBit(reachable[i], sourceIndex)) {
+                setBit(affected, i);
+            }
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            if (!getBit(affected, i)) {
+                continue;
+            }
+            long[] oldRow = reachable[i];
+            long[] newRow = deriveRow(i, affected);
+            reachable[i] = newRow;
+            for (int word = 0; word < wordCount; word++) {
+                long removedBits = oldRow[word] & ~newRow[word];
+                if (removedBits != 0) {
+                    notifyTcObservers(i, word, removedBits, false);
+                }
+            }
+        }
+    }
+
+    /**
+     * Computes the set of nodes reachable from the given node by traversing successor edges.
+     *
+     * <p> The rows of nodes not in the {@code affected} set are assumed to be up-to-date. Any node reachable from
+     * such a node is also unaffected, so its row can be reused without further traversal.
+     */
+    private long[] deriveRow(int index, long[] affected) {
+        long[] result = new long[wordCount];
+        long[] frontier = successors[index].clone();
+        long[] expanded = new long[wordCount];
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int word = 0; word < wordCount; word++) {
+                long pending = frontier[word] & ~expanded[word];
+                while (pending != 0) {
+                    long lowestBit = pending & -pending;
+                    pending ^= lowestBit;
+                    int next = (word << 6) + Long.numberOfTrailingZeros(lowestBit);
+                    expanded[word] |= lowestBit;
+                    result[word] |= lowestBit;
+                    if ((affected[word] & lowestBit) == 0) {
+                        long[] nextRow = reachable[next];
+                        for (int otherWord = 0; otherWord < wordCount; otherWord++) {
+                            result[otherWord] |= nextRow[otherWord];
+                            expanded[otherWord] |= nextRow[otherWord];
+                        }
+                    } else {
+                        long[] nextSuccessors = successors[next];
+                        for (int otherWord = 0; otherWord < wordCount; otherWord++) {
+                            frontier[otherWord] |= nextSuccessors[otherWord];
+                        }
+                    }
+                    changed = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    private int getOrCreateIndex(V node) {
+        Integer existingIndex = indices.get(node);
+        if (existingIndex != null) {
+            return existingIndex;
+        }
+        int index;
+        if (freeIndices.isEmpty()) {
+            index = nodes.size();
+            nodes.add(node);
+            ensureCapacity(nodes.size());
+        } else {
+            index = freeIndices.pop();
+            nodes.set(index, node);
+        }
+        if (successors[index] == null) {
+            successors[index] = new long[wordCount];
+            reachable[index] = new long[wordCount];
+        }
+        indices.put(node, index);
+        return index;
+    }
+
+    private void ensureCapacity(int size) {
+        int capacity = successors.length;
+        if (size <= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(size, 2 * capacity);
+        successors = Arrays.copyOf(successors, newCapacity);
+        reachable = Arrays.copyOf(reachable, newCapacity);
+        int newWordCount = (newCapacity + 63) >>> 6;
+        if (newWordCount > wordCount) {
+            for (int i = 0; i < capacity; i++) {
+                if (successors[i] != null) {
+                    successors[i] = Arrays.copyOf(successors[i], newWordCount);
+                    reachable[i] = Arrays.copyOf(reachable[i], newWordCount);
+                }
+            }
+            wordCount = newWordCount;
+        }
+    }
+
+    private static boolean getBit(long[] row, int index) {
+        return (row[index >>> 6] & (1L << index)) != 0;
+    }
+
+    private static void setBit(long[] row, int index) {
+        row[index >>> 6] |= 1L << index;
+    }
+
+    private static void clearBit(long[] row, int index) {
+        row[index >>> 6] &= ~(1L << index);
+    }
+
+    private void notifyTcObservers(int sourceIndex, int word, long bits, boolean isInsertion) {
+        if (observers.isEmpty()) {
+            return;
+        }
+        V source = nodes.get(sourceIndex);
+        while (bits != 0) {
+            long lowestBit = bits & -bits;
+            bits ^= lowestBit;
+            V target = nodes.get((word << 6) + Long.numberOfTrailingZeros(lowestBit));
+            if (isInsertion) {
+                for (ITcObserver<V> observer : observers) {
+                    observer.tupleInserted(source, target);
+                }
+            } else {
+                for (ITcObserver<V> observer : observers) {
+                    observer.tupleDeleted(source, target);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void attachObserver(ITcObserver<V> to) {
+        observers.add(to);
+    }
+
+    @Override
+    public void detachObserver(ITcObserver<V> to) {
+        observers.remove(to);
+    }
+
+    @Override
+    public Set<V> getAllReachableTargets(V source) {
+        Integer index = indices.get(source);
+        return index == null ? new HashSet<>() : toNodeSet(reachable[index]);
+    }
+
+    @Override
+    public Set<V> getAllReachableSources(V target) {
+        Set<V> sources = new HashSet<>();
+        Integer targetIndex = indices.get(target);
+        if (targetIndex != null) {
+            for (int i = 0; i < nodes.size(); i++) {
+                if (getBit(reachable[i], targetIndex)) {
+                    sources.add(nodes.get(i));
+                }
+            }
+        }
+        return sources;
+    }
+
+    @Override
+    public boolean isReachable(V source, V target) {
+        Integer sourceIndex = indices.get(source);
+        Integer targetIndex = indices.get(target);
+        return sourceIndex != null && targetIndex != null && getBit(reachable[sourceIndex], targetIndex);
+    }
+
+    /**
+     * Returns all pairs of nodes in the transitive closure relation.
+     */
+    public Set<Tuple<V>> getTcRelation() {
+        Set<Tuple<V>> resultSet = new HashSet<>();
+        for (int i = 0; i < nodes.size(); i++) {
+            V source = nodes.get(i);
+            if (source != null) {
+                for (V target : toNodeSet(reachable[i])) {
+                    resultSet.add(new Tuple<V>(source, target));
+                }
+            }
+        }
+        return resultSet;
+    }
+
+    private Set<V> toNodeSet(long[] row) {
+        Set<V> result = new HashSet<>();
+        for (int word = 0; word < wordCount; word++) {
+            long bits = row[word];
+            while (bits != 0) {
+                long lowestBit = bits & -bits;
+                bits ^= lowestBit;
+                result.add(nodes.get((word << 6) + Long.numberOfTrailingZeros(lowestBit)));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public IGraphPathFinder<V> getPathFinder() {
+        return new DFSPathFinder<V>(gds, this);
+    }
+
+    @Override
+    public void dispose() {
+        gds.detachObserver(this);
+        indices.clear();
+        nodes.clear();
+        freeIndices.clear();
+        successors = new long[0][];
+        reachable = new long[0][];
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.itc.alg.representative;
+
+import tools.refinery.interpreter.matchers.util.Direction;
+
+import java.util.Arrays;
+
+/**
+ * Maintains the weakly connected components of a directed graph whose nodes are identified by {@code int} values.
+ * <p>
+ * Unlike {@link WeaklyConnectedComponentAlgorithm}, the graph is stored in primitive arrays indexed by dense node
+ * indices, so no boxed nodes or hash sets are allocated during updates. Components are kept as circular linked
+ * lists of their members, and each node stores the representative of its component.
+ * <ul>
+ * <li>When an edge connects two components, the members of the smaller component are relabeled (union by size).</li>
+ * <li>When an edge is removed, two breadth-first searches started from its endpoints are interleaved. If one of
+ * them reaches the other, the component is unchanged. Otherwise, the search that finishes first has enumerated the
+ * smaller of the two new components, so splitting the component only costs time proportional to the smaller part.
+ * </li>
+ * </ul>
+ * Like in {@link WeaklyConnectedComponentAlgorithm}, the larger component keeps its representative when two
+ * components are merged, and the part containing the old representative keeps it when a component is split.
+ *
+ * @since 3.0
+ */
+public class IntWeaklyConnectedComponentAlgorithm {
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int INITIAL_ADJACENCY_CAPACITY = 2;
+	private static final int EMPTY = -1;
+
+	private final IndexMap indexMap = new IndexMap();
+	private int[] nodes = new int[INITIAL_CAPACITY];
+	private int[] representatives = new int[INITIAL_CAPACITY];
+	private int[] componentSizes = new int[INITIAL_CAPACITY];
+	private int[] nextMembers = new int[INITIAL_CAPACITY];
+	private int[] previousMembers = new int[INITIAL_CAPACITY];
+	private int[][] outgoing = new int[INITIAL_CAPACITY][];
+	private int[] outgoingCounts = new int[INITIAL_CAPACITY];
+	private int[][] incoming = new int[INITIAL_CAPACITY][];
+	private int[] incomingCounts = new int[INITIAL_CAPACITY];
+	private int[] marks = new int[INITIAL_CAPACITY];
+	private int[] sourceQueue = new int[INITIAL_CAPACITY];
+	private int[] targetQueue = new int[INITIAL_CAPACITY];
+	private int[] freeIndices = new int[INITIAL_CAPACITY];
+	private int freeIndexCount;
+	private int indexCount;
+	private int stamp;
+	private Observer observer;
+
+	public void setObserver(Observer observer) {
+		this.observer = observer;
+	}
+
+	public void insertEdge(int source, int target) {
+		int sourceIndex = getOrCreateIndex(source);
+		int targetIndex = getOrCreateIndex(target);
+		outgoing[sourceIndex] = add(outgoing[sourceIndex], outgoingCounts[sourceIndex], targetIndex);
+		outgoingCounts[sourceIndex]++;
+		incoming[targetIndex] = add(incoming[targetIndex], incomingCounts[targetIndex], sourceIndex);
+		incomingCounts[targetIndex]++;
+		merge(representatives[sourceIndex], representatives[targetIndex]);
+	}
+
+	public void deleteEdge(int source, int target) {
+		int sourceIndex = indexMap.get(source);
+		int targetIndex = indexMap.get(target);
+		if (sourceIndex == EMPTY || targetIndex == EMPTY ||
+				!remove(outgoing[sourceIndex], outgoingCounts[sourceIndex], targetIndex)) {
+			return;
+		}
+		outgoingCounts[sourceIndex]--;
+		if (!remove(incoming[targetIndex], incomingCounts[targetIndex], sourceIndex)) {
+			throw new IllegalStateException("Edge %d -> %d is missing from the incoming edges".formatted(source,
+					target));
+		}
+		incomingCounts[targetIndex]--;
+		if (sourceIndex != targetIndex) {
+			splitIfDisconnected(sourceIndex, targetIndex);
+		}
+		deleteIfIsolated(sourceIndex);
+		if (sourceIndex != targetIndex) {
+			deleteIfIsolated(targetIndex);
+		}
+	}
+
+	public int getRepresentative(int node) {
+		int index = indexMap.get(node);
+		if (index == EMPTY) {
+			throw new IllegalArgumentException("Unknown node: " + node);
+		}
+		return nodes[representatives[index]];
+	}
+
+	/**
+	 * Calls the given consumer with each node of the graph and its representative.
+	 */
+	public void forEachNode(IntPairConsumer consumer) {
+		for (int i = 0; i < indexCount; i++) {
+			if (isUsed(i)) {
+				consumer.accept(nodes[i], nodes[representatives[i]]);
+			}
+		}
+	}
+
+	/**
+	 * Calls the given consumer with each edge of the graph as many times as the edge was inserted.
+	 */
+	public void forEachEdge(IntPairConsumer consumer) {
+		for (int i = 0; i < indexCount; i++) {
+			int count = outgoingCounts[i];
+			if (count == 0) {
+				continue;
+			}
+			int[] targets = outgoing[i];
+			for (int j = 0; j < count; j++) {
+				consumer.accept(nodes[i], nodes[targets[j]]);
+			}
+		}
+	}
+
+	private boolean isUsed(int index) {
+		return componentSizes[representatives[index]] > 0;
+	}
+
+	private int getOrCreateIndex(int node) {
+		int index = indexMap.get(node);
+		if (index != EMPTY) {
+			return index;
+		}
+		if (freeIndexCount > 0) {
+			freeIndexCount--;
+			index = freeIndices[freeIndexCount];
+		} else {
+			ensureCapacity(indexCount + 1);
+			index = indexCount;
+			indexCount++;
+		}
+		indexMap.put(node, index);
+		nodes[index] = node;
+		representatives[index] = index;
+		componentSizes[index] = 1;
+		nextMembers[index] = index;
+		previousMembers[index] = index;
+		marks[index] = 0;
+		notifyToObserver(node, node, Direction.INSERT);
+		return index;
+	}
+
+	private void deleteIfIsolated(int index) {
+		if (outgoingCounts[index] > 0 || incomingCounts[index] > 0) {
+			return;
+		}
+		if (representatives[index] != index || componentSizes[index] != 1) {
+			throw new IllegalStateException("Trying to delete node with dangling edges");
+		}
+		int node = nodes[index];
+		indexMap.remove(node);
+		componentSizes[index] = 0;
+		outgoing[index] = null;
+		incoming[index] = null;
+		if (freeIndexCount == freeIndices.length) {
+			freeIndices = Arrays.copyOf(freeIndices, freeIndices.length * 2);
+		}
+		freeIndices[freeIndexCount] = index;
+		freeIndexCount++;
+		notifyToObserver(node, node, Direction.DELETE);
+	}
+
+	private void ensureCapacity(int requiredCapacity) {
+		int capacity = nodes.length;
+		if (requiredCapacity <= capacity) {
+			return;
+		}
+		int newCapacity = Math.max(requiredCapacity, capacity * 2);
+		nodes = Arrays.copyOf(nodes, newCapacity);
+		representatives = Arrays.copyOf(representatives, newCapacity);
+		componentSizes = Arrays.copyOf(componentSizes, newCapacity);
+		nextMembers = Arrays.copyOf(nextMembers, newCapacity);
+		previousMembers = Arrays.copyOf(previousMembers, newCapacity);
+		outgoing = Arrays.copyOf(outgoing, newCapacity);
+		outgoingCounts = Arrays.copyOf(outgoingCounts, newCapacity);
+		incoming = Arrays.copyOf(incoming, newCapacity);
+		incomingCounts = Arrays.copyOf(incomingCounts, newCapacity);
+		marks = Arrays.copyOf(marks, newCapacity);
+		sourceQueue = new int[newCapacity];
+		targetQueue = new int[newCapacity];
+	}
+
+	private static int[] add(int[] adjacency, int count, int index) {
+		if (adjacency == null) {
+			adjacency = new int[INITIAL_ADJACENCY_CAPACITY];
+		} else if (count == adjacency.length) {
+			adjacency = Arrays.copyOf(adjacency, count * 2);
+		}
+		adjacency[count] = index;
+		return adjacency;
+	}
+
+	private static boolean remove(int[] adjacency, int count, int index) {
+		for (int i = 0; i < count; i++) {
+			if (adjacency[i] == index) {
+				adjacency[i] = adjacency[count - 1];
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void merge(int leftRepresentative, int rightRepresentative) {
+		if (leftRepresentative == rightRepresentative) {
+			return;
+		}
+		if (componentSizes[leftRepresentative] < componentSizes[rightRepresentative]) {
+			merge(rightRepresentative, leftRepresentative, componentSizes[leftRepresentative]);
+		} else {
+			merge(leftRepresentative, rightRepresentative, componentSizes[rightRepresentative]);
+		}
+	}
+
+	private void merge(int preservedRepresentative, int removedRepresentative, int removedSize) {
+		int preservedNode = nodes[preservedRepresentative];
+		int removedNode = nodes[removedRepresentative];
+		int member = removedRepresentative;
+		do {
+			representatives[member] = preservedRepresentative;
+			notifyToObserver(nodes[member], removedNode, preservedNode);
+			member = nextMembers[member];
+		} while (member != removedRepresentative);
+		// Splice the circular member lists of the two components.
+		int preservedNext = nextMembers[preservedRepresentative];
+		int removedNext = nextMembers[removedRepresentative];
+		nextMembers[preservedRepresentative] = removedNext;
+		previousMembers[removedNext] = preservedRepresentative;
+		nextMembers[removedRepresentative] = preservedNext;
+		previousMembers[preservedNext] = removedRepresentative;
+		componentSizes[preservedRepresentative] += removedSize;
+		componentSizes[removedRepresentative] = 0;
+	}
+
+	private void splitIfDisconnected(int sourceIndex, int targetIndex) {
+		if (stamp >= Integer.MAX_VALUE - 2) {
+			Arrays.fill(marks, 0);
+			stamp = 0;
+		}
+		stamp += 2;
+		int sourceMark = stamp - 1;
+		int targetMark = stamp;
+		marks[sourceIndex] = sourceMark;
+		marks[targetIndex] = targetMark;
+		sourceQueue[0] = sourceIndex;
+		targetQueue[0] = targetIndex;
+		int sourceHead = 0;
+		int sourceTail = 1;
+		int targetHead = 0;
+		int targetTail = 1;
+		while (true) {
+			if (sourceHead == sourceTail) {
+				split(representatives[sourceIndex], sourceQueue, sourceTail, sourceMark, targetQueue);
+				return;
+			}
+			sourceTail = visit(sourceQueue[sourceHead], sourceMark, targetMark, sourceQueue, sourceTail);
+			if (sourceTail < 0) {
+				return;
+			}
+			sourceHead++;
+			if (targetHead == targetTail) {
+				split(representatives[targetIndex], targetQueue, targetTail, targetMark, sourceQueue);
+				return;
+			}
+			targetTail = visit(targetQueue[targetHead], targetMark, sourceMark, targetQueue, targetTail);
+			if (targetTail < 0) {
+				return;
+			}
+			targetHead++;
+		}
+	}
+
+	/**
+	 * Enqueues the unvisited neighbors of a node.
+	 *
+	 * @return The new tail of the queue, or {@code -1} if the other search was reached.
+	 */
+	private int visit(int index, int mark, int otherMark, int[] queue, int tail) {
+		tail = visitAll(outgoing[index], outgoingCounts[index], mark, otherMark, queue, tail);
+		if (tail < 0) {
+			return tail;
+		}
+		return visitAll(incoming[index], incomingCounts[index], mark, otherMark, queue, tail);
+	}
+
+	private int visitAll(int[] adjacency, int count, int mark, int otherMark, int[] queue, int tail) {
+		for (int i = 0; i < count; i++) {
+			int neighbor = adjacency[i];
+			int neighborMark = marks[neighbor];
+			if (neighborMark == otherMark) {
+				return -1;
+			}
+			if (neighborMark != mark) {
+				marks[neighbor] = mark;
+				queue[tail] = neighbor;
+				tail++;
+			}
+		}
+		return tail;
+	}
+
+	/**
+	 * Splits the nodes found by a finished search off their original component.
+	 *
+	 * @param oldRepresentative The representative of the original component.
+	 * @param separated The nodes found by the search.
+	 * @param separatedSize The number of nodes found by the search.
+	 * @param separatedMark The mark of the nodes found by the search.
+	 * @param buffer An array with enough space to hold the rest of the original component.
+	 */
+	private void split(int oldRepresentative, int[] separated, int separatedSize, int separatedMark, int[] buffer) {
+		int[] moved = separated;
+		int movedSize = separatedSize;
+		if (marks[oldRepresentative] == separatedMark) {
+			// The representative stays with the separated nodes, so the rest of the component must be relabeled.
+			movedSize = 0;
+			int member = oldRepresentative;
+			do {
+				if (marks[member] != separatedMark) {
+					buffer[movedSize] = member;
+					movedSize++;
+				}
+				member = nextMembers[member];
+			} while (member != oldRepresentative);
+			moved = buffer;
+		}
+		int newRepresentative = moved[0];
+		int oldNode = nodes[oldRepresentative];
+		int newNode = nodes[newRepresentative];
+		int last = EMPTY;
+		for (int i = 0; i < movedSize; i++) {
+			int member = moved[i];
+			int next = nextMembers[member];
+			int previous = previousMembers[member];
+			nextMembers[previous] = next;
+			previousMembers[next] = previous;
+			if (last == EMPTY) {
+				nextMembers[member] = member;
+				previousMembers[member] = member;
+			} else {
+				int first = nextMembers[last];
+				nextMembers[last] = member;
+				previousMembers[member] = last;
+				nextMembers[member] = first;
+				previousMembers[first] = member;
+			}
+			last = member;
+			representatives[member] = newRepresentative;
+			notifyToObserver(nodes[member], oldNode, newNode);
+		}
+		componentSizes[oldRepresentative] -= movedSize;
+		componentSizes[newRepresentative] = movedSize;
+	}
+
+	private void notifyToObserver(int node, int oldRepresentative, int newRepresentative) {
+		notifyToObserver(node, oldRepresentative, Direction.DELETE);
+		notifyToObserver(node, newRepresentative, Direction.INSERT);
+	}
+
+	private void notifyToObserver(int node, int representative, Direction direction) {
+		if (observer != null) {
+			observer.tupleChanged(node, representative, direction);
+		}
+	}
+
+	public interface Observer {
+		void tupleChanged(int node, int representative, Direction direction);
+	}
+
+	public interface IntPairConsumer {
+		void accept(int first, int second);
+	}
+
+	/**
+	 * Open addressing hash map from nodes to their dense indices.
+	 */
+	private static class IndexMap {
+		private static final int INITIAL_TABLE_SIZE = 32;
+
+		private int[] keys = new int[INITIAL_TABLE_SIZE];
+		// Stores the index plus one, so that zero marks an empty slot.
+		private int[] values = new int[INITIAL_TABLE_SIZE];
+		private int size;
+
+		public int get(int key) {
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != 0) {
+				if (keys[slot] == key) {
+					return values[slot] - 1;
+				}
+				slot = (slot + 1) & mask;
+			}
+			return EMPTY;
+		}
+
+		public void put(int key, int value) {
+			if (2 * (size + 1) > keys.length) {
+				rehash(keys.length * 2);
+			}
+			insert(key, value + 1);
+			size++;
+		}
+
+		private void insert(int key, int encodedValue) {
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+			keys[slot] = key;
+			values[slot] = encodedValue;
+		}
+
+		public void remove(int key) {
+			int mask = keys.length - 1;
+			int slot = hash(key) & mask;
+			while (values[slot] != 0 && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			if (values[slot] == 0) {
+				return;
+			}
+			size--;
+			// Shift back the following entries of the probe sequence instead of leaving a tombstone.
+			int free = slot;
+			int current = (free + 1) & mask;
+			while (values[current] != 0) {
+				int desired = hash(keys[current]) & mask;
+				if (((current - desired) & mask) >= ((current - free) & mask)) {
+					keys[free] = keys[current];
+					values[free] = values[current];
+					free = current;
+				}
+				current = (current + 1) & mask;
+			}
+			values[free] = 0;
+		}
+
+		private void rehash(int newTableSize) {
+			int[] oldKeys = keys;
+			int[] oldValues = values;
+			keys = new int[newTableSize];
+			values = new int[newTableSize];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldValues[i] != 0) {
+					insert(oldKeys[i], oldValues[i]);
+				}
+			}
+		}
+
+		private static int hash(int key) {
+			int hash = key * 0x9E3779B9;
+			return hash ^ (hash >>> 16);
+		}
+	}
+}
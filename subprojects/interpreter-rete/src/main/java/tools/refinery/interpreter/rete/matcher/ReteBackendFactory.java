@@ -8,6 +8,7 @@
  *******************************************************************************/
 package tools.refinery.interpreter.rete.matcher;
 
+import tools.refinery.interpreter.rete.construction.plancompiler.QueryPlanCache;
 import tools.refinery.interpreter.rete.construction.plancompiler.ReteRecipeCompiler;
 import tools.refinery.interpreter.matchers.backend.IMatcherCapability;
 import tools.refinery.interpreter.matchers.backend.IQueryBackend;
@@ -16,8 +17,11 @@ import tools.refinery.interpreter.matchers.backend.IQueryBackendHintProvider;
 import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
 import tools.refinery.interpreter.matchers.context.IQueryBackendContext;
 import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 import tools.refinery.interpreter.rete.util.Options;
 
+import java.util.concurrent.ForkJoinPool;
+
 public class ReteBackendFactory implements IQueryBackendFactory {
     /**
      * EXPERIMENTAL
@@ -34,6 +38,52 @@ public class ReteBackendFactory implements IQueryBackendFactory {
      */
     @Deprecated
     public ReteBackendFactory() {
+        this(null);
+    }
+
+    private final QueryPlanCache planCache;
+
+    private final ForkJoinPool propagationPool;
+
+    private final boolean profiling;
+
+    /**
+     * Creates a factory whose engines share normalized queries and query plans.
+     * <p>
+     * All engines created by this factory must have the same meta context and query evaluation hints as the ones
+     * used to create the cache.
+     *
+     * @param planCache The shared cache of query plans, or {@code null} to use a separate cache for each engine.
+     */
+    public ReteBackendFactory(QueryPlanCache planCache) {
+        this(planCache, null);
+    }
+
+    /**
+     * Creates a factory whose engines share normalized queries and query plans, and propagate updates through
+     * independent parts of their networks concurrently.
+     *
+     * @param planCache The shared cache of query plans, or {@code null} to use a separate cache for each engine.
+     * @param propagationPool The thread pool to propagate updates with, or {@code null} for single-threaded
+     *                        propagation.
+     */
+    public ReteBackendFactory(QueryPlanCache planCache, ForkJoinPool propagationPool) {
+        this(planCache, propagationPool, false);
+    }
+
+    /**
+     * Creates a factory whose engines share normalized queries and query plans, and optionally propagate updates in
+     * parallel and profile the propagation.
+     *
+     * @param planCache The shared cache of query plans, or {@code null} to use a separate cache for each engine.
+     * @param propagationPool The thread pool to propagate updates with, or {@code null} for single-threaded
+     *                        propagation.
+     * @param profiling Whether to attach a {@link ReteProfiler} to each engine.
+     */
+    public ReteBackendFactory(QueryPlanCache planCache, ForkJoinPool propagationPool, boolean profiling) {
+        this.planCache = planCache;
+        this.propagationPool = propagationPool;
+        this.profiling = profiling;
     }
 
     /**
@@ -52,11 +102,17 @@ public class ReteBackendFactory implements IQueryBackendFactory {
         ReteEngine engine;
         engine = new ReteEngine(context, reteThreads, deleteAndRederiveEvaluation, timelyConfiguration);
         IQueryBackendHintProvider hintConfiguration = engine.getHintConfiguration();
+        var metaContext = context.getRuntimeContext().getMetaContext();
         ReteRecipeCompiler compiler = new ReteRecipeCompiler(
                 Options.builderMethod.layoutStrategy(context, hintConfiguration), context.getLogger(),
-                context.getRuntimeContext().getMetaContext(), context.getQueryCacheContext(), hintConfiguration,
-                context.getQueryAnalyzer(), deleteAndRederiveEvaluation, timelyConfiguration);
+                metaContext, context.getQueryCacheContext(), hintConfiguration,
+                context.getQueryAnalyzer(), deleteAndRederiveEvaluation, timelyConfiguration,
+                planCache == null ? new QueryPlanCache(metaContext, hintConfiguration) : planCache);
         engine.setCompiler(compiler);
+        engine.setPropagationPool(propagationPool);
+        if (profiling) {
+            engine.setProfiler(new ReteProfiler());
+        }
         return engine;
     }
 
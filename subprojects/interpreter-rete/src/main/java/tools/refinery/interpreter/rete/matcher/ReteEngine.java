@@ -14,6 +14,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.log4j.Logger;
 import tools.refinery.interpreter.rete.boundary.Disconnectable;
@@ -23,6 +24,8 @@ import tools.refinery.interpreter.rete.construction.plancompiler.ReteRecipeCompi
 import tools.refinery.interpreter.rete.network.Network;
 import tools.refinery.interpreter.rete.network.NodeProvisioner;
 import tools.refinery.interpreter.rete.network.ReteContainer;
+import tools.refinery.interpreter.rete.profiler.ReteProfile;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 import tools.refinery.interpreter.matchers.InterpreterRuntimeException;
 import tools.refinery.interpreter.matchers.backend.IQueryBackend;
 import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
@@ -72,6 +75,10 @@ public class ReteEngine implements IQueryBackend {
 
     private HintConfigurator hintConfigurator;
 
+    private ForkJoinPool propagationPool;
+
+    private ReteProfiler profiler;
+
     /**
      * @param context
      *            the context of the pattern matcher, conveying all information from the outside world.
@@ -144,10 +151,61 @@ public class ReteEngine implements IQueryBackend {
 
     }
 
+    /**
+     * Sets the thread pool used to propagate updates through independent parts of the network concurrently.
+     *
+     * @param propagationPool
+     *            the thread pool, or null for single-threaded propagation
+     * @since 3.0
+     */
+    public void setPropagationPool(ForkJoinPool propagationPool) {
+        this.propagationPool = propagationPool;
+    }
+
+    /**
+     * Enables profiling of the update propagation of the network. Must be called before any query is built.
+     *
+     * @param profiler
+     *            the profiler to record statistics with
+     * @since 3.0
+     */
+    public void setProfiler(ReteProfiler profiler) {
+        for (ReteContainer container : this.reteNet.getContainers()) {
+            container.getCommunicationTracker().setProfiler(profiler);
+        }
+        this.profiler = profiler;
+    }
+
+    /**
+     * @return the profiler of the network, or null if profiling is disabled
+     * @since 3.0
+     */
+    public ReteProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Takes a snapshot of the statistics collected since profiling was enabled or last reset.
+     *
+     * @throws IllegalStateException
+     *             if profiling is disabled
+     * @since 3.0
+     */
+    public ReteProfile createProfile() {
+        if (profiler == null) {
+            throw new IllegalStateException("Profiling is not enabled");
+        }
+        return profiler.createProfile(this.reteNet.getContainers());
+    }
+
     @Override
     public void flushUpdates() {
         for (ReteContainer container : this.reteNet.getContainers()) {
-            container.deliverMessagesSingleThreaded();
+            if (propagationPool == null) {
+                container.deliverMessagesSingleThreaded();
+            } else {
+                container.deliverMessagesInParallel(propagationPool);
+            }
         }
     }
 
@@ -15,6 +15,7 @@ import tools.refinery.interpreter.matchers.context.IPosetComparator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IRelationEvaluator;
 import tools.refinery.interpreter.matchers.psystem.aggregations.IMultisetAggregationOperator;
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.Connectivity;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.interpreter.rete.aggregation.ColumnAggregatorNode;
@@ -255,7 +256,8 @@ class NodeFactory {
 			case STRONG -> StronglyConnectedComponentAlgorithm::new;
 			case WEAK -> WeaklyConnectedComponentAlgorithm::new;
 		};
-		return new RepresentativeElectionNode(reteContainer, algorithmFactory);
+		boolean weaklyConnected = recipe.getConnectivity() == Connectivity.WEAK;
+		return new RepresentativeElectionNode(reteContainer, algorithmFactory, weaklyConnected);
 	}
 
     private Supplier instantiateNode(ReteContainer reteContainer, RelationEvaluationRecipe recipe) {
@@ -87,7 +87,8 @@ public class NodeProvisioner {
                 result = getNodesByRecipe().get(canonicalRecipe);
                 if (result != null) {
                     // NODE ALREADY CONSTRUCTED FOR EQUIVALENT RECIPE
-                    recipeTrace.shadowWithEquivalentRecipe(canonicalRecipe);
+                    // the trace may be shared with other networks, so the recipe is not shadowed in the trace,
+                    // but it is mapped to the node of the equivalent recipe instead
                     getNodesByRecipe().put(recipe, result);
                     if (getRecipeTraces().add(recipeTrace))
                         result.getNodeCache().assignTraceInfo(recipeTrace);
@@ -22,6 +22,7 @@ import tools.refinery.interpreter.rete.network.delayed.DelayedConnectCommand;
 import tools.refinery.interpreter.rete.network.delayed.DelayedDisconnectCommand;
 import tools.refinery.interpreter.CancellationToken;
 import tools.refinery.interpreter.matchers.context.IQueryBackendContext;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.util.Clearable;
 import tools.refinery.interpreter.matchers.util.CollectionsFactory;
@@ -34,6 +35,10 @@ import tools.refinery.interpreter.rete.single.TrimmerNode;
 import tools.refinery.interpreter.rete.util.Options;
 
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 /**
@@ -75,6 +80,12 @@ public final class ReteContainer {
 
 	private final CancellationToken cancellationToken;
 
+	private final IntTupleEncoding intTupleEncoding;
+
+    private final Object callbackLock = new Object();
+
+    private volatile boolean deliveringInParallel = false;
+
     /**
      * @param threaded
      *            false if operating in a single-threaded environment
@@ -85,6 +96,7 @@ public final class ReteContainer {
         this.backendContext = network.getEngine().getBackendContext();
         this.timelyConfiguration = network.getEngine().getTimelyConfiguration();
 		cancellationToken = backendContext.getRuntimeContext().getCancellationToken();
+		intTupleEncoding = backendContext.getRuntimeContext().getIntTupleEncoding();
 
         this.delayedCommandQueue = new LinkedHashSet<DelayedCommand>();
         this.delayedCommandBuffer = new LinkedHashSet<DelayedCommand>();
@@ -115,6 +127,15 @@ public final class ReteContainer {
         }
     }
 
+    /**
+     * @return the encoding memories of this container should store the elements of their tuples with, or null if they
+     *         should always store references
+     * @since 3.0
+     */
+    public IntTupleEncoding getIntTupleEncoding() {
+        return intTupleEncoding;
+    }
+
     /**
      * @since 2.4
      */
@@ -582,6 +603,93 @@ public final class ReteContainer {
         }
     }
 
+    /**
+     * Sends out all pending messages to their receivers, delivering the messages of independent parts of the network
+     * concurrently.
+     * <p>
+     * Parts of the network are considered independent if they form separate weakly connected components of the
+     * communication dependency graph. Within each component, messages are delivered in the same order as in
+     * {@link #deliverMessagesSingleThreaded()}. Falls back to single-threaded delivery if there are less than two
+     * components with pending messages or the container uses timely evaluation.
+     *
+     * @param pool
+     *            the thread pool to deliver messages with
+     * @since 3.0
+     */
+    public void deliverMessagesInParallel(ForkJoinPool pool) {
+        if (backendContext.areUpdatesDelayed()) {
+            return;
+        }
+        if (isTimelyEvaluation() || Options.MONITOR_VIOLATION_OF_RETE_NODEGROUP_TOPOLOGICAL_SORTING) {
+            deliverMessagesSingleThreaded();
+            return;
+        }
+        final List<Queue<CommunicationGroup>> queues = tracker.beginParallelDelivery();
+        try {
+            if (queues.size() < 2) {
+                for (final Queue<CommunicationGroup> queue : queues) {
+                    deliverMessages(queue);
+                }
+                return;
+            }
+            final List<Callable<Void>> tasks = new ArrayList<>(queues.size());
+            for (final Queue<CommunicationGroup> queue : queues) {
+                tasks.add(() -> {
+                    deliverMessages(queue);
+                    return null;
+                });
+            }
+            deliveringInParallel = true;
+            try {
+                for (final Future<Void> future : pool.invokeAll(tasks)) {
+                    future.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while delivering messages", e);
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException("Failed to deliver messages", cause);
+            } finally {
+                deliveringInParallel = false;
+            }
+        } finally {
+            tracker.endParallelDelivery();
+        }
+    }
+
+    private void deliverMessages(Queue<CommunicationGroup> queue) {
+        while (!queue.isEmpty()) {
+            final CommunicationGroup group = tracker.getAndRemoveFirstGroup(queue);
+            group.deliverMessages();
+        }
+    }
+
+    /**
+     * @return true if messages are being delivered by {@link #deliverMessagesInParallel(ForkJoinPool)} on multiple
+     *         threads
+     * @since 3.0
+     */
+    public boolean isDeliveringInParallel() {
+        return deliveringInParallel;
+    }
+
+    /**
+     * Nodes that notify code outside the network should hold this lock while {@link #isDeliveringInParallel()}, since
+     * such code is not required to be thread-safe.
+     *
+     * @since 3.0
+     */
+    public Object getCallbackLock() {
+        return callbackLock;
+    }
+
     private void localUpdateTermination(long incrementedClock) {
         network.reportLocalUpdateTermination(this, incrementedClock, terminationCriteria);
         terminationCriteria.clear();
@@ -13,6 +13,7 @@ import java.util.Map;
 
 import tools.refinery.interpreter.rete.network.Node;
 import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 
 /**
  * A communication group represents a set of nodes in the communication graph that form a strongly connected component.
@@ -41,6 +42,11 @@ public abstract class CommunicationGroup implements Comparable<CommunicationGrou
      */
     protected final CommunicationTracker tracker;
 
+    /**
+     * The weakly connected component of the dependency graph containing this group, maintained by the tracker
+     */
+    int componentIdentifier;
+
     /**
      * @since 1.7
      */
@@ -52,6 +58,25 @@ public abstract class CommunicationGroup implements Comparable<CommunicationGrou
 
     public abstract void deliverMessages();
 
+    /**
+     * Delivers the messages of a mailbox, measuring the time spent in its receiver if profiling is enabled.
+     *
+     * @since 3.0
+     */
+    protected void deliverAll(final Mailbox mailbox, final MessageSelector selector) {
+        final ReteProfiler profiler = tracker.getProfiler();
+        if (profiler == null) {
+            mailbox.deliverAll(selector);
+            return;
+        }
+        profiler.enter(mailbox.getReceiver());
+        try {
+            mailbox.deliverAll(selector);
+        } finally {
+            profiler.exit();
+        }
+    }
+
     public Node getRepresentative() {
         return representative;
     }
@@ -22,6 +22,7 @@ import tools.refinery.interpreter.rete.network.communication.timely.TimelyMailbo
 import tools.refinery.interpreter.rete.network.mailbox.FallThroughCapableMailbox;
 import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
 import tools.refinery.interpreter.rete.network.mailbox.timeless.BehaviorChangingMailbox;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 import tools.refinery.interpreter.rete.single.TransitiveClosureNode;
 import tools.refinery.interpreter.rete.single.TrimmerNode;
 
@@ -76,6 +77,24 @@ public abstract class CommunicationTracker {
     // groups should have a simple integer flag which represents its position in a priority queue
     // priority queue only contains the ACTIVE groups
 
+    /**
+     * Whether the component identifiers of the groups reflect the current dependency graph
+     */
+    private boolean componentsValid = false;
+
+    private ReteProfiler profiler;
+
+    /**
+     * The number of weakly connected components in the dependency graph
+     */
+    private int componentCount;
+
+    /**
+     * Priority queues of active communication groups for each weakly connected component of the dependency graph,
+     * or null if no parallel delivery is in progress
+     */
+    private Queue<CommunicationGroup>[] componentQueues;
+
     public CommunicationTracker() {
         this.dependencyGraph = new Graph<Node>();
         this.sccInformationProvider = new IncSCCAlg<Node>(this.dependencyGraph);
@@ -92,6 +111,7 @@ public abstract class CommunicationTracker {
     }
 
     private void precomputeGroups() {
+        componentsValid = false;
         groupMap.clear();
 
         // reconstruct group map from dependency graph
@@ -236,17 +256,38 @@ public abstract class CommunicationTracker {
     }
 
     public void activateUnenqueued(final CommunicationGroup group) {
-        groupQueue.add(group);
+        getQueue(group).add(group);
         group.isEnqueued = true;
     }
 
     public void deactivate(final CommunicationGroup group) {
-        groupQueue.remove(group);
+        getQueue(group).remove(group);
         group.isEnqueued = false;
     }
 
+    private Queue<CommunicationGroup> getQueue(final CommunicationGroup group) {
+        if (componentQueues == null) {
+            return groupQueue;
+        }
+        // During parallel delivery, groups may only be activated by groups of the same component.
+        final Queue<CommunicationGroup> queue = componentQueues[group.componentIdentifier];
+        if (queue == null) {
+            throw new IllegalStateException("Group " + group + " was activated in an inactive component");
+        }
+        return queue;
+    }
+
     public CommunicationGroup getAndRemoveFirstGroup() {
-        final CommunicationGroup group = groupQueue.poll();
+        return getAndRemoveFirstGroup(groupQueue);
+    }
+
+    /**
+     * Removes the first group from a queue returned by {@link #beginParallelDelivery()}.
+     *
+     * @since 3.0
+     */
+    public CommunicationGroup getAndRemoveFirstGroup(final Queue<CommunicationGroup> queue) {
+        final CommunicationGroup group = queue.poll();
 		if (group == null) {
 			throw new IllegalStateException("Group queue must not be empty");
 		}
@@ -254,6 +295,106 @@ public abstract class CommunicationTracker {
         return group;
     }
 
+    /**
+     * Splits the active groups according to the weakly connected components of the dependency graph. Nodes in
+     * different components never exchange messages or read each other's memories, so the returned queues may be
+     * emptied concurrently. Within each queue, groups are still delivered in topological order, which preserves the
+     * delivery order guarantees of sequential delivery.
+     * <p>
+     * Until {@link #endParallelDelivery()} is called, groups activated during delivery are added to the queue of
+     * their component, and the network structure must not change.
+     *
+     * @return the queues of groups of the components that have active groups
+     * @since 3.0
+     */
+    public List<Queue<CommunicationGroup>> beginParallelDelivery() {
+        if (componentQueues != null) {
+            throw new IllegalStateException("Parallel delivery is already in progress");
+        }
+        ensureComponents();
+        @SuppressWarnings("unchecked")
+        final Queue<CommunicationGroup>[] queues = new Queue[componentCount];
+        final List<Queue<CommunicationGroup>> activeQueues = new ArrayList<>();
+        for (final CommunicationGroup group : groupQueue) {
+            Queue<CommunicationGroup> queue = queues[group.componentIdentifier];
+            if (queue == null) {
+                queue = new PriorityQueue<>();
+                queues[group.componentIdentifier] = queue;
+                activeQueues.add(queue);
+            }
+            queue.add(group);
+        }
+        groupQueue.clear();
+        componentQueues = queues;
+        return activeQueues;
+    }
+
+    /**
+     * Finishes parallel delivery started by {@link #beginParallelDelivery()}. Groups that are still active (e.g.,
+     * because delivery failed with an exception) are moved back to the main queue.
+     *
+     * @since 3.0
+     */
+    public void endParallelDelivery() {
+        if (componentQueues == null) {
+            return;
+        }
+        for (final Queue<CommunicationGroup> queue : componentQueues) {
+            if (queue != null) {
+                groupQueue.addAll(queue);
+            }
+        }
+        componentQueues = null;
+    }
+
+    private void ensureComponents() {
+        if (componentsValid) {
+            return;
+        }
+        final List<Node> nodes = new ArrayList<>(dependencyGraph.getAllNodes());
+        final Map<Node, Integer> nodeIndices = new HashMap<>(nodes.size());
+        for (int i = 0; i < nodes.size(); i++) {
+            nodeIndices.put(nodes.get(i), i);
+        }
+        final int[] parents = new int[nodes.size()];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = i;
+        }
+        for (int i = 0; i < nodes.size(); i++) {
+            for (final Node target : dependencyGraph.getTargetNodes(nodes.get(i)).distinctValues()) {
+                final int sourceRoot = findRoot(parents, i);
+                final int targetRoot = findRoot(parents, nodeIndices.get(target));
+                if (sourceRoot != targetRoot) {
+                    parents[targetRoot] = sourceRoot;
+                }
+            }
+        }
+        final int[] componentIdentifiers = new int[nodes.size()];
+        Arrays.fill(componentIdentifiers, -1);
+        componentCount = 0;
+        for (int i = 0; i < nodes.size(); i++) {
+            final int root = findRoot(parents, i);
+            if (componentIdentifiers[root] < 0) {
+                componentIdentifiers[root] = componentCount;
+                componentCount++;
+            }
+            final CommunicationGroup group = groupMap.get(nodes.get(i));
+            if (group != null) {
+                // All nodes of a group are in the same strongly connected component, hence in the same component.
+                group.componentIdentifier = componentIdentifiers[root];
+            }
+        }
+        componentsValid = true;
+    }
+
+    private static int findRoot(final int[] parents, int index) {
+        while (parents[index] != index) {
+            parents[index] = parents[parents[index]];
+            index = parents[index];
+        }
+        return index;
+    }
+
     public boolean isEmpty() {
         return groupQueue.isEmpty();
     }
@@ -277,6 +418,7 @@ public abstract class CommunicationTracker {
      *            the target node
      */
     public void registerDependency(final Node source, final Node target) {
+        componentsValid = false;
         // nodes can be immediately inserted, if they already exist in the graph, this is a noop
         dependencyGraph.insertNode(source);
         dependencyGraph.insertNode(target);
@@ -369,6 +511,7 @@ public abstract class CommunicationTracker {
      *            the target node
      */
     public void unregisterDependency(final Node source, final Node target) {
+        componentsValid = false;
         // delete the edge first, and then query the SCC info provider
         this.dependencyGraph.deleteEdgeIfExists(source, target);
 
@@ -443,6 +586,29 @@ public abstract class CommunicationTracker {
      */
     public abstract Mailbox proxifyMailbox(final Node requester, final Mailbox original);
 
+    /**
+     * @return the profiler collecting statistics about message passing, or null if profiling is disabled
+     * @since 3.0
+     */
+    public ReteProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * Enables profiling of message passing. Must be called before any dependency is registered, because proxies are
+     * only created for subsequently connected nodes.
+     *
+     * @param profiler
+     *            the profiler to record statistics with
+     * @since 3.0
+     */
+    public void setProfiler(final ReteProfiler profiler) {
+        if (!dependencyGraph.getAllNodes().isEmpty()) {
+            throw new IllegalStateException("Profiling must be enabled before building the network");
+        }
+        this.profiler = profiler;
+    }
+
     /**
      * Creates a proxy for the given {@link IndexerListener} for the given requester {@link Node}. The proxy creation is
      * {@link CommunicationTracker}-specific and depends on the identity of the requester. This method is primarily used
@@ -23,6 +23,7 @@ import tools.refinery.interpreter.rete.network.communication.CommunicationTracke
 import tools.refinery.interpreter.rete.network.communication.MessageSelector;
 import tools.refinery.interpreter.rete.network.communication.PhasedSelector;
 import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 
 /**
  * A communication group representing either a single node where the
@@ -60,12 +61,12 @@ public class RecursiveCommunicationGroup extends CommunicationGroup {
             while (!this.antiMonotoneMailboxes.isEmpty()) {
                 final Mailbox mailbox = this.antiMonotoneMailboxes.iterator().next();
                 this.antiMonotoneMailboxes.remove(mailbox);
-                mailbox.deliverAll(PhasedSelector.ANTI_MONOTONE);
+                deliverAll(mailbox, PhasedSelector.ANTI_MONOTONE);
             }
             while (!this.defaultMailboxes.isEmpty()) {
                 final Mailbox mailbox = this.defaultMailboxes.iterator().next();
                 this.defaultMailboxes.remove(mailbox);
-                mailbox.deliverAll(PhasedSelector.DEFAULT);
+                deliverAll(mailbox, PhasedSelector.DEFAULT);
             }
         }
 
@@ -73,7 +74,17 @@ public class RecursiveCommunicationGroup extends CommunicationGroup {
         while (!this.rederivables.isEmpty()) {
             // re-derivable nodes take care of their unregistration!!
             final RederivableNode node = this.rederivables.iterator().next();
-            node.rederiveOne();
+            final ReteProfiler profiler = tracker.getProfiler();
+            if (profiler == null) {
+                node.rederiveOne();
+            } else {
+                profiler.enter(node);
+                try {
+                    node.rederiveOne();
+                } finally {
+                    profiler.exit();
+                }
+            }
         }
 
         // MONOTONE PHASE
@@ -81,12 +92,12 @@ public class RecursiveCommunicationGroup extends CommunicationGroup {
             while (!this.monotoneMailboxes.isEmpty()) {
                 final Mailbox mailbox = this.monotoneMailboxes.iterator().next();
                 this.monotoneMailboxes.remove(mailbox);
-                mailbox.deliverAll(PhasedSelector.MONOTONE);
+                deliverAll(mailbox, PhasedSelector.MONOTONE);
             }
             while (!this.defaultMailboxes.isEmpty()) {
                 final Mailbox mailbox = this.defaultMailboxes.iterator().next();
                 this.defaultMailboxes.remove(mailbox);
-                mailbox.deliverAll(PhasedSelector.DEFAULT);
+                deliverAll(mailbox, PhasedSelector.DEFAULT);
             }
         }
 
@@ -39,7 +39,7 @@ public class SingletonCommunicationGroup extends CommunicationGroup {
 
     @Override
     public void deliverMessages() {
-        this.mailbox.deliverAll(PhasedSelector.DEFAULT);
+        deliverAll(this.mailbox, PhasedSelector.DEFAULT);
     }
 
     @Override
@@ -25,6 +25,7 @@ import tools.refinery.interpreter.rete.network.communication.CommunicationTracke
 import tools.refinery.interpreter.rete.network.communication.MessageSelector;
 import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
 import tools.refinery.interpreter.rete.network.mailbox.timeless.BehaviorChangingMailbox;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 
 /**
  * Timeless implementation of the communication tracker.
@@ -81,12 +82,14 @@ public class TimelessCommunicationTracker extends CommunicationTracker {
 
     @Override
     public Mailbox proxifyMailbox(final Node requester, final Mailbox original) {
-        return original;
+        final ReteProfiler profiler = getProfiler();
+        return profiler == null ? original : profiler.proxifyMailbox(requester, original);
     }
 
     @Override
     public IndexerListener proxifyIndexerListener(final Node requester, final IndexerListener original) {
-        return original;
+        final ReteProfiler profiler = getProfiler();
+        return profiler == null ? original : profiler.proxifyIndexerListener(requester, original);
     }
 
     @Override
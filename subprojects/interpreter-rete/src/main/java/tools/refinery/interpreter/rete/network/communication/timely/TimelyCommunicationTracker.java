@@ -34,6 +34,7 @@ import tools.refinery.interpreter.rete.network.communication.MessageSelector;
 import tools.refinery.interpreter.rete.network.communication.NodeComparator;
 import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
 import tools.refinery.interpreter.rete.single.DiscriminatorDispatcherNode;
+import tools.refinery.interpreter.rete.profiler.ReteProfiler;
 
 /**
  * Timely (DDF) implementation of the {@link CommunicationTracker}.
@@ -67,6 +68,11 @@ public class TimelyCommunicationTracker extends CommunicationTracker {
         }
     }
 
+    @Override
+    public void setProfiler(final ReteProfiler profiler) {
+        throw new UnsupportedOperationException("Profiling is not supported with timely evaluation");
+    }
+
     @Override
     public Mailbox proxifyMailbox(final Node requester, final Mailbox original) {
         final Mailbox mailboxToProxify = (original instanceof TimelyMailboxProxy)
@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+/**
+ * A communication edge between two nodes of a profiled Rete network.
+ *
+ * @since 3.0
+ */
+public final class EdgeProfile {
+
+    /**
+     * Message count of edges along which the source updates the target by direct calls, e.g., the parent of an
+     * indexer.
+     */
+    public static final long NOT_COUNTED = -1;
+
+    private final long sourceId;
+    private final long targetId;
+    private final long messageCount;
+
+    public EdgeProfile(final long sourceId, final long targetId, final long messageCount) {
+        this.sourceId = sourceId;
+        this.targetId = targetId;
+        this.messageCount = messageCount;
+    }
+
+    public long getSourceId() {
+        return sourceId;
+    }
+
+    public long getTargetId() {
+        return targetId;
+    }
+
+    /**
+     * @return the number of messages sent along the edge, or {@link #NOT_COUNTED}
+     */
+    public long getMessageCount() {
+        return messageCount;
+    }
+
+    public boolean isCounted() {
+        return messageCount != NOT_COUNTED;
+    }
+
+    @Override
+    public String toString() {
+        return sourceId + " -> " + targetId + " (" + messageCount + ")";
+    }
+
+}
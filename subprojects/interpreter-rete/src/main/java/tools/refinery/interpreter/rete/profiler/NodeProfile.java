@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * A snapshot of the statistics of a single Rete node.
+ *
+ * @since 3.0
+ */
+public final class NodeProfile {
+
+    /**
+     * Memory size of nodes that have no memory of their own.
+     */
+    public static final long NO_MEMORY = -1;
+
+    private final long id;
+    private final String name;
+    private final String kind;
+    private final Set<PQuery> queries;
+    private final long insertsReceived;
+    private final long deletesReceived;
+    private final long insertsSent;
+    private final long deletesSent;
+    private final long memorySize;
+    private final long selfTimeNanos;
+
+    public NodeProfile(final long id, final String name, final String kind, final Set<PQuery> queries,
+            final long insertsReceived, final long deletesReceived, final long insertsSent, final long deletesSent,
+            final long memorySize, final long selfTimeNanos) {
+        this.id = id;
+        this.name = name;
+        this.kind = kind;
+        this.queries = Collections.unmodifiableSet(new LinkedHashSet<>(queries));
+        this.insertsReceived = insertsReceived;
+        this.deletesReceived = deletesReceived;
+        this.insertsSent = insertsSent;
+        this.deletesSent = deletesSent;
+        this.memorySize = memorySize;
+        this.selfTimeNanos = selfTimeNanos;
+    }
+
+    /**
+     * @return the identifier of the node in its container
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return the textual representation of the node
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the simple class name of the node
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the queries the node was built for, or the queries of the nearest downstream nodes if the node has no
+     *         pattern traces
+     */
+    public Set<PQuery> getQueries() {
+        return queries;
+    }
+
+    public long getInsertsReceived() {
+        return insertsReceived;
+    }
+
+    public long getDeletesReceived() {
+        return deletesReceived;
+    }
+
+    public long getInsertsSent() {
+        return insertsSent;
+    }
+
+    public long getDeletesSent() {
+        return deletesSent;
+    }
+
+    public long getMessagesReceived() {
+        return insertsReceived + deletesReceived;
+    }
+
+    public long getMessagesSent() {
+        return insertsSent + deletesSent;
+    }
+
+    /**
+     * @return the number of tuples in the memory of the node, or {@link #NO_MEMORY}
+     */
+    public long getMemorySize() {
+        return memorySize;
+    }
+
+    /**
+     * @return the time spent processing updates in the node, excluding the nodes it notified
+     */
+    public long getSelfTimeNanos() {
+        return selfTimeNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "NodeProfile [" + id + " " + name + ", received=" + getMessagesReceived() + ", sent="
+                + getMessagesSent() + ", memory=" + memorySize + ", time=" + selfTimeNanos + "ns]";
+    }
+
+}
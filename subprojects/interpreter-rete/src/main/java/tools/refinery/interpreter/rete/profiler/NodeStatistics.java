@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.util.Direction;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mutable counters of a single node, updated concurrently if updates are propagated in parallel.
+ *
+ * @since 3.0
+ */
+class NodeStatistics {
+    final LongAdder insertsReceived = new LongAdder();
+    final LongAdder deletesReceived = new LongAdder();
+    final LongAdder insertsSent = new LongAdder();
+    final LongAdder deletesSent = new LongAdder();
+    final LongAdder selfTimeNanos = new LongAdder();
+
+    void recordReceived(Direction direction) {
+        if (direction == Direction.INSERT) {
+            insertsReceived.increment();
+        } else {
+            deletesReceived.increment();
+        }
+    }
+
+    void recordSent(Direction direction) {
+        if (direction == Direction.INSERT) {
+            insertsSent.increment();
+        } else {
+            deletesSent.increment();
+        }
+    }
+
+    void reset() {
+        insertsReceived.reset();
+        deletesReceived.reset();
+        insertsSent.reset();
+        deletesSent.reset();
+        selfTimeNanos.reset();
+    }
+}
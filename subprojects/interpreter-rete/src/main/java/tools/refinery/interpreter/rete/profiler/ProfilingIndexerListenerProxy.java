@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.util.Direction;
+import tools.refinery.interpreter.rete.index.IndexerListener;
+import tools.refinery.interpreter.rete.network.Node;
+import tools.refinery.interpreter.rete.network.communication.Timestamp;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A proxy for an {@link IndexerListener} that counts and times the notifications sent to it by a single indexer.
+ *
+ * @since 3.0
+ */
+public class ProfilingIndexerListenerProxy implements IndexerListener {
+
+    protected final IndexerListener wrapped;
+    protected final Node sender;
+    private final ReteProfiler profiler;
+    private final NodeStatistics senderStatistics;
+    private final NodeStatistics receiverStatistics;
+    private final LongAdder edgeMessageCount;
+
+    ProfilingIndexerListenerProxy(final ReteProfiler profiler, final Node sender, final IndexerListener wrapped) {
+        this.wrapped = wrapped;
+        this.sender = sender;
+        this.profiler = profiler;
+        this.senderStatistics = profiler.getStatistics(sender);
+        this.receiverStatistics = profiler.getStatistics(wrapped.getOwner());
+        this.edgeMessageCount = profiler.getEdgeMessageCount(sender, wrapped.getOwner());
+    }
+
+    public IndexerListener getWrappedIndexerListener() {
+        return wrapped;
+    }
+
+    @Override
+    public Node getOwner() {
+        return this.wrapped.getOwner();
+    }
+
+    @Override
+    public void notifyIndexerUpdate(final Direction direction, final Tuple updateElement, final Tuple signature,
+            final boolean change, final Timestamp timestamp) {
+        senderStatistics.recordSent(direction);
+        receiverStatistics.recordReceived(direction);
+        edgeMessageCount.increment();
+        profiler.enter(receiverStatistics);
+        try {
+            this.wrapped.notifyIndexerUpdate(direction, updateElement, signature, change, timestamp);
+        } finally {
+            profiler.exit();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PROFILING_PROXY -> " + this.wrapped.toString();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        } else if (obj == this) {
+            return true;
+        } else {
+            final ProfilingIndexerListenerProxy that = (ProfilingIndexerListenerProxy) obj;
+            return this.wrapped.equals(that.wrapped) && this.sender == that.sender;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        hash = hash * 17 + this.wrapped.hashCode();
+        hash = hash * 31 + this.sender.hashCode();
+        return hash;
+    }
+
+}
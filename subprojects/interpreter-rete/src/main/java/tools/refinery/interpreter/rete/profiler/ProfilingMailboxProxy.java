@@ -0,0 +1,116 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.util.Direction;
+import tools.refinery.interpreter.rete.network.Node;
+import tools.refinery.interpreter.rete.network.Receiver;
+import tools.refinery.interpreter.rete.network.communication.CommunicationGroup;
+import tools.refinery.interpreter.rete.network.communication.MessageSelector;
+import tools.refinery.interpreter.rete.network.communication.Timestamp;
+import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A proxy for the {@link Mailbox} of a receiver that counts the messages posted to it by a single sender.
+ * <p>
+ * Posting is timed on behalf of the receiver, because fall-through mailboxes deliver messages immediately.
+ *
+ * @since 3.0
+ */
+public class ProfilingMailboxProxy implements Mailbox {
+
+    protected final Mailbox wrapped;
+    protected final Node sender;
+    private final ReteProfiler profiler;
+    private final NodeStatistics senderStatistics;
+    private final NodeStatistics receiverStatistics;
+    private final LongAdder edgeMessageCount;
+
+    ProfilingMailboxProxy(final ReteProfiler profiler, final Node sender, final Mailbox wrapped) {
+        this.wrapped = wrapped;
+        this.sender = sender;
+        this.profiler = profiler;
+        this.senderStatistics = profiler.getStatistics(sender);
+        this.receiverStatistics = profiler.getStatistics(wrapped.getReceiver());
+        this.edgeMessageCount = profiler.getEdgeMessageCount(sender, wrapped.getReceiver());
+    }
+
+    public Mailbox getWrappedMailbox() {
+        return wrapped;
+    }
+
+    @Override
+    public void postMessage(final Direction direction, final Tuple update, final Timestamp timestamp) {
+        senderStatistics.recordSent(direction);
+        receiverStatistics.recordReceived(direction);
+        edgeMessageCount.increment();
+        profiler.enter(receiverStatistics);
+        try {
+            this.wrapped.postMessage(direction, update, timestamp);
+        } finally {
+            profiler.exit();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PROFILING_PROXY -> " + this.wrapped.toString();
+    }
+
+    @Override
+    public void clear() {
+        this.wrapped.clear();
+    }
+
+    @Override
+    public void deliverAll(final MessageSelector selector) {
+        this.wrapped.deliverAll(selector);
+    }
+
+    @Override
+    public CommunicationGroup getCurrentGroup() {
+        return this.wrapped.getCurrentGroup();
+    }
+
+    @Override
+    public void setCurrentGroup(final CommunicationGroup group) {
+        this.wrapped.setCurrentGroup(group);
+    }
+
+    @Override
+    public Receiver getReceiver() {
+        return this.wrapped.getReceiver();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.wrapped.isEmpty();
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (obj == null || obj.getClass() != this.getClass()) {
+            return false;
+        } else if (obj == this) {
+            return true;
+        } else {
+            final ProfilingMailboxProxy that = (ProfilingMailboxProxy) obj;
+            return this.wrapped.equals(that.wrapped) && this.sender == that.sender;
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        hash = hash * 17 + this.wrapped.hashCode();
+        hash = hash * 31 + this.sender.hashCode();
+        return hash;
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+
+import java.util.*;
+
+/**
+ * A snapshot of the statistics collected by a {@link ReteProfiler}, which can be exported as JSON or as a DOT
+ * rendering of the network with the hotspots highlighted.
+ *
+ * @since 3.0
+ */
+public class ReteProfile {
+
+    /**
+     * Number of nodes highlighted as hotspots in {@link #toDot()}.
+     */
+    public static final int DEFAULT_HOTSPOT_COUNT = 10;
+
+    private static final Comparator<NodeProfile> HOTSPOT_ORDER = Comparator
+            .comparingLong(NodeProfile::getSelfTimeNanos)
+            .thenComparingLong(NodeProfile::getMessagesReceived)
+            .reversed();
+
+    private final List<NodeProfile> nodes;
+    private final List<EdgeProfile> edges;
+
+    public ReteProfile(final List<NodeProfile> nodes, final List<EdgeProfile> edges) {
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+        this.edges = Collections.unmodifiableList(new ArrayList<>(edges));
+    }
+
+    public List<NodeProfile> getNodes() {
+        return nodes;
+    }
+
+    public List<EdgeProfile> getEdges() {
+        return edges;
+    }
+
+    /**
+     * @return the nodes attributed to the given query
+     */
+    public List<NodeProfile> getNodes(final PQuery query) {
+        final List<NodeProfile> result = new ArrayList<>();
+        for (final NodeProfile node : nodes) {
+            if (node.getQueries().contains(query)) {
+                result.add(node);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return the nodes that spent the most time processing updates, in decreasing order
+     */
+    public List<NodeProfile> getHotspots(final int limit) {
+        final List<NodeProfile> sorted = new ArrayList<>(nodes);
+        sorted.sort(HOTSPOT_ORDER);
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public String toJson() {
+        final StringBuilder builder = new StringBuilder();
+        builder.append("{\"nodes\":[");
+        boolean first = true;
+        for (final NodeProfile node : nodes) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append("{\"id\":").append(node.getId());
+            builder.append(",\"name\":");
+            appendJsonString(builder, node.getName());
+            builder.append(",\"kind\":");
+            appendJsonString(builder, node.getKind());
+            builder.append(",\"queries\":[");
+            boolean firstQuery = true;
+            for (final PQuery query : node.getQueries()) {
+                if (!firstQuery) {
+                    builder.append(',');
+                }
+                firstQuery = false;
+                appendJsonString(builder, query.getFullyQualifiedName());
+            }
+            builder.append("],\"insertsReceived\":").append(node.getInsertsReceived());
+            builder.append(",\"deletesReceived\":").append(node.getDeletesReceived());
+            builder.append(",\"insertsSent\":").append(node.getInsertsSent());
+            builder.append(",\"deletesSent\":").append(node.getDeletesSent());
+            builder.append(",\"memorySize\":");
+            if (node.getMemorySize() == NodeProfile.NO_MEMORY) {
+                builder.append("null");
+            } else {
+                builder.append(node.getMemorySize());
+            }
+            builder.append(",\"selfTimeNanos\":").append(node.getSelfTimeNanos());
+            builder.append('}');
+        }
+        builder.append("],\"edges\":[");
+        first = true;
+        for (final EdgeProfile edge : edges) {
+            if (!first) {
+                builder.append(',');
+            }
+            first = false;
+            builder.append("{\"source\":").append(edge.getSourceId());
+            builder.append(",\"target\":").append(edge.getTargetId());
+            builder.append(",\"messageCount\":");
+            if (edge.isCounted()) {
+                builder.append(edge.getMessageCount());
+            } else {
+                builder.append("null");
+            }
+            builder.append('}');
+        }
+        builder.append("]}");
+        return builder.toString();
+    }
+
+    public String toDot() {
+        return toDot(DEFAULT_HOTSPOT_COUNT);
+    }
+
+    /**
+     * Renders the network in the DOT language. The given number of nodes that spent the most time processing updates
+     * are filled with a shade of red proportional to their time.
+     */
+    public String toDot(final int hotspotCount) {
+        final Map<Long, Double> heat = new HashMap<>();
+        final List<NodeProfile> hotspots = getHotspots(hotspotCount);
+        final long maxTime = hotspots.isEmpty() ? 0 : hotspots.get(0).getSelfTimeNanos();
+        if (maxTime > 0) {
+            for (final NodeProfile hotspot : hotspots) {
+                heat.put(hotspot.getId(), (double) hotspot.getSelfTimeNanos() / maxTime);
+            }
+        }
+        final StringBuilder builder = new StringBuilder();
+        builder.append("digraph rete {\n");
+        builder.append("  node [shape=box, style=filled, fillcolor=white, fontname=\"monospace\"];\n");
+        for (final NodeProfile node : nodes) {
+            builder.append("  n").append(node.getId()).append(" [label=");
+            final StringBuilder label = new StringBuilder();
+            label.append(node.getKind()).append(" #").append(node.getId());
+            for (final PQuery query : node.getQueries()) {
+                label.append('\n').append(query.getFullyQualifiedName());
+            }
+            label.append("\nin +").append(node.getInsertsReceived()).append(" -").append(node.getDeletesReceived());
+            label.append(", out +").append(node.getInsertsSent()).append(" -").append(node.getDeletesSent());
+            if (node.getMemorySize() != NodeProfile.NO_MEMORY) {
+                label.append("\nmemory ").append(node.getMemorySize());
+            }
+            label.append(String.format(Locale.ROOT, "\ntime %.3f ms", node.getSelfTimeNanos() / 1e6));
+            appendDotString(builder, label.toString());
+            final Double nodeHeat = heat.get(node.getId());
+            if (nodeHeat != null) {
+                final int channel = (int) Math.round(255 * (1 - nodeHeat));
+                builder.append(String.format(Locale.ROOT, ", fillcolor=\"#ff%02x%02x\", penwidth=2", channel,
+                        channel));
+            }
+            builder.append("];\n");
+        }
+        for (final EdgeProfile edge : edges) {
+            builder.append("  n").append(edge.getSourceId()).append(" -> n").append(edge.getTargetId());
+            if (edge.isCounted()) {
+                builder.append(" [label=\"").append(edge.getMessageCount()).append("\"]");
+            } else {
+                builder.append(" [style=dashed]");
+            }
+            builder.append(";\n");
+        }
+        builder.append("}\n");
+        return builder.toString();
+    }
+
+    private static void appendJsonString(final StringBuilder builder, final String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                builder.append("\\\"");
+                break;
+            case '\\':
+                builder.append("\\\\");
+                break;
+            case '\n':
+                builder.append("\\n");
+                break;
+            case '\r':
+                builder.append("\\r");
+                break;
+            case '\t':
+                builder.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    builder.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+        builder.append('"');
+    }
+
+    private static void appendDotString(final StringBuilder builder, final String value) {
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c == '\n') {
+                builder.append("\\n");
+            } else {
+                builder.append(c);
+            }
+        }
+        builder.append('"');
+    }
+
+}
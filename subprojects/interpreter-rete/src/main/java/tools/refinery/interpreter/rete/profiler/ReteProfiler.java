@@ -0,0 +1,226 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.rete.profiler;
+
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+import tools.refinery.interpreter.rete.index.Indexer;
+import tools.refinery.interpreter.rete.index.IndexerListener;
+import tools.refinery.interpreter.rete.index.IndexerWithMemory;
+import tools.refinery.interpreter.rete.network.Node;
+import tools.refinery.interpreter.rete.network.ReteContainer;
+import tools.refinery.interpreter.rete.network.mailbox.Mailbox;
+import tools.refinery.interpreter.rete.single.AbstractUniquenessEnforcerNode;
+import tools.refinery.interpreter.rete.traceability.CompiledQuery;
+import tools.refinery.interpreter.rete.traceability.ParameterProjectionTrace;
+import tools.refinery.interpreter.rete.traceability.PlanningTrace;
+import tools.refinery.interpreter.rete.traceability.TraceInfo;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-node statistics about the update propagation of a Rete network.
+ * <p>
+ * The profiler must be attached to the containers of a network before any node is built, so that the communication
+ * tracker can wrap every mailbox and indexer listener into a counting proxy. The time of a node only includes the
+ * time spent in the node itself, not the time of the nodes it notifies synchronously.
+ *
+ * @since 3.0
+ */
+public class ReteProfiler {
+
+    private final Map<Node, NodeStatistics> nodeStatistics = new ConcurrentHashMap<>();
+    private final Map<Node, Map<Node, LongAdder>> edgeMessageCounts = new ConcurrentHashMap<>();
+    private final ThreadLocal<Deque<Frame>> frames = ThreadLocal.withInitial(ArrayDeque::new);
+
+    NodeStatistics getStatistics(final Node node) {
+        return nodeStatistics.computeIfAbsent(node, key -> new NodeStatistics());
+    }
+
+    LongAdder getEdgeMessageCount(final Node sender, final Node receiver) {
+        return edgeMessageCounts.computeIfAbsent(sender, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(receiver, key -> new LongAdder());
+    }
+
+    /**
+     * Wraps the mailbox of a receiver to count the messages sent to it by the requester.
+     */
+    public Mailbox proxifyMailbox(final Node requester, final Mailbox original) {
+        final Mailbox mailboxToProxify = (original instanceof ProfilingMailboxProxy)
+                ? ((ProfilingMailboxProxy) original).getWrappedMailbox()
+                : original;
+        return new ProfilingMailboxProxy(this, requester, mailboxToProxify);
+    }
+
+    /**
+     * Wraps an indexer listener to count the notifications sent to it by the requester.
+     */
+    public IndexerListener proxifyIndexerListener(final Node requester, final IndexerListener original) {
+        final IndexerListener listenerToProxify = (original instanceof ProfilingIndexerListenerProxy)
+                ? ((ProfilingIndexerListenerProxy) original).getWrappedIndexerListener()
+                : original;
+        return new ProfilingIndexerListenerProxy(this, requester, listenerToProxify);
+    }
+
+    /**
+     * Starts measuring the time spent in a node. Calls must be paired with {@link #exit()} on the same thread.
+     */
+    public void enter(final Node node) {
+        enter(getStatistics(node));
+    }
+
+    void enter(final NodeStatistics statistics) {
+        frames.get().push(new Frame(statistics, System.nanoTime()));
+    }
+
+    /**
+     * Stops measuring the time of the node passed to the matching {@link #enter(Node)} call.
+     */
+    public void exit() {
+        final long now = System.nanoTime();
+        final Deque<Frame> stack = frames.get();
+        final Frame frame = stack.pop();
+        final long elapsed = now - frame.start;
+        frame.statistics.selfTimeNanos.add(elapsed - frame.childNanos);
+        final Frame parent = stack.peek();
+        if (parent != null) {
+            parent.childNanos += elapsed;
+        }
+    }
+
+    /**
+     * Clears the collected statistics, e.g., to exclude the initialization of the network from the profile.
+     */
+    public void reset() {
+        for (final NodeStatistics statistics : nodeStatistics.values()) {
+            statistics.reset();
+        }
+        for (final Map<Node, LongAdder> counts : edgeMessageCounts.values()) {
+            for (final LongAdder count : counts.values()) {
+                count.reset();
+            }
+        }
+    }
+
+    /**
+     * Takes a snapshot of the statistics of the nodes in the given containers.
+     */
+    public ReteProfile createProfile(final Collection<ReteContainer> containers) {
+        final Map<Node, Set<PQuery>> directQueries = new LinkedHashMap<>();
+        for (final ReteContainer container : containers) {
+            for (final Node node : container.getAllNodes()) {
+                directQueries.put(node, getTracedQueries(node));
+            }
+        }
+        final Map<Node, Set<Node>> successors = new HashMap<>();
+        final List<EdgeProfile> edges = new ArrayList<>();
+        for (final Map.Entry<Node, Map<Node, LongAdder>> senderEntry : edgeMessageCounts.entrySet()) {
+            final Node sender = senderEntry.getKey();
+            for (final Map.Entry<Node, LongAdder> receiverEntry : senderEntry.getValue().entrySet()) {
+                final Node receiver = receiverEntry.getKey();
+                if (directQueries.containsKey(sender) && directQueries.containsKey(receiver)) {
+                    successors.computeIfAbsent(sender, key -> new LinkedHashSet<>()).add(receiver);
+                    edges.add(new EdgeProfile(sender.getNodeId(), receiver.getNodeId(),
+                            receiverEntry.getValue().sum()));
+                }
+            }
+        }
+        for (final Node node : directQueries.keySet()) {
+            // Indexers are updated by direct calls from their parents instead of messages.
+            if (node instanceof Indexer) {
+                final Node parent = ((Indexer) node).getParent();
+                if (parent != null && directQueries.containsKey(parent)) {
+                    successors.computeIfAbsent(parent, key -> new LinkedHashSet<>()).add(node);
+                    edges.add(new EdgeProfile(parent.getNodeId(), node.getNodeId(), EdgeProfile.NOT_COUNTED));
+                }
+            }
+        }
+        final List<NodeProfile> nodes = new ArrayList<>(directQueries.size());
+        for (final Node node : directQueries.keySet()) {
+            final NodeStatistics statistics = nodeStatistics.get(node);
+            final Set<PQuery> queries = attributeQueries(node, directQueries, successors);
+            if (statistics == null) {
+                nodes.add(new NodeProfile(node.getNodeId(), node.toString(), node.getClass().getSimpleName(),
+                        queries, 0, 0, 0, 0, getMemorySize(node), 0));
+            } else {
+                nodes.add(new NodeProfile(node.getNodeId(), node.toString(), node.getClass().getSimpleName(),
+                        queries, statistics.insertsReceived.sum(), statistics.deletesReceived.sum(),
+                        statistics.insertsSent.sum(), statistics.deletesSent.sum(), getMemorySize(node),
+                        statistics.selfTimeNanos.sum()));
+            }
+        }
+        return new ReteProfile(nodes, edges);
+    }
+
+    private static Set<PQuery> getTracedQueries(final Node node) {
+        final Set<PQuery> queries = new LinkedHashSet<>();
+        for (final TraceInfo traceInfo : node.getTraceInfos()) {
+            if (traceInfo instanceof CompiledQuery) {
+                queries.add(((CompiledQuery) traceInfo).getQuery());
+            } else if (traceInfo instanceof PlanningTrace) {
+                queries.add(((PlanningTrace) traceInfo).getSubPlan().getBody().getPattern());
+            } else if (traceInfo instanceof ParameterProjectionTrace) {
+                queries.add(((ParameterProjectionTrace) traceInfo).getBody().getPattern());
+            }
+        }
+        return queries;
+    }
+
+    /**
+     * Nodes shared between queries or built without pattern traces (e.g., indexers) are attributed to the nearest
+     * downstream nodes that have pattern traces.
+     */
+    private static Set<PQuery> attributeQueries(final Node node, final Map<Node, Set<PQuery>> directQueries,
+            final Map<Node, Set<Node>> successors) {
+        final Set<PQuery> queries = directQueries.get(node);
+        if (!queries.isEmpty()) {
+            return queries;
+        }
+        final Set<PQuery> downstreamQueries = new LinkedHashSet<>();
+        final Set<Node> visited = new HashSet<>();
+        final Deque<Node> queue = new ArrayDeque<>();
+        visited.add(node);
+        queue.add(node);
+        while (!queue.isEmpty()) {
+            final Node current = queue.poll();
+            for (final Node successor : successors.getOrDefault(current, Set.of())) {
+                if (!visited.add(successor)) {
+                    continue;
+                }
+                final Set<PQuery> successorQueries = directQueries.get(successor);
+                if (successorQueries.isEmpty()) {
+                    queue.add(successor);
+                } else {
+                    downstreamQueries.addAll(successorQueries);
+                }
+            }
+        }
+        return downstreamQueries;
+    }
+
+    private static long getMemorySize(final Node node) {
+        if (node instanceof AbstractUniquenessEnforcerNode) {
+            return ((AbstractUniquenessEnforcerNode) node).getTuples().size();
+        }
+        if (node instanceof IndexerWithMemory) {
+            return ((IndexerWithMemory) node).getMemory().getTotalSize();
+        }
+        return NodeProfile.NO_MEMORY;
+    }
+
+    private static final class Frame {
+        final NodeStatistics statistics;
+        final long start;
+        long childNanos;
+
+        Frame(final NodeStatistics statistics, final long start) {
+            this.statistics = statistics;
+            this.start = start;
+        }
+    }
+
+}
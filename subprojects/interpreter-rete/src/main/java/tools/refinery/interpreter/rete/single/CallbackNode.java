@@ -31,7 +31,13 @@ public class CallbackNode extends SimpleReceiver {
 
     @Override
     public void update(Direction direction, Tuple updateElement, Timestamp timestamp) {
-        updateable.update(updateElement, direction == Direction.INSERT);
+        if (reteContainer.isDeliveringInParallel()) {
+            synchronized (reteContainer.getCallbackLock()) {
+                updateable.update(updateElement, direction == Direction.INSERT);
+            }
+        } else {
+            updateable.update(updateElement, direction == Direction.INSERT);
+        }
     }
 
 }
@@ -11,9 +11,11 @@ package tools.refinery.interpreter.rete.single;
 import tools.refinery.interpreter.rete.network.ReinitializedNode;
 import tools.refinery.interpreter.rete.network.ReteContainer;
 import tools.refinery.interpreter.rete.network.communication.Timestamp;
+import tools.refinery.interpreter.rete.itc.alg.representative.IntWeaklyConnectedComponentAlgorithm;
 import tools.refinery.interpreter.rete.itc.alg.representative.RepresentativeElectionAlgorithm;
 import tools.refinery.interpreter.rete.itc.alg.representative.RepresentativeObserver;
 import tools.refinery.interpreter.rete.itc.graphimpl.Graph;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.interpreter.matchers.util.Clearable;
@@ -21,22 +23,93 @@ import tools.refinery.interpreter.matchers.util.Direction;
 import tools.refinery.interpreter.matchers.util.timeline.Timeline;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Elects a representative for each component of the graph formed by the input tuples.
+ * <p>
+ * If the node computes weakly connected components and the
+ * {@link tools.refinery.interpreter.matchers.context.IQueryRuntimeContext#getIntTupleEncoding() int tuple encoding}
+ * of the query engine can encode all nodes of the graph, the components are maintained by an
+ * {@link IntWeaklyConnectedComponentAlgorithm} over the encoded nodes. Once an input tuple contains a node that
+ * cannot be encoded, the node switches to the algorithm created by its {@link RepresentativeElectionAlgorithm.Factory}.
+ */
 public class RepresentativeElectionNode extends SingleInputNode implements Clearable, RepresentativeObserver,
-        ReinitializedNode {
+        ReinitializedNode, IntWeaklyConnectedComponentAlgorithm.Observer {
 	private final RepresentativeElectionAlgorithm.Factory algorithmFactory;
+	private final IntTupleEncoding encoding;
 	private Graph<Object> graph;
 	private RepresentativeElectionAlgorithm algorithm;
+	private IntWeaklyConnectedComponentAlgorithm intAlgorithm;
 
 	public RepresentativeElectionNode(ReteContainer reteContainer,
                                       RepresentativeElectionAlgorithm.Factory algorithmFactory) {
+		this(reteContainer, algorithmFactory, false);
+	}
+
+	/**
+	 * @param weaklyConnected Whether {@code algorithmFactory} computes weakly connected components, which allows
+	 *                        using an {@link IntWeaklyConnectedComponentAlgorithm} if nodes are encoded as ints.
+	 * @since 3.0
+	 */
+	public RepresentativeElectionNode(ReteContainer reteContainer,
+									  RepresentativeElectionAlgorithm.Factory algorithmFactory,
+									  boolean weaklyConnected) {
 		super(reteContainer);
 		this.algorithmFactory = algorithmFactory;
+		encoding = weaklyConnected ? reteContainer.getIntTupleEncoding() : null;
+		createAlgorithm(encoding != null);
+		reteContainer.registerClearable(this);
+	}
+
+	private void createAlgorithm(boolean useIntAlgorithm) {
+		if (useIntAlgorithm) {
+			graph = null;
+			algorithm = null;
+			intAlgorithm = new IntWeaklyConnectedComponentAlgorithm();
+			intAlgorithm.setObserver(this);
+		} else {
+			graph = new Graph<>();
+			algorithm = algorithmFactory.create(graph);
+			algorithm.setObserver(this);
+			intAlgorithm = null;
+		}
+	}
+
+	private void disposeAlgorithm() {
+		if (algorithm != null) {
+			algorithm.dispose();
+		}
+	}
+
+	private boolean canEncode(Object source, Object target) {
+		return encoding != null && encoding.canEncode(source) && encoding.canEncode(target);
+	}
+
+	/**
+	 * Replaces the {@link IntWeaklyConnectedComponentAlgorithm} with the algorithm created by the factory, and
+	 * propagates the changes caused by the different election of representatives.
+	 */
+	private void switchToObjectAlgorithm() {
+		var previousRepresentatives = new HashMap<Object, Object>();
+		intAlgorithm.forEachNode((node, representative) ->
+				previousRepresentatives.put(encoding.decode(node), encoding.decode(representative)));
 		graph = new Graph<>();
+		intAlgorithm.forEachEdge((source, target) -> insertEdge(encoding.decode(source), encoding.decode(target)));
+		intAlgorithm = null;
 		algorithm = algorithmFactory.create(graph);
+		for (var entry : algorithm.getComponents().entrySet()) {
+			var representative = entry.getKey();
+			for (var node : entry.getValue()) {
+				var previousRepresentative = previousRepresentatives.get(node);
+				if (!representative.equals(previousRepresentative)) {
+					tupleChanged(node, previousRepresentative, Direction.DELETE);
+					tupleChanged(node, representative, Direction.INSERT);
+				}
+			}
+		}
 		algorithm.setObserver(this);
-		reteContainer.registerClearable(this);
 	}
 
 	@Override
@@ -49,13 +122,32 @@ public class RepresentativeElectionNode extends SingleInputNode implements Clear
 
 	@Override
 	public void reinitializeWith(Collection<Tuple> tuples) {
-		algorithm.dispose();
+		disposeAlgorithm();
+		boolean useIntAlgorithm = encoding != null;
+		for (var tuple : tuples) {
+			if (!canEncode(tuple.get(0), tuple.get(1))) {
+				useIntAlgorithm = false;
+				break;
+			}
+		}
+		if (useIntAlgorithm) {
+			var newAlgorithm = new IntWeaklyConnectedComponentAlgorithm();
+			for (var tuple : tuples) {
+				newAlgorithm.insertEdge(encoding.encode(tuple.get(0)), encoding.encode(tuple.get(1)));
+			}
+			graph = null;
+			algorithm = null;
+			intAlgorithm = newAlgorithm;
+			intAlgorithm.setObserver(this);
+			return;
+		}
 		graph = new Graph<>();
 		for (var tuple : tuples) {
 			insertEdge(tuple.get(0), tuple.get(1));
 		}
 		algorithm = algorithmFactory.create(graph);
 		algorithm.setObserver(this);
+		intAlgorithm = null;
 	}
 
 	@Override
@@ -64,17 +156,34 @@ public class RepresentativeElectionNode extends SingleInputNode implements Clear
 		propagateUpdate(direction, tuple, Timestamp.ZERO);
 	}
 
+	@Override
+	public void tupleChanged(int node, int representative, Direction direction) {
+		tupleChanged(encoding.decode(node), encoding.decode(representative), direction);
+	}
+
 	@Override
 	public void clear() {
-		algorithm.dispose();
-		graph = new Graph<>();
-		algorithm = algorithmFactory.create(graph);
+		disposeAlgorithm();
+		createAlgorithm(encoding != null);
 	}
 
 	@Override
 	public void update(Direction direction, Tuple updateElement, Timestamp timestamp) {
 		var source = updateElement.get(0);
 		var target = updateElement.get(1);
+		if (intAlgorithm != null) {
+			if (canEncode(source, target)) {
+				int encodedSource = encoding.encode(source);
+				int encodedTarget = encoding.encode(target);
+				switch (direction) {
+				case INSERT -> intAlgorithm.insertEdge(encodedSource, encodedTarget);
+				case DELETE -> intAlgorithm.deleteEdge(encodedSource, encodedTarget);
+				default -> throw new IllegalArgumentException("Unknown direction: " + direction);
+				}
+				return;
+			}
+			switchToObjectAlgorithm();
+		}
 		switch (direction) {
 		case INSERT -> insertEdge(source, target);
 		case DELETE -> deleteEdge(source, target);
@@ -104,6 +213,11 @@ public class RepresentativeElectionNode extends SingleInputNode implements Clear
 
 	@Override
 	public void pullInto(Collection<Tuple> collector, boolean flush) {
+		if (intAlgorithm != null) {
+			intAlgorithm.forEachNode((node, representative) -> collector.add(Tuples.staticArityFlatTupleOf(
+					encoding.decode(node), encoding.decode(representative))));
+			return;
+		}
 		for (var entry : algorithm.getComponents().entrySet()) {
 			var representative = entry.getKey();
 			for (var node : entry.getValue()) {
@@ -115,6 +229,11 @@ public class RepresentativeElectionNode extends SingleInputNode implements Clear
 	@Override
 	public void pullIntoWithTimeline(Map<Tuple, Timeline<Timestamp>> collector, boolean flush) {
 		// Use all zero timestamps because this node cannot be used in recursive groups anyway.
+		if (intAlgorithm != null) {
+			intAlgorithm.forEachNode((node, representative) -> collector.put(Tuples.staticArityFlatTupleOf(
+					encoding.decode(node), encoding.decode(representative)), Timestamp.INSERT_AT_ZERO_TIMELINE));
+			return;
+		}
 		for (var entry : algorithm.getComponents().entrySet()) {
 			var representative = entry.getKey();
 			for (var node : entry.getValue()) {
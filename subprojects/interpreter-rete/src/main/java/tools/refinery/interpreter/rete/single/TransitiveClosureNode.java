@@ -13,6 +13,7 @@ import tools.refinery.interpreter.rete.network.ReinitializedNode;
 import tools.refinery.interpreter.rete.network.ReteContainer;
 import tools.refinery.interpreter.rete.network.communication.CommunicationGroup;
 import tools.refinery.interpreter.rete.network.communication.Timestamp;
+import tools.refinery.interpreter.rete.itc.alg.bitmatrix.BitMatrixTcAlg;
 import tools.refinery.interpreter.rete.itc.alg.incscc.IncSCCAlg;
 import tools.refinery.interpreter.rete.itc.alg.misc.Tuple;
 import tools.refinery.interpreter.rete.itc.graphimpl.Graph;
@@ -30,6 +31,10 @@ import java.util.Map;
  * This class represents a transitive closure node in the Rete net.
  * <p>
  * This node must not be used in recursive {@link CommunicationGroup}s.
+ * <p>
+ * The transitive closure is computed with a {@link BitMatrixTcAlg} as long as the graph has at most
+ * {@link #BIT_MATRIX_NODE_LIMIT} nodes. Once the graph grows larger, the node switches to {@link IncSCCAlg}, whose
+ * memory usage does not grow quadratically with the number of nodes.
  *
  * @author Gabor Bergmann
  *
@@ -37,6 +42,14 @@ import java.util.Map;
 public class TransitiveClosureNode extends SingleInputNode
         implements Clearable, ITcObserver<Object>, NetworkStructureChangeSensitiveNode, ReinitializedNode {
 
+    /**
+     * The maximal number of nodes for which the transitive closure is stored as a bit matrix.
+     *
+     * @since 3.0
+     */
+    public static final int BIT_MATRIX_NODE_LIMIT = 2048;
+
+    private final int bitMatrixNodeLimit;
     private Graph<Object> graphDataSource;
     private ITcDataSource<Object> transitiveClosureAlgorithm;
 
@@ -50,13 +63,48 @@ public class TransitiveClosureNode extends SingleInputNode
      *            the rete container of the node
      */
     public TransitiveClosureNode(ReteContainer reteContainer) {
+        this(reteContainer, BIT_MATRIX_NODE_LIMIT);
+    }
+
+    /**
+     * Create a new transitive closure rete node with a custom limit for using {@link BitMatrixTcAlg}.
+     *
+     * @param reteContainer
+     *            the rete container of the node
+     * @param bitMatrixNodeLimit
+     *            the maximal number of nodes for which the transitive closure is stored as a bit matrix
+     * @since 3.0
+     */
+    public TransitiveClosureNode(ReteContainer reteContainer, int bitMatrixNodeLimit) {
         super(reteContainer);
+        this.bitMatrixNodeLimit = bitMatrixNodeLimit;
         graphDataSource = new Graph<Object>();
-        transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
+        transitiveClosureAlgorithm = createAlgorithm();
         transitiveClosureAlgorithm.attachObserver(this);
         reteContainer.registerClearable(this);
     }
 
+    private ITcDataSource<Object> createAlgorithm() {
+        if (graphDataSource.getAllNodes().size() <= bitMatrixNodeLimit) {
+            return new BitMatrixTcAlg<Object>(graphDataSource);
+        }
+        return new IncSCCAlg<Object>(graphDataSource);
+    }
+
+    /**
+     * Switches to {@link IncSCCAlg} if the graph has grown too large for {@link BitMatrixTcAlg}. The transitive
+     * closure is not affected by the switch, so observers receive no notifications.
+     */
+    private void ensureAlgorithmFitsGraph() {
+        if (transitiveClosureAlgorithm instanceof BitMatrixTcAlg<?>
+                && graphDataSource.getAllNodes().size() > bitMatrixNodeLimit) {
+            transitiveClosureAlgorithm.detachObserver(this);
+            transitiveClosureAlgorithm.dispose();
+            transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
+            transitiveClosureAlgorithm.attachObserver(this);
+        }
+    }
+
     @Override
     public void networkStructureChanged() {
         if (this.reteContainer.isTimelyEvaluation() && this.reteContainer.getCommunicationTracker().isInRecursiveGroup(this)) {
@@ -74,18 +122,21 @@ public class TransitiveClosureNode extends SingleInputNode
 	@Override
     public void reinitializeWith(Collection<tools.refinery.interpreter.matchers.tuple.Tuple> tuples) {
         clear();
+        // Build the graph first, so that the algorithm can be chosen and initialized based on its final size.
+        transitiveClosureAlgorithm.dispose();
 
         for (tools.refinery.interpreter.matchers.tuple.Tuple t : tuples) {
             graphDataSource.insertNode(t.get(0));
             graphDataSource.insertNode(t.get(1));
             graphDataSource.insertEdge(t.get(0), t.get(1));
         }
+        transitiveClosureAlgorithm = createAlgorithm();
         transitiveClosureAlgorithm.attachObserver(this);
     }
 
     @Override
     public void pullInto(final Collection<tools.refinery.interpreter.matchers.tuple.Tuple> collector, final boolean flush) {
-        for (final Tuple<Object> tuple : ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation()) {
+        for (final Tuple<Object> tuple : getTcRelation()) {
             collector.add(Tuples.staticArityFlatTupleOf(tuple.getSource(), tuple.getTarget()));
         }
     }
@@ -95,7 +146,7 @@ public class TransitiveClosureNode extends SingleInputNode
             final Map<tools.refinery.interpreter.matchers.tuple.Tuple, Timeline<Timestamp>> collector,
             final boolean flush) {
         // use all zero timestamps because this node cannot be used in recursive groups anyway
-        for (final Tuple<Object> tuple : ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation()) {
+        for (final Tuple<Object> tuple : getTcRelation()) {
             collector.put(Tuples.staticArityFlatTupleOf(tuple.getSource(), tuple.getTarget()), Timestamp.INSERT_AT_ZERO_TIMELINE);
         }
     }
@@ -110,26 +161,38 @@ public class TransitiveClosureNode extends SingleInputNode
             if (direction == Direction.INSERT) {
                 graphDataSource.insertNode(source);
                 graphDataSource.insertNode(target);
+                ensureAlgorithmFitsGraph();
                 graphDataSource.insertEdge(source, target);
             }
             if (direction == Direction.DELETE) {
                 graphDataSource.deleteEdgeIfExists(source, target);
 
-                if (((IncSCCAlg<Object>) transitiveClosureAlgorithm).isIsolated(source)) {
+                if (isIsolated(source)) {
                     graphDataSource.deleteNode(source);
                 }
-                if (!source.equals(target) && ((IncSCCAlg<Object>) transitiveClosureAlgorithm).isIsolated(target)) {
+                if (!source.equals(target) && isIsolated(target)) {
                     graphDataSource.deleteNode(target);
                 }
             }
         }
     }
 
+    private Iterable<Tuple<Object>> getTcRelation() {
+        if (transitiveClosureAlgorithm instanceof BitMatrixTcAlg<?>) {
+            return ((BitMatrixTcAlg<Object>) transitiveClosureAlgorithm).getTcRelation();
+        }
+        return ((IncSCCAlg<Object>) transitiveClosureAlgorithm).getTcRelation();
+    }
+
+    private boolean isIsolated(Object node) {
+        return graphDataSource.getTargetNodes(node).isEmpty() && graphDataSource.getSourceNodes(node).isEmpty();
+    }
+
     @Override
     public void clear() {
         transitiveClosureAlgorithm.dispose();
         graphDataSource = new Graph<Object>();
-        transitiveClosureAlgorithm = new IncSCCAlg<Object>(graphDataSource);
+        transitiveClosureAlgorithm = createAlgorithm();
     }
 
     @Override
@@ -101,7 +101,7 @@ public class UniquenessEnforcerNode extends AbstractUniquenessEnforcerNode
             final boolean deleteRederiveEvaluation, final TupleMask coreMask, final TupleMask posetMask,
             final IPosetComparator posetComparator) {
         super(reteContainer, tupleWidth);
-        this.memory = CollectionsFactory.createMultiset();
+        this.memory = CollectionsFactory.createTupleMultiset(reteContainer.getIntTupleEncoding());
         this.rederivableMemory = CollectionsFactory.createMultiset();
         reteContainer.registerClearable(this.memory);
         reteContainer.registerClearable(this.rederivableMemory);
@@ -34,6 +34,13 @@ public class ParameterProjectionTrace extends RecipeTraceInfo implements Pattern
 
     PBody body;
 
+    /**
+     * @since 3.0
+     */
+    public PBody getBody() {
+        return body;
+    }
+
     @Override
     public String getPatternName() {
         return body.getPattern().getFullyQualifiedName();
@@ -8,6 +8,7 @@
  *******************************************************************************/
 package tools.refinery.interpreter.rete.traceability;
 
+import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -33,10 +34,14 @@ public class RecipeTraceInfo implements TraceInfo {
      * @noreference This method is not intended to be referenced by clients.
      */
     public Collection<? extends RecipeTraceInfo> getParentRecipeTracesForCloning() {return parentRecipeTraces;}
+    /**
+     * Recipe traces may be shared by the Rete networks of several engines, so only a weak reference to the most
+     * recently assigned node is kept.
+     */
     @Override
-    public Node getNode() {return node;}
+    public Node getNode() {return node == null ? null : node.get();}
 
-    private Node node;
+    private WeakReference<Node> node;
     ReteNodeRecipe recipe;
     ReteNodeRecipe shadowedRecipe;
     Collection<? extends RecipeTraceInfo> parentRecipeTraces;
@@ -60,7 +65,7 @@ public class RecipeTraceInfo implements TraceInfo {
     @Override
     public boolean propagateToProductionNodeParentAlso() {return false;}
     @Override
-    public void assignNode(Node node) {this.node = node;}
+    public void assignNode(Node node) {this.node = new WeakReference<>(node);}
 
     /**
      * @param knownRecipe a known recipe that is equivalent to the current recipe
@@ -12,6 +12,7 @@ package tools.refinery.interpreter.api;
 import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
 import tools.refinery.interpreter.matchers.backend.IQueryBackendFactoryProvider;
 import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.util.Preconditions;
 
 import java.util.Objects;
@@ -92,6 +93,8 @@ public final class InterpreterEngineOptions {
     private final IQueryBackendFactory defaultCachingBackendFactory;
     private final IQueryBackendFactory defaultSearchBackendFactory;
 
+    private final IntTupleEncoding intTupleEncoding;
+
     /** The default engine options; if options are not defined, this version will be used. */
     private static InterpreterEngineOptions DEFAULT;
 
@@ -111,6 +114,7 @@ public final class InterpreterEngineOptions {
         private IQueryBackendFactory defaultBackendFactory;
         private IQueryBackendFactory defaultCachingBackendFactory;
         private IQueryBackendFactory defaultSearchBackendFactory;
+        private IntTupleEncoding intTupleEncoding;
 
         public Builder() {
 
@@ -121,6 +125,7 @@ public final class InterpreterEngineOptions {
             this.defaultBackendFactory = engineDefaultHints.getQueryBackendFactory();
             this.defaultCachingBackendFactory = from.defaultCachingBackendFactory;
             this.defaultSearchBackendFactory = from.defaultSearchBackendFactory;
+            this.intTupleEncoding = from.intTupleEncoding;
         }
 
         /**
@@ -156,10 +161,24 @@ public final class InterpreterEngineOptions {
             return this;
         }
 
+        /**
+         * Sets the encoding the memories of the query engine store the elements of their tuples with. Memories bound
+         * to an encoding store the elements of tuples that can all be encoded as primitive ints instead of
+         * references.
+         *
+         * @param intTupleEncoding the encoding to use, or null to always store references
+         * @since 3.0
+         */
+        public Builder withIntTupleEncoding(IntTupleEncoding intTupleEncoding) {
+            this.intTupleEncoding = intTupleEncoding;
+            return this;
+        }
+
         public InterpreterEngineOptions build() {
             IQueryBackendFactory defaultFactory = getDefaultBackend();
             QueryEvaluationHint hint = getEngineDefaultHints(defaultFactory);
-            return new InterpreterEngineOptions(hint, getDefaultCachingBackend(), getDefaultSearchBackend());
+            return new InterpreterEngineOptions(hint, getDefaultCachingBackend(), getDefaultSearchBackend(),
+                    intTupleEncoding);
         }
 
         private IQueryBackendFactory getDefaultBackend() {
@@ -216,10 +235,12 @@ public final class InterpreterEngineOptions {
     }
 
     private InterpreterEngineOptions(QueryEvaluationHint engineDefaultHints,
-									 IQueryBackendFactory defaultCachingBackendFactory, IQueryBackendFactory defaultSearchBackendFactory) {
+									 IQueryBackendFactory defaultCachingBackendFactory,
+									 IQueryBackendFactory defaultSearchBackendFactory, IntTupleEncoding intTupleEncoding) {
         this.engineDefaultHints = engineDefaultHints;
         this.defaultCachingBackendFactory = defaultCachingBackendFactory;
         this.defaultSearchBackendFactory = defaultSearchBackendFactory;
+        this.intTupleEncoding = intTupleEncoding;
     }
 
     public QueryEvaluationHint getEngineDefaultHints() {
@@ -262,6 +283,16 @@ public final class InterpreterEngineOptions {
         return defaultSearchBackendFactory;
     }
 
+    /**
+     * Returns the encoding the memories of the query engine store the elements of their tuples with.
+     *
+     * @return the encoding, or null if memories always store references
+     * @since 3.0
+     */
+    public IntTupleEncoding getIntTupleEncoding() {
+        return intTupleEncoding;
+    }
+
     @Override
     public String toString() {
         // TODO defaultCachingBackendFactory is ignored
@@ -11,6 +11,7 @@ package tools.refinery.interpreter.matchers.context;
 
 import tools.refinery.interpreter.matchers.planning.helpers.StatisticsHelper;
 import tools.refinery.interpreter.CancellationToken;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
@@ -284,4 +285,26 @@ public interface IQueryRuntimeContext {
 	default CancellationToken getCancellationToken() {
 		return CancellationToken.NONE;
 	}
+
+    /**
+     * Returns a counter that changes whenever the contents of the model change, including when a previous state of
+     * the model is restored. Backends may use it to discard results derived from an earlier state of the model.
+     *
+     * @return the current modification count, or a negative value if this context does not track modifications
+     * @since 3.0
+     */
+    default long getModificationCount() {
+        return -1;
+    }
+
+    /**
+     * Returns the encoding of the elements of the tuples created by this context. Backends may bind their memories
+     * to it to store the elements of tuples derived from this context as primitive ints.
+     *
+     * @return the encoding, or null if memories should always store references
+     * @since 3.0
+     */
+    default IntTupleEncoding getIntTupleEncoding() {
+        return null;
+    }
 }
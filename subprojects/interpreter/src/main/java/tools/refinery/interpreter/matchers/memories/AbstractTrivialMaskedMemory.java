@@ -12,6 +12,7 @@ import java.util.Iterator;
 import java.util.Map;
 
 import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.util.CollectionsFactory;
@@ -31,8 +32,16 @@ abstract class AbstractTrivialMaskedMemory<Timestamp extends Comparable<Timestam
     protected IMemory<Tuple> tuples;
 
     protected AbstractTrivialMaskedMemory(TupleMask mask, MemoryType bucketType, Object owner) {
+        this(mask, bucketType, owner, null);
+    }
+
+    /**
+     * @since 3.0
+     */
+    protected AbstractTrivialMaskedMemory(TupleMask mask, MemoryType bucketType, Object owner,
+            IntTupleEncoding encoding) {
         super(mask, owner);
-        tuples = CollectionsFactory.createMemory(Object.class, bucketType);
+        tuples = CollectionsFactory.createTupleMemory(encoding, bucketType);
     }
 
     @Override
@@ -12,6 +12,7 @@ import java.util.Collection;
 import java.util.Collections;
 
 import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.util.CollectionsFactory.MemoryType;
@@ -32,7 +33,19 @@ public final class IdentityMaskedTupleMemory<Timestamp extends Comparable<Timest
      * @since 2.0
      */
     public IdentityMaskedTupleMemory(TupleMask mask, MemoryType bucketType, Object owner) {
-        super(mask, bucketType, owner);
+        this(mask, bucketType, owner, null);
+    }
+
+    /**
+     * @param mask
+     *            The mask used to index the matchings
+     * @param owner the object "owning" this memory
+     * @param bucketType the kind of tuple collection maintained for each indexer bucket
+     * @param encoding the encoding of the elements of the stored tuples, or null to always store references
+     * @since 3.0
+     */
+    public IdentityMaskedTupleMemory(TupleMask mask, MemoryType bucketType, Object owner, IntTupleEncoding encoding) {
+        super(mask, bucketType, owner, encoding);
         if (!mask.isIdentity()) throw new IllegalArgumentException(mask.toString());
     }
 
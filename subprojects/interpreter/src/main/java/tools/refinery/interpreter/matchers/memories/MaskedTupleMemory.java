@@ -18,6 +18,7 @@ import tools.refinery.interpreter.matchers.memories.timely.TimelyIdentityMaskedT
 import tools.refinery.interpreter.matchers.memories.timely.TimelyNullaryMaskedTupleMemory;
 import tools.refinery.interpreter.matchers.memories.timely.TimelyUnaryMaskedTupleMemory;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.util.Clearable;
@@ -77,6 +78,20 @@ public abstract class MaskedTupleMemory<Timestamp extends Comparable<Timestamp>>
      */
     public static <T extends Comparable<T>> MaskedTupleMemory<T> create(final TupleMask mask,
             final MemoryType bucketType, final Object owner, final boolean isTimely, final boolean isLazy) {
+        return create(mask, bucketType, owner, isTimely, isLazy, null);
+    }
+
+    /**
+     * Creates a new memory for the given owner that indexes tuples according to the given mask, as in
+     * {@link #create(TupleMask, MemoryType, Object, boolean, boolean)}. Timeless memories with an identity mask store
+     * the elements of their tuples as primitive ints if they can be encoded by the given encoding.
+     *
+     * @param encoding the encoding of the elements, or null to always store references
+     * @since 3.0
+     */
+    public static <T extends Comparable<T>> MaskedTupleMemory<T> create(final TupleMask mask,
+            final MemoryType bucketType, final Object owner, final boolean isTimely, final boolean isLazy,
+            final IntTupleEncoding encoding) {
         if (isTimely) {
             if (bucketType != MemoryType.SETS) {
                 throw new IllegalArgumentException("Timely memories only support SETS as the bucket type!");
@@ -95,7 +110,7 @@ public abstract class MaskedTupleMemory<Timestamp extends Comparable<Timestamp>>
                 throw new IllegalArgumentException("Lazy maintenance is only supported by timely memories!");
             }
             if (mask.isIdentity()) {
-                return new IdentityMaskedTupleMemory<T>(mask, bucketType, owner);
+                return new IdentityMaskedTupleMemory<T>(mask, bucketType, owner, encoding);
             } else if (0 == mask.getSize()) {
                 return new NullaryMaskedTupleMemory<T>(mask, bucketType, owner);
             } else if (1 == mask.getSize()) {
@@ -0,0 +1,28 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.psystem;
+
+import tools.refinery.interpreter.matchers.tuple.ITuple;
+
+/**
+ * An {@link IExpressionEvaluator} bound to the positions of its input parameters in the tuples it is evaluated on.
+ *
+ * @see IExpressionEvaluator#bind(java.util.Map)
+ * @since 3.0
+ */
+@FunctionalInterface
+public interface IBoundExpressionEvaluator {
+
+    /**
+     * The expression evaluator code
+     *
+     * @param tuple
+     *            the tuple containing the values of the input parameters at the bound positions
+     * @return the result of the expression, as in {@link IExpressionEvaluator#evaluateExpression(IValueProvider)}
+     * @throws Exception
+     */
+    Object evaluateExpression(ITuple tuple) throws Exception;
+}
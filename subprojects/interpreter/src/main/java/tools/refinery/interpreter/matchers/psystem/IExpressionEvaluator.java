@@ -8,6 +8,10 @@
  *******************************************************************************/
 package tools.refinery.interpreter.matchers.psystem;
 
+import java.util.Map;
+
+import tools.refinery.interpreter.matchers.tuple.TupleValueProvider;
+
 /**
  * An expression evaluator is used to execute arbitrary Java code during pattern matching. In order to include the
  * evaluation in the planning seemlessly it is expected from the evaluator implementors to report all used PVariables by
@@ -39,4 +43,19 @@ public interface IExpressionEvaluator {
      * @throws Exception
      */
     Object evaluateExpression(IValueProvider provider) throws Exception;
+
+    /**
+     * Binds the input parameters of the expression to fixed positions of the tuples it will be evaluated on. Engines
+     * should call this method once when building their evaluation nodes or operations, so that evaluators can
+     * precompute how they access their inputs instead of looking them up by name for every evaluation.
+     *
+     * @param parameterPositions
+     *            the position of each input parameter in the tuples
+     * @return an evaluator equivalent to {@link #evaluateExpression(IValueProvider)}; by default, it wraps each
+     *         tuple into a {@link TupleValueProvider}
+     * @since 3.0
+     */
+    default IBoundExpressionEvaluator bind(Map<String, Integer> parameterPositions) {
+        return tuple -> evaluateExpression(new TupleValueProvider(tuple, parameterPositions));
+    }
 }
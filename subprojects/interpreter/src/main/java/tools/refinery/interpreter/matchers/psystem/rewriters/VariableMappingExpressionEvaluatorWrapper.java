@@ -8,6 +8,7 @@
  *******************************************************************************/
 package tools.refinery.interpreter.matchers.psystem.rewriters;
 
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IValueProvider;
 import tools.refinery.interpreter.matchers.psystem.PVariable;
@@ -78,6 +79,17 @@ class VariableMappingExpressionEvaluatorWrapper implements IExpressionEvaluator
         return variableMapping.values();
     }
 
+    @Override
+    public IBoundExpressionEvaluator bind(final Map<String, Integer> parameterPositions) {
+        final Map<String, Integer> wrappedPositions = new HashMap<>();
+        for (final Map.Entry<String, String> entry : variableMapping.entrySet()) {
+            final Integer position = parameterPositions.get(entry.getValue());
+            Preconditions.checkArgument(position != null, "Could not find variable %s", entry.getValue());
+            wrappedPositions.put(entry.getKey(), position);
+        }
+        return wrapped.bind(wrappedPositions);
+    }
+
     @Override
     public Object evaluateExpression(final IValueProvider provider) throws Exception {
         return wrapped.evaluateExpression(variableName -> {
@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.tuple;
+
+/**
+ * Represents some tuple elements as primitive ints, so that memories of tuples may store them without references to
+ * boxed objects.
+ * <p>
+ * Implementations must be consistent with {@link Object#equals(Object)} and {@link Object#hashCode()} of the encoded
+ * elements, i.e., two encodable elements are equal if and only if their encodings are equal, and
+ * {@link #hashCode(int)} must return the hash code of the decoded element.
+ *
+ * @see tools.refinery.interpreter.matchers.util.CollectionsFactory#createTupleMemory(IntTupleEncoding,
+ * tools.refinery.interpreter.matchers.util.CollectionsFactory.MemoryType)
+ */
+public interface IntTupleEncoding {
+    /**
+     * @return true if the element may be encoded by {@link #encode(Object)}
+     */
+    boolean canEncode(Object element);
+
+    int encode(Object element);
+
+    /**
+     * Decodes an element. Should avoid allocating new objects for frequently used values, since memories decode the
+     * elements of their tuples whenever they are traversed.
+     */
+    Object decode(int value);
+
+    /**
+     * @return the hash code of the element decoded from the given value
+     */
+    int hashCode(int value);
+}
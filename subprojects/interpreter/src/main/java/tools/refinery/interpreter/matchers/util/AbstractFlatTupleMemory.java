@@ -0,0 +1,559 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.util;
+
+import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Open-addressing memory of tuples that stores the elements of its tuples as primitive ints in a single flat array
+ * and their multiplicities in another one, instead of referencing tuple objects.
+ *
+ * <p> The memory is bound to an {@link IntTupleEncoding} when it is created, so the tuples themselves don't have to
+ * carry their encoding. The memory starts storing tuples in the flat arrays when a tuple with an arity of at least 2,
+ * whose elements can all be encoded, is inserted while the memory is empty. All tuples stored in the flat arrays must
+ * have the same arity as the first one. Tuples that can't be encoded (e.g., because they contain data values or have
+ * a different arity) are stored in an overflow memory instead.
+ *
+ * <p> The memory doesn't keep the inserted tuple instances. Every step of an iteration and every call to
+ * {@link #forEachEntryWithMultiplicities(BiConsumer)} decodes a new tuple, so traversing the memory allocates one
+ * tuple per stored element. {@link #theContainedVersionOf(Tuple)} returns its argument if it is contained, and only
+ * decodes a new tuple for volatile tuples passed to {@link #theContainedVersionOfUnsafe(Object)}. Thus, the returned
+ * tuples are equal, but not necessarily identical, to the inserted ones.
+ *
+ * <p> Only memories of whole tuples use flattened storage, see
+ * {@link CollectionsFactory#createTupleMemory(IntTupleEncoding, CollectionsFactory.MemoryType)}.
+ * The buckets of masked memories and indexers (e.g., {@code DefaultMaskedTupleMemory}) keep referencing tuple
+ * objects, because most buckets only contain a single tuple, which is stored without any collection.
+ *
+ * <p> The {@link Spliterator} of the {@link #distinctValues()} splits the flat arrays into ranges of slots, so the
+ * memory can be traversed by parallel streams as long as it is not modified.
+ */
+public abstract class AbstractFlatTupleMemory implements IMemory<Tuple> {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final IntTupleEncoding encoding;
+    private int arity = -1;
+    private int[] keys;
+    /**
+     * Multiplicities of the slots. A zero multiplicity marks an empty slot.
+     */
+    private int[] counts;
+    private int flatSize;
+    private int modificationCount;
+    private IMemory<Tuple> overflow;
+    private Set<Tuple> distinctValues;
+
+    /**
+     * @param encoding the encoding of the elements of the tuples stored in the flat arrays
+     */
+    protected AbstractFlatTupleMemory(IntTupleEncoding encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * @return the memory storing the tuples that can't be stored in the flat arrays
+     */
+    protected abstract IMemory<Tuple> createOverflow();
+
+    @Override
+    public int getCount(Tuple value) {
+        return getCountUnsafe(value);
+    }
+
+    @Override
+    public int getCountUnsafe(Object value) {
+        if (isFlat(value)) {
+            int slot = findSlot((ITuple) value);
+            return slot < 0 ? 0 : counts[slot];
+        }
+        return overflow == null ? 0 : overflow.getCountUnsafe(value);
+    }
+
+    @Override
+    public boolean containsNonZero(Tuple value) {
+        return getCountUnsafe(value) != 0;
+    }
+
+    @Override
+    public boolean containsNonZeroUnsafe(Object value) {
+        return getCountUnsafe(value) != 0;
+    }
+
+    @Override
+    public Tuple theContainedVersionOf(Tuple value) {
+        return theContainedVersionOfUnsafe(value);
+    }
+
+    @Override
+    public Tuple theContainedVersionOfUnsafe(Object value) {
+        if (isFlat(value)) {
+            int slot = findSlot((ITuple) value);
+            if (slot < 0) {
+                return null;
+            }
+            // Only decode a new immutable tuple if the argument is volatile.
+            return value instanceof Tuple tuple ? tuple : decode(slot);
+        }
+        return overflow == null ? null : overflow.theContainedVersionOfUnsafe(value);
+    }
+
+    @Override
+    public int size() {
+        return flatSize + (overflow == null ? 0 : overflow.size());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Set<Tuple> distinctValues() {
+        if (distinctValues == null) {
+            distinctValues = new DistinctValues();
+        }
+        return distinctValues;
+    }
+
+    @Override
+    public Iterator<Tuple> iterator() {
+        return distinctValues().iterator();
+    }
+
+    @Override
+    public void forEachEntryWithMultiplicities(BiConsumer<Tuple, Integer> entryConsumer) {
+        if (counts != null) {
+            for (int slot = 0; slot < counts.length; slot++) {
+                if (counts[slot] != 0) {
+                    entryConsumer.accept(decode(slot), counts[slot]);
+                }
+            }
+        }
+        if (overflow != null) {
+            overflow.forEachEntryWithMultiplicities(entryConsumer);
+        }
+    }
+
+    @Override
+    public void clearAllOf(Tuple value) {
+        if (isFlat(value)) {
+            int slot = findSlot(value);
+            if (slot >= 0) {
+                removeSlot(slot);
+            }
+        } else if (overflow != null) {
+            overflow.clearAllOf(value);
+        }
+    }
+
+    @Override
+    public void clear() {
+        if (counts != null) {
+            Arrays.fill(counts, 0);
+        }
+        flatSize = 0;
+        modificationCount++;
+        overflow = null;
+    }
+
+    /**
+     * Adds a signed number of occurrences to the multiplicity of a tuple.
+     *
+     * @param maximumCount the largest allowed multiplicity, or {@link Integer#MAX_VALUE} if not limited
+     * @throws IllegalStateException if the multiplicity would become negative or larger than the maximum
+     * @return true if the tuple was not present before in the memory, or is no longer present in the memory
+     */
+    protected boolean addSignedInternal(Tuple value, int count, int maximumCount) {
+        if (count == 0) {
+            return false;
+        }
+        // Tuples already in the overflow memory could be equal to tuples inserted into the flat arrays later.
+        if (arity < 0 && overflow == null && value.getSize() >= 2 && isEncodable(value)) {
+            arity = value.getSize();
+        }
+        if (!isFlat(value)) {
+            return addToOverflow(value, count);
+        }
+        int slot = findSlot(value);
+        int oldCount = slot < 0 ? 0 : counts[slot];
+        int newCount = oldCount + count;
+        if (newCount < 0 || newCount > maximumCount) {
+            throw new IllegalStateException(String.format(
+                    "Cannot add %d occurrences of value '%s' to the %d already present in %s",
+                    count, value, oldCount, this));
+        }
+        if (newCount == 0) {
+            removeSlot(slot);
+            return true;
+        }
+        if (slot >= 0) {
+            counts[slot] = newCount;
+            return false;
+        }
+        insert(-slot - 1, value, newCount);
+        return true;
+    }
+
+    /**
+     * Removes one occurrence of a tuple if present.
+     *
+     * @return true if this was the last occurrence of the tuple
+     */
+    protected boolean removeOneOrNopInternal(Tuple value) {
+        if (!isFlat(value)) {
+            return overflow != null && overflow.removeOneOrNop(value);
+        }
+        int slot = findSlot(value);
+        if (slot < 0) {
+            return false;
+        }
+        if (counts[slot] > 1) {
+            counts[slot]--;
+            return false;
+        }
+        removeSlot(slot);
+        return true;
+    }
+
+    private boolean addToOverflow(Tuple value, int count) {
+        if (overflow == null) {
+            overflow = createOverflow();
+        }
+        boolean result = overflow.addSigned(value, count);
+        if (overflow.isEmpty()) {
+            overflow = null;
+        }
+        return result;
+    }
+
+    private boolean isFlat(Object value) {
+        return arity >= 0 && value instanceof ITuple tuple && tuple.getSize() == arity && isEncodable(tuple);
+    }
+
+    private boolean isEncodable(ITuple tuple) {
+        int size = tuple.getSize();
+        for (int i = 0; i < size; i++) {
+            if (!encoding.canEncode(tuple.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int encodedElement(ITuple tuple, int index) {
+        return encoding.encode(tuple.get(index));
+    }
+
+    private static int mix(int hash) {
+        // Spread the bits of the hash, because tuple hash codes of consecutive nodes are also consecutive.
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+
+    private int slotHash(int slot) {
+        return hashOfKey(keys, slot * arity);
+    }
+
+    /**
+     * @return the slot containing the tuple, or {@code -(insertionSlot + 1)} if the tuple is not present
+     */
+    private int findSlot(ITuple tuple) {
+        if (counts == null) {
+            return -1;
+        }
+        int mask = counts.length - 1;
+        int slot = mix(tuple.hashCode()) & mask;
+        while (counts[slot] != 0) {
+            if (slotEquals(slot, tuple)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -slot - 1;
+    }
+
+    private boolean slotEquals(int slot, ITuple tuple) {
+        int offset = slot * arity;
+        for (int i = 0; i < arity; i++) {
+            if (keys[offset + i] != encodedElement(tuple, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(int slot, ITuple tuple, int count) {
+        if (counts == null || (flatSize + 1) * 3 > counts.length * 2) {
+            grow();
+            slot = -findSlot(tuple) - 1;
+        }
+        int offset = slot * arity;
+        for (int i = 0; i < arity; i++) {
+            keys[offset + i] = encodedElement(tuple, i);
+        }
+        counts[slot] = count;
+        flatSize++;
+        modificationCount++;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        int newCapacity = oldCounts == null ? INITIAL_CAPACITY : oldCounts.length * 2;
+        keys = new int[newCapacity * arity];
+        counts = new int[newCapacity];
+        if (oldCounts == null) {
+            return;
+        }
+        int mask = newCapacity - 1;
+        for (int oldSlot = 0; oldSlot < oldCounts.length; oldSlot++) {
+            if (oldCounts[oldSlot] == 0) {
+                continue;
+            }
+            int hash = hashOfKey(oldKeys, oldSlot * arity);
+            int slot = mix(hash) & mask;
+            while (counts[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            System.arraycopy(oldKeys, oldSlot * arity, keys, slot * arity, arity);
+            counts[slot] = oldCounts[oldSlot];
+        }
+    }
+
+    private int hashOfKey(int[] keyArray, int offset) {
+        // Must match the hash code of tuples, see {@link Tuple#hashCode()}.
+        int hash = 1;
+        for (int i = 0; i < arity; i++) {
+            hash = 31 * hash + encoding.hashCode(keyArray[offset + i]);
+        }
+        return hash;
+    }
+
+    private void removeSlot(int slot) {
+        // Backward shift deletion keeps probe sequences intact without tombstones.
+        int mask = counts.length - 1;
+        int emptySlot = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (counts[current] == 0) {
+                break;
+            }
+            int idealSlot = mix(slotHash(current)) & mask;
+            boolean canMove = emptySlot <= current ? (idealSlot <= emptySlot || idealSlot > current) :
+                    (idealSlot <= emptySlot && idealSlot > current);
+            if (canMove) {
+                System.arraycopy(keys, current * arity, keys, emptySlot * arity, arity);
+                counts[emptySlot] = counts[current];
+                emptySlot = current;
+            }
+        }
+        counts[emptySlot] = 0;
+        flatSize--;
+        modificationCount++;
+    }
+
+    private Tuple decode(int slot) {
+        int offset = slot * arity;
+        switch (arity) {
+        case 2:
+            return Tuples.staticArityFlatTupleOf(encoding.decode(keys[offset]), encoding.decode(keys[offset + 1]));
+        case 3:
+            return Tuples.staticArityFlatTupleOf(encoding.decode(keys[offset]), encoding.decode(keys[offset + 1]),
+                    encoding.decode(keys[offset + 2]));
+        case 4:
+            return Tuples.staticArityFlatTupleOf(encoding.decode(keys[offset]), encoding.decode(keys[offset + 1]),
+                    encoding.decode(keys[offset + 2]), encoding.decode(keys[offset + 3]));
+        default:
+            Object[] elements = new Object[arity];
+            for (int i = 0; i < arity; i++) {
+                elements[i] = encoding.decode(keys[offset + i]);
+            }
+            return Tuples.flatTupleOf(elements);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return IMemoryView.hashCode(this);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return IMemoryView.equals(this, obj);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("FTM{");
+        forEachEntryWithMultiplicities((value, count) -> builder.append(value).append('=').append(count).append(';'));
+        return builder.append('}').toString();
+    }
+
+    private class DistinctValues extends AbstractSet<Tuple> {
+        @Override
+        public int size() {
+            return AbstractFlatTupleMemory.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return containsNonZeroUnsafe(o);
+        }
+
+        @Override
+        public Iterator<Tuple> iterator() {
+            Iterator<Tuple> overflowIterator = overflow == null ? Collections.emptyIterator() :
+                    overflow.distinctValues().iterator();
+            return new FlatIterator(overflowIterator);
+        }
+
+        @Override
+        public Spliterator<Tuple> spliterator() {
+            Spliterator<Tuple> overflowSpliterator = overflow == null ? null :
+                    overflow.distinctValues().spliterator();
+            return new FlatSpliterator(0, counts == null ? 0 : counts.length, overflowSpliterator);
+        }
+    }
+
+    /**
+     * Traverses a range of slots of the flat arrays. The overflow memory is traversed by the spliterator covering
+     * the last range.
+     */
+    private class FlatSpliterator implements Spliterator<Tuple> {
+        private static final int MINIMUM_SPLIT_SIZE = 64;
+
+        private final int expectedModificationCount = modificationCount;
+        private final int fence;
+        private int nextSlot;
+        private Spliterator<Tuple> overflowSpliterator;
+
+        FlatSpliterator(int origin, int fence, Spliterator<Tuple> overflowSpliterator) {
+            nextSlot = origin;
+            this.fence = fence;
+            this.overflowSpliterator = overflowSpliterator;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Tuple> action) {
+            checkForComodification();
+            while (nextSlot < fence) {
+                int slot = nextSlot;
+                nextSlot++;
+                if (counts[slot] != 0) {
+                    action.accept(decode(slot));
+                    return true;
+                }
+            }
+            return overflowSpliterator != null && overflowSpliterator.tryAdvance(action);
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Tuple> action) {
+            checkForComodification();
+            for (int slot = nextSlot; slot < fence; slot++) {
+                if (counts[slot] != 0) {
+                    action.accept(decode(slot));
+                }
+            }
+            nextSlot = fence;
+            checkForComodification();
+            if (overflowSpliterator != null) {
+                overflowSpliterator.forEachRemaining(action);
+            }
+        }
+
+        @Override
+        public Spliterator<Tuple> trySplit() {
+            int remaining = fence - nextSlot;
+            if (remaining >= MINIMUM_SPLIT_SIZE) {
+                int middle = nextSlot + remaining / 2;
+                var prefix = new FlatSpliterator(nextSlot, middle, null);
+                nextSlot = middle;
+                return prefix;
+            }
+            if (overflowSpliterator != null) {
+                var result = overflowSpliterator;
+                overflowSpliterator = null;
+                return result;
+            }
+            return null;
+        }
+
+        @Override
+        public long estimateSize() {
+            long estimate = counts == null ? 0 : (long) flatSize * (fence - nextSlot) / counts.length;
+            if (overflowSpliterator != null) {
+                estimate += overflowSpliterator.estimateSize();
+            }
+            return estimate;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.DISTINCT | Spliterator.NONNULL;
+        }
+
+        private void checkForComodification() {
+            if (modificationCount != expectedModificationCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+
+    private class FlatIterator implements Iterator<Tuple> {
+        private final Iterator<Tuple> overflowIterator;
+        private final int expectedModificationCount = modificationCount;
+        private int nextSlot;
+
+        FlatIterator(Iterator<Tuple> overflowIterator) {
+            this.overflowIterator = overflowIterator;
+            advance();
+        }
+
+        private void advance() {
+            while (counts != null && nextSlot < counts.length && counts[nextSlot] == 0) {
+                nextSlot++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return (counts != null && nextSlot < counts.length) || overflowIterator.hasNext();
+        }
+
+        @Override
+        public Tuple next() {
+            if (counts != null && nextSlot < counts.length) {
+                if (modificationCount != expectedModificationCount) {
+                    throw new ConcurrentModificationException();
+                }
+                Tuple result = decode(nextSlot);
+                nextSlot++;
+                advance();
+                return result;
+            }
+            if (!overflowIterator.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return overflowIterator.next();
+        }
+    }
+}
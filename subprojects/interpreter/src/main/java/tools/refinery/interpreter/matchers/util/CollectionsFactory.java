@@ -15,6 +15,9 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.function.Function;
 
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+
 /**
  * Factory class used as an accessor to Collections implementations.
  * @author istvanrath
@@ -94,6 +97,17 @@ public final class CollectionsFactory
         return FRAMEWORK.createMultiset();
     }
 
+    /**
+     * Instantiates a new empty multiset of tuples, which stores the elements of its tuples as primitive ints if they
+     * can be encoded by the given encoding.
+     * @param encoding the encoding of the elements, or null to always store references
+     * @see #createTupleMemory(IntTupleEncoding, MemoryType)
+     * @since 3.0
+     */
+    public static IMultiset<Tuple> createTupleMultiset(IntTupleEncoding encoding) {
+        return encoding == null ? createMultiset() : new FlatTupleMultiset(encoding);
+    }
+
     /**
      * Instantiates a new empty delta bag.
      * @since 1.7
@@ -134,6 +148,27 @@ public final class CollectionsFactory
         return FRAMEWORK.createMemory(values, memoryType);
     }
 
+    /**
+     * Instantiates a memory storing tuples.
+     * <p>If an encoding is given, the memory is bound to it and stores the elements of its tuples as primitive ints
+     *  where possible, see {@link AbstractFlatTupleMemory}.
+     * @param encoding the encoding of the elements, or null to always store references
+     * @since 3.0
+     */
+    public static IMemory<Tuple> createTupleMemory(IntTupleEncoding encoding, MemoryType memoryType) {
+        if (encoding == null) {
+            return createMemory(Tuple.class, memoryType);
+        }
+        switch (memoryType) {
+        case MULTISETS:
+            return new FlatTupleMultiset(encoding);
+        case SETS:
+            return new FlatTupleSetMemory(encoding);
+        default:
+            throw new IllegalArgumentException(memoryType.toString());
+        }
+    }
+
    /**
     * The type of {@link IMemory}
      * @since 2.0
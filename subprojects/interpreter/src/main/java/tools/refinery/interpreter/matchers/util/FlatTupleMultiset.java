@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.util;
+
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+
+/**
+ * Multiset of tuples with flattened storage, see {@link AbstractFlatTupleMemory}.
+ */
+public class FlatTupleMultiset extends AbstractFlatTupleMemory implements IMultiset<Tuple> {
+    public FlatTupleMultiset(IntTupleEncoding encoding) {
+        super(encoding);
+    }
+
+    @Override
+    protected IMemory<Tuple> createOverflow() {
+        return new EclipseCollectionsMultiset<>();
+    }
+
+    @Override
+    public boolean addOne(Tuple value) {
+        return addSignedInternal(value, 1, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean addPositive(Tuple value, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("The count value must be positive!");
+        }
+        return addSignedInternal(value, count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean addSigned(Tuple value, int count) {
+        return addSignedInternal(value, count, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public boolean removeOne(Tuple value) {
+        if (!containsNonZero(value)) {
+            throw new IllegalStateException(String.format(
+                    "Cannot remove value '%s' that is not contained in %s", value, this));
+        }
+        return removeOneOrNopInternal(value);
+    }
+
+    @Override
+    public boolean removeOneOrNop(Tuple value) {
+        return removeOneOrNopInternal(value);
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.interpreter.matchers.util;
+
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+
+/**
+ * Set of tuples with flattened storage, see {@link AbstractFlatTupleMemory}.
+ */
+public class FlatTupleSetMemory extends AbstractFlatTupleMemory implements ISetMemory<Tuple> {
+    public FlatTupleSetMemory(IntTupleEncoding encoding) {
+        super(encoding);
+    }
+
+    @Override
+    protected IMemory<Tuple> createOverflow() {
+        return new EclipseCollectionsSetMemory<>();
+    }
+
+    @Override
+    public boolean addOne(Tuple value) {
+        if (containsNonZero(value)) {
+            return false;
+        }
+        return addSignedInternal(value, 1, 1);
+    }
+
+    @Override
+    public boolean addSigned(Tuple value, int count) {
+        if (count == 1) return addOne(value);
+        else if (count == -1) return removeOne(value);
+        else throw new IllegalStateException();
+    }
+
+    @Override
+    public boolean removeOneOrNop(Tuple value) {
+        return removeOneOrNopInternal(value);
+    }
+}
@@ -9,6 +9,7 @@
  */
 package tools.refinery.language.web;
 
+import com.google.inject.Binder;
 import org.eclipse.xtext.ide.ExecutorServiceProvider;
 import org.eclipse.xtext.web.server.XtextServiceDispatcher;
 import org.eclipse.xtext.web.server.model.IWebDocumentProvider;
@@ -19,6 +20,7 @@ import tools.refinery.language.web.xtext.server.ThreadPoolExecutorServiceProvide
 import tools.refinery.language.web.xtext.server.push.PushServiceDispatcher;
 import tools.refinery.language.web.xtext.server.push.PushWebDocumentAccess;
 import tools.refinery.language.web.xtext.server.push.PushWebDocumentProvider;
+import tools.refinery.store.query.interpreter.Dnf2PQueryCache;
 
 /**
  * Use this class to register additional components to be used within the web application.
@@ -43,4 +45,9 @@ public class ProblemWebModule extends AbstractProblemWebModule {
 	public Class<? extends ExecutorServiceProvider> bindExecutorServiceProvider() {
 		return ThreadPoolExecutorServiceProvider.class;
 	}
+
+	public void configureDnf2PQueryCache(Binder binder) {
+		// Share query translations between the model stores created for each semantics and generation request.
+		binder.bind(Dnf2PQueryCache.class).toInstance(Dnf2PQueryCache.create());
+	}
 }
@@ -0,0 +1,12 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.generator;
+
+import java.util.UUID;
+
+public record ModelGenerationCompletedResult(UUID uuid, int solutionCount, boolean timedOut)
+		implements ModelGenerationResult {
+}
@@ -10,6 +10,6 @@ import org.eclipse.xtext.web.server.IServiceResult;
 import java.util.UUID;
 
 public sealed interface ModelGenerationResult extends IServiceResult permits ModelGenerationSuccessResult,
-		ModelGenerationErrorResult, ModelGenerationStatusResult {
+		ModelGenerationErrorResult, ModelGenerationStatusResult, ModelGenerationCompletedResult {
 	UUID uuid();
 }
@@ -16,11 +16,14 @@ import tools.refinery.language.web.semantics.SemanticsService;
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 import tools.refinery.language.web.xtext.server.push.PushWebDocumentAccess;
 
+import java.util.Optional;
+
 @Singleton
 public class ModelGenerationService {
 	public static final String SERVICE_NAME = "modelGeneration";
 	public static final String MODEL_GENERATION_EXECUTOR = "modelGeneration";
 	public static final String MODEL_GENERATION_TIMEOUT_EXECUTOR = "modelGenerationTimeout";
+	public static final String MODEL_GENERATION_PORTFOLIO_EXECUTOR = "modelGenerationPortfolio";
 
 	@Inject
 	private OperationCanceledManager operationCanceledManager;
@@ -30,17 +33,28 @@ public class ModelGenerationService {
 
 	private final long timeoutSec;
 
+	private final int portfolioSize;
+
 	public ModelGenerationService() {
 		timeoutSec = SemanticsService.getTimeout("REFINERY_MODEL_GENERATION_TIMEOUT_SEC").orElse(600L);
+		portfolioSize = Optional.ofNullable(System.getenv("REFINERY_MODEL_GENERATION_PORTFOLIO_SIZE"))
+				.map(Integer::parseUnsignedInt)
+				.filter(size -> size > 0)
+				.orElse(1);
 	}
 
 	public ModelGenerationStartedResult generateModel(PushWebDocumentAccess document, int randomSeed) {
+		return generateModel(document, randomSeed, 1);
+	}
+
+	public ModelGenerationStartedResult generateModel(PushWebDocumentAccess document, int randomSeed,
+													  int solutionCount) {
 		return document.modify(new CancelableUnitOfWork<>() {
 			@Override
 			public ModelGenerationStartedResult exec(IXtextWebDocument state, CancelIndicator cancelIndicator) {
 				var pushState = (PushWebDocument) state;
 				var worker = workerProvider.get();
-				worker.setState(pushState, randomSeed, timeoutSec);
+				worker.setState(pushState, randomSeed, solutionCount, portfolioSize, timeoutSec);
 				var manager = pushState.getModelGenerationManager();
 				worker.start();
 				boolean canceled = manager.setActiveModelGenerationWorker(worker, cancelIndicator);
@@ -24,9 +24,14 @@ import tools.refinery.language.web.semantics.PartialInterpretation2Json;
 import tools.refinery.language.web.xtext.server.ThreadPoolExecutorServiceProvider;
 import tools.refinery.language.web.xtext.server.push.PushWebDocument;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.strategy.BestFirstPortfolio;
 import tools.refinery.store.dse.strategy.BestFirstStoreManager;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.statespace.SolutionListener;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.Dnf2PQueryCache;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.ReasoningStoreAdapter;
@@ -73,6 +78,9 @@ public class ModelGenerationWorker implements Runnable {
 	@Inject
 	private PartialInterpretation2Json partialInterpretation2Json;
 
+	@Inject
+	private Dnf2PQueryCache translationCache;
+
 	private final Object lockObject = new Object();
 
 	private ExecutorService executorService;
@@ -81,6 +89,16 @@ public class ModelGenerationWorker implements Runnable {
 
 	private int randomSeed;
 
+	private int solutionCount;
+
+	private int portfolioSize;
+
+	private ExecutorService portfolioExecutorService;
+
+	private final Object solutionLock = new Object();
+
+	private int streamedSolutionCount;
+
 	private long timeoutSec;
 
 	private Future<?> future;
@@ -97,11 +115,19 @@ public class ModelGenerationWorker implements Runnable {
 	public void setExecutorServiceProvider(ThreadPoolExecutorServiceProvider provider) {
 		executorService = provider.get(ModelGenerationService.MODEL_GENERATION_EXECUTOR);
 		scheduledExecutorService = provider.getScheduled(ModelGenerationService.MODEL_GENERATION_TIMEOUT_EXECUTOR);
+		portfolioExecutorService = provider.get(ModelGenerationService.MODEL_GENERATION_PORTFOLIO_EXECUTOR);
 	}
 
 	public void setState(PushWebDocument state, int randomSeed, long timeoutSec) {
+		setState(state, randomSeed, 1, 1, timeoutSec);
+	}
+
+	public void setState(PushWebDocument state, int randomSeed, int solutionCount, int portfolioSize,
+						 long timeoutSec) {
 		this.state = state;
 		this.randomSeed = randomSeed;
+		this.solutionCount = solutionCount;
+		this.portfolioSize = portfolioSize;
 		this.timeoutSec = timeoutSec;
 		text = state.getText();
 	}
@@ -136,9 +162,13 @@ public class ModelGenerationWorker implements Runnable {
 			result = doRun();
 		} catch (Throwable e) {
 			if (operationCanceledManager.isOperationCanceledException(e)) {
-				var message = timedOut ? "Model generation timed out" : "Model generation cancelled";
-				LOG.debug("{}: {}", message, uuid);
-				notifyResult(new ModelGenerationErrorResult(uuid, message));
+				if (timedOut) {
+					LOG.debug("Model generation timed out: {}", uuid);
+					notifyResult(createFinalResult(uuid, getStreamedSolutionCount(), true));
+				} else {
+					LOG.debug("Model generation cancelled: {}", uuid);
+					notifyResult(new ModelGenerationErrorResult(uuid, "Model generation cancelled"));
+				}
 			} else if (e instanceof Error error) {
 				// Make sure we don't try to recover from any fatal JVM errors.
 				throw error;
@@ -155,6 +185,13 @@ public class ModelGenerationWorker implements Runnable {
 		state.notifyPrecomputationListeners(ModelGenerationService.SERVICE_NAME, result);
 	}
 
+	/**
+	 * Runs the model generation and streams each solution to the client as soon as it is found.
+	 *
+	 * @return The result to notify the client about after the generation, which is a
+	 * {@link ModelGenerationCompletedResult} with the number of streamed solutions if any solution was found.
+	 * @throws IOException if the problem could not be loaded.
+	 */
 	public ModelGenerationResult doRun() throws IOException {
 		cancellationToken.checkCancelled();
 		var resourceSet = resourceSetProvider.get();
@@ -177,7 +214,8 @@ public class ModelGenerationWorker implements Runnable {
 		cancellationToken.checkCancelled();
 		var storeBuilder = ModelStore.builder()
 				.cancellationToken(cancellationToken)
-				.with(QueryInterpreterAdapter.builder())
+				.with(QueryInterpreterAdapter.builder()
+						.translationCache(translationCache))
 				.with(PropagationAdapter.builder())
 				.with(StateCoderAdapter.builder())
 				.with(DesignSpaceExplorationAdapter.builder())
@@ -190,15 +228,63 @@ public class ModelGenerationWorker implements Runnable {
 		var initialVersion = model.commit();
 		cancellationToken.checkCancelled();
 		notifyResult(new ModelGenerationStatusResult(uuid, "Generating model"));
-		var bestFirst = new BestFirstStoreManager(store, 1);
-		bestFirst.startExploration(initialVersion, randomSeed);
+		// The exploration runs on its own model, so we can restore the initial model to serialize each solution while
+		// the exploration is paused in the listener.
+		SolutionListener solutionListener = solution -> streamSolution(model, solution.version());
+		if (portfolioSize <= 1) {
+			var bestFirst = new BestFirstStoreManager(store, solutionCount);
+			bestFirst.getSolutionStore().addListener(solutionListener);
+			bestFirst.startExploration(initialVersion, randomSeed);
+		} else {
+			var portfolio = new BestFirstPortfolio(store, solutionCount, portfolioSize, portfolioExecutorService);
+			for (var storeManager : portfolio.getStoreManagers()) {
+				storeManager.getSolutionStore().addListener(solutionListener);
+			}
+			portfolio.startExploration(initialVersion, randomSeed);
+		}
 		cancellationToken.checkCancelled();
-		var solutionStore = bestFirst.getSolutionStore();
-		if (solutionStore.getSolutions().isEmpty()) {
-			return new ModelGenerationErrorResult(uuid, "Problem is unsatisfiable");
+		return createFinalResult(uuid, getStreamedSolutionCount(), false);
+	}
+
+	private int getStreamedSolutionCount() {
+		synchronized (solutionLock) {
+			return streamedSolutionCount;
+		}
+	}
+
+	static ModelGenerationResult createFinalResult(UUID uuid, int streamedSolutionCount, boolean timedOut) {
+		if (streamedSolutionCount > 0) {
+			return new ModelGenerationCompletedResult(uuid, streamedSolutionCount, timedOut);
 		}
-		notifyResult(new ModelGenerationStatusResult(uuid, "Saving generated model"));
-		model.restore(solutionStore.getSolutions().get(0).version());
+		return new ModelGenerationErrorResult(uuid, timedOut ? "Model generation timed out" :
+				"Problem is unsatisfiable");
+	}
+
+	/**
+	 * Sends a solution to the client as soon as it is retained by a solution store.
+	 * <p>
+	 * Streamed solutions are never retracted. If the solution store is full, it may later evict a streamed solution
+	 * in favor of a better one, but we only stream the first {@code solutionCount} retained solutions. Thus, the
+	 * client receives solutions in the order they were found, not the best solutions of the whole exploration.
+	 *
+	 * @param model The model to serialize the solution with.
+	 * @param solution The version of the solution.
+	 */
+	private void streamSolution(Model model, Version solution) {
+		// Members of a portfolio may find solutions concurrently, but they share the model used for serialization.
+		synchronized (solutionLock) {
+			if (streamedSolutionCount >= solutionCount) {
+				return;
+			}
+			cancellationToken.checkCancelled();
+			notifyResult(new ModelGenerationStatusResult(uuid, "Saving generated model"));
+			notifyResult(serializeSolution(model, solution, streamedSolutionCount));
+			streamedSolutionCount++;
+		}
+	}
+
+	private ModelGenerationSuccessResult serializeSolution(Model model, Version solution, int solutionIndex) {
+		model.restore(solution);
 		cancellationToken.checkCancelled();
 		metadataCreator.setInitializer(initializer);
 		var nodesMetadata = metadataCreator.getNodesMetadata(model.getAdapter(ReasoningAdapter.class).getNodeCount(),
@@ -208,7 +294,8 @@ public class ModelGenerationWorker implements Runnable {
 		cancellationToken.checkCancelled();
 		var partialInterpretation = partialInterpretation2Json.getPartialInterpretation(initializer, model,
 				Concreteness.CANDIDATE, cancellationToken);
-		return new ModelGenerationSuccessResult(uuid, nodesMetadata, relationsMetadata, partialInterpretation);
+		return new ModelGenerationSuccessResult(uuid, solutionIndex, nodesMetadata, relationsMetadata,
+				partialInterpretation);
 	}
 
 	public void cancel() {
@@ -21,6 +21,7 @@ import tools.refinery.language.semantics.model.ModelInitializer;
 import tools.refinery.language.semantics.model.TracedException;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
 import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.Dnf2PQueryCache;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
 import tools.refinery.store.reasoning.ReasoningAdapter;
 import tools.refinery.store.reasoning.ReasoningStoreAdapter;
@@ -49,6 +50,9 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 	@Inject
 	private MetadataCreator metadataCreator;
 
+	@Inject
+	private Dnf2PQueryCache translationCache;
+
 	private Problem problem;
 
 	private CancellationToken cancellationToken;
@@ -66,7 +70,8 @@ class SemanticsWorker implements Callable<SemanticsResult> {
 	public SemanticsResult call() {
 		var builder = ModelStore.builder()
 				.cancellationToken(cancellationToken)
-				.with(QueryInterpreterAdapter.builder())
+				.with(QueryInterpreterAdapter.builder()
+						.translationCache(translationCache))
 				.with(PropagationAdapter.builder())
 				.with(ReasoningAdapter.builder()
 						.requiredInterpretations(Concreteness.PARTIAL));
@@ -38,6 +38,7 @@ public class ThreadPoolExecutorServiceProvider extends ExecutorServiceProvider {
 	private final int lockExecutorThreadCount;
 	private final int semanticsExecutorThreadCount;
 	private final int generatorExecutorThreadCount;
+	private final int portfolioExecutorThreadCount;
 
 	static {
 		var lookup = MethodHandles.lookup();
@@ -74,6 +75,8 @@ public class ThreadPoolExecutorServiceProvider extends ExecutorServiceProvider {
 					semanticsExecutorThreadCount);
 		}
 		generatorExecutorThreadCount = getCount("REFINERY_MODEL_GENERATION_THREAD_COUNT").orElse(executorThreadCount);
+		portfolioExecutorThreadCount = getCount("REFINERY_MODEL_GENERATION_PORTFOLIO_THREAD_COUNT")
+				.orElse(Runtime.getRuntime().availableProcessors());
 	}
 
 	private static Optional<Integer> getCount(String name) {
@@ -112,6 +115,10 @@ public class ThreadPoolExecutorServiceProvider extends ExecutorServiceProvider {
 			return semanticsExecutorThreadCount;
 		} else if (ModelGenerationService.MODEL_GENERATION_EXECUTOR.equals(key)) {
 			return generatorExecutorThreadCount;
+		} else if (ModelGenerationService.MODEL_GENERATION_PORTFOLIO_EXECUTOR.equals(key)) {
+			// Queued portfolio members only delay their own model generation. Once another member has found enough
+			// solutions, they stop as soon as they start, so bounding the pool can't cause a deadlock.
+			return portfolioExecutorThreadCount;
 		} else if (DOCUMENT_LOCK_EXECUTOR.equals(key)) {
 			return lockExecutorThreadCount;
 		} else {
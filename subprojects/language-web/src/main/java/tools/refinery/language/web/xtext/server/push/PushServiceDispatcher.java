@@ -64,11 +64,16 @@ public class PushServiceDispatcher extends XtextServiceDispatcher {
 		}
 		@SuppressWarnings({"squid:S4738"})
 		int randomSeed = start ? getInt(context, "randomSeed", Optional.absent()) : 0;
+		@SuppressWarnings({"Guava", "squid:S4738"})
+		int solutionCount = start ? getInt(context, "solutionCount", Optional.of(1)) : 0;
+		if (start && solutionCount < 1) {
+			throw new InvalidRequestException("solutionCount must be positive");
+		}
 		var descriptor = new ServiceDescriptor();
 		descriptor.setService(() -> {
 			try {
 				if (start) {
-					return modelGenerationService.generateModel(document, randomSeed);
+					return modelGenerationService.generateModel(document, randomSeed, solutionCount);
 				} else {
 					return modelGenerationService.cancelModelGeneration(document);
 				}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.language.web.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ModelGenerationWorkerTest {
+	private static final UUID uuid = UUID.randomUUID();
+
+	@Test
+	void completedTest() {
+		assertThat(ModelGenerationWorker.createFinalResult(uuid, 3, false),
+				is(new ModelGenerationCompletedResult(uuid, 3, false)));
+	}
+
+	@Test
+	void fewerSolutionsTest() {
+		assertThat(ModelGenerationWorker.createFinalResult(uuid, 1, false),
+				is(new ModelGenerationCompletedResult(uuid, 1, false)));
+	}
+
+	@Test
+	void timedOutAfterSolutionsTest() {
+		assertThat(ModelGenerationWorker.createFinalResult(uuid, 2, true),
+				is(new ModelGenerationCompletedResult(uuid, 2, true)));
+	}
+
+	@Test
+	void unsatisfiableTest() {
+		assertThat(ModelGenerationWorker.createFinalResult(uuid, 0, false),
+				is(new ModelGenerationErrorResult(uuid, "Problem is unsatisfiable")));
+	}
+
+	@Test
+	void timedOutTest() {
+		assertThat(ModelGenerationWorker.createFinalResult(uuid, 0, true),
+				is(new ModelGenerationErrorResult(uuid, "Model generation timed out")));
+	}
+}
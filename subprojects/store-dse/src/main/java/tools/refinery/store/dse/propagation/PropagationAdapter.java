@@ -14,6 +14,13 @@ public interface PropagationAdapter extends ModelAdapter {
 
 	PropagationResult propagate();
 
+	/**
+	 * Gets the number of rounds the last call to {@link #propagate()} took to reach a fixed point.
+	 *
+	 * @return The number of times all propagators were run during the last propagation.
+	 */
+	int getLastRoundCount();
+
 	static PropagationBuilder builder() {
 		return new PropagationBuilderImpl();
 	}
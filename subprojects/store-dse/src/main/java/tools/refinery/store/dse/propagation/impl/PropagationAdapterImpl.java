@@ -15,6 +15,7 @@ class PropagationAdapterImpl implements PropagationAdapter {
 	private final Model model;
 	private final PropagationStoreAdapterImpl storeAdapter;
 	private final BoundPropagator[] boundPropagators;
+	private int lastRoundCount;
 
 	public PropagationAdapterImpl(Model model, PropagationStoreAdapterImpl storeAdapter) {
 		this.model = model;
@@ -30,14 +31,21 @@ class PropagationAdapterImpl implements PropagationAdapter {
 	public PropagationResult propagate() {
 		PropagationResult result = PropagationResult.UNCHANGED;
 		PropagationResult lastResult;
+		lastRoundCount = 0;
 		do {
 			model.checkCancelled();
 			lastResult = propagateOne();
+			lastRoundCount++;
 			result = result.andThen(lastResult);
 		} while (lastResult.isChanged());
 		return result;
 	}
 
+	@Override
+	public int getLastRoundCount() {
+		return lastRoundCount;
+	}
+
 	private PropagationResult propagateOne() {
 		PropagationResult result = PropagationResult.UNCHANGED;
 		for (int i = 0; i < boundPropagators.length; i++) {
@@ -25,12 +25,17 @@ public class BestFirstExplorer extends BestFirstWorker {
 
 	private boolean shouldRun() {
 		model.checkCancelled();
+		storeManager.getCancellationToken().checkCancelled();
 		return !hasEnoughSolution();
 	}
 
 	public void explore() {
 		var lastBest = submit().newVersion();
 		while (shouldRun()) {
+			if (lastBest != null && !canImproveFromLast()) {
+				// Stop expanding this branch, because it can no longer improve on the found solutions.
+				lastBest = null;
+			}
 			if (lastBest == null) {
 				if (random.nextInt(10) == 0) {
 					lastBest = restoreToRandom(random);
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.util.CancellationToken;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs independent best-first explorations with different random seeds over the same {@link ModelStore} and stops
+ * all of them as soon as one has found enough solutions.
+ * <p>
+ * Best-first search is sensitive to the random seed, so running several seeds in parallel reduces the variance of
+ * the time needed to find a solution. Each member has its own {@link BestFirstStoreManager} and model, so members do
+ * not share their state spaces.
+ * <p>
+ * Members explore separate models of the same {@link ModelStore} concurrently. This is safe, because the store
+ * synchronizes creating models and committing their states, while the store adapters used during exploration are
+ * either immutable after the store was built or only update synchronized caches and thread-safe counters. Custom
+ * store adapters must uphold the same guarantee to be used with a portfolio.
+ * <p>
+ * Members queued on a bounded {@link ExecutorService} start only when a thread becomes available. If another member
+ * has already found enough solutions by then, they stop before firing any activation.
+ */
+public class BestFirstPortfolio {
+	// Spread the seeds of the members, so that portfolios started with consecutive seeds don't overlap.
+	private static final int SEED_STRIDE = 7919;
+
+	private final List<BestFirstStoreManager> storeManagers;
+	private final ExecutorService executorService;
+	private final AtomicReference<BestFirstStoreManager> winner = new AtomicReference<>();
+	private volatile boolean stopped;
+
+	public BestFirstPortfolio(ModelStore modelStore, int maxNumberOfSolutions, int size,
+							  ExecutorService executorService) {
+		if (size < 1) {
+			throw new IllegalArgumentException("Portfolio size must be positive, got %d instead".formatted(size));
+		}
+		this.executorService = executorService;
+		var managers = new ArrayList<BestFirstStoreManager>(size);
+		for (int i = 0; i < size; i++) {
+			var storeManager = new BestFirstStoreManager(modelStore, maxNumberOfSolutions);
+			storeManager.setCancellationToken(createCancellationToken(storeManager));
+			storeManager.getSolutionStore().addListener(solution -> {
+				if (storeManager.getSolutionStore().hasEnoughSolution()) {
+					winner.compareAndSet(null, storeManager);
+				}
+			});
+			managers.add(storeManager);
+		}
+		storeManagers = Collections.unmodifiableList(managers);
+	}
+
+	private CancellationToken createCancellationToken(BestFirstStoreManager storeManager) {
+		return () -> {
+			if (stopped) {
+				throw new PortfolioMemberCancelledException();
+			}
+			var currentWinner = winner.get();
+			if (currentWinner != null && currentWinner != storeManager) {
+				throw new PortfolioMemberCancelledException();
+			}
+		};
+	}
+
+	public List<BestFirstStoreManager> getStoreManagers() {
+		return storeManagers;
+	}
+
+	/**
+	 * Runs the explorations of all members. The first member runs on the calling thread, while the other members
+	 * run on the executor service.
+	 *
+	 * @param initial The initial state of the exploration.
+	 * @param randomSeed The random seed of the first member.
+	 * @return The member that found enough solutions first, or the first member if no member did.
+	 */
+	public BestFirstStoreManager startExploration(Version initial, int randomSeed) {
+		var futures = new ArrayList<Future<?>>(storeManagers.size() - 1);
+		boolean completed = false;
+		try {
+			for (int i = 1; i < storeManagers.size(); i++) {
+				var storeManager = storeManagers.get(i);
+				int memberSeed = randomSeed + i * SEED_STRIDE;
+				futures.add(executorService.submit(() -> runMember(storeManager, initial, memberSeed)));
+			}
+			runMember(storeManagers.get(0), initial, randomSeed);
+			completed = true;
+		} finally {
+			if (!completed) {
+				// The first member failed or was cancelled from the outside, so the other members must stop, too.
+				stopped = true;
+			}
+			var exception = awaitMembers(futures);
+			if (completed && exception != null && winner.get() == null) {
+				throw exception;
+			}
+		}
+		var currentWinner = winner.get();
+		return currentWinner == null ? storeManagers.get(0) : currentWinner;
+	}
+
+	private static void runMember(BestFirstStoreManager storeManager, Version initial, int randomSeed) {
+		try {
+			storeManager.startExploration(initial, randomSeed);
+		} catch (PortfolioMemberCancelledException e) {
+			// Another member has already found enough solutions.
+		}
+	}
+
+	private RuntimeException awaitMembers(List<Future<?>> futures) {
+		RuntimeException exception = null;
+		for (var future : futures) {
+			try {
+				future.get();
+			} catch (InterruptedException e) {
+				stopped = true;
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException e) {
+				stopped = true;
+				if (exception == null && e.getCause() instanceof RuntimeException runtimeException) {
+					exception = runtimeException;
+				}
+			}
+		}
+		return exception;
+	}
+
+	private static class PortfolioMemberCancelledException extends RuntimeException {
+		public PortfolioMemberCancelledException() {
+			super("Another member of the portfolio has found enough solutions", null, false, false);
+		}
+	}
+}
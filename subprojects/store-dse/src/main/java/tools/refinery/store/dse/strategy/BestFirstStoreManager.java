@@ -5,6 +5,10 @@
  */
 package tools.refinery.store.dse.strategy;
 
+import jdk.jfr.FlightRecorder;
+import tools.refinery.store.dse.telemetry.ExplorationStatistics;
+import tools.refinery.store.dse.telemetry.ExplorationStatisticsEvent;
+import tools.refinery.store.dse.telemetry.ExplorationStatisticsSnapshot;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationStoreAdapter;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
@@ -12,12 +16,14 @@ import tools.refinery.store.dse.transition.statespace.EquivalenceClassStore;
 import tools.refinery.store.dse.transition.statespace.ObjectivePriorityQueue;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 import tools.refinery.store.dse.transition.statespace.internal.ActivationStoreImpl;
+import tools.refinery.store.dse.transition.statespace.internal.ActivationSymmetryStore;
 import tools.refinery.store.dse.transition.statespace.internal.FastEquivalenceClassStore;
 import tools.refinery.store.dse.transition.statespace.internal.ObjectivePriorityQueueImpl;
 import tools.refinery.store.dse.transition.statespace.internal.SolutionStoreImpl;
 import tools.refinery.store.map.Version;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.statecoding.StateCoderStoreAdapter;
+import tools.refinery.store.util.CancellationToken;
 import tools.refinery.visualization.statespace.VisualizationStore;
 import tools.refinery.visualization.statespace.internal.VisualizationStoreImpl;
 
@@ -31,6 +37,11 @@ public class BestFirstStoreManager {
 	SolutionStore solutionStore;
 	EquivalenceClassStore equivalenceClassStore;
 	VisualizationStore visualizationStore;
+	BranchAndBoundPolicy branchAndBoundPolicy;
+	ActivationSymmetryStore activationSymmetryStore;
+	boolean restoreDiffTracking;
+	final ExplorationStatistics statistics = new ExplorationStatistics();
+	CancellationToken cancellationToken = CancellationToken.NONE;
 
 	public BestFirstStoreManager(ModelStore modelStore, int maxNumberOfSolutions) {
 		this.modelStore = modelStore;
@@ -38,9 +49,16 @@ public class BestFirstStoreManager {
 				modelStore.getAdapter(DesignSpaceExplorationStoreAdapter.class);
 
 		objectiveStore = new ObjectivePriorityQueueImpl(storeAdapter.getObjectives());
-		Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> objectiveStore.remove(x);
-		activationStore = new ActivationStoreImpl(storeAdapter.getTransformations().size(), whenAllActivationsVisited);
 		solutionStore = new SolutionStoreImpl(maxNumberOfSolutions);
+		Consumer<VersionWithObjectiveValue> whenAllActivationsVisited = x -> {
+			objectiveStore.remove(x);
+			branchAndBoundPolicy.untrack(x);
+			if (activationSymmetryStore != null) {
+				activationSymmetryStore.remove(x.version());
+			}
+		};
+		activationStore = new ActivationStoreImpl(storeAdapter.getTransformations().size(), whenAllActivationsVisited);
+		branchAndBoundPolicy = new BranchAndBoundPolicy(activationStore, solutionStore);
 		equivalenceClassStore = new FastEquivalenceClassStore(modelStore.getAdapter(StateCoderStoreAdapter.class)) {
 			@Override
 			protected void delegate(VersionWithObjectiveValue version, int[] emptyActivations, boolean accept) {
@@ -49,6 +67,7 @@ public class BestFirstStoreManager {
 			}
 		};
 		visualizationStore = new VisualizationStoreImpl();
+		setSymmetricActivationPruning(storeAdapter.isSymmetricActivationPruning());
 	}
 
 	public ModelStore getModelStore() {
@@ -71,6 +90,76 @@ public class BestFirstStoreManager {
 		return equivalenceClassStore;
 	}
 
+	public BranchAndBoundPolicy getBranchAndBoundPolicy() {
+		return branchAndBoundPolicy;
+	}
+
+	public boolean isSymmetricActivationPruning() {
+		return activationSymmetryStore != null;
+	}
+
+	ActivationSymmetryStore getActivationSymmetryStore() {
+		return activationSymmetryStore;
+	}
+
+	/**
+	 * Fires only one representative of activations whose parameters have identical neighbourhood codes.
+	 * <p>
+	 * This avoids firing, propagating, and coding states that would be rejected as duplicates anyway, but relies on
+	 * the same hash-based approximation of isomorphism as the equivalence class store. Fired activations are
+	 * remembered for each state until all of its activations are visited, so symmetric activations are skipped even
+	 * if the state is restored again later. Defaults to
+	 * {@link DesignSpaceExplorationStoreAdapter#isSymmetricActivationPruning()}.
+	 *
+	 * @param symmetricActivationPruning Whether to prune symmetric activations.
+	 */
+	public void setSymmetricActivationPruning(boolean symmetricActivationPruning) {
+		if (symmetricActivationPruning == isSymmetricActivationPruning()) {
+			return;
+		}
+		activationSymmetryStore = symmetricActivationPruning ? new ActivationSymmetryStore() : null;
+	}
+
+	public CancellationToken getCancellationToken() {
+		return cancellationToken;
+	}
+
+	/**
+	 * Sets a cancellation token checked by the explorers of this store manager in addition to the cancellation token
+	 * of the {@link ModelStore}.
+	 * <p>
+	 * This allows stopping a single exploration without cancelling every other operation on the model store.
+	 *
+	 * @param cancellationToken The cancellation token of the exploration.
+	 */
+	public void setCancellationToken(CancellationToken cancellationToken) {
+		this.cancellationToken = cancellationToken;
+	}
+
+	public boolean isRestoreDiffTracking() {
+		return restoreDiffTracking;
+	}
+
+	/**
+	 * Counts the number of tuples changed by each restoration of the model.
+	 * <p>
+	 * Tracking requires calculating the difference between the current and the restored state of every
+	 * interpretation, even if no other listener would need it.
+	 *
+	 * @param restoreDiffTracking Whether to track the number of tuples changed by restorations.
+	 */
+	public void setRestoreDiffTracking(boolean restoreDiffTracking) {
+		this.restoreDiffTracking = restoreDiffTracking;
+	}
+
+	ExplorationStatistics getStatistics() {
+		return statistics;
+	}
+
+	public ExplorationStatisticsSnapshot getStatisticsSnapshot() {
+		return statistics.snapshot(objectiveStore.getSize(), solutionStore.getNumberOfSolutions());
+	}
+
 	public VisualizationStore getVisualizationStore() {
 		return visualizationStore;
 	}
@@ -82,6 +171,14 @@ public class BestFirstStoreManager {
 	public void startExploration(Version initial, int randomSeed) {
 		BestFirstExplorer bestFirstExplorer = new BestFirstExplorer(this, modelStore.createModelForState(initial),
 				randomSeed);
-		bestFirstExplorer.explore();
+		Runnable statisticsHook = () -> ExplorationStatisticsEvent.emit(getStatisticsSnapshot());
+		FlightRecorder.addPeriodicEvent(ExplorationStatisticsEvent.class, statisticsHook);
+		statistics.start();
+		try {
+			bestFirstExplorer.explore();
+		} finally {
+			FlightRecorder.removePeriodicEvent(statisticsHook);
+			statisticsHook.run();
+		}
 	}
 }
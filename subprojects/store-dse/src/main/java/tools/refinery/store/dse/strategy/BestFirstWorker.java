@@ -7,13 +7,16 @@ package tools.refinery.store.dse.strategy;
 
 import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.dse.propagation.PropagationAdapter;
+import tools.refinery.store.dse.telemetry.*;
 import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
 import tools.refinery.store.dse.transition.ObjectiveValue;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.internal.ActivationStoreWorker;
 import tools.refinery.store.map.Version;
+import tools.refinery.store.model.Interpretation;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.statecoding.StateCoderAdapter;
 import tools.refinery.visualization.statespace.VisualizationStore;
 
@@ -29,6 +32,9 @@ public class BestFirstWorker {
 	final @Nullable PropagationAdapter propagationAdapter;
 	final VisualizationStore visualizationStore;
 	final boolean isVisualizationEnabled;
+	final ExplorationStatistics statistics;
+	final boolean isRestoreDiffTracking;
+	private long restoredChanges;
 
 	public BestFirstWorker(BestFirstStoreManager storeManager, Model model) {
 		this.storeManager = storeManager;
@@ -39,36 +45,82 @@ public class BestFirstWorker {
 		queryAdapter = model.getAdapter(ModelQueryAdapter.class);
 		propagationAdapter = model.tryGetAdapter(PropagationAdapter.class).orElse(null);
 		activationStoreWorker = new ActivationStoreWorker(storeManager.getActivationStore(),
-				explorationAdapter.getTransformations());
+				explorationAdapter.getTransformations(),
+				storeManager.getActivationSymmetryStore(), stateCoderAdapter);
 		visualizationStore = storeManager.getVisualizationStore();
 		isVisualizationEnabled = visualizationStore != null;
+		statistics = storeManager.getStatistics();
+		isRestoreDiffTracking = storeManager.isRestoreDiffTracking();
+		if (isRestoreDiffTracking) {
+			for (var symbol : model.getStore().getSymbols()) {
+				addRestoreListener(model.getInterpretation((Symbol<?>) symbol));
+			}
+		}
+	}
+
+	private <T> void addRestoreListener(Interpretation<T> interpretation) {
+		interpretation.addListener((key, fromValue, toValue, restoring) -> {
+			if (restoring) {
+				restoredChanges++;
+			}
+		}, true);
 	}
 
 	protected VersionWithObjectiveValue last = null;
+	protected ObjectiveValue lastLowerBound = null;
 
 	public SubmitResult submit() {
 		checkSynchronized();
 		if (queryAdapter.hasPendingChanges()) {
 			throw new AssertionError("Pending changes detected before model submission");
 		}
+		var submissionEvent = new StateSubmissionEvent();
+		submissionEvent.begin();
 		if (explorationAdapter.checkExclude()) {
+			statistics.recordExcludedState();
+			submissionEvent.excluded = true;
+			submissionEvent.commit();
 			return new SubmitResult(false, false, null, null);
 		}
 
+		var codingEvent = new StateCodingEvent();
+		codingEvent.begin();
+		long codingStart = System.nanoTime();
 		var code = stateCoderAdapter.calculateStateCode();
 
 		boolean isNew = storeManager.getEquivalenceClassStore().submit(code);
+		statistics.recordStateCoding(System.nanoTime() - codingStart, isNew);
+		codingEvent.commit();
+		submissionEvent.duplicate = !isNew;
 		if (isNew) {
 			Version version = model.commit();
+			var objectiveEvent = new ObjectiveEvaluationEvent();
+			objectiveEvent.begin();
+			long objectiveStart = System.nanoTime();
 			ObjectiveValue objectiveValue = explorationAdapter.getObjectiveValue();
 			var versionWithObjectiveValue = new VersionWithObjectiveValue(version, objectiveValue);
 			last = versionWithObjectiveValue;
 			var accepted = explorationAdapter.checkAccept();
+			statistics.recordObjectiveEvaluation(System.nanoTime() - objectiveStart, accepted);
+			objectiveEvent.commit();
+			submissionEvent.accepted = accepted;
+			submissionEvent.commit();
+			var branchAndBoundPolicy = storeManager.getBranchAndBoundPolicy();
+			lastLowerBound = explorationAdapter.getObjectiveLowerBound();
 
-			storeManager.getObjectiveStore().submit(versionWithObjectiveValue);
-			storeManager.getActivationStore().markNewAsVisited(versionWithObjectiveValue, activationStoreWorker.calculateEmptyActivationSize());
-			if(accepted) {
-				storeManager.solutionStore.submit(versionWithObjectiveValue);
+			if (branchAndBoundPolicy.canImprove(lastLowerBound)) {
+				branchAndBoundPolicy.track(versionWithObjectiveValue, lastLowerBound);
+				storeManager.getObjectiveStore().submit(versionWithObjectiveValue);
+				var symmetryStore = storeManager.getActivationSymmetryStore();
+				if (symmetryStore != null) {
+					symmetryStore.putObjectCode(version, code.objectCode());
+				}
+				storeManager.getActivationStore().markNewAsVisited(versionWithObjectiveValue,
+						activationStoreWorker.calculateEmptyActivationSize());
+			}
+			if (accepted && storeManager.solutionStore.submit(versionWithObjectiveValue) &&
+					storeManager.solutionStore.hasEnoughSolution()) {
+				branchAndBoundPolicy.pruneFrontier();
 			}
 
 			if (isVisualizationEnabled) {
@@ -81,20 +133,40 @@ public class BestFirstWorker {
 			return new SubmitResult(true, accepted, objectiveValue, last);
 		}
 
+		submissionEvent.commit();
 		return new SubmitResult(false, false, null, null);
 	}
 
+	private void restore(Version version) {
+		var event = new RestoreEvent();
+		event.begin();
+		long restoredChangesBefore = restoredChanges;
+		long start = System.nanoTime();
+		model.restore(version);
+		long nanos = System.nanoTime() - start;
+		if (isRestoreDiffTracking) {
+			long changes = restoredChanges - restoredChangesBefore;
+			statistics.recordRestore(nanos, changes);
+			event.changes = changes;
+		} else {
+			statistics.recordRestore(nanos);
+			event.changes = -1;
+		}
+		event.commit();
+	}
+
 	public void restoreToLast() {
 		if (explorationAdapter.getModel().hasUncommittedChanges()) {
-			explorationAdapter.getModel().restore(last.version());
+			restore(last.version());
 		}
 	}
 
 	public VersionWithObjectiveValue restoreToBest() {
 		var bestVersion = storeManager.getObjectiveStore().getBest();
 		last = bestVersion;
+		lastLowerBound = storeManager.getBranchAndBoundPolicy().getLowerBound(bestVersion);
 		if (bestVersion != null) {
-			this.model.restore(bestVersion.version());
+			restore(bestVersion.version());
 		}
 		return last;
 	}
@@ -106,12 +178,17 @@ public class BestFirstWorker {
 		}
 		var randomVersion = objectiveStore.getRandom(random);
 		last = randomVersion;
+		lastLowerBound = storeManager.getBranchAndBoundPolicy().getLowerBound(randomVersion);
 		if (randomVersion != null) {
-			this.model.restore(randomVersion.version());
+			restore(randomVersion.version());
 		}
 		return last;
 	}
 
+	public boolean canImproveFromLast() {
+		return storeManager.getBranchAndBoundPolicy().canImprove(lastLowerBound);
+	}
+
 	public int compare(VersionWithObjectiveValue s1, VersionWithObjectiveValue s2) {
 		return storeManager.getObjectiveStore().getComparator().compare(s1, s2);
 	}
@@ -125,19 +202,40 @@ public class BestFirstWorker {
 			throw new IllegalStateException("The model has uncommitted changes!");
 		}
 
+		long firedBefore = activationStoreWorker.getNumberOfFiredActivations();
+		long symmetricBefore = activationStoreWorker.getNumberOfSymmetricActivations();
 		var visitResult = activationStoreWorker.fireRandomActivation(this.last, random);
+		if (activationStoreWorker.getNumberOfFiredActivations() != firedBefore) {
+			statistics.recordFiredActivation();
+		} else if (activationStoreWorker.getNumberOfSymmetricActivations() != symmetricBefore) {
+			statistics.recordSymmetricActivation();
+		}
 
 		if (!visitResult.successfulVisit()) {
 			return new RandomVisitResult(null, visitResult.mayHaveMore());
 		}
 
 		if (propagationAdapter != null) {
+			var propagationEvent = new PropagationEvent();
+			propagationEvent.begin();
+			long propagationStart = System.nanoTime();
 			var propagationResult = propagationAdapter.propagate();
-			if (propagationResult.isRejected()) {
+			int rounds = propagationAdapter.getLastRoundCount();
+			boolean rejected = propagationResult.isRejected();
+			statistics.recordPropagation(System.nanoTime() - propagationStart, rounds, rejected);
+			propagationEvent.rounds = rounds;
+			propagationEvent.rejected = rejected;
+			propagationEvent.commit();
+			if (rejected) {
 				return new RandomVisitResult(null, visitResult.mayHaveMore());
 			}
 		}
+		var flushEvent = new QueryFlushEvent();
+		flushEvent.begin();
+		long flushStart = System.nanoTime();
 		queryAdapter.flushChanges();
+		statistics.recordQueryFlush(System.nanoTime() - flushStart);
+		flushEvent.commit();
 
 		Version oldVersion = null;
 		if (isVisualizationEnabled) {
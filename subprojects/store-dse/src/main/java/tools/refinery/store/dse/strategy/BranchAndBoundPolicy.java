@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.ActivationStore;
+import tools.refinery.store.dse.transition.statespace.SolutionStore;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prunes states whose descendants cannot improve on the solutions already in a full {@link SolutionStore}.
+ * <p>
+ * Only lower bounds provided by the objectives are tracked, so states with an infinite lower bound are never pruned
+ * and cost no extra memory. With multiple objectives, a state is pruned only if its lower bound is dominated by the
+ * worst retained solution in every component, because a descendant better in any component might still be retained.
+ */
+public class BranchAndBoundPolicy {
+	private final ActivationStore activationStore;
+	private final SolutionStore solutionStore;
+	private final Map<VersionWithObjectiveValue, ObjectiveValue> lowerBounds = new ConcurrentHashMap<>();
+
+	public BranchAndBoundPolicy(ActivationStore activationStore, SolutionStore solutionStore) {
+		this.activationStore = activationStore;
+		this.solutionStore = solutionStore;
+	}
+
+	public boolean canImprove(ObjectiveValue lowerBound) {
+		if (lowerBound == null || !solutionStore.hasEnoughSolution()) {
+			return true;
+		}
+		var worstSolution = solutionStore.getWorstSolution();
+		if (worstSolution == null) {
+			return true;
+		}
+		return !isDominated(lowerBound, worstSolution.objectiveValue());
+	}
+
+	static boolean isDominated(ObjectiveValue lowerBound, ObjectiveValue solutionValue) {
+		int size = lowerBound.getSize();
+		if (size != solutionValue.getSize()) {
+			throw new IllegalArgumentException("Lower bound %s and objective value %s have different sizes"
+					.formatted(lowerBound, solutionValue));
+		}
+		for (int i = 0; i < size; i++) {
+			if (lowerBound.get(i) < solutionValue.get(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public ObjectiveValue getLowerBound(VersionWithObjectiveValue version) {
+		return version == null ? null : lowerBounds.get(version);
+	}
+
+	void track(VersionWithObjectiveValue version, ObjectiveValue lowerBound) {
+		int size = lowerBound.getSize();
+		for (int i = 0; i < size; i++) {
+			if (lowerBound.get(i) > Double.NEGATIVE_INFINITY) {
+				lowerBounds.put(version, lowerBound);
+				return;
+			}
+		}
+	}
+
+	void untrack(VersionWithObjectiveValue version) {
+		lowerBounds.remove(version);
+	}
+
+	/**
+	 * Removes every state from the exploration frontier that cannot lead to a better solution, and forgets the
+	 * activations of the removed states.
+	 *
+	 * @return The number of states removed from the frontier.
+	 */
+	public int pruneFrontier() {
+		if (lowerBounds.isEmpty() || !solutionStore.hasEnoughSolution()) {
+			return 0;
+		}
+		var pruned = new ArrayList<VersionWithObjectiveValue>();
+		for (var entry : lowerBounds.entrySet()) {
+			if (!canImprove(entry.getValue())) {
+				pruned.add(entry.getKey());
+			}
+		}
+		for (var version : pruned) {
+			lowerBounds.remove(version);
+			// Dropping the activations of a state also removes it from the frontier.
+			activationStore.remove(version);
+		}
+		return pruned.size();
+	}
+}
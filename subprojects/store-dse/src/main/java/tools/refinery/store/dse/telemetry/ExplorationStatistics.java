@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters collected by the workers of a design space exploration.
+ * <p>
+ * Counters are only ever incremented, so a snapshot can be taken at any time without stopping the exploration.
+ */
+public class ExplorationStatistics {
+	private volatile long startNanos = System.nanoTime();
+	private final LongAdder firedActivations = new LongAdder();
+	private final LongAdder symmetricActivations = new LongAdder();
+	private final LongAdder submittedStates = new LongAdder();
+	private final LongAdder excludedStates = new LongAdder();
+	private final LongAdder duplicateStates = new LongAdder();
+	private final LongAdder newStates = new LongAdder();
+	private final LongAdder acceptedStates = new LongAdder();
+	private final LongAdder propagations = new LongAdder();
+	private final LongAdder rejectedPropagations = new LongAdder();
+	private final LongAdder propagationRounds = new LongAdder();
+	private final LongAdder restores = new LongAdder();
+	private final LongAdder trackedRestores = new LongAdder();
+	private final LongAdder restoredChanges = new LongAdder();
+	private final LongAdder stateCodingNanos = new LongAdder();
+	private final LongAdder propagationNanos = new LongAdder();
+	private final LongAdder queryFlushNanos = new LongAdder();
+	private final LongAdder restoreNanos = new LongAdder();
+	private final LongAdder objectiveEvaluationNanos = new LongAdder();
+
+	/**
+	 * Restarts the clock used to calculate the elapsed time of the exploration.
+	 * <p>
+	 * Should be called right before the exploration begins, so that setting up the exploration is not counted as
+	 * exploration time.
+	 */
+	public void start() {
+		startNanos = System.nanoTime();
+	}
+
+	public void recordFiredActivation() {
+		firedActivations.increment();
+	}
+
+	public void recordSymmetricActivation() {
+		symmetricActivations.increment();
+	}
+
+	public void recordExcludedState() {
+		submittedStates.increment();
+		excludedStates.increment();
+	}
+
+	public void recordStateCoding(long nanos, boolean isNew) {
+		stateCodingNanos.add(nanos);
+		submittedStates.increment();
+		if (isNew) {
+			newStates.increment();
+		} else {
+			duplicateStates.increment();
+		}
+	}
+
+	public void recordObjectiveEvaluation(long nanos, boolean accepted) {
+		objectiveEvaluationNanos.add(nanos);
+		if (accepted) {
+			acceptedStates.increment();
+		}
+	}
+
+	public void recordPropagation(long nanos, int rounds, boolean rejected) {
+		propagationNanos.add(nanos);
+		propagations.increment();
+		propagationRounds.add(rounds);
+		if (rejected) {
+			rejectedPropagations.increment();
+		}
+	}
+
+	public void recordQueryFlush(long nanos) {
+		queryFlushNanos.add(nanos);
+	}
+
+	public void recordRestore(long nanos) {
+		restoreNanos.add(nanos);
+		restores.increment();
+	}
+
+	public void recordRestore(long nanos, long changes) {
+		recordRestore(nanos);
+		trackedRestores.increment();
+		restoredChanges.add(changes);
+	}
+
+	public ExplorationStatisticsSnapshot snapshot(int frontierSize, int numberOfSolutions) {
+		return new ExplorationStatisticsSnapshot(System.nanoTime() - startNanos, firedActivations.sum(),
+				symmetricActivations.sum(), submittedStates.sum(), excludedStates.sum(), duplicateStates.sum(),
+				newStates.sum(), acceptedStates.sum(), propagations.sum(), rejectedPropagations.sum(),
+				propagationRounds.sum(), restores.sum(), trackedRestores.sum(), restoredChanges.sum(),
+				stateCodingNanos.sum(), propagationNanos.sum(), queryFlushNanos.sum(), restoreNanos.sum(),
+				objectiveEvaluationNanos.sum(), frontierSize, numberOfSolutions);
+	}
+}
@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.ExplorationStatistics")
+@Label("Exploration Statistics")
+@Description("Periodic snapshot of the counters of a running design space exploration")
+@Category({"Refinery", "Design Space Exploration"})
+@Period("1 s")
+@StackTrace(false)
+public class ExplorationStatisticsEvent extends Event {
+	@Label("States per Second")
+	public double statesPerSecond;
+
+	@Label("Duplicate Ratio")
+	@Percentage
+	public double duplicateRatio;
+
+	@Label("Symmetric Activation Ratio")
+	@Percentage
+	public double symmetricActivationRatio;
+
+	@Label("Frontier Size")
+	public int frontierSize;
+
+	@Label("Solutions")
+	public int numberOfSolutions;
+
+	@Label("Average Restore Diff Size")
+	public double averageRestoreDiffSize;
+
+	@Label("Propagation Rounds per Step")
+	public double propagationRoundsPerStep;
+
+	public static void emit(ExplorationStatisticsSnapshot snapshot) {
+		var event = new ExplorationStatisticsEvent();
+		if (!event.isEnabled()) {
+			return;
+		}
+		event.statesPerSecond = snapshot.getStatesPerSecond();
+		event.duplicateRatio = snapshot.getDuplicateRatio();
+		event.symmetricActivationRatio = snapshot.getSymmetricActivationRatio();
+		event.frontierSize = snapshot.frontierSize();
+		event.numberOfSolutions = snapshot.numberOfSolutions();
+		event.averageRestoreDiffSize = snapshot.getAverageRestoreDiffSize();
+		event.propagationRoundsPerStep = snapshot.getPropagationRoundsPerStep();
+		event.commit();
+	}
+}
@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+public record ExplorationStatisticsSnapshot(long elapsedNanos, long firedActivations, long symmetricActivations,
+											long submittedStates, long excludedStates, long duplicateStates,
+											long newStates, long acceptedStates, long propagations,
+											long rejectedPropagations, long propagationRounds, long restores,
+											long trackedRestores, long restoredChanges, long stateCodingNanos,
+											long propagationNanos, long queryFlushNanos, long restoreNanos,
+											long objectiveEvaluationNanos, int frontierSize, int numberOfSolutions) {
+	private static final double NANOS_PER_SECOND = 1e9;
+
+	public double getStatesPerSecond() {
+		return elapsedNanos == 0 ? 0 : newStates * NANOS_PER_SECOND / elapsedNanos;
+	}
+
+	public double getDuplicateRatio() {
+		long codedStates = newStates + duplicateStates;
+		return codedStates == 0 ? 0 : (double) duplicateStates / codedStates;
+	}
+
+	public double getSymmetricActivationRatio() {
+		long visitedActivations = firedActivations + symmetricActivations;
+		return visitedActivations == 0 ? 0 : (double) symmetricActivations / visitedActivations;
+	}
+
+	/**
+	 * Returns the average number of tuples changed by restorations with restore diff tracking enabled.
+	 *
+	 * @return The average restore diff size, or {@link Double#NaN} if no restoration was tracked.
+	 */
+	public double getAverageRestoreDiffSize() {
+		return trackedRestores == 0 ? Double.NaN : (double) restoredChanges / trackedRestores;
+	}
+
+	public double getPropagationRoundsPerStep() {
+		return propagations == 0 ? 0 : (double) propagationRounds / propagations;
+	}
+}
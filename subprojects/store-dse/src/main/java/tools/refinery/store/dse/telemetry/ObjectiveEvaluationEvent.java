@@ -0,0 +1,16 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.ObjectiveEvaluation")
+@Label("Objective Evaluation")
+@Description("Evaluation of the objectives and criteria of a new model state")
+@Category({"Refinery", "Design Space Exploration"})
+@StackTrace(false)
+public class ObjectiveEvaluationEvent extends Event {
+}
@@ -0,0 +1,21 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.Propagation")
+@Label("Propagation")
+@Description("Propagation after firing an activation")
+@Category({"Refinery", "Design Space Exploration"})
+@StackTrace(false)
+public class PropagationEvent extends Event {
+	@Label("Rounds")
+	public int rounds;
+
+	@Label("Rejected")
+	public boolean rejected;
+}
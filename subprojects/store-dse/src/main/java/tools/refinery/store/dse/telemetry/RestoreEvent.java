@@ -0,0 +1,19 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.Restore")
+@Label("Restore")
+@Description("Restoration of the model to a previously visited state")
+@Category({"Refinery", "Design Space Exploration"})
+@StackTrace(false)
+public class RestoreEvent extends Event {
+	@Label("Changes")
+	@Description("Number of tuples changed by the restoration, or -1 if restore diff tracking is disabled")
+	public long changes;
+}
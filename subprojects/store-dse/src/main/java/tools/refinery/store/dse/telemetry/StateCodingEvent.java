@@ -0,0 +1,16 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.StateCoding")
+@Label("State Coding")
+@Description("Calculation of the state code of a model state")
+@Category({"Refinery", "Design Space Exploration"})
+@StackTrace(false)
+public class StateCodingEvent extends Event {
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import jdk.jfr.*;
+
+@Name("tools.refinery.dse.StateSubmission")
+@Label("State Submission")
+@Description("Submission of a model state to the state space")
+@Category({"Refinery", "Design Space Exploration"})
+@StackTrace(false)
+public class StateSubmissionEvent extends Event {
+	@Label("Excluded")
+	public boolean excluded;
+
+	@Label("Duplicate")
+	public boolean duplicate;
+
+	@Label("Accepted")
+	public boolean accepted;
+}
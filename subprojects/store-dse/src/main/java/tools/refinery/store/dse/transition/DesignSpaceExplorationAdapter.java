@@ -25,4 +25,6 @@ public interface DesignSpaceExplorationAdapter extends ModelAdapter {
 	boolean checkExclude();
 
 	ObjectiveValue getObjectiveValue();
+
+	ObjectiveValue getObjectiveLowerBound();
 }
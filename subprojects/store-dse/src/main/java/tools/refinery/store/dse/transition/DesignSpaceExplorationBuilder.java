@@ -58,4 +58,13 @@ public interface DesignSpaceExplorationBuilder extends ModelAdapterBuilder {
 		objectives.forEach(this::objective);
 		return this;
 	}
+
+	/**
+	 * Fires only one representative of activations whose parameters have identical neighbourhood codes by default.
+	 *
+	 * @param symmetricActivationPruning Whether to prune symmetric activations.
+	 * @return This builder.
+	 * @see tools.refinery.store.dse.strategy.BestFirstStoreManager#setSymmetricActivationPruning(boolean)
+	 */
+	DesignSpaceExplorationBuilder symmetricActivationPruning(boolean symmetricActivationPruning);
 }
@@ -24,4 +24,6 @@ public interface DesignSpaceExplorationStoreAdapter extends ModelStoreAdapter
 	List<Criterion> getExcludes();
 
 	List<Objective> getObjectives();
+
+	boolean isSymmetricActivationPruning();
 }
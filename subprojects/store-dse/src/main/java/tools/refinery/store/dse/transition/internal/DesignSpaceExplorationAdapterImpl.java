@@ -91,4 +91,19 @@ public class DesignSpaceExplorationAdapterImpl implements DesignSpaceExploration
 			return ObjectiveValue.of(res);
 		}
 	}
+
+	@Override
+	public ObjectiveValue getObjectiveLowerBound() {
+		if (objectives.size() == 1) {
+			return ObjectiveValue.of(objectives.get(0).getLowerBound());
+		} else if (objectives.size() == 2) {
+			return ObjectiveValue.of(objectives.get(0).getLowerBound(), objectives.get(1).getLowerBound());
+		} else {
+			double[] res = new double[objectives.size()];
+			for (int i = 0; i < objectives.size(); i++) {
+				res[i] = objectives.get(i).getLowerBound();
+			}
+			return ObjectiveValue.of(res);
+		}
+	}
 }
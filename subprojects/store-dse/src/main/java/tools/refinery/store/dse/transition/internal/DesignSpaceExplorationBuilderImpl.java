@@ -25,6 +25,7 @@ public class DesignSpaceExplorationBuilderImpl
 	LinkedHashSet<Criterion> accepts = new LinkedHashSet<>();
 	LinkedHashSet<Criterion> excludes = new LinkedHashSet<>();
 	LinkedHashSet<Objective> objectives = new LinkedHashSet<>();
+	boolean symmetricActivationPruning;
 
 	@Override
 	public DesignSpaceExplorationBuilder transformation(Rule transformationRuleDefinition) {
@@ -51,6 +52,12 @@ public class DesignSpaceExplorationBuilderImpl
 		return this;
 	}
 
+	@Override
+	public DesignSpaceExplorationBuilder symmetricActivationPruning(boolean symmetricActivationPruning) {
+		this.symmetricActivationPruning = symmetricActivationPruning;
+		return this;
+	}
+
 	@Override
 	protected void doConfigure(ModelStoreBuilder storeBuilder) {
 		var queryEngine = storeBuilder.getAdapter(ModelQueryBuilder.class);
@@ -70,6 +77,6 @@ public class DesignSpaceExplorationBuilderImpl
 		List<Objective> objectivesList = List.copyOf(objectives);
 
 		return new DesignSpaceExplorationStoreAdapterImpl(store, transformationRuleDefinitionsList, acceptsList,
-				excludesList, objectivesList);
+				excludesList, objectivesList, symmetricActivationPruning);
 	}
 }
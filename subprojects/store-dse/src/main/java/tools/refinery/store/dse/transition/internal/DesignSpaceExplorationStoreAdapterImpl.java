@@ -24,15 +24,17 @@ public class DesignSpaceExplorationStoreAdapterImpl implements DesignSpaceExplor
 	protected final List<Criterion> accepts;
 	protected final List<Criterion> excludes;
 	protected final List<Objective> objectives;
+	protected final boolean symmetricActivationPruning;
 
 	public DesignSpaceExplorationStoreAdapterImpl(
 			ModelStore store, List<Rule> ruleDefinitions, List<Criterion> accepts, List<Criterion> excludes,
-			List<Objective> objectives) {
+			List<Objective> objectives, boolean symmetricActivationPruning) {
 		this.store = store;
 		this.ruleDefinitions = ruleDefinitions;
 		this.accepts = accepts;
 		this.excludes = excludes;
 		this.objectives = objectives;
+		this.symmetricActivationPruning = symmetricActivationPruning;
 	}
 
 	@Override
@@ -71,4 +73,9 @@ public class DesignSpaceExplorationStoreAdapterImpl implements DesignSpaceExplor
 	public List<Objective> getObjectives() {
 		return objectives;
 	}
+
+	@Override
+	public boolean isSymmetricActivationPruning() {
+		return symmetricActivationPruning;
+	}
 }
@@ -51,12 +51,24 @@ public class CompositeObjective implements Objective {
 				calculators.add(objective.createCalculator(model));
 			}
 		}
-		return () -> {
-			double value = 0;
-			for (var calculator : calculators) {
-				value += calculator.getValue();
+		return new ObjectiveCalculator() {
+			@Override
+			public double getValue() {
+				double value = 0;
+				for (var calculator : calculators) {
+					value += calculator.getValue();
+				}
+				return value;
+			}
+
+			@Override
+			public double getLowerBound() {
+				double lowerBound = 0;
+				for (var calculator : calculators) {
+					lowerBound += calculator.getLowerBound();
+				}
+				return lowerBound;
 			}
-			return value;
 		};
 	}
 
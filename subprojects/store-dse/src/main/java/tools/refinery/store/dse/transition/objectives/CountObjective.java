@@ -37,7 +37,18 @@ public class CountObjective implements Objective {
 	@Override
 	public ObjectiveCalculator createCalculator(Model model) {
 		var resultSet = model.getAdapter(ModelQueryAdapter.class).getResultSet(query);
-		return () -> resultSet.size() * weight;
+		return new ObjectiveCalculator() {
+			@Override
+			public double getValue() {
+				return resultSet.size() * weight;
+			}
+
+			@Override
+			public double getLowerBound() {
+				// Result set sizes are non-negative, but may shrink in later states.
+				return weight >= 0 ? 0 : Double.NEGATIVE_INFINITY;
+			}
+		};
 	}
 
 	@Override
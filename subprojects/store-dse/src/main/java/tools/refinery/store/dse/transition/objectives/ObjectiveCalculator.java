@@ -7,4 +7,16 @@ package tools.refinery.store.dse.transition.objectives;
 
 public interface ObjectiveCalculator {
 	double getValue();
+
+	/**
+	 * Gets an admissible lower bound of the objective value of the current state and every state reachable from it.
+	 * <p>
+	 * Branch-and-bound pruning relies on the bound never overestimating the value of any descendant state.
+	 * Calculators that cannot provide a bound should keep the default implementation, which never prunes.
+	 *
+	 * @return The lower bound of the objective value.
+	 */
+	default double getLowerBound() {
+		return Double.NEGATIVE_INFINITY;
+	}
 }
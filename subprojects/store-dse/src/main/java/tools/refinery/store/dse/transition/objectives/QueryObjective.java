@@ -25,12 +25,21 @@ public class QueryObjective implements Objective {
 	@Override
 	public ObjectiveCalculator createCalculator(Model model) {
 		var resultSet = model.getAdapter(ModelQueryAdapter.class).getResultSet(objectiveFunction);
-		return () -> {
-			var cursor = resultSet.getAll();
-			if (!cursor.move()) {
+		return new ObjectiveCalculator() {
+			@Override
+			public double getValue() {
+				var cursor = resultSet.getAll();
+				if (!cursor.move()) {
+					return 0;
+				}
+				return Math.max(cursor.getValue().doubleValue(), 0);
+			}
+
+			@Override
+			public double getLowerBound() {
+				// Negative objective values are clamped to 0 by getValue().
 				return 0;
 			}
-			return Math.max(cursor.getValue().doubleValue(), 0);
 		};
 	}
 
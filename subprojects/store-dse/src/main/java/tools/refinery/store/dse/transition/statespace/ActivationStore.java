@@ -15,4 +15,14 @@ public interface ActivationStore {
 	VisitResult markNewAsVisited(VersionWithObjectiveValue to, int[] emptyEntrySizes);
 	boolean hasUnmarkedActivation(VersionWithObjectiveValue version);
 	VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random);
+
+	/**
+	 * Forgets the activations of a state that will not be explored any further.
+	 * <p>
+	 * The action for states without unvisited activations is also invoked for the forgotten state.
+	 *
+	 * @param version The state to forget.
+	 * @return {@code true} if the activations of the state were stored.
+	 */
+	boolean remove(VersionWithObjectiveValue version);
 }
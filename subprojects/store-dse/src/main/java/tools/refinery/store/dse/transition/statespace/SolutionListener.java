@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace;
+
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+
+@FunctionalInterface
+public interface SolutionListener {
+	/**
+	 * Called when a solution is retained by a {@link SolutionStore}.
+	 * <p>
+	 * The listener is called on the thread of the exploration that found the solution, so it may delay the
+	 * exploration, but it is not called while holding the lock of the {@link SolutionStore}. The solution may be
+	 * evicted later by a better one.
+	 *
+	 * @param solution The newly retained solution.
+	 */
+	void solutionAdded(VersionWithObjectiveValue solution);
+}
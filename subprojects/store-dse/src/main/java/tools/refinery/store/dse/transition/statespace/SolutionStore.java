@@ -8,10 +8,13 @@ package tools.refinery.store.dse.transition.statespace;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 
 import java.util.List;
-import java.util.concurrent.Future;
 
 public interface SolutionStore {
 	boolean submit(VersionWithObjectiveValue version);
 	List<VersionWithObjectiveValue> getSolutions();
+	int getNumberOfSolutions();
 	boolean hasEnoughSolution();
+	VersionWithObjectiveValue getWorstSolution();
+	void addListener(SolutionListener listener);
+	void removeListener(SolutionListener listener);
 }
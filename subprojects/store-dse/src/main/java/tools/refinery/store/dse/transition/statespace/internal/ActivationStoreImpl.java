@@ -100,6 +100,15 @@ public class ActivationStoreImpl implements ActivationStore {
 		return hasMore;
 	}
 
+	@Override
+	public synchronized boolean remove(VersionWithObjectiveValue version) {
+		if (versionToActivations.remove(version) == null) {
+			return false;
+		}
+		actionWhenAllActivationVisited.accept(version);
+		return true;
+	}
+
 	@Override
 	public synchronized VisitResult getRandomAndMarkAsVisited(VersionWithObjectiveValue version, Random random) {
 		var entries = versionToActivations.get(version);
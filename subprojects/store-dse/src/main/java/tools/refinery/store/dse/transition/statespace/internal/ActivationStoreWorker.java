@@ -5,9 +5,12 @@
  */
 package tools.refinery.store.dse.transition.statespace.internal;
 
+import org.jetbrains.annotations.Nullable;
 import tools.refinery.store.dse.transition.Transformation;
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
 import tools.refinery.store.dse.transition.statespace.ActivationStore;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.tuple.Tuple;
 
 import java.util.List;
 import java.util.Random;
@@ -15,10 +18,40 @@ import java.util.Random;
 public class ActivationStoreWorker {
 	final ActivationStore store;
 	final List<Transformation> transformations;
+	final @Nullable ActivationSymmetryStore symmetryStore;
+	final @Nullable StateCoderAdapter stateCoderAdapter;
+	private long numberOfFiredActivations;
+	private long numberOfSymmetricActivations;
 
 	public ActivationStoreWorker(ActivationStore store, List<Transformation> transformations) {
+		this(store, transformations, null, null);
+	}
+
+	/**
+	 * Creates a worker that fires only one representative of activations with automorphic parameters.
+	 * <p>
+	 * Two activations of the same transformation are considered automorphic if their parameters have the same
+	 * neighbourhood codes and the same pattern of repeated nodes. As with the state codes used in
+	 * {@link tools.refinery.store.dse.transition.statespace.EquivalenceClassStore}, this is a hash-based
+	 * approximation of isomorphism.
+	 *
+	 * @param store The activation store to mark visited activations in.
+	 * @param transformations The transformations to fire.
+	 * @param symmetryStore The store of already fired activation classes shared by the workers of an exploration, or
+	 *                      {@code null} to fire every activation.
+	 * @param stateCoderAdapter The state coder to compute object codes with if they are missing from the
+	 *                          {@code symmetryStore}.
+	 */
+	public ActivationStoreWorker(ActivationStore store, List<Transformation> transformations,
+								 @Nullable ActivationSymmetryStore symmetryStore,
+								 @Nullable StateCoderAdapter stateCoderAdapter) {
+		if (symmetryStore != null && stateCoderAdapter == null) {
+			throw new IllegalArgumentException("Symmetric activation pruning requires a state coder");
+		}
 		this.store = store;
 		this.transformations = transformations;
+		this.symmetryStore = symmetryStore;
+		this.stateCoderAdapter = stateCoderAdapter;
 	}
 
 	public int[] calculateEmptyActivationSize() {
@@ -29,8 +62,18 @@ public class ActivationStoreWorker {
 		return result;
 	}
 
+	public long getNumberOfFiredActivations() {
+		return numberOfFiredActivations;
+	}
+
+	public long getNumberOfSymmetricActivations() {
+		return numberOfSymmetricActivations;
+	}
 
 	public ActivationStore.VisitResult fireRandomActivation(VersionWithObjectiveValue thisVersion, Random random) {
+		// Visiting the last activation of a state removes it from the symmetry store, so we have to look it up first.
+		var symmetryEntry = symmetryStore == null ? null : symmetryStore.getOrCreateEntry(thisVersion.version(),
+				stateCoderAdapter::calculateObjectCode);
 		var result = store.getRandomAndMarkAsVisited(thisVersion, random);
 		if (result.successfulVisit()) {
 			int selectedTransformation = result.transformation();
@@ -39,7 +82,14 @@ public class ActivationStoreWorker {
 			Transformation transformation = transformations.get(selectedTransformation);
 			var tuple = transformation.getActivation(selectedActivation);
 
-			boolean success = transformation.fireActivation(tuple);
+			boolean success;
+			if (isSymmetricToFired(symmetryEntry, selectedTransformation, tuple)) {
+				numberOfSymmetricActivations++;
+				success = false;
+			} else {
+				numberOfFiredActivations++;
+				success = transformation.fireActivation(tuple);
+			}
 			if (success) {
 				return result;
 			} else {
@@ -52,4 +102,28 @@ public class ActivationStoreWorker {
 		}
 		return result;
 	}
+
+	private static boolean isSymmetricToFired(@Nullable ActivationSymmetryStore.Entry symmetryEntry,
+											  int transformation, Tuple activation) {
+		if (symmetryEntry == null) {
+			return false;
+		}
+		var objectCodes = symmetryEntry.objectCodes();
+		int arity = activation.getSize();
+		var codes = new long[arity];
+		var repetitions = new int[arity];
+		for (int i = 0; i < arity; i++) {
+			int node = activation.get(i);
+			codes[i] = node < objectCodes.length ? objectCodes[node] : 0;
+			repetitions[i] = i;
+			for (int j = 0; j < i; j++) {
+				if (activation.get(j) == node) {
+					repetitions[i] = j;
+					break;
+				}
+			}
+		}
+		var key = new ActivationSymmetryStore.SymmetryKey(transformation, codes, repetitions);
+		return !symmetryEntry.markAsFired(key);
+	}
 }
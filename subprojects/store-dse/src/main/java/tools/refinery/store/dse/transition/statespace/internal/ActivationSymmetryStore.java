@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import tools.refinery.store.map.Version;
+import tools.refinery.store.statecoding.ObjectCode;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers which classes of symmetric activations were already fired from each state of the exploration frontier.
+ * <p>
+ * The object code of each state is stored when the state is submitted, so that it does not have to be recomputed
+ * when the state is restored later, possibly by another worker. Entries must be removed with {@link #remove(Version)}
+ * once the activations of a state are no longer explored.
+ */
+public class ActivationSymmetryStore {
+	private final Map<Version, Entry> entries = new ConcurrentHashMap<>();
+
+	/**
+	 * Stores the object code of a newly submitted state.
+	 * <p>
+	 * The object code is copied, because state coders may reuse their buffers.
+	 *
+	 * @param version The submitted state.
+	 * @param objectCode The object code of the state.
+	 */
+	public void putObjectCode(Version version, ObjectCode objectCode) {
+		entries.putIfAbsent(version, Entry.of(objectCode));
+	}
+
+	/**
+	 * Gets the entry of a state, computing its object code if it was not stored at submission.
+	 * <p>
+	 * The entry must be retrieved before marking an activation of the state as visited, because visiting the last
+	 * activation of a state removes its entry from this store.
+	 *
+	 * @param version The state to fire activations from.
+	 * @param objectCodeSupplier Computes the object code of the state. The model must be in the given state.
+	 * @return The entry of the state.
+	 */
+	Entry getOrCreateEntry(Version version, Supplier<ObjectCode> objectCodeSupplier) {
+		return entries.computeIfAbsent(version, key -> Entry.of(objectCodeSupplier.get()));
+	}
+
+	public void remove(Version version) {
+		entries.remove(version);
+	}
+
+	public int getSize() {
+		return entries.size();
+	}
+
+	record Entry(long[] objectCodes, Set<SymmetryKey> firedSymmetryKeys) {
+		private static Entry of(ObjectCode objectCode) {
+			int size = objectCode.getSize();
+			var objectCodes = new long[size];
+			for (int i = 0; i < size; i++) {
+				objectCodes[i] = objectCode.get(i);
+			}
+			return new Entry(objectCodes, ConcurrentHashMap.newKeySet());
+		}
+
+		boolean markAsFired(SymmetryKey symmetryKey) {
+			return firedSymmetryKeys.add(symmetryKey);
+		}
+	}
+
+	record SymmetryKey(int transformation, long[] codes, int[] repetitions) {
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			SymmetryKey that = (SymmetryKey) o;
+			return transformation == that.transformation && Arrays.equals(codes, that.codes) &&
+					Arrays.equals(repetitions, that.repetitions);
+		}
+
+		@Override
+		public int hashCode() {
+			int result = Objects.hash(transformation);
+			result = 31 * result + Arrays.hashCode(codes);
+			result = 31 * result + Arrays.hashCode(repetitions);
+			return result;
+		}
+
+		@Override
+		public String toString() {
+			return "SymmetryKey{" +
+					"transformation=" + transformation +
+					", codes=" + Arrays.toString(codes) +
+					", repetitions=" + Arrays.toString(repetitions) +
+					'}';
+		}
+	}
+}
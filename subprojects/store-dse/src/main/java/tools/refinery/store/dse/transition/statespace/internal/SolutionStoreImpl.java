@@ -6,17 +6,20 @@
 package tools.refinery.store.dse.transition.statespace.internal;
 
 import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.SolutionListener;
 import tools.refinery.store.dse.transition.statespace.SolutionStore;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.PriorityQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 
 public class SolutionStoreImpl implements SolutionStore {
 	final int maxNumberSolutions;
 	public static final int UNLIMITED = -1;
 	final PriorityQueue<VersionWithObjectiveValue> solutions;
+	final List<SolutionListener> listeners = new CopyOnWriteArrayList<>();
 
 	public SolutionStoreImpl(int maxNumberSolutions) {
 		this.maxNumberSolutions = maxNumberSolutions;
@@ -25,7 +28,17 @@ public class SolutionStoreImpl implements SolutionStore {
 
 
 	@Override
-	public synchronized boolean submit(VersionWithObjectiveValue version) {
+	public boolean submit(VersionWithObjectiveValue version) {
+		boolean retained = tryToAdd(version);
+		if (retained) {
+			for (var listener : listeners) {
+				listener.solutionAdded(version);
+			}
+		}
+		return retained;
+	}
+
+	private synchronized boolean tryToAdd(VersionWithObjectiveValue version) {
 		boolean removeLast = hasEnoughSolution();
 		solutions.add(version);
 		if(removeLast) {
@@ -37,10 +50,30 @@ public class SolutionStoreImpl implements SolutionStore {
 	}
 
 	@Override
-	public List<VersionWithObjectiveValue> getSolutions() {
+	public void addListener(SolutionListener listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public void removeListener(SolutionListener listener) {
+		listeners.remove(listener);
+	}
+
+	@Override
+	public synchronized VersionWithObjectiveValue getWorstSolution() {
+		return solutions.peek();
+	}
+
+	@Override
+	public synchronized List<VersionWithObjectiveValue> getSolutions() {
 		return new ArrayList<>(solutions);
 	}
 
+	@Override
+	public synchronized int getNumberOfSolutions() {
+		return solutions.size();
+	}
+
 	@Override
 	public boolean hasEnoughSolution() {
 		if (maxNumberSolutions == UNLIMITED) {
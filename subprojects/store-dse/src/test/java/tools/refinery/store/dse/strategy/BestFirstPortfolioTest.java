@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.modification.ModificationAdapter;
+import tools.refinery.store.dse.tests.DummyObjective;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.objectives.Criteria;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static tools.refinery.store.dse.modification.actions.ModificationActionLiterals.create;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class BestFirstPortfolioTest {
+	private static final Symbol<Boolean> root = Symbol.of("Root", 1);
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final AnySymbolView rootView = new KeyOnlyView<>(root);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final RelationalQuery hasPerson = Query.of("HasPerson", (builder, p) -> builder
+			.clause(personView.call(p)));
+	private static final Rule createPersonRule = Rule.of("CreatePerson", (builder, r) -> builder
+			.clause(rootView.call(r))
+			.action(newPerson -> List.of(
+					create(newPerson),
+					add(person, newPerson)
+			)));
+
+	private ModelStore store;
+	private Version initialVersion;
+	private ExecutorService executorService;
+
+	@BeforeEach
+	void beforeEach() {
+		store = ModelStore.builder()
+				.symbols(root, person)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(ModificationAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(createPersonRule)
+						.objectives(new DummyObjective())
+						.accept(Criteria.whenHasMatch(hasPerson)))
+				.build();
+		var model = store.createEmptyModel();
+		var rootNode = model.getAdapter(ModificationAdapter.class).createObject();
+		model.getInterpretation(root).put(rootNode, true);
+		model.getAdapter(ModelQueryAdapter.class).flushChanges();
+		initialVersion = model.commit();
+		executorService = Executors.newSingleThreadExecutor();
+	}
+
+	@AfterEach
+	void afterEach() {
+		executorService.shutdownNow();
+	}
+
+	@Test
+	void portfolioResultTest() {
+		var portfolio = new BestFirstPortfolio(store, 1, 3, executorService);
+		var winner = portfolio.startExploration(initialVersion, 1);
+
+		var solutions = winner.getSolutionStore().getSolutions();
+		assertThat(solutions, hasSize(1));
+		var model = store.createModelForState(solutions.get(0).version());
+		assertThat(model.getInterpretation(person).getSize(), is(1L));
+	}
+
+	@Test
+	void cancelLosingMembersTest() {
+		var portfolio = new BestFirstPortfolio(store, 1, 2, executorService);
+		var first = portfolio.getStoreManagers().get(0);
+		var second = portfolio.getStoreManagers().get(1);
+		// Keep the second member queued until the first member has found its solution.
+		var firstSolutionFound = new CountDownLatch(1);
+		first.getSolutionStore().addListener(solution -> firstSolutionFound.countDown());
+		executorService.submit(() -> {
+			firstSolutionFound.await();
+			return null;
+		});
+
+		var winner = portfolio.startExploration(initialVersion, 1);
+
+		assertThat(winner, is(sameInstance(first)));
+		assertThat(first.getSolutionStore().getNumberOfSolutions(), is(1));
+		assertThat(second.getSolutionStore().getNumberOfSolutions(), is(0));
+		assertThat(second.getStatisticsSnapshot().firedActivations(), is(0L));
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.tests.DummyObjective;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.dse.transition.statespace.internal.ActivationStoreImpl;
+import tools.refinery.store.dse.transition.statespace.internal.ObjectivePriorityQueueImpl;
+import tools.refinery.store.dse.transition.statespace.internal.SolutionStoreImpl;
+import tools.refinery.store.map.Version;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+class BranchAndBoundPolicyTest {
+	private ObjectivePriorityQueueImpl objectiveStore;
+	private ActivationStoreImpl activationStore;
+	private SolutionStoreImpl solutionStore;
+	private BranchAndBoundPolicy policy;
+
+	@BeforeEach
+	void beforeEach() {
+		objectiveStore = new ObjectivePriorityQueueImpl(List.of(new DummyObjective()));
+		activationStore = new ActivationStoreImpl(1, objectiveStore::remove);
+		solutionStore = new SolutionStoreImpl(1);
+		policy = new BranchAndBoundPolicy(activationStore, solutionStore);
+	}
+
+	@Test
+	void canImproveWithoutSolutionsTest() {
+		assertThat(policy.canImprove(ObjectiveValue.of(100)), is(true));
+	}
+
+	@Test
+	void canImproveWithFullSolutionStoreTest() {
+		solutionStore.submit(createVersion(10));
+		assertThat(policy.canImprove(ObjectiveValue.of(5)), is(true));
+		assertThat(policy.canImprove(ObjectiveValue.of(10)), is(false));
+		assertThat(policy.canImprove(ObjectiveValue.of(Double.NEGATIVE_INFINITY)), is(true));
+	}
+
+	@Test
+	void pruneFrontierTest() {
+		var promising = createVersion(8);
+		var hopeless = createVersion(12);
+		var unbounded = createVersion(20);
+		submit(promising, ObjectiveValue.of(3));
+		submit(hopeless, ObjectiveValue.of(11));
+		submit(unbounded, ObjectiveValue.of(Double.NEGATIVE_INFINITY));
+		assertThat(policy.pruneFrontier(), is(0));
+
+		solutionStore.submit(createVersion(10));
+		assertThat(policy.pruneFrontier(), is(1));
+		assertThat(objectiveStore.getSize(), is(2));
+		assertThat(policy.getLowerBound(hopeless), nullValue());
+		assertThat(policy.getLowerBound(promising), is(ObjectiveValue.of(3)));
+		assertThat(activationStore.remove(hopeless), is(false));
+		assertThat(activationStore.remove(promising), is(true));
+	}
+
+	@Test
+	void dominanceTest() {
+		var solution = ObjectiveValue.of(10, 10);
+		assertThat(BranchAndBoundPolicy.isDominated(ObjectiveValue.of(10, 12), solution), is(true));
+		assertThat(BranchAndBoundPolicy.isDominated(ObjectiveValue.of(12, 10), solution), is(true));
+		assertThat(BranchAndBoundPolicy.isDominated(ObjectiveValue.of(12, 5), solution), is(false));
+		assertThat(BranchAndBoundPolicy.isDominated(ObjectiveValue.of(5, 12), solution), is(false));
+		assertThat(BranchAndBoundPolicy.isDominated(ObjectiveValue.of(Double.NEGATIVE_INFINITY, 12), solution),
+				is(false));
+	}
+
+	private void submit(VersionWithObjectiveValue version, ObjectiveValue lowerBound) {
+		policy.track(version, lowerBound);
+		objectiveStore.submit(version);
+		activationStore.markNewAsVisited(version, new int[]{1});
+	}
+
+	private static VersionWithObjectiveValue createVersion(double objectiveValue) {
+		return new VersionWithObjectiveValue(new Version() {
+		}, ObjectiveValue.of(objectiveValue));
+	}
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.strategy;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.modification.ModificationAdapter;
+import tools.refinery.store.dse.tests.DummyObjective;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.objectives.Criteria;
+import tools.refinery.store.map.Version;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class SymmetricActivationStatisticsTest {
+	private static final int NUMBER_OF_PERSONS = 4;
+
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> lonely = Symbol.of("Lonely", 1);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView lonelyView = new KeyOnlyView<>(lonely);
+	private static final RelationalQuery notLonely = Query.of("NotLonely", (builder, p) -> builder
+			.clause(
+					personView.call(p),
+					lonelyView.call(p).negate()
+			));
+	private static final Rule markLonelyRule = Rule.of("MarkLonely", (builder, p) -> builder
+			.clause(notLonely.call(p))
+			.action(add(lonely, p)));
+
+	@Test
+	void symmetricActivationsSkippedTest() {
+		var bestFirst = explore(true);
+		var snapshot = bestFirst.getStatisticsSnapshot();
+
+		// Each state with k lonely persons fires a single representative of its 4 - k symmetric activations.
+		assertThat(snapshot.firedActivations(), is(4L));
+		assertThat(snapshot.symmetricActivations(), is(6L));
+		assertThat(snapshot.getSymmetricActivationRatio(), closeTo(0.6, 1e-9));
+		assertThat(bestFirst.getActivationSymmetryStore().getSize(), is(0));
+	}
+
+	@Test
+	void allActivationsFiredWithoutPruningTest() {
+		var snapshot = explore(false).getStatisticsSnapshot();
+
+		assertThat(snapshot.firedActivations(), is(10L));
+		assertThat(snapshot.symmetricActivations(), is(0L));
+		assertThat(snapshot.getSymmetricActivationRatio(), is(0.0));
+	}
+
+	private static BestFirstStoreManager explore(boolean symmetricActivationPruning) {
+		var store = ModelStore.builder()
+				.symbols(person, lonely)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(ModificationAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(markLonelyRule)
+						.objectives(new DummyObjective())
+						.accept(Criteria.whenNoMatch(notLonely))
+						.symmetricActivationPruning(symmetricActivationPruning))
+				.build();
+		var initialVersion = createInitialModel(store);
+		var bestFirst = new BestFirstStoreManager(store, NUMBER_OF_PERSONS);
+		bestFirst.startExploration(initialVersion);
+		assertThat(bestFirst.getSolutionStore().getNumberOfSolutions(), is(1));
+		return bestFirst;
+	}
+
+	private static Version createInitialModel(ModelStore store) {
+		var model = store.createEmptyModel();
+		var modificationAdapter = model.getAdapter(ModificationAdapter.class);
+		var personInterpretation = model.getInterpretation(person);
+		for (int i = 0; i < NUMBER_OF_PERSONS; i++) {
+			personInterpretation.put(modificationAdapter.createObject(), true);
+		}
+		model.getAdapter(ModelQueryAdapter.class).flushChanges();
+		return model.commit();
+	}
+}
@@ -0,0 +1,60 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.telemetry;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+class ExplorationStatisticsTest {
+	@Test
+	void emptySnapshotTest() {
+		var snapshot = new ExplorationStatistics().snapshot(0, 0);
+		assertThat(snapshot.getDuplicateRatio(), is(0.0));
+		assertThat(snapshot.getSymmetricActivationRatio(), is(0.0));
+		assertThat(snapshot.getAverageRestoreDiffSize(), is(Double.NaN));
+		assertThat(snapshot.getPropagationRoundsPerStep(), is(0.0));
+	}
+
+	@Test
+	void derivedValuesTest() {
+		var statistics = new ExplorationStatistics();
+		statistics.recordStateCoding(10, true);
+		statistics.recordStateCoding(10, false);
+		statistics.recordStateCoding(10, false);
+		statistics.recordExcludedState();
+		statistics.recordFiredActivation();
+		statistics.recordFiredActivation();
+		statistics.recordFiredActivation();
+		statistics.recordSymmetricActivation();
+		statistics.recordRestore(10, 4);
+		statistics.recordRestore(10, 2);
+		statistics.recordRestore(10);
+		statistics.recordPropagation(10, 3, false);
+		statistics.recordPropagation(10, 1, true);
+		var snapshot = statistics.snapshot(7, 1);
+		assertThat(snapshot.submittedStates(), is(4L));
+		assertThat(snapshot.stateCodingNanos(), is(30L));
+		assertThat(snapshot.getDuplicateRatio(), closeTo(2.0 / 3, 1e-9));
+		assertThat(snapshot.getSymmetricActivationRatio(), is(0.25));
+		assertThat(snapshot.restores(), is(3L));
+		assertThat(snapshot.getAverageRestoreDiffSize(), is(3.0));
+		assertThat(snapshot.getPropagationRoundsPerStep(), is(2.0));
+		assertThat(snapshot.rejectedPropagations(), is(1L));
+		assertThat(snapshot.frontierSize(), is(7));
+	}
+
+	@Test
+	void untrackedRestoreTest() {
+		var statistics = new ExplorationStatistics();
+		statistics.recordRestore(10);
+		var snapshot = statistics.snapshot(0, 0);
+		assertThat(snapshot.restores(), is(1L));
+		assertThat(snapshot.getAverageRestoreDiffSize(), is(Double.NaN));
+	}
+}
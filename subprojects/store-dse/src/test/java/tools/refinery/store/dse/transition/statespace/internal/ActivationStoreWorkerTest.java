@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.dse.transition.statespace.internal;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.dse.modification.ModificationAdapter;
+import tools.refinery.store.dse.transition.DesignSpaceExplorationAdapter;
+import tools.refinery.store.dse.transition.ObjectiveValue;
+import tools.refinery.store.dse.transition.Rule;
+import tools.refinery.store.dse.transition.VersionWithObjectiveValue;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.statecoding.StateCoderAdapter;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static tools.refinery.store.dse.transition.actions.ActionLiterals.add;
+
+class ActivationStoreWorkerTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> lonely = Symbol.of("Lonely", 1);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final Rule markLonelyRule = Rule.of("MarkLonely", (builder, p) -> builder
+			.clause(personView.call(p))
+			.action(add(lonely, p)));
+
+	@Test
+	void skipSymmetricActivationAfterSiblingTest() {
+		var model = createModel();
+		var stateCoder = model.getAdapter(StateCoderAdapter.class);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var personInterpretation = model.getInterpretation(person);
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		queryEngine.flushChanges();
+		var code = stateCoder.calculateStateCode();
+		var parent = new VersionWithObjectiveValue(model.commit(), ObjectiveValue.of(0));
+
+		var activationStore = new ActivationStoreImpl(1, version -> {
+		});
+		var symmetryStore = new ActivationSymmetryStore();
+		var worker = new ActivationStoreWorker(activationStore,
+				model.getAdapter(DesignSpaceExplorationAdapter.class).getTransformations(), symmetryStore, stateCoder);
+		symmetryStore.putObjectCode(parent.version(), code.objectCode());
+		activationStore.markNewAsVisited(parent, worker.calculateEmptyActivationSize());
+
+		var random = new Random(1);
+		var firstVisit = worker.fireRandomActivation(parent, random);
+		assertThat(firstVisit.successfulVisit(), is(true));
+		assertThat(firstVisit.mayHaveMore(), is(true));
+
+		// Explore the sibling state reached by the first activation before coming back to the parent.
+		queryEngine.flushChanges();
+		var child = model.commit();
+		symmetryStore.putObjectCode(child, stateCoder.calculateStateCode().objectCode());
+		model.restore(parent.version());
+		queryEngine.flushChanges();
+
+		var secondVisit = worker.fireRandomActivation(parent, random);
+		assertThat(secondVisit.successfulVisit(), is(false));
+		assertThat(secondVisit.mayHaveMore(), is(false));
+		assertThat(model.hasUncommittedChanges(), is(false));
+		assertThat(worker.getNumberOfFiredActivations(), is(1L));
+		assertThat(worker.getNumberOfSymmetricActivations(), is(1L));
+	}
+
+	@Test
+	void fireAllActivationsWithoutPruningTest() {
+		var model = createModel();
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var personInterpretation = model.getInterpretation(person);
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		queryEngine.flushChanges();
+		var parent = new VersionWithObjectiveValue(model.commit(), ObjectiveValue.of(0));
+
+		var activationStore = new ActivationStoreImpl(1, version -> {
+		});
+		var worker = new ActivationStoreWorker(activationStore,
+				model.getAdapter(DesignSpaceExplorationAdapter.class).getTransformations());
+		activationStore.markNewAsVisited(parent, worker.calculateEmptyActivationSize());
+
+		var random = new Random(1);
+		assertThat(worker.fireRandomActivation(parent, random).successfulVisit(), is(true));
+		model.restore(parent.version());
+		queryEngine.flushChanges();
+		assertThat(worker.fireRandomActivation(parent, random).successfulVisit(), is(true));
+		assertThat(worker.getNumberOfFiredActivations(), is(2L));
+		assertThat(worker.getNumberOfSymmetricActivations(), is(0L));
+	}
+
+	private static Model createModel() {
+		var store = ModelStore.builder()
+				.symbols(person, lonely)
+				.with(QueryInterpreterAdapter.builder())
+				.with(StateCoderAdapter.builder())
+				.with(ModificationAdapter.builder())
+				.with(DesignSpaceExplorationAdapter.builder()
+						.transformations(markLonelyRule)
+						.symmetricActivationPruning(true))
+				.build();
+		return store.createEmptyModel();
+	}
+}
@@ -0,0 +1,25 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+@Warmup(time = 1, timeUnit = TimeUnit.SECONDS)
+public class ExtremeValueAggregationBenchmark {
+	@Benchmark
+	public void updateBenchmark(ExtremeValueAggregationExecutionPlan executionPlan, Blackhole blackhole) {
+		for (int i = 0; i < executionPlan.nPut; i++) {
+			blackhole.consume(executionPlan.update());
+		}
+	}
+}
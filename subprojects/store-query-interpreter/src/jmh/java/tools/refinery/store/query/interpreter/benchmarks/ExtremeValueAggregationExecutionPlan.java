@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.FunctionalQuery;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.FunctionView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Random;
+
+import static tools.refinery.store.query.term.int_.IntTerms.INT_MAX;
+import static tools.refinery.store.query.term.int_.IntTerms.INT_MIN;
+
+@State(Scope.Thread)
+public class ExtremeValueAggregationExecutionPlan {
+	@Param({"100", "1000"})
+	public int nGroups;
+
+	@Param({"10", "1000"})
+	public int nValuesPerGroup;
+
+	@Param({"1000"})
+	public int nPut;
+
+	private Interpretation<Integer> weightInterpretation;
+
+	private ModelQueryAdapter queryEngine;
+
+	private ResultSet<Integer> minResultSet;
+
+	private ResultSet<Integer> maxResultSet;
+
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var group = Symbol.of("Group", 1);
+		var weight = Symbol.of("weight", 2, Integer.class);
+		var groupView = new KeyOnlyView<>(group);
+		var weightView = new FunctionView<>(weight);
+		FunctionalQuery<Integer> minQuery = Query.of("MinWeight", Integer.class, (builder, g, output) -> builder
+				.clause(
+						groupView.call(g),
+						output.assign(weightView.aggregate(INT_MIN, g, Variable.of()))
+				));
+		FunctionalQuery<Integer> maxQuery = Query.of("MaxWeight", Integer.class, (builder, g, output) -> builder
+				.clause(
+						groupView.call(g),
+						output.assign(weightView.aggregate(INT_MAX, g, Variable.of()))
+				));
+		var store = ModelStore.builder()
+				.symbols(group, weight)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(minQuery, maxQuery))
+				.build();
+		var model = store.createEmptyModel();
+		var groupInterpretation = model.getInterpretation(group);
+		weightInterpretation = model.getInterpretation(weight);
+		random = new Random(1);
+		for (int i = 0; i < nGroups; i++) {
+			groupInterpretation.put(Tuple.of(i), true);
+			for (int j = 0; j < nValuesPerGroup; j++) {
+				weightInterpretation.put(Tuple.of(i, j), random.nextInt());
+			}
+		}
+		queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		queryEngine.flushChanges();
+		minResultSet = queryEngine.getResultSet(minQuery);
+		maxResultSet = queryEngine.getResultSet(maxQuery);
+	}
+
+	public long update() {
+		var key = Tuple.of(random.nextInt(nGroups), random.nextInt(nValuesPerGroup));
+		weightInterpretation.put(key, random.nextInt());
+		queryEngine.flushChanges();
+		var groupKey = Tuple.of(key.get(0));
+		return (long) minResultSet.get(groupKey) + maxResultSet.get(groupKey);
+	}
+}
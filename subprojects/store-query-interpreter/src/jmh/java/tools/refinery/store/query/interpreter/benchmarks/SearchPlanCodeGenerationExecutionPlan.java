@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
+import tools.refinery.interpreter.localsearch.planner.specialization.ProfileSplittingSearchPlanSpecializer;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.interpreter.matchers.backend.QueryHintOption;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@State(Scope.Thread)
+public class SearchPlanCodeGenerationExecutionPlan {
+	@Param({"true", "false"})
+	public boolean codeGeneration;
+
+	@Param({"100", "1000"})
+	public int nNodes;
+
+	@Param({"5"})
+	public int nEdgesPerNode;
+
+	private ResultSet<Boolean> resultSet;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var person = Symbol.of("Person", 1);
+		var friend = Symbol.of("friend", 2);
+		var personView = new KeyOnlyView<>(person);
+		var friendView = new KeyOnlyView<>(friend);
+		RelationalQuery friendOfFriendQuery = Query.of("FriendOfFriend", (builder, p1, p3) -> builder
+				.clause(p2 -> List.of(
+						personView.call(p1),
+						friendView.call(p1, p2),
+						personView.call(p2),
+						friendView.call(p2, p3),
+						personView.call(p3)
+				)));
+		var hintSettings = codeGeneration ?
+				Map.<QueryHintOption<?>, Object>of(LocalSearchHintOptions.SEARCH_PLAN_CODE_GENERATOR,
+						ProfileSplittingSearchPlanSpecializer.INSTANCE) :
+				Map.<QueryHintOption<?>, Object>of();
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(new QueryEvaluationHint(hintSettings,
+								QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH))
+						.queries(friendOfFriendQuery))
+				.build();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var random = new Random(1);
+		for (int i = 0; i < nNodes; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+			for (int j = 0; j < nEdgesPerNode; j++) {
+				friendInterpretation.put(Tuple.of(i, random.nextInt(nNodes)), true);
+			}
+		}
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		queryEngine.flushChanges();
+		resultSet = queryEngine.getResultSet(friendOfFriendQuery);
+	}
+
+	public int countMatches() {
+		return resultSet.size();
+	}
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
+import tools.refinery.store.query.interpreter.internal.update.SymbolViewUpdateListener;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class SymbolViewUpdateExecutionPlan {
+	@Param({"1", "100", "1000"})
+	public int nListeners;
+
+	@Param({"true", "false"})
+	public boolean seeded;
+
+	@Param({"1000"})
+	public int nPut;
+
+	private Interpretation<Boolean> interpretation;
+
+	private Random random;
+
+	private long notificationCount;
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		var symbol = Symbol.of("edge", 2);
+		var view = new KeyOnlyView<>(symbol);
+		var store = ModelStore.builder()
+				.symbols(symbol)
+				.with(QueryInterpreterAdapter.builder())
+				.build();
+		var model = store.createEmptyModel();
+		var adapter = (QueryInterpreterAdapterImpl) model.getAdapter(QueryInterpreterAdapter.class);
+		interpretation = model.getInterpretation(symbol);
+		var updateListener = SymbolViewUpdateListener.of(adapter, view, interpretation);
+		for (int i = 0; i < nListeners; i++) {
+			// Emulate Rete input nodes and local search listeners bound to a single source node each.
+			var seed = seeded ? Tuples.flatTupleOf(Tuple.of(i), null) : Tuples.flatTupleOf(null, null);
+			updateListener.addFilter(null, seed, (key, updateTuple, isInsertion) -> notificationCount++);
+		}
+		random = new Random(1);
+	}
+
+	public void put() {
+		var key = Tuple.of(random.nextInt(nListeners), random.nextInt(nListeners));
+		interpretation.put(key, !interpretation.get(key));
+	}
+
+	public long getNotificationCount() {
+		return notificationCount;
+	}
+}
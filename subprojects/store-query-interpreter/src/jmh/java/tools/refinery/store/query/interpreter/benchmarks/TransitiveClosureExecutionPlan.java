@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Random;
+
+@State(Scope.Thread)
+public class TransitiveClosureExecutionPlan {
+	@Param({"100", "1000"})
+	public int nNodes;
+
+	@Param({"2"})
+	public int nEdgesPerNode;
+
+	@Param({"100"})
+	public int nToggle;
+
+	private Interpretation<Boolean> edgeInterpretation;
+
+	private ModelQueryAdapter queryEngine;
+
+	private ResultSet<Boolean> reachableResultSet;
+
+	private Random random;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		var edge = Symbol.of("edge", 2);
+		var edgeView = new KeyOnlyView<>(edge);
+		RelationalQuery reachableQuery = Query.of("Reachable", (builder, p1, p2) -> builder
+				.clause(
+						edgeView.callTransitive(p1, p2)
+				));
+		var store = ModelStore.builder()
+				.symbols(edge)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(reachableQuery))
+				.build();
+		var model = store.createEmptyModel();
+		edgeInterpretation = model.getInterpretation(edge);
+		random = new Random(1);
+		for (int i = 0; i < nNodes * nEdgesPerNode; i++) {
+			edgeInterpretation.put(randomEdge(), true);
+		}
+		queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		queryEngine.flushChanges();
+		reachableResultSet = queryEngine.getResultSet(reachableQuery);
+	}
+
+	private Tuple randomEdge() {
+		return Tuple.of(random.nextInt(nNodes), random.nextInt(nNodes));
+	}
+
+	public int toggleEdge() {
+		var key = randomEdge();
+		edgeInterpretation.put(key, !edgeInterpretation.get(key));
+		queryEngine.flushChanges();
+		return reachableResultSet.size();
+	}
+}
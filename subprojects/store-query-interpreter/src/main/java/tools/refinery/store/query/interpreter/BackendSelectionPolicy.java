@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+/**
+ * Policy for automatically choosing between the default caching (Rete) and search (local search) backends for each
+ * query that has no explicit backend hint.
+ * <p>
+ * Queries are assigned to the caching backend as long as the estimated memory of their Rete networks fits into the
+ * memory budget of the model. Queries that are rarely read compared to the number of model updates are evaluated
+ * with local search instead. Local search queries that are read frequently, or that get a result set listener, are
+ * promoted to the caching backend at runtime.
+ *
+ * @param memoryBudget       The estimated memory in bytes that the Rete network of a single model may use.
+ * @param estimatedNodeCount The estimated number of nodes in the model, used to estimate the result sizes of queries.
+ */
+public record BackendSelectionPolicy(long memoryBudget, int estimatedNodeCount) {
+	public static final int DEFAULT_ESTIMATED_NODE_COUNT = 1000;
+
+	public BackendSelectionPolicy {
+		if (memoryBudget < 0) {
+			throw new IllegalArgumentException("Memory budget must not be negative, got %d instead"
+					.formatted(memoryBudget));
+		}
+		if (estimatedNodeCount <= 0) {
+			throw new IllegalArgumentException("Estimated node count must be positive, got %d instead"
+					.formatted(estimatedNodeCount));
+		}
+	}
+
+	public BackendSelectionPolicy(long memoryBudget) {
+		this(memoryBudget, DEFAULT_ESTIMATED_NODE_COUNT);
+	}
+}
@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import tools.refinery.store.query.interpreter.internal.pquery.Dnf2PQueryCacheImpl;
+
+/**
+ * Bounded cache of query translations shared between model stores.
+ * <p>
+ * There is no process-wide instance: stores only share translations if they were explicitly configured with the same
+ * cache by {@link QueryInterpreterBuilder#translationCache(Dnf2PQueryCache)}.
+ * <p>
+ * Queries are looked up by their structure, so a store that was built from freshly created, but structurally equal
+ * queries and symbols reuses the translations of a previous store. The symbol views of a cached translation are
+ * matched to the symbol views of the store being built by their name, arity, and kind, so each store keeps reading
+ * its own symbols. The least recently used translations are evicted once the cache is full.
+ * <p>
+ * Cached translations are never modified after they get added to the cache, so they may be used concurrently by the
+ * models of multiple stores.
+ */
+public interface Dnf2PQueryCache {
+	int DEFAULT_MAXIMUM_SIZE = 1024;
+
+	int getMaximumSize();
+
+	int size();
+
+	long getHitCount();
+
+	long getMissCount();
+
+	long getEvictionCount();
+
+	/**
+	 * Gets the ratio of lookups that found a cached translation.
+	 *
+	 * @return The hit rate between {@code 0} and {@code 1}, or {@code 0} if no lookups happened yet.
+	 */
+	double getHitRate();
+
+	void clear();
+
+	static Dnf2PQueryCache create() {
+		return create(DEFAULT_MAXIMUM_SIZE);
+	}
+
+	static Dnf2PQueryCache create(int maximumSize) {
+		return new Dnf2PQueryCacheImpl(maximumSize);
+	}
+}
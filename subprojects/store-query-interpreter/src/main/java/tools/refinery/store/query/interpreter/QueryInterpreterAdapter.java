@@ -5,13 +5,58 @@
  */
 package tools.refinery.store.query.interpreter;
 
+import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
+import tools.refinery.interpreter.rete.profiler.NodeProfile;
+import tools.refinery.interpreter.rete.profiler.ReteProfile;
 import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.AnyQuery;
+import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterBuilderImpl;
 
+import java.util.List;
+import java.util.Map;
+
 public interface QueryInterpreterAdapter extends ModelQueryAdapter {
 	@Override
 	QueryInterpreterStoreAdapter getStoreAdapter();
 
+	/**
+	 * Gets the backends currently evaluating the queries of the model.
+	 * <p>
+	 * If a {@link BackendSelectionPolicy} was set, the backend of a query may change from local search to the
+	 * caching backend while the model is in use. If {@link QueryInterpreterBuilder#lazyProductions(boolean)} was set,
+	 * only queries whose productions are currently built are included.
+	 *
+	 * @return The backend factory of each canonical query that is not vacuous.
+	 */
+	Map<AnyQuery, IQueryBackendFactory> getSelectedBackends();
+
+	/**
+	 * Takes a snapshot of the per-node statistics of the Rete network of the model.
+	 * <p>
+	 * The statistics include the initialization of the network unless {@link #resetReteProfile()} was called.
+	 *
+	 * @return The profile of the network.
+	 * @throws IllegalStateException If profiling was not enabled by {@link QueryInterpreterBuilder#reteProfiling}.
+	 */
+	ReteProfile getReteProfile();
+
+	/**
+	 * Takes a snapshot of the per-node statistics of the Rete network of the model and groups the nodes by the
+	 * {@link Dnf} they were built for. Nodes shared by multiple {@link Dnf} appear in the list of each of them.
+	 *
+	 * @return The nodes of the network built for each {@link Dnf}.
+	 * @throws IllegalStateException If profiling was not enabled by {@link QueryInterpreterBuilder#reteProfiling}.
+	 */
+	Map<Dnf, List<NodeProfile>> getReteProfileByDnf();
+
+	/**
+	 * Clears the statistics of the Rete network of the model.
+	 *
+	 * @throws IllegalStateException If profiling was not enabled by {@link QueryInterpreterBuilder#reteProfiling}.
+	 */
+	void resetReteProfile();
+
 	static QueryInterpreterBuilder builder() {
 		return new QueryInterpreterBuilderImpl();
 	}
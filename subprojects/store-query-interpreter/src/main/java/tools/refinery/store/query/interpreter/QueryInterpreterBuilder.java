@@ -15,6 +15,7 @@ import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
 import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 @SuppressWarnings("UnusedReturnValue")
@@ -49,6 +50,62 @@ public interface QueryInterpreterBuilder extends ModelQueryBuilder {
 
 	QueryInterpreterBuilder computeHint(Function<Dnf, QueryEvaluationHint> computeHint);
 
+	/**
+	 * Chooses between the caching and the search backend for each query automatically.
+	 * <p>
+	 * Queries with an explicit backend requirement in their hint are not affected.
+	 *
+	 * @param policy The policy to follow when choosing backends.
+	 * @return This builder.
+	 */
+	QueryInterpreterBuilder backendSelectionPolicy(BackendSelectionPolicy policy);
+
+	/**
+	 * Propagates model updates through independent parts of the Rete network concurrently.
+	 * <p>
+	 * Parts of the network that do not share any nodes are updated by separate tasks. Result set listeners are still
+	 * notified one at a time, so they do not have to be thread-safe.
+	 *
+	 * @param pool The thread pool to propagate updates with, or {@code null} for single-threaded propagation.
+	 * @return This builder.
+	 */
+	QueryInterpreterBuilder parallelPropagation(ForkJoinPool pool);
+
+	/**
+	 * Records per-node statistics of the Rete network of each model, which can be retrieved with
+	 * {@link QueryInterpreterAdapter#getReteProfile()}.
+	 * <p>
+	 * Profiling is only supported if the default Rete backend is used as the caching backend.
+	 *
+	 * @param profiling Whether to enable profiling.
+	 * @return This builder.
+	 */
+	QueryInterpreterBuilder reteProfiling(boolean profiling);
+
+	/**
+	 * Builds the Rete production of each query only when its result set is first read, instead of preparing all
+	 * queries when the model is created.
+	 * <p>
+	 * Useful if models are created often, but only a few queries are evaluated on each of them.
+	 *
+	 * @param lazy Whether to build productions on demand.
+	 * @return This builder.
+	 */
+	QueryInterpreterBuilder lazyProductions(boolean lazy);
+
+	/**
+	 * Reuses the translations of structurally equal queries from other stores built with the same cache.
+	 * <p>
+	 * The symbol views of shared translations are matched to the symbol views of this store by their name, arity, and
+	 * kind, so stores built from freshly created symbols can share translations. Cannot be used together with
+	 * {@link #computeHint(Function)}, because the cache does not take query hints into account.
+	 *
+	 * @param cache The cache to share with other stores, or {@code null} to translate the queries of this store
+	 *              without sharing.
+	 * @return This builder.
+	 */
+	QueryInterpreterBuilder translationCache(Dnf2PQueryCache cache);
+
 	@Override
 	QueryInterpreterStoreAdapter build(ModelStore store);
 }
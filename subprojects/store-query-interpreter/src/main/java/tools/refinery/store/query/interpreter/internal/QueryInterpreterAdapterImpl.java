@@ -5,34 +5,56 @@
  */
 package tools.refinery.store.query.interpreter.internal;
 
+import tools.refinery.store.model.InterpretationListener;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelListener;
 import tools.refinery.store.query.dnf.AnyQuery;
+import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.FunctionalQuery;
 import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.query.dnf.RelationalQuery;
 import tools.refinery.store.query.resultset.AnyResultSet;
 import tools.refinery.store.query.resultset.EmptyResultSet;
 import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.representation.AnySymbol;
+import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.interpreter.internal.matcher.AbstractInterpretedMatcher;
 import tools.refinery.store.query.interpreter.internal.matcher.InterpretedFunctionalMatcher;
 import tools.refinery.store.query.interpreter.internal.matcher.RawPatternMatcher;
 import tools.refinery.store.query.interpreter.internal.matcher.InterpretedRelationalMatcher;
+import tools.refinery.store.query.interpreter.internal.selection.BackendSelector;
 import tools.refinery.interpreter.CancellationToken;
 import tools.refinery.interpreter.api.AdvancedInterpreterEngine;
 import tools.refinery.interpreter.api.GenericQueryGroup;
 import tools.refinery.interpreter.api.IQuerySpecification;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchBackend;
+import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.interpreter.rete.matcher.ReteEngine;
+import tools.refinery.interpreter.rete.profiler.NodeProfile;
+import tools.refinery.interpreter.rete.profiler.ReteProfile;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.*;
 
 public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, ModelListener {
+	private static final QueryEvaluationHint CACHING_HINT = new QueryEvaluationHint(null,
+			QueryEvaluationHint.BackendRequirement.DEFAULT_CACHING);
+	private static final QueryEvaluationHint SEARCH_HINT = new QueryEvaluationHint(null,
+			QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH);
+
 	private final Model model;
 	private final QueryInterpreterStoreAdapterImpl storeAdapter;
 	private final AdvancedInterpreterEngine queryEngine;
 	private final Map<AnyQuery, AnyResultSet> resultSets;
+	private final Map<AnyQuery, IQueryBackendFactory> selectedBackends;
+	private final BackendSelector.Allocation backendAllocation;
+	private final Map<AnyQuery, Long> pendingReadCounts = new HashMap<>();
+	private long writeCount;
+	private long writesSinceLastPromotion;
+	private long modificationCount;
 	private boolean pendingChanges;
+	private boolean statisticsDrifted;
 
 	QueryInterpreterAdapterImpl(Model model, QueryInterpreterStoreAdapterImpl storeAdapter) {
 		this.model = model;
@@ -41,18 +63,28 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 		queryEngine = AdvancedInterpreterEngine.createUnmanagedEngine(scope,
 				storeAdapter.getEngineOptions());
 
+		var backendSelector = storeAdapter.getBackendSelector();
+		backendAllocation = backendSelector == null ? null : backendSelector.createAllocation();
 		var querySpecifications = storeAdapter.getQuerySpecifications();
-		GenericQueryGroup.of(
-				Collections.<IQuerySpecification<?>>unmodifiableCollection(querySpecifications.values()).stream()
-		).prepare(queryEngine);
-		queryEngine.flushChanges();
+		boolean lazyProductions = storeAdapter.isLazyProductions();
+		if (!lazyProductions) {
+			GenericQueryGroup.of(querySpecifications.entrySet().stream()
+					.filter(entry -> !isSelectedForSearch(entry.getKey(), entry.getValue()))
+					.<IQuerySpecification<?>>map(Map.Entry::getValue)
+			).prepare(queryEngine);
+			queryEngine.flushChanges();
+		}
 		var vacuousQueries = storeAdapter.getVacuousQueries();
 		resultSets = new LinkedHashMap<>(querySpecifications.size() + vacuousQueries.size());
-		for (var entry : querySpecifications.entrySet()) {
-			var rawPatternMatcher = queryEngine.getMatcher(entry.getValue());
-			var query = entry.getKey();
+		selectedBackends = new LinkedHashMap<>(querySpecifications.size());
+		for (var query : querySpecifications.keySet()) {
+			// Lazy result sets build their productions when they are first read.
+			var rawPatternMatcher = lazyProductions ? null : getRawPatternMatcher(query, false);
 			resultSets.put(query, createResultSet((Query<?>) query, rawPatternMatcher));
 		}
+		if (backendAllocation != null || storeAdapter.isCallMemoizationEnabled()) {
+			countWrites();
+		}
 		for (var vacuousQuery : vacuousQueries) {
 			resultSets.put(vacuousQuery, new EmptyResultSet<>(this, (Query<?>) vacuousQuery));
 		}
@@ -60,6 +92,83 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 		model.addListener(this);
 	}
 
+	private RawPatternMatcher getRawPatternMatcher(AnyQuery query, boolean caching) {
+		var querySpecification = storeAdapter.getQuerySpecifications().get(query);
+		var engineOptions = queryEngine.getEngineOptions();
+		RawPatternMatcher rawPatternMatcher;
+		if (!caching && isSelectedForSearch(query, querySpecification)) {
+			rawPatternMatcher = queryEngine.getMatcher(querySpecification, SEARCH_HINT);
+			selectedBackends.put(query, engineOptions.getDefaultSearchBackendFactory());
+		} else if (caching || (backendAllocation != null && !hasExplicitBackend(querySpecification))) {
+			rawPatternMatcher = queryEngine.getMatcher(querySpecification, CACHING_HINT);
+			selectedBackends.put(query, engineOptions.getDefaultCachingBackendFactory());
+		} else {
+			rawPatternMatcher = queryEngine.getMatcher(querySpecification);
+			var hint = engineOptions.getEngineDefaultHints().overrideBy(
+					querySpecification.getInternalQueryRepresentation().getEvaluationHints());
+			selectedBackends.put(query, engineOptions.getQueryBackendFactory(hint));
+		}
+		return rawPatternMatcher;
+	}
+
+	private boolean isSelectedForSearch(AnyQuery query, IQuerySpecification<?> querySpecification) {
+		return backendAllocation != null && !hasExplicitBackend(querySpecification) &&
+				!backendAllocation.isCaching(query);
+	}
+
+	/**
+	 * Determines whether the backend of a query is chosen by the backend selection policy instead of its hints.
+	 *
+	 * @param query The canonical query.
+	 * @return {@code true} if the query may be moved between backends.
+	 */
+	public boolean isBackendSelectedAutomatically(AnyQuery query) {
+		return backendAllocation != null &&
+				!hasExplicitBackend(storeAdapter.getQuerySpecifications().get(query));
+	}
+
+	private static boolean hasExplicitBackend(IQuerySpecification<?> querySpecification) {
+		var hint = querySpecification.getInternalQueryRepresentation().getEvaluationHints();
+		return hint != null &&
+				hint.getQueryBackendRequirementType() != QueryEvaluationHint.BackendRequirement.UNSPECIFIED;
+	}
+
+	private void countWrites() {
+		var symbols = new LinkedHashSet<AnySymbol>();
+		for (var symbolView : storeAdapter.getSymbolViews()) {
+			symbols.add(symbolView.getSymbol());
+		}
+		for (var symbol : symbols) {
+			countWrites((Symbol<?>) symbol);
+		}
+	}
+
+	private <T> void countWrites(Symbol<T> symbol) {
+		InterpretationListener<T> listener;
+		if (backendAllocation == null) {
+			// Only memoized pattern calls need to know about modifications.
+			listener = (key, fromValue, toValue, restoring) -> modificationCount++;
+		} else {
+			listener = (key, fromValue, toValue, restoring) -> {
+				writeCount++;
+				writesSinceLastPromotion++;
+				modificationCount++;
+			};
+		}
+		model.getInterpretation(symbol).addListener(listener, false);
+	}
+
+	/**
+	 * Gets the number of modifications of the model observed by this adapter. Flushing the changes to the query
+	 * engine also counts as a modification, because it changes the results of Rete matchers.
+	 *
+	 * @return The modification count, or {@code -1} if modifications are not tracked, because no query memoizes
+	 * pattern calls.
+	 */
+	public long getModificationCount() {
+		return storeAdapter.isCallMemoizationEnabled() ? modificationCount : -1;
+	}
+
 	private <T> ResultSet<T> createResultSet(Query<T> query, RawPatternMatcher matcher) {
 		if (query instanceof RelationalQuery relationalQuery) {
 			@SuppressWarnings("unchecked")
@@ -98,6 +207,88 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 		return typedResultSet;
 	}
 
+	@Override
+	public Map<AnyQuery, IQueryBackendFactory> getSelectedBackends() {
+		return Collections.unmodifiableMap(selectedBackends);
+	}
+
+	@Override
+	public ReteProfile getReteProfile() {
+		return getReteEngine().createProfile();
+	}
+
+	@Override
+	public Map<Dnf, List<NodeProfile>> getReteProfileByDnf() {
+		var profile = getReteProfile();
+		var nodesByDnf = new LinkedHashMap<Dnf, List<NodeProfile>>();
+		for (var node : profile.getNodes()) {
+			for (var pQuery : node.getQueries()) {
+				var dnf = storeAdapter.getDnf(pQuery);
+				if (dnf != null) {
+					nodesByDnf.computeIfAbsent(dnf, ignored -> new ArrayList<>()).add(node);
+				}
+			}
+		}
+		return Collections.unmodifiableMap(nodesByDnf);
+	}
+
+	@Override
+	public void resetReteProfile() {
+		var profiler = getReteEngine().getProfiler();
+		if (profiler == null) {
+			throw new IllegalStateException("Rete profiling is not enabled");
+		}
+		profiler.reset();
+	}
+
+	ReteEngine getReteEngine() {
+		var cachingBackendFactory = queryEngine.getEngineOptions().getDefaultCachingBackendFactory();
+		if (!(queryEngine.getQueryBackend(cachingBackendFactory) instanceof ReteEngine reteEngine)) {
+			throw new IllegalStateException("The caching backend is not a Rete engine");
+		}
+		return reteEngine;
+	}
+
+	/**
+	 * Evaluates a query with the default caching backend from now on.
+	 *
+	 * @param query The canonical query to promote.
+	 * @throws IllegalArgumentException If the backend of the query is not selected automatically.
+	 */
+	public void promoteToCaching(AnyQuery query) {
+		if (!isBackendSelectedAutomatically(query)) {
+			throw new IllegalArgumentException("The backend of query %s is not selected automatically"
+					.formatted(query.name()));
+		}
+		if (!(resultSets.get(query) instanceof AbstractInterpretedMatcher<?> matcher) || matcher.isCaching()) {
+			return;
+		}
+		if (backendAllocation != null) {
+			backendAllocation.allocate(query);
+		}
+		var querySpecification = storeAdapter.getQuerySpecifications().get(query);
+		matcher.setRawPatternMatcher(queryEngine.getMatcher(querySpecification, CACHING_HINT));
+		selectedBackends.put(query, queryEngine.getEngineOptions().getDefaultCachingBackendFactory());
+	}
+
+	/**
+	 * Builds the production of a query whose result set is read for the first time.
+	 * <p>
+	 * Pending changes are flushed first, so that the new production starts from the same model state as the rest of
+	 * the Rete network.
+	 *
+	 * @param query The canonical query to attach.
+	 */
+	public void attachProduction(AnyQuery query) {
+		if (!(resultSets.get(query) instanceof AbstractInterpretedMatcher<?> matcher) || matcher.isAttached()) {
+			return;
+		}
+		if (pendingChanges) {
+			flushChanges();
+		}
+		matcher.setRawPatternMatcher(getRawPatternMatcher(query, false));
+	}
+
 	@Override
 	public boolean hasPendingChanges() {
 		return pendingChanges;
@@ -109,14 +300,68 @@ public class QueryInterpreterAdapterImpl implements QueryInterpreterAdapter, Mod
 		}
 	}
 
+	public void markStatisticsDrifted() {
+		statisticsDrifted = true;
+	}
+
 	@Override
 	public void flushChanges() {
 		queryEngine.flushChanges();
 		pendingChanges = false;
+		// Memoized pattern calls may have read the results of Rete matchers that were out of date before the flush.
+		modificationCount++;
+		if (statisticsDrifted) {
+			statisticsDrifted = false;
+			recomputeSearchPlans();
+		}
+		if (backendAllocation != null) {
+			promoteFrequentlyReadQueries();
+		}
+	}
+
+	private void promoteFrequentlyReadQueries() {
+		var backendSelector = storeAdapter.getBackendSelector();
+		boolean checked = false;
+		for (var entry : resultSets.entrySet()) {
+			if (!(entry.getValue() instanceof AbstractInterpretedMatcher<?> matcher)) {
+				continue;
+			}
+			var query = entry.getKey();
+			long readCount = matcher.drainReadCount();
+			backendSelector.recordReads(query, readCount);
+			if (matcher.isCaching() || !isBackendSelectedAutomatically(query)) {
+				continue;
+			}
+			long pendingReads = pendingReadCounts.merge(query, readCount, Long::sum);
+			if (pendingReads < BackendSelector.PROMOTION_MINIMUM_READS) {
+				continue;
+			}
+			checked = true;
+			pendingReadCounts.remove(query);
+			if (backendAllocation.shouldPromote(pendingReads, writesSinceLastPromotion) &&
+					backendAllocation.tryAllocate(query)) {
+				promoteToCaching(query);
+			}
+		}
+		if (checked) {
+			writesSinceLastPromotion = 0;
+		}
+		backendSelector.recordWrites(writeCount);
+		writeCount = 0;
+	}
+
+	private void recomputeSearchPlans() {
+		// Search plans were computed from model statistics that are no longer accurate.
+		var searchBackendFactory = queryEngine.getEngineOptions().getDefaultSearchBackendFactory();
+		if (queryEngine.getQueryBackend(searchBackendFactory) instanceof LocalSearchBackend localSearchBackend) {
+			localSearchBackend.recomputePlans();
+		}
 	}
 
 	@Override
 	public void afterRestore() {
+		// Restoring a model state doesn't notify our interpretation listeners, but flushing the changes also
+		// invalidates memoized pattern calls.
 		flushChanges();
 	}
 }
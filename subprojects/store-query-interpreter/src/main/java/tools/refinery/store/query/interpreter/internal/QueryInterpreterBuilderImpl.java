@@ -13,37 +13,52 @@ import tools.refinery.store.query.rewriter.CompositeRewriter;
 import tools.refinery.store.query.rewriter.DnfRewriter;
 import tools.refinery.store.query.rewriter.DuplicateDnfRemover;
 import tools.refinery.store.query.rewriter.InputParameterResolver;
+import tools.refinery.store.query.interpreter.BackendSelectionPolicy;
+import tools.refinery.store.query.interpreter.Dnf2PQueryCache;
 import tools.refinery.store.query.interpreter.QueryInterpreterBuilder;
-import tools.refinery.store.query.interpreter.internal.localsearch.FlatCostFunction;
+import tools.refinery.store.query.interpreter.internal.context.RelationalQueryMetaContext;
+import tools.refinery.store.query.interpreter.internal.localsearch.ModelStatisticsCostFunction;
+import tools.refinery.store.query.interpreter.internal.matcher.NodeTupleEncoding;
 import tools.refinery.store.query.interpreter.internal.matcher.RawPatternMatcher;
 import tools.refinery.store.query.interpreter.internal.pquery.Dnf2PQuery;
+import tools.refinery.store.query.interpreter.internal.pquery.Dnf2PQueryCacheImpl;
+import tools.refinery.store.query.interpreter.internal.selection.BackendSelector;
 import tools.refinery.interpreter.api.IQuerySpecification;
 import tools.refinery.interpreter.api.InterpreterEngineOptions;
 import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchGenericBackendFactory;
 import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
 import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
 import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.interpreter.rete.construction.plancompiler.QueryPlanCache;
 import tools.refinery.interpreter.rete.matcher.ReteBackendFactory;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
 
 public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<QueryInterpreterStoreAdapterImpl>
 		implements QueryInterpreterBuilder {
 	private InterpreterEngineOptions.Builder engineOptionsBuilder;
 	private QueryEvaluationHint defaultHint = new QueryEvaluationHint(Map.of(
-			// Use a cost function that ignores the initial (empty) model but allows higher arity input keys.
-			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new FlatCostFunction()
+			// Use a cost function that follows the statistics of the model and allows higher arity input keys.
+			LocalSearchHintOptions.PLANNER_COST_FUNCTION, new ModelStatisticsCostFunction()
 	), (IQueryBackendFactory) null);
 	private final CompositeRewriter rewriter;
 	private final Dnf2PQuery dnf2PQuery = new Dnf2PQuery();
 	private final Set<AnyQuery> queries = new LinkedHashSet<>();
+	private BackendSelectionPolicy backendSelectionPolicy;
+	private ForkJoinPool propagationPool;
+	private boolean reteProfiling;
+	private boolean lazyProductions;
+	private Dnf2PQueryCacheImpl translationCache;
+	private boolean customComputeHint;
 
 	public QueryInterpreterBuilderImpl() {
 		engineOptionsBuilder = new InterpreterEngineOptions.Builder()
 				.withDefaultBackend(ReteBackendFactory.INSTANCE)
 				.withDefaultCachingBackend(ReteBackendFactory.INSTANCE)
-				.withDefaultSearchBackend(LocalSearchGenericBackendFactory.INSTANCE);
+				.withDefaultSearchBackend(LocalSearchGenericBackendFactory.INSTANCE)
+				.withIntTupleEncoding(NodeTupleEncoding.INSTANCE);
 		rewriter = new CompositeRewriter();
 		rewriter.addFirst(new DuplicateDnfRemover());
 		rewriter.addFirst(new InputParameterResolver());
@@ -108,11 +123,58 @@ public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<Que
 	public QueryInterpreterBuilder computeHint(Function<Dnf, QueryEvaluationHint> computeHint) {
 		checkNotConfigured();
 		dnf2PQuery.setComputeHint(computeHint);
+		customComputeHint = true;
+		return this;
+	}
+
+	@Override
+	public QueryInterpreterBuilder backendSelectionPolicy(BackendSelectionPolicy policy) {
+		checkNotConfigured();
+		backendSelectionPolicy = policy;
+		return this;
+	}
+
+	@Override
+	public QueryInterpreterBuilder parallelPropagation(ForkJoinPool pool) {
+		checkNotConfigured();
+		propagationPool = pool;
+		return this;
+	}
+
+	@Override
+	public QueryInterpreterBuilder reteProfiling(boolean profiling) {
+		checkNotConfigured();
+		reteProfiling = profiling;
+		return this;
+	}
+
+	@Override
+	public QueryInterpreterBuilder lazyProductions(boolean lazy) {
+		checkNotConfigured();
+		lazyProductions = lazy;
+		return this;
+	}
+
+	@Override
+	public QueryInterpreterBuilder translationCache(Dnf2PQueryCache cache) {
+		checkNotConfigured();
+		if (cache == null) {
+			translationCache = null;
+		} else if (cache instanceof Dnf2PQueryCacheImpl cacheImpl) {
+			translationCache = cacheImpl;
+		} else {
+			throw new IllegalArgumentException("Unsupported translation cache: " + cache);
+		}
 		return this;
 	}
 
 	@Override
 	public QueryInterpreterStoreAdapterImpl doBuild(ModelStore store) {
+		if (translationCache != null && customComputeHint) {
+			// Translations with custom hints can't be shared, because the cache ignores hints.
+			throw new IllegalArgumentException("Cannot share query translations if hints are computed per query");
+		}
+		dnf2PQuery.setCache(translationCache);
 		var canonicalQueryMap = new HashMap<AnyQuery, AnyQuery>();
 		var querySpecifications = new LinkedHashMap<AnyQuery, IQuerySpecification<RawPatternMatcher>>();
 		var vacuousQueries = new LinkedHashSet<AnyQuery>();
@@ -136,7 +198,19 @@ public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<Que
 		validateSymbols(store);
 		return new QueryInterpreterStoreAdapterImpl(store, buildEngineOptions(), dnf2PQuery.getSymbolViews(),
 				Collections.unmodifiableMap(canonicalQueryMap), Collections.unmodifiableMap(querySpecifications),
-				Collections.unmodifiableSet(vacuousQueries), store::checkCancelled);
+				Collections.unmodifiableSet(vacuousQueries), dnf2PQuery.getTranslatedDnfs(), store::checkCancelled,
+				createBackendSelector(querySpecifications.keySet()), lazyProductions);
+	}
+
+	private BackendSelector createBackendSelector(Collection<AnyQuery> queries) {
+		if (backendSelectionPolicy == null) {
+			return null;
+		}
+		if (defaultHint.getQueryBackendRequirementType() != QueryEvaluationHint.BackendRequirement.UNSPECIFIED) {
+			throw new IllegalArgumentException("Cannot select backends automatically if the default hint requires " +
+					"a backend");
+		}
+		return new BackendSelector(backendSelectionPolicy, queries);
 	}
 
 	private InterpreterEngineOptions buildEngineOptions() {
@@ -153,9 +227,35 @@ public class QueryInterpreterBuilderImpl extends AbstractModelAdapterBuilder<Que
 		}
 		}
 		engineOptionsBuilder.withDefaultHint(defaultHint);
+		shareReteQueryPlans();
 		return engineOptionsBuilder.build();
 	}
 
+	private void shareReteQueryPlans() {
+		// All models of the store have the same queries, meta context, and hints, so their Rete engines may share
+		// normalized queries and query plans instead of computing them anew for each model.
+		var engineOptions = engineOptionsBuilder.build();
+		var defaultBackend = engineOptions.getDefaultBackendFactory();
+		var defaultCachingBackend = engineOptions.getDefaultCachingBackendFactory();
+		if (defaultBackend != ReteBackendFactory.INSTANCE && defaultCachingBackend != ReteBackendFactory.INSTANCE) {
+			if (reteProfiling) {
+				throw new IllegalArgumentException("Rete profiling requires the default Rete backend");
+			}
+			return;
+		}
+		var metaContext = new RelationalQueryMetaContext(dnf2PQuery.getSymbolViews());
+		var engineDefaultHint = engineOptions.getEngineDefaultHints();
+		var planCache = new QueryPlanCache(metaContext,
+				query -> engineDefaultHint.overrideBy(query.getEvaluationHints()));
+		var sharedBackend = new ReteBackendFactory(planCache, propagationPool, reteProfiling);
+		if (defaultBackend == ReteBackendFactory.INSTANCE) {
+			engineOptionsBuilder.withDefaultBackend(sharedBackend);
+		}
+		if (defaultCachingBackend == ReteBackendFactory.INSTANCE) {
+			engineOptionsBuilder.withDefaultCachingBackend(sharedBackend);
+		}
+	}
+
 	private void validateSymbols(ModelStore store) {
 		var symbols = store.getSymbols();
 		for (var symbolView : dnf2PQuery.getSymbolViews().keySet()) {
@@ -8,13 +8,17 @@ package tools.refinery.store.query.interpreter.internal;
 import tools.refinery.interpreter.CancellationToken;
 import tools.refinery.interpreter.api.IQuerySpecification;
 import tools.refinery.interpreter.api.InterpreterEngineOptions;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
 import tools.refinery.interpreter.matchers.context.IInputKey;
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
 import tools.refinery.store.model.Model;
 import tools.refinery.store.model.ModelStore;
 import tools.refinery.store.query.dnf.AnyQuery;
+import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.query.interpreter.QueryInterpreterStoreAdapter;
 import tools.refinery.store.query.interpreter.internal.matcher.RawPatternMatcher;
+import tools.refinery.store.query.interpreter.internal.selection.BackendSelector;
 import tools.refinery.store.query.view.AnySymbolView;
 
 import java.util.*;
@@ -26,25 +30,49 @@ public class QueryInterpreterStoreAdapterImpl implements QueryInterpreterStoreAd
 	private final Map<AnyQuery, AnyQuery> canonicalQueryMap;
 	private final Map<AnyQuery, IQuerySpecification<RawPatternMatcher>> querySpecifications;
 	private final Set<AnyQuery> vacuousQueries;
+	private final Map<PQuery, Dnf> translatedDnfs;
 	private final Set<AnyQuery> allQueries;
 	private final CancellationToken cancellationToken;
+	private final BackendSelector backendSelector;
+	private final boolean callMemoizationEnabled;
+	private final boolean lazyProductions;
 
 	QueryInterpreterStoreAdapterImpl(ModelStore store, InterpreterEngineOptions engineOptions,
 									 Map<AnySymbolView, IInputKey> inputKeys,
 									 Map<AnyQuery, AnyQuery> canonicalQueryMap,
 									 Map<AnyQuery, IQuerySpecification<RawPatternMatcher>> querySpecifications,
-									 Set<AnyQuery> vacuousQueries, CancellationToken cancellationToken) {
+									 Set<AnyQuery> vacuousQueries, Map<PQuery, Dnf> translatedDnfs,
+									 CancellationToken cancellationToken,
+									 BackendSelector backendSelector, boolean lazyProductions) {
 		this.store = store;
 		this.engineOptions = engineOptions;
 		this.inputKeys = inputKeys;
 		this.canonicalQueryMap = canonicalQueryMap;
 		this.querySpecifications = querySpecifications;
 		this.vacuousQueries = vacuousQueries;
+		this.translatedDnfs = translatedDnfs;
 		this.cancellationToken = cancellationToken;
+		this.backendSelector = backendSelector;
+		this.lazyProductions = lazyProductions;
 		var mutableAllQueries = new LinkedHashSet<AnyQuery>(querySpecifications.size() + vacuousQueries.size());
 		mutableAllQueries.addAll(querySpecifications.keySet());
 		mutableAllQueries.addAll(vacuousQueries);
 		this.allQueries = Collections.unmodifiableSet(mutableAllQueries);
+		callMemoizationEnabled = computeCallMemoizationEnabled();
+	}
+
+	private boolean computeCallMemoizationEnabled() {
+		var defaultHint = engineOptions.getEngineDefaultHints();
+		if (LocalSearchHintOptions.CALL_MEMOIZATION_SIZE.getValueOrDefault(defaultHint) > 0) {
+			return true;
+		}
+		for (var querySpecification : querySpecifications.values()) {
+			var hint = defaultHint.overrideBy(querySpecification.getInternalQueryRepresentation().getEvaluationHints());
+			if (LocalSearchHintOptions.CALL_MEMOIZATION_SIZE.getValueOrDefault(hint) > 0) {
+				return true;
+			}
+		}
+		return false;
 	}
 
 	@Override
@@ -88,6 +116,33 @@ public class QueryInterpreterStoreAdapterImpl implements QueryInterpreterStoreAd
 		return vacuousQueries;
 	}
 
+	/**
+	 * Gets the {@link Dnf} of this store that was translated into a query of the interpreter.
+	 *
+	 * @param pQuery The translated query.
+	 * @return The {@link Dnf}, or {@code null} if the query was not translated by this store.
+	 */
+	Dnf getDnf(PQuery pQuery) {
+		return translatedDnfs.get(pQuery);
+	}
+
+	BackendSelector getBackendSelector() {
+		return backendSelector;
+	}
+
+	/**
+	 * Determines whether models have to track their modifications to let local search memoize pattern calls.
+	 *
+	 * @return {@code true} if any query enables {@link LocalSearchHintOptions#CALL_MEMOIZATION_SIZE}.
+	 */
+	boolean isCallMemoizationEnabled() {
+		return callMemoizationEnabled;
+	}
+
+	boolean isLazyProductions() {
+		return lazyProductions;
+	}
+
 	@Override
 	public InterpreterEngineOptions getEngineOptions() {
 		return engineOptions;
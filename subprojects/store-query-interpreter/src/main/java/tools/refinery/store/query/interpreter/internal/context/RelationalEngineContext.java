@@ -25,7 +25,9 @@ public class RelationalEngineContext implements IEngineContext {
 
 	@Override
 	public void dispose() {
-		// Nothing to dispose, because lifecycle is not controlled by the engine.
+		// The model is not controlled by the engine, but the statistics maintained for the engine must stop
+		// listening to it.
+		runtimeContext.dispose();
 	}
 
 	@Override
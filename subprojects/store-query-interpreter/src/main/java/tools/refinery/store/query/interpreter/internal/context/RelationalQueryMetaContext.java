@@ -19,9 +19,16 @@ import java.util.*;
  */
 public class RelationalQueryMetaContext extends AbstractQueryMetaContext {
 	private final Map<AnySymbolView, IInputKey> inputKeys;
+	private final Map<IInputKey, AnySymbolView> symbolViews;
 
-	RelationalQueryMetaContext(Map<AnySymbolView, IInputKey> inputKeys) {
+	public RelationalQueryMetaContext(Map<AnySymbolView, IInputKey> inputKeys) {
 		this.inputKeys = inputKeys;
+		// Input keys shared with other stores through a translation cache wrap the symbol views of those stores, so
+		// we must look up the symbol views of this store instead of calling SymbolViewWrapper#getWrappedKey().
+		symbolViews = new HashMap<>(inputKeys.size());
+		for (var entry : inputKeys.entrySet()) {
+			symbolViews.put(entry.getValue(), entry.getKey());
+		}
 	}
 
 	@Override
@@ -104,12 +111,22 @@ public class RelationalQueryMetaContext extends AbstractQueryMetaContext {
 		});
 	}
 
+	/**
+	 * Gets the symbol view of this model store that corresponds to an input key.
+	 *
+	 * @param key The input key.
+	 * @return The symbol view, or {@code null} if the input key is not present in the model.
+	 */
+	public AnySymbolView getSymbolView(IInputKey key) {
+		return symbolViews.get(key);
+	}
+
 	public AnySymbolView checkKey(IInputKey key) {
-		if (!(key instanceof SymbolViewWrapper wrapper)) {
+		if (!(key instanceof SymbolViewWrapper)) {
 			throw new IllegalArgumentException("The input key %s is not a valid input key".formatted(key));
 		}
-		var symbolView = wrapper.getWrappedKey();
-		if (!inputKeys.containsKey(symbolView)) {
+		var symbolView = symbolViews.get(key);
+		if (symbolView == null) {
 			throw new IllegalArgumentException("The input key %s is not present in the model".formatted(key));
 		}
 		return symbolView;
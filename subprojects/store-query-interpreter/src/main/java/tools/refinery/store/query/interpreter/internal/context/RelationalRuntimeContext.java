@@ -8,6 +8,7 @@ package tools.refinery.store.query.interpreter.internal.context;
 import tools.refinery.interpreter.CancellationToken;
 import tools.refinery.interpreter.matchers.context.*;
 import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
@@ -17,9 +18,15 @@ import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterIm
 import tools.refinery.store.query.interpreter.internal.pquery.SymbolViewWrapper;
 import tools.refinery.store.query.interpreter.internal.update.ModelUpdateListener;
 import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.query.view.SymbolView;
+import tools.refinery.store.query.view.SymbolViewCursorIterator;
+import tools.refinery.store.tuple.Tuple1;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 
@@ -35,11 +42,22 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	private final CancellationToken cancellationToken;
 
+	private final Runnable statisticsDriftListener;
+
+	private final QueryInterpreterAdapterImpl adapter;
+
+	private final IntTupleEncoding intTupleEncoding;
+
+	private final Map<AnySymbolView, ViewStatistics<?>> viewStatistics = new HashMap<>();
+
 	RelationalRuntimeContext(QueryInterpreterAdapterImpl adapter) {
 		model = adapter.getModel();
 		metaContext = new RelationalQueryMetaContext(adapter.getStoreAdapter().getInputKeys());
 		modelUpdateListener = new ModelUpdateListener(adapter);
 		cancellationToken = adapter.getCancellationToken();
+		statisticsDriftListener = adapter::markStatisticsDrifted;
+		this.adapter = adapter;
+		intTupleEncoding = adapter.getStoreAdapter().getEngineOptions().getIntTupleEncoding();
 	}
 
 	@Override
@@ -63,9 +81,9 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public boolean isIndexed(IInputKey key, IndexingService service) {
-		if (key instanceof SymbolViewWrapper wrapper) {
-			var symbolViewKey = wrapper.getWrappedKey();
-			return this.modelUpdateListener.containsSymbolView(symbolViewKey);
+		if (key instanceof SymbolViewWrapper) {
+			var symbolViewKey = metaContext.getSymbolView(key);
+			return symbolViewKey != null && this.modelUpdateListener.containsSymbolView(symbolViewKey);
 		} else {
 			return false;
 		}
@@ -79,12 +97,12 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 	}
 
 	AnySymbolView checkKey(IInputKey key) {
-		if (key instanceof SymbolViewWrapper wrappedKey) {
-			var symbolViewKey = wrappedKey.getWrappedKey();
-			if (modelUpdateListener.containsSymbolView(symbolViewKey)) {
+		if (key instanceof SymbolViewWrapper) {
+			var symbolViewKey = metaContext.getSymbolView(key);
+			if (symbolViewKey != null && modelUpdateListener.containsSymbolView(symbolViewKey)) {
 				return symbolViewKey;
 			} else {
-				throw new IllegalStateException("Query is asking for non-indexed key %s".formatted(symbolViewKey));
+				throw new IllegalStateException("Query is asking for non-indexed key %s".formatted(key));
 			}
 		} else {
 			throw new IllegalStateException("Query is asking for non-relational key");
@@ -93,6 +111,26 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public int countTuples(IInputKey key, TupleMask seedMask, ITuple seed) {
+		var relationViewKey = checkKey(key);
+		int seedSize = seedMask.getSize();
+		if (seedSize == 0) {
+			return saturatedCast(getCount(relationViewKey));
+		}
+		if (seedSize == 1) {
+			int slot = seedMask.indices[0];
+			if (relationViewKey instanceof KeyOnlyView<?> keyOnlyView && keyOnlyView.canIndexSlot(slot)) {
+				return seed.get(0) instanceof Tuple1 wrapper ?
+						model.getInterpretation(keyOnlyView.getSymbol()).getAdjacentSize(slot, wrapper.value0()) : 0;
+			}
+			var statistics = getStatistics(relationViewKey);
+			if (statistics.isTracked(slot)) {
+				return seed.get(0) instanceof Tuple1 wrapper ? statistics.getDegree(slot, wrapper.value0()) : 0;
+			}
+		}
+		if (SymbolViewCursorIterator.canEnumerate(relationViewKey)) {
+			var symbolView = (SymbolView<?>) relationViewKey;
+			return new SymbolViewIterators.OfTuples<>(model, symbolView, seedMask, seed).countRemaining();
+		}
 		Iterator<Object[]> iterator = enumerate(key, seedMask, seed).iterator();
 		int result = 0;
 		while (iterator.hasNext()) {
@@ -104,11 +142,85 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 
 	@Override
 	public Optional<Long> estimateCardinality(IInputKey key, TupleMask groupMask, Accuracy requiredAccuracy) {
-		return Optional.empty();
+		var relationViewKey = checkKey(key);
+		var statistics = getStatistics(relationViewKey);
+		long count = statistics.getCount();
+		int groupSize = groupMask.getSize();
+		if (groupSize == 0) {
+			return Optional.of(count == 0 ? 0L : 1L);
+		}
+		if (groupSize == groupMask.getSourceWidth() && groupMask.isNonrepeating()) {
+			return Optional.of(count);
+		}
+		long lowerBound = count == 0 ? 0 : 1;
+		for (int slot : groupMask.indices) {
+			if (statistics.isTracked(slot)) {
+				long distinctCount = statistics.getDistinctCount(slot);
+				if (groupSize == 1) {
+					return Optional.of(distinctCount);
+				}
+				lowerBound = Math.max(lowerBound, distinctCount);
+			}
+		}
+		return switch (requiredAccuracy) {
+			case EXACT_COUNT -> Optional.empty();
+			case BEST_LOWER_BOUND -> Optional.of(lowerBound);
+			// The projection can never have more tuples than the view itself.
+			case BEST_UPPER_BOUND, APPROXIMATION -> Optional.of(count);
+		};
+	}
+
+	/**
+	 * Records the current statistics of a view as the basis of the search plans that were computed from
+	 * {@link #estimateCardinality(IInputKey, TupleMask, Accuracy)}.
+	 *
+	 * @param key The input key of the view.
+	 */
+	public void markPlanned(IInputKey key) {
+		getStatistics(checkKey(key)).markPlanned();
+	}
+
+	void dispose() {
+		for (var statistics : viewStatistics.values()) {
+			statistics.dispose();
+		}
+		viewStatistics.clear();
+	}
+
+	private long getCount(AnySymbolView symbolView) {
+		if (symbolView instanceof KeyOnlyView<?> keyOnlyView) {
+			// Every tuple of the interpretation is present in the view, so we can avoid maintaining a counter.
+			return model.getInterpretation(keyOnlyView.getSymbol()).getSize();
+		}
+		return getStatistics(symbolView).getCount();
+	}
+
+	private ViewStatistics<?> getStatistics(AnySymbolView symbolView) {
+		var statistics = viewStatistics.get(symbolView);
+		if (statistics == null) {
+			// Only start maintaining statistics for views that are actually consulted by the query engine.
+			statistics = createStatistics((SymbolView<?>) symbolView);
+			viewStatistics.put(symbolView, statistics);
+		}
+		return statistics;
+	}
+
+	private <T> ViewStatistics<T> createStatistics(SymbolView<T> symbolView) {
+		var interpretation = model.getInterpretation(symbolView.getSymbol());
+		return new ViewStatistics<>(symbolView, interpretation, statisticsDriftListener);
+	}
+
+	private static int saturatedCast(long value) {
+		return (int) Math.min(value, Integer.MAX_VALUE);
 	}
 
 	@Override
 	public Iterable<Tuple> enumerateTuples(IInputKey key, TupleMask seedMask, ITuple seed) {
+		var relationViewKey = checkKey(key);
+		if (SymbolViewCursorIterator.canEnumerate(relationViewKey)) {
+			var symbolView = (SymbolView<?>) relationViewKey;
+			return () -> new SymbolViewIterators.OfTuples<>(model, symbolView, seedMask, seed);
+		}
 		var filteredBySeed = enumerate(key, seedMask, seed);
 		return map(filteredBySeed, Tuples::flatTupleOf);
 	}
@@ -117,6 +229,11 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 	public Iterable<?> enumerateValues(IInputKey key, TupleMask seedMask, ITuple seed) {
 		var index = seedMask.getFirstOmittedIndex().orElseThrow(
 				() -> new IllegalArgumentException("Seed mask does not omit a value"));
+		var relationViewKey = checkKey(key);
+		if (SymbolViewCursorIterator.canEnumerate(relationViewKey)) {
+			var symbolView = (SymbolView<?>) relationViewKey;
+			return () -> new SymbolViewIterators.OfValues<>(model, symbolView, seedMask, seed, index);
+		}
 		var filteredBySeed = enumerate(key, seedMask, seed);
 		return map(filteredBySeed, array -> array[index]);
 	}
@@ -167,6 +284,11 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 		this.modelUpdateListener.removeListener(key, relationViewKey, seed, listener);
 	}
 
+	@Override
+	public IntTupleEncoding getIntTupleEncoding() {
+		return intTupleEncoding;
+	}
+
 	@Override
 	public Object wrapElement(Object externalElement) {
 		return externalElement;
@@ -201,4 +323,9 @@ public class RelationalRuntimeContext implements IQueryRuntimeContext {
 	public CancellationToken getCancellationToken() {
 		return cancellationToken;
 	}
+
+	@Override
+	public long getModificationCount() {
+		return adapter.getModificationCount();
+	}
 }
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.context;
+
+import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.query.view.SymbolView;
+import tools.refinery.store.query.view.SymbolViewCursorIterator;
+import tools.refinery.store.tuple.Tuple;
+
+/**
+ * Adapts {@link SymbolViewCursorIterator} to the seeds and tuples of the interpreter.
+ */
+final class SymbolViewIterators {
+	private SymbolViewIterators() {
+		throw new IllegalStateException("This is a static utility class and should not be instantiated directly");
+	}
+
+	static class OfTuples<T> extends SymbolViewCursorIterator<T, tools.refinery.interpreter.matchers.tuple.Tuple> {
+		private final int arity;
+
+		OfTuples(Model model, SymbolView<T> view, TupleMask seedMask, ITuple seed) {
+			super(model, view, seedMask.indices, seed.getElements());
+			arity = view.arity();
+		}
+
+		@Override
+		protected tools.refinery.interpreter.matchers.tuple.Tuple transform(Tuple key, T value) {
+			return switch (arity) {
+				case 0 -> Tuples.staticArityFlatTupleOf();
+				case 1 -> Tuples.staticArityFlatTupleOf(getElement(key, value, 0));
+				case 2 -> Tuples.staticArityFlatTupleOf(getElement(key, value, 0), getElement(key, value, 1));
+				case 3 -> Tuples.staticArityFlatTupleOf(getElement(key, value, 0), getElement(key, value, 1),
+						getElement(key, value, 2));
+				case 4 -> Tuples.staticArityFlatTupleOf(getElement(key, value, 0), getElement(key, value, 1),
+						getElement(key, value, 2), getElement(key, value, 3));
+				default -> {
+					var elements = new Object[arity];
+					for (int i = 0; i < arity; i++) {
+						elements[i] = getElement(key, value, i);
+					}
+					yield Tuples.wideFlatTupleOf(elements);
+				}
+			};
+		}
+	}
+
+	static class OfValues<T> extends SymbolViewCursorIterator<T, Object> {
+		private final int slot;
+
+		OfValues(Model model, SymbolView<T> view, TupleMask seedMask, ITuple seed, int slot) {
+			super(model, view, seedMask.indices, seed.getElements());
+			this.slot = slot;
+		}
+
+		@Override
+		protected Object transform(Tuple key, T value) {
+			return getElement(key, value, slot);
+		}
+	}
+}
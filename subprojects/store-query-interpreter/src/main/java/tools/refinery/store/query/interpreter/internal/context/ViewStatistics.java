@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.context;
+
+import tools.refinery.store.model.Interpretation;
+import tools.refinery.store.model.InterpretationListener;
+import tools.refinery.store.query.view.AbstractFunctionView;
+import tools.refinery.store.query.view.SymbolView;
+import tools.refinery.store.query.view.TuplePreservingView;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintained size statistics of a {@link SymbolView}.
+ * <p>
+ * Besides the number of tuples in the view, we also keep track of the degree of each node in every slot that
+ * corresponds directly to a slot of the underlying symbol, which lets us answer projection sizes and seeded tuple
+ * counts without enumerating the view.
+ *
+ * @param <T> The value type of the underlying symbol.
+ */
+class ViewStatistics<T> implements InterpretationListener<T> {
+	/**
+	 * Minimal absolute change in the size of the view before we consider a search plan outdated.
+	 * This avoids re-planning over and over again while the model is still tiny.
+	 */
+	static final long MINIMAL_DRIFT = 16;
+
+	private static final int[] EMPTY_DEGREES = new int[0];
+
+	private final SymbolView<T> view;
+	private final Interpretation<T> interpretation;
+	private final Runnable driftListener;
+	private final int[][] degrees;
+	private final long[] distinctCounts;
+	private long count;
+	private long plannedCount;
+
+	ViewStatistics(SymbolView<T> view, Interpretation<T> interpretation, Runnable driftListener) {
+		this.view = view;
+		this.interpretation = interpretation;
+		this.driftListener = driftListener;
+		int trackedSlots = isSlotPreserving(view) ? view.getSymbol().arity() : 0;
+		degrees = new int[trackedSlots][];
+		Arrays.fill(degrees, EMPTY_DEGREES);
+		distinctCounts = new long[trackedSlots];
+		var cursor = interpretation.getAll();
+		while (cursor.move()) {
+			if (view.filter(cursor.getKey(), cursor.getValue())) {
+				update(cursor.getKey(), 1);
+			}
+		}
+		plannedCount = count;
+		interpretation.addListener(this, true);
+	}
+
+	public SymbolView<T> getView() {
+		return view;
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	public long getPlannedCount() {
+		return plannedCount;
+	}
+
+	/**
+	 * Records the current number of tuples in the view as the basis of the current search plans, so that we can
+	 * detect when the plans become outdated.
+	 */
+	public void markPlanned() {
+		plannedCount = count;
+	}
+
+	public boolean isTracked(int slot) {
+		return slot >= 0 && slot < degrees.length;
+	}
+
+	public long getDistinctCount(int slot) {
+		return distinctCounts[slot];
+	}
+
+	public int getDegree(int slot, int node) {
+		var slotDegrees = degrees[slot];
+		return node >= 0 && node < slotDegrees.length ? slotDegrees[node] : 0;
+	}
+
+	/**
+	 * Stops maintaining the statistics.
+	 * <p>
+	 * Statistics are registered as listeners of the interpretation, so they must be disposed to avoid updating them
+	 * after the query engine no longer needs them.
+	 */
+	public void dispose() {
+		interpretation.removeListener(this);
+	}
+
+	@Override
+	public void put(Tuple key, T fromValue, T toValue, boolean restoring) {
+		boolean fromPresent = view.filter(key, fromValue);
+		boolean toPresent = view.filter(key, toValue);
+		if (fromPresent == toPresent) {
+			return;
+		}
+		update(key, toPresent ? 1 : -1);
+		if (isDrifted()) {
+			// Only notify once per plan, the listener is responsible for re-planning if needed.
+			plannedCount = count;
+			driftListener.run();
+		}
+	}
+
+	private void update(Tuple key, int delta) {
+		count += delta;
+		for (int slot = 0; slot < degrees.length; slot++) {
+			int node = key.get(slot);
+			var slotDegrees = degrees[slot];
+			if (node >= slotDegrees.length) {
+				slotDegrees = Arrays.copyOf(slotDegrees, Math.max(node + 1, slotDegrees.length * 2));
+				degrees[slot] = slotDegrees;
+			}
+			int oldDegree = slotDegrees[node];
+			int newDegree = oldDegree + delta;
+			slotDegrees[node] = newDegree;
+			if (oldDegree == 0) {
+				distinctCounts[slot]++;
+			} else if (newDegree == 0) {
+				distinctCounts[slot]--;
+			}
+		}
+	}
+
+	private boolean isDrifted() {
+		long difference = Math.abs(count - plannedCount);
+		if (difference < MINIMAL_DRIFT) {
+			return false;
+		}
+		// Re-plan whenever the size of the view doubles or halves.
+		return count > plannedCount ? difference >= plannedCount : difference >= plannedCount / 2;
+	}
+
+	private static boolean isSlotPreserving(SymbolView<?> view) {
+		// Both kinds of views map the slots of the symbol to the leading slots of the view in order.
+		return view instanceof TuplePreservingView<?> || view instanceof AbstractFunctionView<?>;
+	}
+}
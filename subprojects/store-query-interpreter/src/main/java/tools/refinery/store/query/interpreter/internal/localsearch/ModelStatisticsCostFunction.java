@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.localsearch;
+
+import tools.refinery.interpreter.localsearch.planner.cost.IConstraintEvaluationContext;
+import tools.refinery.interpreter.localsearch.planner.cost.impl.StatisticsBasedConstraintCostFunction;
+import tools.refinery.interpreter.matchers.context.IInputKey;
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.TypeConstraint;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+import tools.refinery.interpreter.matchers.util.Accuracy;
+import tools.refinery.store.query.interpreter.internal.context.RelationalRuntimeContext;
+
+import java.util.Optional;
+
+/**
+ * Cost function that relies on the size statistics of symbol views maintained by the runtime context.
+ * <p>
+ * Search plans computed with this cost function get recomputed by the query engine whenever the statistics drift
+ * too far from the values they were based on.
+ */
+public class ModelStatisticsCostFunction extends StatisticsBasedConstraintCostFunction {
+	public ModelStatisticsCostFunction() {
+		// No inverse navigation penalty thanks to relational storage.
+		super(0);
+	}
+
+	@Override
+	public Optional<Long> projectionSize(IConstraintEvaluationContext input, IInputKey supplierKey,
+										 TupleMask groupMask, Accuracy requiredAccuracy) {
+		var runtimeContext = input.getRuntimeContext();
+		var estimate = runtimeContext.estimateCardinality(supplierKey, groupMask, requiredAccuracy);
+		if (runtimeContext instanceof RelationalRuntimeContext relationalRuntimeContext) {
+			// The search plan being computed relies on the current statistics of the view.
+			relationalRuntimeContext.markPlanned(supplierKey);
+		}
+		return estimate;
+	}
+
+	@Override
+	protected double _calculateCost(TypeConstraint constraint, IConstraintEvaluationContext input) {
+		int arity = constraint.getSupplierKey().getArity();
+		if (arity == 1 || arity == 2) {
+			return super._calculateCost(constraint, input);
+		}
+		// The superclass only supports unary and binary input keys, so we estimate the branching factor of
+		// higher arity keys by amortizing the size of the view over its most selective bound slot.
+		if (input.getFreeVariables().isEmpty()) {
+			// Simple check, because all variables are bound.
+			return 0.9;
+		}
+		var supplierKey = constraint.getSupplierKey();
+		var variablesTuple = constraint.getVariablesTuple();
+		var optionalCount = projectionSize(input, supplierKey, TupleMask.identity(arity), Accuracy.APPROXIMATION);
+		if (optionalCount.isEmpty()) {
+			return DEFAULT_COST;
+		}
+		double cost = optionalCount.get();
+		for (int i = 0; i < arity; i++) {
+			if (!input.getBoundVariables().contains(variablesTuple.get(i))) {
+				continue;
+			}
+			var distinctCount = projectionSize(input, supplierKey, TupleMask.selectSingle(i, arity),
+					Accuracy.APPROXIMATION);
+			if (distinctCount.isPresent() && distinctCount.get() > 0) {
+				cost = Math.min(cost, optionalCount.get() / distinctCount.get().doubleValue());
+			}
+		}
+		return 1.0 + cost;
+	}
+}
@@ -7,21 +7,74 @@ package tools.refinery.store.query.interpreter.internal.matcher;
 
 import tools.refinery.interpreter.matchers.backend.IQueryResultProvider;
 import tools.refinery.interpreter.matchers.backend.IUpdateable;
+import tools.refinery.interpreter.rete.matcher.RetePatternMatcher;
 import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.query.resultset.AbstractResultSet;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
 
 public abstract class AbstractInterpretedMatcher<T> extends AbstractResultSet<T> implements IUpdateable {
-	protected final IQueryResultProvider backend;
+	private final QueryInterpreterAdapterImpl adapter;
+	protected IQueryResultProvider backend;
+	private long readCount;
 
 	protected AbstractInterpretedMatcher(QueryInterpreterAdapterImpl adapter, Query<T> query,
 										 RawPatternMatcher rawPatternMatcher) {
 		super(adapter, query);
+		this.adapter = adapter;
+		backend = rawPatternMatcher == null ? null : rawPatternMatcher.getBackend();
+	}
+
+	public boolean isCaching() {
+		return backend instanceof RetePatternMatcher;
+	}
+
+	public boolean isAttached() {
+		return backend != null;
+	}
+
+	/**
+	 * Replaces the backend of this result set, e.g., to promote a query from local search to Rete.
+	 * <p>
+	 * Must not be called while listening for changes.
+	 *
+	 * @param rawPatternMatcher The matcher providing the new backend.
+	 */
+	public void setRawPatternMatcher(RawPatternMatcher rawPatternMatcher) {
 		backend = rawPatternMatcher.getBackend();
+		backendChanged();
+	}
+
+	protected abstract void backendChanged();
+
+	protected void recordRead() {
+		if (backend == null) {
+			adapter.attachProduction(getCanonicalQuery());
+		}
+		readCount++;
+	}
+
+	/**
+	 * Gets the number of reads since the last call of this method.
+	 *
+	 * @return The number of reads.
+	 */
+	public long drainReadCount() {
+		long result = readCount;
+		readCount = 0;
+		return result;
 	}
 
 	@Override
 	protected void startListeningForChanges() {
+		var query = getCanonicalQuery();
+		if (backend == null) {
+			adapter.attachProduction(query);
+		}
+		if (!isCaching() && adapter.isBackendSelectedAutomatically(query)) {
+			// Local search can't notify listeners about changes. If the hints of the query select local search
+			// explicitly, we respect them.
+			adapter.promoteToCaching(query);
+		}
 		backend.addUpdateListener(this, this, false);
 	}
 
@@ -15,6 +15,10 @@ import tools.refinery.store.query.dnf.FunctionalQuery;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Directly access the tuples inside a Refinery Interpreter pattern matcher.<p>
  * This class neglects calling
@@ -28,7 +32,7 @@ import tools.refinery.store.tuple.Tuple;
 public class InterpretedFunctionalMatcher<T> extends AbstractInterpretedMatcher<T> {
 	private final TupleMask emptyMask;
 	private final TupleMask omitOutputMask;
-	private final IterableIndexer omitOutputIndexer;
+	private IterableIndexer omitOutputIndexer;
 
 	public InterpretedFunctionalMatcher(QueryInterpreterAdapterImpl adapter, FunctionalQuery<T> query,
 										RawPatternMatcher rawPatternMatcher) {
@@ -37,6 +41,11 @@ public class InterpretedFunctionalMatcher<T> extends AbstractInterpretedMatcher<
 		int arityWithOutput = arity + 1;
 		emptyMask = TupleMask.empty(arityWithOutput);
 		omitOutputMask = TupleMask.omit(arity, arityWithOutput);
+		backendChanged();
+	}
+
+	@Override
+	protected void backendChanged() {
 		if (backend instanceof RetePatternMatcher reteBackend) {
 			var maybeIterableOmitOutputIndexer = reteBackend.getInternalIndexer(omitOutputMask);
 			if (maybeIterableOmitOutputIndexer instanceof IterableIndexer iterableOmitOutputIndexer) {
@@ -51,6 +60,7 @@ public class InterpretedFunctionalMatcher<T> extends AbstractInterpretedMatcher<
 
 	@Override
 	public T get(Tuple parameters) {
+		recordRead();
 		var tuple = MatcherUtils.toViatraTuple(parameters);
 		if (omitOutputIndexer == null) {
 			return MatcherUtils.getSingleValue(backend.getAllMatches(omitOutputMask, tuple).iterator());
@@ -61,6 +71,7 @@ public class InterpretedFunctionalMatcher<T> extends AbstractInterpretedMatcher<
 
 	@Override
 	public Cursor<Tuple, T> getAll() {
+		recordRead();
 		if (omitOutputIndexer == null) {
 			var allMatches = backend.getAllMatches(emptyMask, Tuples.staticArityFlatTupleOf());
 			return new UnsafeFunctionalCursor<>(allMatches.iterator());
@@ -68,8 +79,23 @@ public class InterpretedFunctionalMatcher<T> extends AbstractInterpretedMatcher<
 		return new FunctionalCursor<>(omitOutputIndexer);
 	}
 
+	@Override
+	public Stream<Map.Entry<Tuple, T>> stream() {
+		recordRead();
+		if (omitOutputIndexer == null) {
+			var allMatches = backend.getAllMatches(emptyMask, Tuples.staticArityFlatTupleOf());
+			return allMatches.map(match -> Map.entry(MatcherUtils.keyToRefineryTuple(match),
+					MatcherUtils.getValue(match)));
+		}
+		var indexer = omitOutputIndexer;
+		var signatures = StreamSupport.stream(indexer.getSignatures().spliterator(), false);
+		return signatures.map(signature -> Map.entry(MatcherUtils.toRefineryTuple(signature),
+				MatcherUtils.getSingleValue(indexer.get(signature))));
+	}
+
 	@Override
 	public int size() {
+		recordRead();
 		if (omitOutputIndexer == null) {
 			return backend.countMatches(emptyMask, Tuples.staticArityFlatTupleOf());
 		}
@@ -6,6 +6,7 @@
 package tools.refinery.store.query.interpreter.internal.matcher;
 
 import tools.refinery.interpreter.matchers.context.IQueryRuntimeContext;
+import tools.refinery.interpreter.matchers.tuple.ITuple;
 import tools.refinery.interpreter.matchers.tuple.TupleMask;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
 import tools.refinery.interpreter.rete.index.Indexer;
@@ -16,6 +17,9 @@ import tools.refinery.store.query.dnf.RelationalQuery;
 import tools.refinery.store.query.interpreter.internal.QueryInterpreterAdapterImpl;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Map;
+import java.util.stream.Stream;
+
 /**
  * Directly access the tuples inside a Refinery Interpreter pattern matcher.<p>
  * This class neglects calling
@@ -29,7 +33,7 @@ import tools.refinery.store.tuple.Tuple;
 public class InterpretedRelationalMatcher extends AbstractInterpretedMatcher<Boolean> {
 	private final TupleMask emptyMask;
 	private final TupleMask identityMask;
-	private final Indexer emptyMaskIndexer;
+	private Indexer emptyMaskIndexer;
 
 	public InterpretedRelationalMatcher(QueryInterpreterAdapterImpl adapter, RelationalQuery query,
 										RawPatternMatcher rawPatternMatcher) {
@@ -37,6 +41,11 @@ public class InterpretedRelationalMatcher extends AbstractInterpretedMatcher<Boo
 		int arity = query.arity();
 		emptyMask = TupleMask.empty(arity);
 		identityMask = TupleMask.identity(arity);
+		backendChanged();
+	}
+
+	@Override
+	protected void backendChanged() {
 		if (backend instanceof RetePatternMatcher reteBackend) {
 			emptyMaskIndexer = reteBackend.getInternalIndexer(emptyMask);
 		} else {
@@ -46,6 +55,7 @@ public class InterpretedRelationalMatcher extends AbstractInterpretedMatcher<Boo
 
 	@Override
 	public Boolean get(Tuple parameters) {
+		recordRead();
 		var tuple = MatcherUtils.toViatraTuple(parameters);
 		if (emptyMaskIndexer == null) {
 			return backend.hasMatch(identityMask, tuple);
@@ -56,6 +66,7 @@ public class InterpretedRelationalMatcher extends AbstractInterpretedMatcher<Boo
 
 	@Override
 	public Cursor<Tuple, Boolean> getAll() {
+		recordRead();
 		if (emptyMaskIndexer == null) {
 			var allMatches = backend.getAllMatches(emptyMask, Tuples.staticArityFlatTupleOf());
 			return new RelationalCursor(allMatches.iterator());
@@ -64,8 +75,26 @@ public class InterpretedRelationalMatcher extends AbstractInterpretedMatcher<Boo
 		return matches == null ? Cursors.empty() : new RelationalCursor(matches.stream().iterator());
 	}
 
+	@Override
+	public Stream<Map.Entry<Tuple, Boolean>> stream() {
+		recordRead();
+		Stream<? extends ITuple> matches;
+		if (emptyMaskIndexer == null) {
+			matches = backend.getAllMatches(emptyMask, Tuples.staticArityFlatTupleOf());
+		} else {
+			var memory = emptyMaskIndexer.get(Tuples.staticArityFlatTupleOf());
+			if (memory == null) {
+				return Stream.empty();
+			}
+			// Splits the production memory of the Rete network directly.
+			matches = memory.stream();
+		}
+		return matches.map(match -> Map.entry(MatcherUtils.toRefineryTuple(match), true));
+	}
+
 	@Override
 	public int size() {
+		recordRead();
 		if (emptyMaskIndexer == null) {
 			return backend.countMatches(emptyMask, Tuples.staticArityFlatTupleOf());
 		}
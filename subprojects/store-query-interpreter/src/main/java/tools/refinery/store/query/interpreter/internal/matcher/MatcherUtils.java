@@ -36,7 +36,8 @@ final class MatcherUtils {
 			for (int i = 0; i < arity; i++) {
 				values[i] = Tuple.of(refineryTuple.get(i));
 			}
-			return Tuples.flatTupleOf(values);
+			// Lookup keys are short-lived, so we don't encode them as int tuples.
+			return Tuples.wideFlatTupleOf(values);
 		}
 	}
 
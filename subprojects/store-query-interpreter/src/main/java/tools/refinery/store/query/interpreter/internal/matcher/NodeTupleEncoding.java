@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.matcher;
+
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.store.model.TupleHashProvider;
+import tools.refinery.store.tuple.Tuple1;
+
+/**
+ * Stores the nodes in interpreter tuples as primitive ints.
+ * <p>
+ * Nodes are represented by {@link Tuple1} instances in the interpreter, which are decoded from the
+ * {@link Tuple1.Cache} without any allocation. Nodes outside the range of the cache are not encoded, because decoding
+ * them would create a new {@link Tuple1} on every access.
+ */
+public final class NodeTupleEncoding implements IntTupleEncoding {
+	public static final NodeTupleEncoding INSTANCE = new NodeTupleEncoding();
+
+	private NodeTupleEncoding() {
+	}
+
+	@Override
+	public boolean canEncode(Object element) {
+		if (element instanceof Tuple1 node) {
+			int value = node.value0();
+			return value >= 0 && value < TupleHashProvider.MAX_MODEL_SIZE;
+		}
+		return false;
+	}
+
+	@Override
+	public int encode(Object element) {
+		return ((Tuple1) element).value0();
+	}
+
+	@Override
+	public Object decode(int value) {
+		return Tuple1.Cache.INSTANCE.getOrCreate(value);
+	}
+
+	@Override
+	public int hashCode(int value) {
+		// Must match {@link Tuple1#hashCode()}.
+		return 31 + value;
+	}
+}
@@ -5,9 +5,12 @@
  */
 package tools.refinery.store.query.interpreter.internal.pquery;
 
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IValueProvider;
 import tools.refinery.store.query.term.Term;
 
+import java.util.Map;
+
 class CheckEvaluator extends TermEvaluator<Boolean> {
 	public CheckEvaluator(Term<Boolean> term) {
 		super(term);
@@ -18,4 +21,13 @@ class CheckEvaluator extends TermEvaluator<Boolean> {
 		var result = super.evaluateExpression(provider);
 		return result == null ? Boolean.FALSE : result;
 	}
+
+	@Override
+	public IBoundExpressionEvaluator bind(Map<String, Integer> parameterPositions) {
+		var boundEvaluator = super.bind(parameterPositions);
+		return tuple -> {
+			var result = boundEvaluator.evaluateExpression(tuple);
+			return result == null ? Boolean.FALSE : result;
+		};
+	}
 }
@@ -13,6 +13,7 @@ import tools.refinery.store.query.Constraint;
 import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.DnfClause;
 import tools.refinery.store.query.dnf.SymbolicParameter;
+import tools.refinery.store.query.equality.DeepDnfHashCodeCalculator;
 import tools.refinery.store.query.literal.*;
 import tools.refinery.store.query.term.ConstantTerm;
 import tools.refinery.store.query.term.StatefulAggregator;
@@ -34,32 +35,77 @@ import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
 import tools.refinery.interpreter.matchers.tuple.Tuple;
 import tools.refinery.interpreter.matchers.tuple.Tuples;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Function;
 
 public class Dnf2PQuery {
 	private final CycleDetectingMapper<Dnf, RawPQuery> mapper = new CycleDetectingMapper<>(Dnf::name,
 			this::doTranslate);
 	private final QueryWrapperFactory wrapperFactory = new QueryWrapperFactory(this);
+	private final DeepDnfHashCodeCalculator hashCodeCalculator = new Dnf2PQueryCacheImpl.CacheKeyHashCodeCalculator();
 	private Function<Dnf, QueryEvaluationHint> computeHint = dnf -> new QueryEvaluationHint(null,
 			(IQueryBackendFactory) null);
+	private Dnf2PQueryCacheImpl cache;
+	private final Map<PQuery, Dnf> translatedDnfs = new LinkedHashMap<>();
 
 	public void setComputeHint(Function<Dnf, QueryEvaluationHint> computeHint) {
 		this.computeHint = computeHint;
 	}
 
+	/**
+	 * Sets the cache to share translations with other stores.
+	 * <p>
+	 * The cache is keyed only by the structure of the queries, so it must not be used with a custom
+	 * {@link #setComputeHint(Function)} that would add different hints to structurally equal queries.
+	 *
+	 * @param cache The shared cache, or {@code null} to translate every query anew.
+	 */
+	public void setCache(Dnf2PQueryCacheImpl cache) {
+		this.cache = cache;
+	}
+
 	public RawPQuery translate(Dnf dnfQuery) {
 		return mapper.map(dnfQuery);
 	}
 
+	/**
+	 * Gets the {@link Dnf} each translated query was created from.
+	 * <p>
+	 * Translations shared through the cache may have been created from structurally equal {@link Dnf} of another
+	 * store, so the map is needed to find the {@link Dnf} of this store.
+	 *
+	 * @return The first translated {@link Dnf} of each query.
+	 */
+	public Map<PQuery, Dnf> getTranslatedDnfs() {
+		return Collections.unmodifiableMap(translatedDnfs);
+	}
+
 	public Map<AnySymbolView, IInputKey> getSymbolViews() {
 		return wrapperFactory.getSymbolViews();
 	}
 
 	private RawPQuery doTranslate(Dnf dnfQuery) {
+		var pQuery = doTranslateCached(dnfQuery);
+		translatedDnfs.putIfAbsent(pQuery, dnfQuery);
+		return pQuery;
+	}
+
+	private RawPQuery doTranslateCached(Dnf dnfQuery) {
+		if (cache == null) {
+			return doTranslateUncached(dnfQuery);
+		}
+		var key = new Dnf2PQueryCacheImpl.CacheKey(dnfQuery, hashCodeCalculator.dnfHashCode(dnfQuery));
+		var hit = cache.get(key, wrapperFactory::canAddInputKeys);
+		if (hit != null) {
+			wrapperFactory.addInputKeys(hit.inputKeys());
+			return hit.pQuery();
+		}
+		var pQuery = doTranslateUncached(dnfQuery);
+		cache.put(key, pQuery);
+		return pQuery;
+	}
+
+	private RawPQuery doTranslateUncached(Dnf dnfQuery) {
 		var pQuery = new RawPQuery(dnfQuery.getUniqueName());
 		pQuery.setEvaluationHints(computeHint.apply(dnfQuery));
 
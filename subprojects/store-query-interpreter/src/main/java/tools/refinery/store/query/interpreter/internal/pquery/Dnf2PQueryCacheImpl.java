@@ -0,0 +1,249 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.pquery;
+
+import tools.refinery.interpreter.matchers.psystem.basicenumerables.TypeConstraint;
+import tools.refinery.interpreter.matchers.psystem.queries.PQuery;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.equality.DeepDnfEqualityChecker;
+import tools.refinery.store.query.equality.DeepDnfHashCodeCalculator;
+import tools.refinery.store.query.interpreter.Dnf2PQueryCache;
+import tools.refinery.store.query.literal.AbstractCallLiteral;
+import tools.refinery.store.query.view.AnySymbolView;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Implementation of {@link Dnf2PQueryCache} that stores {@link RawPQuery} translations of {@link Dnf2PQuery}.
+ * <p>
+ * Queries are looked up by their structure according to {@link DeepDnfEqualityChecker}, except that symbol views are
+ * compared by their {@link SymbolViewKey}. Symbol views may refer to symbols compared by identity, such as partial
+ * relations, so structurally equal queries of different stores would never have equal symbol views otherwise. Each
+ * cached translation remembers the {@link SymbolViewKey} of its input keys, so that a hit can be remapped to the
+ * {@link AnySymbolView} instances of the query being translated. A translation is only returned if each of its input
+ * keys corresponds to exactly one symbol view of the query being translated.
+ * <p>
+ * Cached {@link RawPQuery} instances are initialized before they get added to the cache, so they are never modified
+ * afterwards and may be used concurrently by multiple query engines.
+ */
+public class Dnf2PQueryCacheImpl implements Dnf2PQueryCache {
+	private final int maximumSize;
+	private final Map<CacheKey, Entry> entries;
+	private long hitCount;
+	private long missCount;
+	private long evictionCount;
+
+	public Dnf2PQueryCacheImpl(int maximumSize) {
+		if (maximumSize <= 0) {
+			throw new IllegalArgumentException("Maximum size must be positive, got %d instead".formatted(maximumSize));
+		}
+		this.maximumSize = maximumSize;
+		entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, Entry> eldest) {
+				if (size() > Dnf2PQueryCacheImpl.this.maximumSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	@Override
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	@Override
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	@Override
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	@Override
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	@Override
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+
+	@Override
+	public synchronized double getHitRate() {
+		long requestCount = hitCount + missCount;
+		return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+	}
+
+	@Override
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	synchronized Hit get(CacheKey key, Predicate<Map<AnySymbolView, SymbolViewWrapper>> canUseInputKeys) {
+		var entry = entries.get(key);
+		var inputKeys = entry == null ? null : entry.remapInputKeys(key.dnf);
+		if (inputKeys == null || !canUseInputKeys.test(inputKeys)) {
+			// A query whose symbol views can't be matched unambiguously to the symbol views of the store must be
+			// translated anew. Its translation will replace the cached one.
+			missCount++;
+			return null;
+		}
+		hitCount++;
+		return new Hit(entry.pQuery(), inputKeys);
+	}
+
+	synchronized void put(CacheKey key, RawPQuery pQuery) {
+		entries.put(key, new Entry(pQuery, collectInputKeys(pQuery)));
+	}
+
+	private static Map<SymbolViewWrapper, SymbolViewKey> collectInputKeys(RawPQuery pQuery) {
+		var queries = new LinkedHashSet<PQuery>();
+		queries.add(pQuery);
+		queries.addAll(pQuery.getAllReferredQueries());
+		var inputKeys = new LinkedHashMap<SymbolViewWrapper, SymbolViewKey>();
+		for (var query : queries) {
+			// Make sure that lazy initialization will not happen concurrently when the query is shared.
+			query.ensureInitialized();
+			for (var body : query.getDisjunctBodies().getBodies()) {
+				for (var constraint : body.getConstraintsOfType(TypeConstraint.class)) {
+					if (constraint.getSupplierKey() instanceof SymbolViewWrapper wrapper) {
+						inputKeys.computeIfAbsent(wrapper, key -> SymbolViewKey.of(key.getWrappedKey()));
+					}
+				}
+			}
+		}
+		return Collections.unmodifiableMap(inputKeys);
+	}
+
+	/**
+	 * Identifies a symbol view independently of the symbol instance it was created for.
+	 *
+	 * @param name  The name of the view, including the name of its symbol.
+	 * @param arity The arity of the view.
+	 * @param kind  The class of the view.
+	 */
+	record SymbolViewKey(String name, int arity, Class<?> kind) {
+		static SymbolViewKey of(AnySymbolView symbolView) {
+			return new SymbolViewKey(symbolView.name(), symbolView.arity(), symbolView.getClass());
+		}
+	}
+
+	/**
+	 * A cached translation together with the symbol views of the query being translated.
+	 *
+	 * @param pQuery    The cached translation.
+	 * @param inputKeys The input keys of the cached translation, keyed by the corresponding symbol views of the query
+	 *                  being translated.
+	 */
+	record Hit(RawPQuery pQuery, Map<AnySymbolView, SymbolViewWrapper> inputKeys) {
+	}
+
+	private record Entry(RawPQuery pQuery, Map<SymbolViewWrapper, SymbolViewKey> inputKeys) {
+		Map<AnySymbolView, SymbolViewWrapper> remapInputKeys(Dnf dnf) {
+			var symbolViews = collectSymbolViews(dnf);
+			var remappedInputKeys = new LinkedHashMap<AnySymbolView, SymbolViewWrapper>(inputKeys.size());
+			for (var inputKey : inputKeys.entrySet()) {
+				var symbolView = symbolViews.get(inputKey.getValue());
+				if (symbolView == null) {
+					return null;
+				}
+				remappedInputKeys.put(symbolView, inputKey.getKey());
+			}
+			return remappedInputKeys;
+		}
+	}
+
+	private static Map<SymbolViewKey, AnySymbolView> collectSymbolViews(Dnf dnf) {
+		var symbolViews = new HashMap<SymbolViewKey, AnySymbolView>();
+		var ambiguousKeys = new HashSet<SymbolViewKey>();
+		var visitedDnfs = Collections.<Dnf>newSetFromMap(new IdentityHashMap<>());
+		var dnfsToVisit = new ArrayDeque<Dnf>();
+		dnfsToVisit.add(dnf);
+		while (!dnfsToVisit.isEmpty()) {
+			var currentDnf = dnfsToVisit.removeFirst();
+			if (!visitedDnfs.add(currentDnf)) {
+				continue;
+			}
+			for (var clause : currentDnf.getClauses()) {
+				for (var literal : clause.literals()) {
+					if (!(literal instanceof AbstractCallLiteral callLiteral)) {
+						continue;
+					}
+					var target = callLiteral.getTarget();
+					if (target instanceof AnySymbolView symbolView) {
+						var key = SymbolViewKey.of(symbolView);
+						var existingSymbolView = symbolViews.putIfAbsent(key, symbolView);
+						if (existingSymbolView != null && !existingSymbolView.equals(symbolView)) {
+							ambiguousKeys.add(key);
+						}
+					} else if (target instanceof Dnf calledDnf) {
+						dnfsToVisit.addLast(calledDnf);
+					}
+				}
+			}
+		}
+		// Different symbol views with the same name can't be told apart, so we don't use them for cache hits.
+		symbolViews.keySet().removeAll(ambiguousKeys);
+		return symbolViews;
+	}
+
+	private static class CacheKeyEqualityChecker extends DeepDnfEqualityChecker {
+		@Override
+		public boolean symbolViewEqual(AnySymbolView left, AnySymbolView right) {
+			return SymbolViewKey.of(left).equals(SymbolViewKey.of(right));
+		}
+	}
+
+	/**
+	 * Computes hash codes of {@link Dnf} instances that are compatible with the equality of {@link CacheKey}.
+	 */
+	static class CacheKeyHashCodeCalculator extends DeepDnfHashCodeCalculator {
+		@Override
+		public int symbolViewHashCode(AnySymbolView symbolView) {
+			return SymbolViewKey.of(symbolView).hashCode();
+		}
+	}
+
+	static final class CacheKey {
+		private final Dnf dnf;
+		private final int hash;
+
+		CacheKey(Dnf dnf, int hash) {
+			this.dnf = dnf;
+			this.hash = hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj == null || getClass() != obj.getClass()) {
+				return false;
+			}
+			var otherCacheKey = (CacheKey) obj;
+			return hash == otherCacheKey.hash && new CacheKeyEqualityChecker().dnfEqual(dnf, otherCacheKey.dnf);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public String toString() {
+			return dnf.name();
+		}
+	}
+}
@@ -32,6 +32,7 @@ import java.util.function.ToIntFunction;
 class QueryWrapperFactory {
 	private final Dnf2PQuery dnf2PQuery;
 	private final Map<AnySymbolView, SymbolViewWrapper> view2WrapperMap = new LinkedHashMap<>();
+	private final Map<SymbolViewWrapper, AnySymbolView> wrapper2ViewMap = new HashMap<>();
 	private final CycleDetectingMapper<RemappedConstraint, RawPQuery> wrapConstraint = new CycleDetectingMapper<>(
 			this::doWrapConstraint);
 
@@ -137,7 +138,50 @@ class QueryWrapperFactory {
 	}
 
 	public IInputKey getInputKey(AnySymbolView symbolView) {
-		return view2WrapperMap.computeIfAbsent(symbolView, SymbolViewWrapper::new);
+		return view2WrapperMap.computeIfAbsent(symbolView, key -> {
+			var wrapper = new SymbolViewWrapper(key);
+			wrapper2ViewMap.putIfAbsent(wrapper, key);
+			return wrapper;
+		});
+	}
+
+	/**
+	 * Checks whether the input keys of a cached translation can be added without breaking the one-to-one
+	 * correspondence between the input keys and the symbol views of this store.
+	 *
+	 * @param inputKeys The input keys of the cached translation, keyed by the symbol views of this store.
+	 * @return {@code true} if the input keys can be added by {@link #addInputKeys(Map)}.
+	 */
+	public boolean canAddInputKeys(Map<AnySymbolView, SymbolViewWrapper> inputKeys) {
+		for (var entry : inputKeys.entrySet()) {
+			var symbolView = entry.getKey();
+			var inputKey = entry.getValue();
+			var existingInputKey = view2WrapperMap.get(symbolView);
+			if (existingInputKey != null && existingInputKey != inputKey) {
+				return false;
+			}
+			// Input keys are compared by equality in the query engine, so we must look for equal input keys here.
+			var existingSymbolView = wrapper2ViewMap.get(inputKey);
+			if (existingSymbolView != null && existingSymbolView != symbolView) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds the input keys of a cached translation.
+	 * <p>
+	 * The input keys may wrap the symbol views of another store, so the {@link AnySymbolView} of this store is
+	 * recorded for each of them.
+	 *
+	 * @param inputKeys The input keys of the cached translation, keyed by the symbol views of this store.
+	 */
+	public void addInputKeys(Map<AnySymbolView, SymbolViewWrapper> inputKeys) {
+		for (var entry : inputKeys.entrySet()) {
+			view2WrapperMap.putIfAbsent(entry.getKey(), entry.getValue());
+			wrapper2ViewMap.putIfAbsent(entry.getValue(), entry.getKey());
+		}
 	}
 
 	public Map<AnySymbolView, IInputKey> getSymbolViews() {
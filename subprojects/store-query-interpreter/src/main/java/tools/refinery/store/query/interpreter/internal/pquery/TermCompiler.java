@@ -0,0 +1,319 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.pquery;
+
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
+import tools.refinery.interpreter.matchers.tuple.ITuple;
+import tools.refinery.store.query.term.ConstantTerm;
+import tools.refinery.store.query.term.DataVariable;
+import tools.refinery.store.query.term.Term;
+import tools.refinery.store.query.term.bool.*;
+import tools.refinery.store.query.term.comparable.*;
+import tools.refinery.store.query.term.int_.*;
+import tools.refinery.store.query.term.real.*;
+import tools.refinery.store.query.valuation.Valuation;
+
+import java.util.Map;
+import java.util.function.*;
+
+/**
+ * Compiles a {@link Term} into a tree of closures that read the input variables directly from tuple slots.
+ * <p>
+ * Integer, real, and boolean arithmetic, logical operators, and comparisons are evaluated on primitive values, so
+ * only the values read from the tuple and the final result are boxed. Terms not recognized by the compiler are
+ * evaluated with {@link Term#evaluate(Valuation)} instead.
+ * <p>
+ * Terms evaluate to {@code null} if any of their subterms is {@code null}. Compiled closures signal such undefined
+ * values by throwing {@link #UNDEFINED}, which is converted back to {@code null} at the root of the tree.
+ */
+final class TermCompiler {
+	private static final UndefinedException UNDEFINED = new UndefinedException();
+
+	private final Map<String, Integer> parameterPositions;
+
+	TermCompiler(Map<String, Integer> parameterPositions) {
+		this.parameterPositions = parameterPositions;
+	}
+
+	public IBoundExpressionEvaluator compile(Term<?> term) {
+		var type = term.getType();
+		if (Integer.class.equals(type)) {
+			var function = compileInt(cast(term));
+			return tuple -> {
+				try {
+					return function.applyAsInt(tuple);
+				} catch (UndefinedException e) {
+					return null;
+				}
+			};
+		}
+		if (Double.class.equals(type)) {
+			var function = compileReal(cast(term));
+			return tuple -> {
+				try {
+					return function.applyAsDouble(tuple);
+				} catch (UndefinedException e) {
+					return null;
+				}
+			};
+		}
+		if (Boolean.class.equals(type)) {
+			var predicate = compileBool(cast(term));
+			return tuple -> {
+				try {
+					return predicate.test(tuple);
+				} catch (UndefinedException e) {
+					return null;
+				}
+			};
+		}
+		var function = compileObject(term);
+		return function::apply;
+	}
+
+	private ToIntFunction<ITuple> compileInt(Term<Integer> term) {
+		if (term instanceof IntBinaryTerm binaryTerm) {
+			var left = compileInt(binaryTerm.getLeft());
+			var right = compileInt(binaryTerm.getRight());
+			if (term instanceof IntAddTerm) {
+				return tuple -> left.applyAsInt(tuple) + right.applyAsInt(tuple);
+			}
+			if (term instanceof IntSubTerm) {
+				return tuple -> left.applyAsInt(tuple) - right.applyAsInt(tuple);
+			}
+			if (term instanceof IntMulTerm) {
+				return tuple -> left.applyAsInt(tuple) * right.applyAsInt(tuple);
+			}
+			if (term instanceof IntDivTerm) {
+				return tuple -> {
+					int leftValue = left.applyAsInt(tuple);
+					int rightValue = right.applyAsInt(tuple);
+					if (rightValue == 0) {
+						throw UNDEFINED;
+					}
+					return leftValue / rightValue;
+				};
+			}
+			if (term instanceof IntPowTerm) {
+				return tuple -> power(left.applyAsInt(tuple), right.applyAsInt(tuple));
+			}
+			if (term instanceof IntMinTerm) {
+				return tuple -> Math.min(left.applyAsInt(tuple), right.applyAsInt(tuple));
+			}
+			if (term instanceof IntMaxTerm) {
+				return tuple -> Math.max(left.applyAsInt(tuple), right.applyAsInt(tuple));
+			}
+		} else if (term instanceof IntUnaryTerm unaryTerm) {
+			var body = compileInt(unaryTerm.getBody());
+			if (term instanceof IntPlusTerm) {
+				return body;
+			}
+			if (term instanceof IntMinusTerm) {
+				return tuple -> -body.applyAsInt(tuple);
+			}
+		} else if (term instanceof RealToIntTerm realToIntTerm) {
+			var body = compileReal(realToIntTerm.getBody());
+			return tuple -> {
+				double value = body.applyAsDouble(tuple);
+				if (Double.isNaN(value)) {
+					throw UNDEFINED;
+				}
+				return (int) value;
+			};
+		}
+		var function = compileDefined(term);
+		return tuple -> (Integer) function.apply(tuple);
+	}
+
+	private static int power(int base, int exponent) {
+		if (exponent < 0) {
+			throw UNDEFINED;
+		}
+		int accum = 1;
+		while (exponent > 0) {
+			if (exponent % 2 == 1) {
+				accum = accum * base;
+			}
+			base = base * base;
+			exponent = exponent / 2;
+		}
+		return accum;
+	}
+
+	private ToDoubleFunction<ITuple> compileReal(Term<Double> term) {
+		if (term instanceof RealBinaryTerm binaryTerm) {
+			var left = compileReal(binaryTerm.getLeft());
+			var right = compileReal(binaryTerm.getRight());
+			if (term instanceof RealAddTerm) {
+				return tuple -> left.applyAsDouble(tuple) + right.applyAsDouble(tuple);
+			}
+			if (term instanceof RealSubTerm) {
+				return tuple -> left.applyAsDouble(tuple) - right.applyAsDouble(tuple);
+			}
+			if (term instanceof RealMulTerm) {
+				return tuple -> left.applyAsDouble(tuple) * right.applyAsDouble(tuple);
+			}
+			if (term instanceof RealDivTerm) {
+				return tuple -> left.applyAsDouble(tuple) / right.applyAsDouble(tuple);
+			}
+			if (term instanceof RealPowTerm) {
+				return tuple -> Math.pow(left.applyAsDouble(tuple), right.applyAsDouble(tuple));
+			}
+			if (term instanceof RealMinTerm) {
+				return tuple -> Math.min(left.applyAsDouble(tuple), right.applyAsDouble(tuple));
+			}
+			if (term instanceof RealMaxTerm) {
+				return tuple -> Math.max(left.applyAsDouble(tuple), right.applyAsDouble(tuple));
+			}
+		} else if (term instanceof RealUnaryTerm unaryTerm) {
+			var body = compileReal(unaryTerm.getBody());
+			if (term instanceof RealPlusTerm) {
+				return body;
+			}
+			if (term instanceof RealMinusTerm) {
+				return tuple -> -body.applyAsDouble(tuple);
+			}
+		} else if (term instanceof IntToRealTerm intToRealTerm) {
+			var body = compileInt(intToRealTerm.getBody());
+			return body::applyAsInt;
+		}
+		var function = compileDefined(term);
+		return tuple -> (Double) function.apply(tuple);
+	}
+
+	private Predicate<ITuple> compileBool(Term<Boolean> term) {
+		if (term instanceof BoolBinaryTerm binaryTerm) {
+			var left = compileBool(binaryTerm.getLeft());
+			var right = compileBool(binaryTerm.getRight());
+			// Both operands are always evaluated, because an undefined right operand makes the whole term undefined.
+			if (term instanceof BoolAndTerm) {
+				return tuple -> left.test(tuple) & right.test(tuple);
+			}
+			if (term instanceof BoolOrTerm) {
+				return tuple -> left.test(tuple) | right.test(tuple);
+			}
+			if (term instanceof BoolXorTerm) {
+				return tuple -> left.test(tuple) ^ right.test(tuple);
+			}
+		} else if (term instanceof BoolNotTerm notTerm) {
+			var body = compileBool(notTerm.getBody());
+			return body.negate();
+		} else if (term instanceof ComparisonTerm<?> comparisonTerm) {
+			var comparison = compileComparison(comparisonTerm);
+			if (comparison != null) {
+				return comparison;
+			}
+		}
+		var function = compileDefined(term);
+		return tuple -> (Boolean) function.apply(tuple);
+	}
+
+	private Predicate<ITuple> compileComparison(ComparisonTerm<?> term) {
+		IntPredicate signTest = getSignTest(term);
+		if (signTest == null) {
+			return null;
+		}
+		var argumentType = term.getArgumentType();
+		if (Integer.class.equals(argumentType)) {
+			var left = compileInt(cast(term.getLeft()));
+			var right = compileInt(cast(term.getRight()));
+			return tuple -> signTest.test(Integer.compare(left.applyAsInt(tuple), right.applyAsInt(tuple)));
+		}
+		if (Double.class.equals(argumentType)) {
+			// {@link Double#compare(double, double)} agrees with {@link Double#compareTo(Double)} and
+			// {@link Double#equals(Object)}, which are used by the interpreted terms, even for {@code NaN} and
+			// signed zeros.
+			var left = compileReal(cast(term.getLeft()));
+			var right = compileReal(cast(term.getRight()));
+			return tuple -> signTest.test(Double.compare(left.applyAsDouble(tuple), right.applyAsDouble(tuple)));
+		}
+		if (Boolean.class.equals(argumentType)) {
+			var left = compileBool(cast(term.getLeft()));
+			var right = compileBool(cast(term.getRight()));
+			return tuple -> signTest.test(Boolean.compare(left.test(tuple), right.test(tuple)));
+		}
+		return null;
+	}
+
+	private static IntPredicate getSignTest(ComparisonTerm<?> term) {
+		if (term instanceof LessTerm<?>) {
+			return comparison -> comparison < 0;
+		}
+		if (term instanceof LessEqTerm<?>) {
+			return comparison -> comparison <= 0;
+		}
+		if (term instanceof GreaterTerm<?>) {
+			return comparison -> comparison > 0;
+		}
+		if (term instanceof GreaterEqTerm<?>) {
+			return comparison -> comparison >= 0;
+		}
+		if (term instanceof EqTerm<?>) {
+			return comparison -> comparison == 0;
+		}
+		if (term instanceof NotEqTerm<?>) {
+			return comparison -> comparison != 0;
+		}
+		return null;
+	}
+
+	private Function<ITuple, Object> compileDefined(Term<?> term) {
+		var function = compileObject(term);
+		return tuple -> {
+			var value = function.apply(tuple);
+			if (value == null) {
+				throw UNDEFINED;
+			}
+			return value;
+		};
+	}
+
+	private Function<ITuple, Object> compileObject(Term<?> term) {
+		if (term instanceof ConstantTerm<?> constantTerm) {
+			var value = constantTerm.getValue();
+			return tuple -> value;
+		}
+		if (term instanceof DataVariable<?> variable) {
+			int position = getPosition(variable);
+			return tuple -> tuple.get(position);
+		}
+		return tuple -> term.evaluate(new TupleValuation(tuple));
+	}
+
+	private int getPosition(DataVariable<?> variable) {
+		var position = parameterPositions.get(variable.getUniqueName());
+		if (position == null) {
+			throw new IllegalArgumentException("Unknown input variable: " + variable);
+		}
+		return position;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> Term<T> cast(Term<?> term) {
+		return (Term<T>) term;
+	}
+
+	private class TupleValuation implements Valuation {
+		private final ITuple tuple;
+
+		public TupleValuation(ITuple tuple) {
+			this.tuple = tuple;
+		}
+
+		@Override
+		public <T> T getValue(DataVariable<T> variable) {
+			@SuppressWarnings("unchecked")
+			var value = (T) tuple.get(getPosition(variable));
+			return value;
+		}
+	}
+
+	private static class UndefinedException extends RuntimeException {
+		public UndefinedException() {
+			super("Undefined term value", null, false, false);
+		}
+	}
+}
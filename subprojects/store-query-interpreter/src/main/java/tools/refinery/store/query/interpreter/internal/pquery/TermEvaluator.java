@@ -7,9 +7,11 @@ package tools.refinery.store.query.interpreter.internal.pquery;
 
 import tools.refinery.store.query.term.Term;
 import tools.refinery.store.query.term.Variable;
+import tools.refinery.interpreter.matchers.psystem.IBoundExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IExpressionEvaluator;
 import tools.refinery.interpreter.matchers.psystem.IValueProvider;
 
+import java.util.Map;
 import java.util.stream.Collectors;
 
 class TermEvaluator<T> implements IExpressionEvaluator {
@@ -34,4 +36,9 @@ class TermEvaluator<T> implements IExpressionEvaluator {
 		var valuation = new ValueProviderBasedValuation(provider);
 		return term.evaluate(valuation);
 	}
+
+	@Override
+	public IBoundExpressionEvaluator bind(Map<String, Integer> parameterPositions) {
+		return new TermCompiler(parameterPositions).compile(term);
+	}
 }
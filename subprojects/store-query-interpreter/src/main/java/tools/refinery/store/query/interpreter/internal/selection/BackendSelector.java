@@ -0,0 +1,218 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.selection;
+
+import tools.refinery.store.query.dnf.AnyQuery;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.interpreter.BackendSelectionPolicy;
+
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chooses the backend of queries according to a {@link BackendSelectionPolicy}.
+ * <p>
+ * The estimated memory of queries is computed once for the whole store, while the read and write frequencies
+ * observed by the models of the store are accumulated to guide the choices made for subsequently created models.
+ */
+public class BackendSelector {
+	/**
+	 * Queries read less often than this fraction of the number of model updates are considered rarely read.
+	 */
+	static final double RARELY_READ_RATIO = 0.01;
+
+	/**
+	 * Minimal number of reads before a local search query may be promoted to the caching backend at runtime.
+	 */
+	public static final long PROMOTION_MINIMUM_READS = 32;
+
+	private final BackendSelectionPolicy policy;
+	private final Map<Dnf, ReteMemoryEstimator.DnfEstimate> dnfEstimates = new HashMap<>();
+	private final Map<AnyQuery, Set<Dnf>> queryDnfs = new LinkedHashMap<>();
+	private final Map<AnyQuery, LongAdder> observedReads = new HashMap<>();
+	private final LongAdder observedWrites = new LongAdder();
+
+	public BackendSelector(BackendSelectionPolicy policy, Collection<? extends AnyQuery> queries) {
+		this.policy = policy;
+		var estimator = new ReteMemoryEstimator(policy.estimatedNodeCount());
+		for (var query : queries) {
+			var dnfs = new LinkedHashSet<Dnf>();
+			collectDnfs(estimator, query.getDnf(), dnfs);
+			queryDnfs.put(query, Collections.unmodifiableSet(dnfs));
+			observedReads.put(query, new LongAdder());
+		}
+	}
+
+	private void collectDnfs(ReteMemoryEstimator estimator, Dnf dnf, Set<Dnf> dnfs) {
+		if (!dnfs.add(dnf)) {
+			return;
+		}
+		var estimate = dnfEstimates.computeIfAbsent(dnf, estimator::estimate);
+		for (var dependency : estimate.dependencies()) {
+			collectDnfs(estimator, dependency, dnfs);
+		}
+	}
+
+	public BackendSelectionPolicy getPolicy() {
+		return policy;
+	}
+
+	/**
+	 * Gets the estimated memory of the Rete network of a query, including the networks of called queries.
+	 *
+	 * @param query The query.
+	 * @return The estimated memory in bytes.
+	 */
+	public long getEstimatedMemory(AnyQuery query) {
+		return getAdditionalMemory(getDnfs(query), Set.of());
+	}
+
+	/**
+	 * Records the number of reads of a query observed in a model to guide backend selection in later models.
+	 *
+	 * @param query The query.
+	 * @param reads The number of reads.
+	 */
+	public void recordReads(AnyQuery query, long reads) {
+		var adder = observedReads.get(query);
+		if (adder != null) {
+			adder.add(reads);
+		}
+	}
+
+	/**
+	 * Records the number of model updates observed in a model to guide backend selection in later models.
+	 *
+	 * @param writes The number of model updates.
+	 */
+	public void recordWrites(long writes) {
+		observedWrites.add(writes);
+	}
+
+	/**
+	 * Chooses backends for a new model.
+	 *
+	 * @return The allocation of the caching backend in the new model.
+	 */
+	public Allocation createAllocation() {
+		var allocation = new Allocation();
+		long writes = observedWrites.sum();
+		var candidates = new ArrayList<Candidate>(queryDnfs.size());
+		for (var query : queryDnfs.keySet()) {
+			long reads = observedReads.get(query).sum();
+			if (!isSearchable(query)) {
+				// Local search can't evaluate this query, so we must use the caching backend regardless of the budget.
+				allocation.allocate(query);
+			} else if (writes == 0 || reads >= writes * RARELY_READ_RATIO) {
+				candidates.add(new Candidate(query, (1.0 + reads) / (1.0 + getEstimatedMemory(query))));
+			}
+		}
+		// Prefer queries that are read often compared to their estimated memory usage.
+		candidates.sort(Comparator.comparingDouble(Candidate::priority).reversed());
+		for (var candidate : candidates) {
+			allocation.tryAllocate(candidate.query());
+		}
+		return allocation;
+	}
+
+	private boolean isSearchable(AnyQuery query) {
+		for (var dnf : getDnfs(query)) {
+			if (!dnfEstimates.get(dnf).searchable()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private Set<Dnf> getDnfs(AnyQuery query) {
+		var dnfs = queryDnfs.get(query);
+		if (dnfs == null) {
+			throw new IllegalArgumentException("Unknown query: " + query);
+		}
+		return dnfs;
+	}
+
+	private long getAdditionalMemory(Set<Dnf> dnfs, Set<Dnf> allocatedDnfs) {
+		long memory = 0;
+		for (var dnf : dnfs) {
+			if (!allocatedDnfs.contains(dnf)) {
+				long dnfMemory = dnfEstimates.get(dnf).memory();
+				memory = dnfMemory > Long.MAX_VALUE - memory ? Long.MAX_VALUE : memory + dnfMemory;
+			}
+		}
+		return memory;
+	}
+
+	private record Candidate(AnyQuery query, double priority) {
+	}
+
+	/**
+	 * The set of queries assigned to the caching backend in a single model.
+	 */
+	public class Allocation {
+		private final Set<AnyQuery> cachingQueries = new HashSet<>();
+		private final Set<Dnf> allocatedDnfs = new HashSet<>();
+		private long usedMemory;
+
+		private Allocation() {
+		}
+
+		public boolean isCaching(AnyQuery query) {
+			return cachingQueries.contains(query);
+		}
+
+		public long getUsedMemory() {
+			return usedMemory;
+		}
+
+		/**
+		 * Assigns a query to the caching backend if its estimated memory fits into the remaining budget.
+		 *
+		 * @param query The query to assign.
+		 * @return {@code true} if the query is assigned to the caching backend.
+		 */
+		public boolean tryAllocate(AnyQuery query) {
+			if (isCaching(query)) {
+				return true;
+			}
+			long additionalMemory = getAdditionalMemory(getDnfs(query), allocatedDnfs);
+			if (additionalMemory > policy.memoryBudget() - usedMemory) {
+				return false;
+			}
+			allocate(query);
+			return true;
+		}
+
+		/**
+		 * Assigns a query to the caching backend even if it exceeds the budget, e.g., because the query is not
+		 * supported by local search.
+		 *
+		 * @param query The query to assign.
+		 */
+		public void allocate(AnyQuery query) {
+			if (!cachingQueries.add(query)) {
+				return;
+			}
+			var dnfs = getDnfs(query);
+			long additionalMemory = getAdditionalMemory(dnfs, allocatedDnfs);
+			usedMemory = additionalMemory > Long.MAX_VALUE - usedMemory ? Long.MAX_VALUE :
+					usedMemory + additionalMemory;
+			allocatedDnfs.addAll(dnfs);
+		}
+
+
+		/**
+		 * Determines whether a local search query should be promoted to the caching backend.
+		 *
+		 * @param reads  The number of reads of the query since it was last considered for promotion.
+		 * @param writes The number of model updates since the query was last considered for promotion.
+		 * @return {@code true} if the query is read frequently enough to warrant promotion.
+		 */
+		public boolean shouldPromote(long reads, long writes) {
+			return reads >= PROMOTION_MINIMUM_READS && reads >= writes;
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.selection;
+
+import tools.refinery.store.query.Constraint;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.dnf.DnfClause;
+import tools.refinery.store.query.literal.AbstractCallLiteral;
+import tools.refinery.store.query.literal.CallLiteral;
+import tools.refinery.store.query.literal.CallPolarity;
+import tools.refinery.store.query.literal.RepresentativeElectionLiteral;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.util.CycleDetectingMapper;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Estimates the memory consumption of the Rete network of queries from their structure.
+ * <p>
+ * Every relation is assumed to be uniformly distributed over the estimated number of nodes in the model, so joining
+ * on a variable reduces the size of the result by a factor equal to the number of nodes. Each join stores its
+ * result in a memory, and each called query or symbol view is stored in its own memory.
+ */
+class ReteMemoryEstimator {
+	/**
+	 * Approximate number of bytes used by a tuple stored in a Rete memory, including indexing overhead.
+	 */
+	static final long BYTES_PER_TUPLE = 64;
+
+	/**
+	 * Approximate number of tuples adjacent to each node in relations of arity larger than {@code 1}.
+	 */
+	private static final double AVERAGE_DEGREE = 4;
+
+	private final double nodeCount;
+	private final CycleDetectingMapper<Dnf, DnfEstimate> mapper = new CycleDetectingMapper<>(Dnf::name,
+			this::doEstimate);
+
+	ReteMemoryEstimator(int nodeCount) {
+		this.nodeCount = nodeCount;
+	}
+
+	public DnfEstimate estimate(Dnf dnf) {
+		return mapper.map(dnf);
+	}
+
+	private DnfEstimate doEstimate(Dnf dnf) {
+		double resultSize = 0;
+		double memory = 0;
+		boolean searchable = true;
+		var dependencies = new LinkedHashSet<Dnf>();
+		for (var clause : dnf.getClauses()) {
+			var clauseEstimate = estimateClause(clause, dependencies);
+			resultSize += Math.min(clauseEstimate.resultSize(), maximalSize(dnf.arity()));
+			memory += clauseEstimate.memory();
+			searchable &= clauseEstimate.searchable();
+		}
+		resultSize = Math.min(resultSize, maximalSize(dnf.arity()));
+		memory += resultSize;
+		for (var dependency : dependencies) {
+			searchable &= estimate(dependency).searchable();
+		}
+		return new DnfEstimate(resultSize, toBytes(memory), searchable, Set.copyOf(dependencies));
+	}
+
+	private ClauseEstimate estimateClause(DnfClause clause, Set<Dnf> dependencies) {
+		double tuples = 1;
+		double memory = 0;
+		boolean searchable = true;
+		var boundVariables = new HashSet<Variable>();
+		for (var literal : clause.literals()) {
+			if (literal instanceof AbstractCallLiteral callLiteral) {
+				var target = callLiteral.getTarget();
+				if (target instanceof Dnf dnf) {
+					// The memory of called queries is accounted for separately, because they may be shared.
+					dependencies.add(dnf);
+				}
+				double targetSize = estimateSize(target);
+				if (!(target instanceof Dnf)) {
+					memory += targetSize;
+				}
+				if (isJoin(callLiteral)) {
+					if (callLiteral instanceof RepresentativeElectionLiteral) {
+						// Only the caching backend supports representative election.
+						searchable = false;
+						targetSize = nodeCount;
+					} else if (callLiteral instanceof CallLiteral transitiveLiteral &&
+							transitiveLiteral.getPolarity() == CallPolarity.TRANSITIVE) {
+						targetSize = Math.min(targetSize * nodeCount, maximalSize(2));
+					}
+					var arguments = new HashSet<>(callLiteral.getArguments());
+					int sharedCount = 0;
+					for (var argument : arguments) {
+						if (boundVariables.contains(argument)) {
+							sharedCount++;
+						}
+					}
+					tuples = tuples * targetSize / Math.pow(nodeCount, sharedCount);
+				}
+			}
+			boundVariables.addAll(literal.getOutputVariables());
+			tuples = Math.min(tuples, maximalSize(boundVariables.size()));
+			if (literal instanceof AbstractCallLiteral callLiteral && isJoin(callLiteral)) {
+				memory += tuples;
+			}
+		}
+		return new ClauseEstimate(tuples, memory, searchable);
+	}
+
+	private static boolean isJoin(AbstractCallLiteral callLiteral) {
+		if (callLiteral instanceof CallLiteral plainCallLiteral) {
+			return plainCallLiteral.getPolarity() != CallPolarity.NEGATIVE;
+		}
+		return callLiteral instanceof RepresentativeElectionLiteral;
+	}
+
+	private double estimateSize(Constraint constraint) {
+		if (constraint instanceof Dnf dnf) {
+			return estimate(dnf).resultSize();
+		}
+		int arity = constraint.arity();
+		if (arity == 0) {
+			return 1;
+		}
+		return Math.min(nodeCount * Math.pow(AVERAGE_DEGREE, arity - 1.0), maximalSize(arity));
+	}
+
+	private double maximalSize(int arity) {
+		return Math.pow(nodeCount, arity);
+	}
+
+	private static long toBytes(double tupleCount) {
+		double bytes = tupleCount * BYTES_PER_TUPLE;
+		return bytes >= Long.MAX_VALUE ? Long.MAX_VALUE : (long) Math.ceil(bytes);
+	}
+
+	/**
+	 * Estimated properties of a single {@link Dnf}.
+	 *
+	 * @param resultSize   The estimated number of tuples in the result of the query.
+	 * @param memory       The estimated memory in bytes used by the Rete nodes of the query, excluding the nodes of
+	 *                     called queries.
+	 * @param searchable   Whether the query and its dependencies may be evaluated with local search.
+	 * @param dependencies The queries directly called by the query.
+	 */
+	record DnfEstimate(double resultSize, long memory, boolean searchable, Set<Dnf> dependencies) {
+	}
+
+	private record ClauseEstimate(double resultSize, double memory, boolean searchable) {
+	}
+}
@@ -16,20 +16,40 @@ import java.util.Objects;
 public final class RelationViewFilter {
 	private final IInputKey inputKey;
 	private final Object[] seed;
+	private final int arity;
+	private final int[] boundSlots;
 	private final IQueryRuntimeContextListener listener;
 
 	public RelationViewFilter(IInputKey inputKey, ITuple seed, IQueryRuntimeContextListener listener) {
 		this.inputKey = inputKey;
 		this.seed = seedToArray(seed);
+		arity = seed.getSize();
+		boundSlots = getBoundSlots(this.seed);
 		this.listener = listener;
 	}
 
+	Object[] getSeed() {
+		return seed;
+	}
+
+	int getArity() {
+		return arity;
+	}
+
+	int[] getBoundSlots() {
+		return boundSlots;
+	}
+
 	public void update(Tuple updateTuple, boolean isInsertion) {
 		if (isMatching(updateTuple)) {
-			listener.update(inputKey, updateTuple, isInsertion);
+			notifyListener(updateTuple, isInsertion);
 		}
 	}
 
+	void notifyListener(Tuple updateTuple, boolean isInsertion) {
+		listener.update(inputKey, updateTuple, isInsertion);
+	}
+
 	private boolean isMatching(ITuple tuple) {
 		if (seed == null) {
 			return true;
@@ -55,6 +75,27 @@ public final class RelationViewFilter {
 		return null;
 	}
 
+	private static int[] getBoundSlots(Object[] seed) {
+		if (seed == null) {
+			return new int[0];
+		}
+		int boundCount = 0;
+		for (var element : seed) {
+			if (element != null) {
+				boundCount++;
+			}
+		}
+		var boundSlots = new int[boundCount];
+		int index = 0;
+		for (int i = 0; i < seed.length; i++) {
+			if (seed[i] != null) {
+				boundSlots[index] = i;
+				index++;
+			}
+		}
+		return boundSlots;
+	}
+
 	@Override
 	public boolean equals(Object obj) {
 		if (obj == this) return true;
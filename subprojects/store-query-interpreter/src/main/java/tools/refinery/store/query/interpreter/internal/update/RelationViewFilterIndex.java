@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.update;
+
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.tuple.TupleMask;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+
+import java.util.*;
+
+/**
+ * Dispatches updates to the {@link RelationViewFilter} instances of a symbol view.
+ * <p>
+ * Filters are grouped by the slots bound by their seed, and within each group, indexed by the seed values.
+ * Therefore, an update only touches the filters that actually match it, instead of every filter registered for the
+ * symbol view.
+ */
+class RelationViewFilterIndex {
+	private final List<RelationViewFilter> unseededFilters = new ArrayList<>();
+	private final List<SeedGroup> seedGroups = new ArrayList<>();
+	private int size;
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public void add(RelationViewFilter filter) {
+		var boundSlots = filter.getBoundSlots();
+		if (boundSlots.length == 0) {
+			unseededFilters.add(filter);
+		} else {
+			var seedGroup = getSeedGroup(boundSlots);
+			if (seedGroup == null) {
+				seedGroup = new SeedGroup(boundSlots, filter.getArity());
+				seedGroups.add(seedGroup);
+			}
+			seedGroup.add(filter);
+		}
+		size++;
+	}
+
+	public boolean remove(RelationViewFilter filter) {
+		var boundSlots = filter.getBoundSlots();
+		boolean removed;
+		if (boundSlots.length == 0) {
+			removed = unseededFilters.remove(filter);
+		} else {
+			var seedGroup = getSeedGroup(boundSlots);
+			removed = seedGroup != null && seedGroup.remove(filter);
+			if (removed && seedGroup.isEmpty()) {
+				seedGroups.remove(seedGroup);
+			}
+		}
+		if (removed) {
+			size--;
+		}
+		return removed;
+	}
+
+	public void update(Tuple tuple, boolean isInsertion) {
+		// Use for loops instead of for-each loops to avoid <code>Iterator</code> allocation overhead.
+		int unseededSize = unseededFilters.size();
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < unseededSize; i++) {
+			unseededFilters.get(i).update(tuple, isInsertion);
+		}
+		int groupCount = seedGroups.size();
+		//noinspection ForLoopReplaceableByForEach
+		for (int i = 0; i < groupCount; i++) {
+			seedGroups.get(i).update(tuple, isInsertion);
+		}
+	}
+
+	private SeedGroup getSeedGroup(int[] boundSlots) {
+		for (var seedGroup : seedGroups) {
+			if (Arrays.equals(seedGroup.boundSlots, boundSlots)) {
+				return seedGroup;
+			}
+		}
+		return null;
+	}
+
+	private static class SeedGroup {
+		private final int[] boundSlots;
+		private final TupleMask seedMask;
+		private final Map<Object, List<RelationViewFilter>> filtersBySeed = new HashMap<>();
+
+		public SeedGroup(int[] boundSlots, int arity) {
+			this.boundSlots = boundSlots;
+			seedMask = TupleMask.fromSelectedIndices(arity, boundSlots);
+		}
+
+		public boolean isEmpty() {
+			return filtersBySeed.isEmpty();
+		}
+
+		public void add(RelationViewFilter filter) {
+			filtersBySeed.computeIfAbsent(getSeedKey(filter), ignored -> new ArrayList<>(1)).add(filter);
+		}
+
+		public boolean remove(RelationViewFilter filter) {
+			var seedKey = getSeedKey(filter);
+			var filters = filtersBySeed.get(seedKey);
+			if (filters == null || !filters.remove(filter)) {
+				return false;
+			}
+			if (filters.isEmpty()) {
+				filtersBySeed.remove(seedKey);
+			}
+			return true;
+		}
+
+		public void update(Tuple tuple, boolean isInsertion) {
+			// Avoid allocating a key tuple for the common case of a single bound slot.
+			var seedKey = boundSlots.length == 1 ? tuple.get(boundSlots[0]) : seedMask.transform(tuple);
+			var filters = filtersBySeed.get(seedKey);
+			if (filters == null) {
+				return;
+			}
+			int size = filters.size();
+			//noinspection ForLoopReplaceableByForEach
+			for (int i = 0; i < size; i++) {
+				filters.get(i).notifyListener(tuple, isInsertion);
+			}
+		}
+
+		private Object getSeedKey(RelationViewFilter filter) {
+			var seed = filter.getSeed();
+			return boundSlots.length == 1 ? seed[boundSlots[0]] : seedMask.transform(Tuples.flatTupleOf(seed));
+		}
+	}
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.backend.IQueryBackendFactory;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class BackendSelectionTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendQuery = Query.of("FriendQuery", (builder, p1, p2) -> builder.clause(
+			personView.call(p1),
+			personView.call(p2),
+			friendView.call(p1, p2)
+	));
+
+	@Test
+	void zeroBudgetTest() {
+		var store = createStore(0);
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		var engineOptions = queryEngine.getStoreAdapter().getEngineOptions();
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultSearchBackendFactory()));
+	}
+
+	@Test
+	void unlimitedBudgetTest() {
+		var store = createStore(Long.MAX_VALUE);
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		var engineOptions = queryEngine.getStoreAdapter().getEngineOptions();
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultCachingBackendFactory()));
+	}
+
+	@Test
+	void promoteFrequentlyReadQueryTest() {
+		var store = createStore(Long.MAX_VALUE);
+
+		// Update the first model many times without reading the query to make it look rarely read.
+		var firstModel = store.createEmptyModel();
+		var firstPersonInterpretation = firstModel.getInterpretation(person);
+		for (int i = 0; i < 100; i++) {
+			firstPersonInterpretation.put(Tuple.of(i), true);
+		}
+		firstModel.getAdapter(QueryInterpreterAdapter.class).flushChanges();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+		var engineOptions = queryEngine.getStoreAdapter().getEngineOptions();
+		var resultSet = queryEngine.getResultSet(friendQuery);
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultSearchBackendFactory()));
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		queryEngine.flushChanges();
+		for (int i = 0; i < 64; i++) {
+			assertThat(resultSet.size(), is(1));
+		}
+		queryEngine.flushChanges();
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultCachingBackendFactory()));
+
+		friendInterpretation.put(Tuple.of(1, 0), true);
+		queryEngine.flushChanges();
+		assertThat(resultSet.size(), is(2));
+		assertThat(resultSet.get(Tuple.of(1, 0)), is(true));
+	}
+
+	@Test
+	void promoteListenedQueryTest() {
+		var store = createStore(0);
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		var engineOptions = queryEngine.getStoreAdapter().getEngineOptions();
+		queryEngine.getResultSet(friendQuery).addListener((key, fromValue, toValue) -> {
+		});
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultCachingBackendFactory()));
+	}
+
+	@Test
+	void explicitSearchHintTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.backendSelectionPolicy(new BackendSelectionPolicy(Long.MAX_VALUE))
+						.computeHint(dnf -> new QueryEvaluationHint(null,
+								QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH))
+						.queries(friendQuery))
+				.build();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+		var engineOptions = queryEngine.getStoreAdapter().getEngineOptions();
+		var resultSet = queryEngine.getResultSet(friendQuery);
+		resultSet.addListener((key, fromValue, toValue) -> {
+		});
+		for (int i = 0; i < 64; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+			assertThat(resultSet.size(), is(0));
+			queryEngine.flushChanges();
+		}
+		// Neither listening for changes nor frequent reads override the explicit hint of the query.
+		assertThat(getSelectedBackend(queryEngine),
+				is(engineOptions.getDefaultSearchBackendFactory()));
+	}
+
+	private static IQueryBackendFactory getSelectedBackend(QueryInterpreterAdapter queryEngine) {
+		var canonicalQuery = queryEngine.getStoreAdapter().getCanonicalQuery(friendQuery);
+		return queryEngine.getSelectedBackends().get(canonicalQuery);
+	}
+
+	private static ModelStore createStore(long memoryBudget) {
+		return ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.backendSelectionPolicy(new BackendSelectionPolicy(memoryBudget))
+						.queries(friendQuery))
+				.build();
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Map;
+
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+import static tools.refinery.store.query.literal.Literals.not;
+
+class CallMemoizationTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendQuery = Query.of("FriendQuery", (builder, p1, p2) -> builder.clause(
+			personView.call(p1),
+			personView.call(p2),
+			friendView.call(p1, p2)
+	));
+	private static final RelationalQuery lonelyQuery = Query.of("LonelyQuery", (builder, p1) -> builder.clause(
+			personView.call(p1),
+			not(friendQuery.call(p1, Variable.of()))
+	));
+
+	@Test
+	void invalidateOnModificationTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var lonelyResultSet = queryEngine.getResultSet(lonelyQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		assertResults(Map.of(
+				Tuple.of(0), true,
+				Tuple.of(1), true
+		), lonelyResultSet);
+
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		assertResults(Map.of(
+				Tuple.of(0), false,
+				Tuple.of(1), true
+		), lonelyResultSet);
+
+		friendInterpretation.put(Tuple.of(0, 1), false);
+		friendInterpretation.put(Tuple.of(1, 0), true);
+		assertResults(Map.of(
+				Tuple.of(0), true,
+				Tuple.of(1), false
+		), lonelyResultSet);
+	}
+
+	@Test
+	void invalidateOnRestoreTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var lonelyResultSet = queryEngine.getResultSet(lonelyQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		var state = model.commit();
+
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		assertResults(Map.of(
+				Tuple.of(0), false,
+				Tuple.of(1), true
+		), lonelyResultSet);
+
+		model.restore(state);
+		assertResults(Map.of(
+				Tuple.of(0), true,
+				Tuple.of(1), true
+		), lonelyResultSet);
+	}
+
+	@Test
+	void invalidateOnFlushTest() {
+		var searchHint = new QueryEvaluationHint(Map.of(LocalSearchHintOptions.CALL_MEMOIZATION_SIZE, 16),
+				QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH);
+		var cachingHint = new QueryEvaluationHint(null, QueryEvaluationHint.BackendRequirement.DEFAULT_CACHING);
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.computeHint(dnf -> dnf.name().equals(friendQuery.name()) ? cachingHint : searchHint)
+						.queries(lonelyQuery))
+				.build();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var lonelyResultSet = queryEngine.getResultSet(lonelyQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		queryEngine.flushChanges();
+
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		// Local search evaluates the call itself, so it sees the write even before the Rete network is flushed.
+		assertResults(Map.of(
+				Tuple.of(0), false,
+				Tuple.of(1), true
+		), lonelyResultSet);
+
+		// Flushing discards the memoized calls, and the results are computed again.
+		queryEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0), false,
+				Tuple.of(1), true
+		), lonelyResultSet);
+	}
+
+	private static ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(new QueryEvaluationHint(Map.of(LocalSearchHintOptions.CALL_MEMOIZATION_SIZE, 16),
+								QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH))
+						.queries(lonelyQuery))
+				.build();
+	}
+}
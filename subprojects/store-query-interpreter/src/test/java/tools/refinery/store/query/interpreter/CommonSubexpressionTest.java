@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.tests.QueryEngineTest;
+import tools.refinery.store.query.literal.AbstractCallLiteral;
+import tools.refinery.store.query.rewriter.CommonSubexpressionRewriter;
+import tools.refinery.store.query.rewriter.DnfRewriter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+import static tools.refinery.store.query.literal.Literals.not;
+
+class CommonSubexpressionTest {
+	private static final String JOIN_NODE_KIND = "JoinNode";
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> student = Symbol.of("Student", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView studentView = new KeyOnlyView<>(student);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery oneQuery = Query.of("One", (builder, x, z) -> builder
+			.clause((y) -> List.of(
+					friendView.call(x, y),
+					friendView.call(y, z),
+					personView.call(x)
+			))
+			.clause((y) -> List.of(
+					studentView.call(z),
+					friendView.call(x, y),
+					friendView.call(y, z)
+			)));
+	private static final RelationalQuery twoQuery = Query.of("Two", (builder, p, q) -> builder
+			.clause((r) -> List.of(
+					friendView.call(p, r),
+					friendView.call(r, q),
+					not(personView.call(p))
+			)));
+
+	@QueryEngineTest
+	void sharedJoinTest(QueryEvaluationHint hint) {
+		var store = ModelStore.builder()
+				.symbols(person, student, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(hint)
+						.rewriter(new CommonSubexpressionRewriter())
+						.queries(oneQuery, twoQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var studentInterpretation = model.getInterpretation(student);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var oneResultSet = queryEngine.getResultSet(oneQuery);
+		var twoResultSet = queryEngine.getResultSet(twoQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		studentInterpretation.put(Tuple.of(3), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		friendInterpretation.put(Tuple.of(2, 3), true);
+		friendInterpretation.put(Tuple.of(3, 0), true);
+		queryEngine.flushChanges();
+
+		assertResults(Map.of(
+				Tuple.of(0, 2), true,
+				Tuple.of(1, 3), true,
+				Tuple.of(2, 0), false,
+				Tuple.of(3, 1), false
+		), oneResultSet);
+		assertResults(Map.of(
+				Tuple.of(0, 2), false,
+				Tuple.of(1, 3), false,
+				Tuple.of(2, 0), true,
+				Tuple.of(3, 1), true
+		), twoResultSet);
+
+		personInterpretation.put(Tuple.of(2), true);
+		friendInterpretation.put(Tuple.of(3, 0), false);
+		queryEngine.flushChanges();
+
+		assertResults(Map.of(
+				Tuple.of(0, 2), true,
+				Tuple.of(1, 3), true,
+				Tuple.of(2, 0), false,
+				Tuple.of(3, 1), false
+		), oneResultSet);
+		assertResults(Map.of(
+				Tuple.of(2, 0), false,
+				Tuple.of(3, 1), false
+		), twoResultSet);
+	}
+
+	@Test
+	void sharedProductionTest() {
+		var store = ModelStore.builder()
+				.symbols(person, student, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.reteProfiling(true)
+						.rewriter(new CommonSubexpressionRewriter())
+						.queries(oneQuery, twoQuery))
+				.build();
+
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		var storeAdapter = queryEngine.getStoreAdapter();
+		var sharedDnf = getSharedTarget(storeAdapter.getCanonicalQuery(oneQuery).getDnf());
+		assertThat(sharedDnf, notNullValue());
+
+		var nodesByDnf = queryEngine.getReteProfileByDnf();
+		assertThat(nodesByDnf, hasKey(sharedDnf));
+		assertThat(nodesByDnf.get(sharedDnf), not(empty()));
+	}
+
+	@Test
+	void fewerJoinNodesTest() {
+		// The factored join is built once, and each clause joins its remaining literal to the shared production.
+		// Without the rewriter, the join orders of the clauses may differ, which prevents sharing the join nodes.
+		long sharedJoinNodes = countJoinNodes(new CommonSubexpressionRewriter());
+		long joinNodes = countJoinNodes(null);
+		assertThat(sharedJoinNodes, is(3L));
+		assertThat(sharedJoinNodes, lessThanOrEqualTo(joinNodes));
+	}
+
+	@Test
+	void notFactoredByDefaultTest() {
+		var store = ModelStore.builder()
+				.symbols(person, student, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(oneQuery, twoQuery))
+				.build();
+
+		var storeAdapter = store.getAdapter(QueryInterpreterStoreAdapter.class);
+		assertThat(getSharedTarget(storeAdapter.getCanonicalQuery(oneQuery).getDnf()), nullValue());
+	}
+
+	private static long countJoinNodes(DnfRewriter rewriter) {
+		var builder = QueryInterpreterAdapter.builder()
+				.reteProfiling(true)
+				.queries(oneQuery, twoQuery);
+		if (rewriter != null) {
+			builder.rewriter(rewriter);
+		}
+		var store = ModelStore.builder()
+				.symbols(person, student, friend)
+				.with(builder)
+				.build();
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		return queryEngine.getReteProfile().getNodes().stream()
+				.filter(node -> JOIN_NODE_KIND.equals(node.getKind()))
+				.count();
+	}
+
+	private static Dnf getSharedTarget(Dnf dnf) {
+		for (var literal : dnf.getClauses().get(0).literals()) {
+			if (literal instanceof AbstractCallLiteral callLiteral && callLiteral.getTarget() instanceof Dnf target) {
+				return target;
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.resultset.ResultSetListener;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class LazyProductionTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendQuery = Query.of("Friend", (builder, p1, p2) -> builder.clause(
+			personView.call(p1),
+			personView.call(p2),
+			friendView.call(p1, p2)
+	));
+	private static final RelationalQuery personQuery = Query.of("PersonQuery", (builder, p1) -> builder.clause(
+			personView.call(p1)
+	));
+
+	@Test
+	void lazyProductionTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		queryEngine.flushChanges();
+		assertThat(queryEngine.getSelectedBackends(), is(anEmptyMap()));
+
+		var friendResultSet = queryEngine.getResultSet(friendQuery);
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 0), false
+		), friendResultSet);
+		assertThat(queryEngine.getSelectedBackends(), hasKey(friendQuery));
+		assertThat(queryEngine.getSelectedBackends(), not(hasKey(personQuery)));
+
+		friendInterpretation.put(Tuple.of(1, 0), true);
+		queryEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 0), true
+		), friendResultSet);
+	}
+
+	@Test
+	void attachWithPendingChangesTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+		var friendResultSet = queryEngine.getResultSet(friendQuery);
+		var personResultSet = queryEngine.getResultSet(personQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		queryEngine.flushChanges();
+		assertThat(friendResultSet.size(), is(1));
+		assertThat(queryEngine.getSelectedBackends(), not(hasKey(personQuery)));
+
+		personInterpretation.put(Tuple.of(2), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		// Attaching a production flushes the pending changes, so that it sees the same model as the other ones.
+		assertResults(Map.of(
+				Tuple.of(0), true,
+				Tuple.of(1), true,
+				Tuple.of(2), true
+		), personResultSet);
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 2), true
+		), friendResultSet);
+	}
+
+	@Test
+	void listenerAttachesProductionTest() {
+		var store = createStore();
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+		var personResultSet = queryEngine.getResultSet(personQuery);
+
+		var added = new ArrayList<Tuple>();
+		ResultSetListener<Boolean> listener = (key, fromValue, toValue) -> {
+			if (Boolean.TRUE.equals(toValue)) {
+				added.add(key);
+			}
+		};
+		personResultSet.addListener(listener);
+		assertThat(queryEngine.getSelectedBackends(), hasKey(personQuery));
+
+		personInterpretation.put(Tuple.of(0), true);
+		model.commit();
+		personInterpretation.put(Tuple.of(1), true);
+		queryEngine.flushChanges();
+
+		assertThat(added, containsInAnyOrder(Tuple.of(0), Tuple.of(1)));
+		assertThat(queryEngine.getSelectedBackends(), not(hasKey(friendQuery)));
+		personResultSet.removeListener(listener);
+	}
+
+	private static ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.lazyProductions(true)
+						.queries(friendQuery, personQuery))
+				.build();
+	}
+}
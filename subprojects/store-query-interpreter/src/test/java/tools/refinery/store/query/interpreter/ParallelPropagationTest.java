@@ -0,0 +1,107 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static tools.refinery.store.query.literal.Literals.not;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class ParallelPropagationTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Boolean> asset = Symbol.of("Asset", 1);
+	private static final Symbol<Boolean> owner = Symbol.of("owner", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final AnySymbolView assetView = new KeyOnlyView<>(asset);
+	private static final AnySymbolView ownerView = new KeyOnlyView<>(owner);
+	private static final RelationalQuery friendQuery = Query.of("FriendQuery", (builder, p1, p2) -> builder.clause(
+			personView.call(p1),
+			personView.call(p2),
+			friendView.call(p1, p2)
+	));
+	private static final RelationalQuery unownedQuery = Query.of("UnownedQuery", (builder, p1) -> builder.clause(
+			assetView.call(p1),
+			not(ownerView.call(Variable.of(), p1))
+	));
+
+	private ForkJoinPool pool;
+
+	@BeforeEach
+	void beforeEach() {
+		pool = new ForkJoinPool(2);
+	}
+
+	@AfterEach
+	void afterEach() {
+		pool.shutdown();
+	}
+
+	@Test
+	void independentQueriesTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend, asset, owner)
+				.with(QueryInterpreterAdapter.builder()
+						.parallelPropagation(pool)
+						.queries(friendQuery, unownedQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var assetInterpretation = model.getInterpretation(asset);
+		var ownerInterpretation = model.getInterpretation(owner);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var friendResultSet = queryEngine.getResultSet(friendQuery);
+		var unownedResultSet = queryEngine.getResultSet(unownedQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		assetInterpretation.put(Tuple.of(3), true);
+		assetInterpretation.put(Tuple.of(4), true);
+		ownerInterpretation.put(Tuple.of(0, 3), true);
+
+		queryEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 2), false
+		), friendResultSet);
+		assertResults(Map.of(
+				Tuple.of(3), false,
+				Tuple.of(4), true
+		), unownedResultSet);
+
+		personInterpretation.put(Tuple.of(2), true);
+		ownerInterpretation.put(Tuple.of(1, 4), true);
+
+		queryEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 2), true
+		), friendResultSet);
+		assertResults(Map.of(
+				Tuple.of(3), false,
+				Tuple.of(4), false
+		), unownedResultSet);
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ReplanningTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendOfFriendQuery = Query.of("FriendOfFriend",
+			(builder, p1, p3) -> builder.clause(p2 -> List.of(
+					personView.call(p1),
+					friendView.call(p1, p2),
+					friendView.call(p2, p3),
+					personView.call(p3)
+			)));
+
+	@Test
+	void growingModelTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(new QueryEvaluationHint(Map.of(
+								LocalSearchHintOptions.REPLANNING_COST_DEVIATION_FACTOR, 2.0),
+								QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH))
+						.queries(friendOfFriendQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var resultSet = queryEngine.getResultSet(friendOfFriendQuery);
+
+		for (int i = 0; i < 16; i++) {
+			assertThat(resultSet.size(), is(0));
+		}
+
+		int nodeCount = 50;
+		for (int i = 0; i < nodeCount; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+			friendInterpretation.put(Tuple.of(i, (i + 1) % nodeCount), true);
+		}
+		queryEngine.flushChanges();
+
+		for (int i = 0; i < 64; i++) {
+			assertThat(resultSet.size(), is(nodeCount));
+			assertThat(resultSet.get(Tuple.of(i % nodeCount, (i + 2) % nodeCount)), is(true));
+			assertThat(resultSet.get(Tuple.of(i % nodeCount, (i + 1) % nodeCount)), is(false));
+		}
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.interpreter.tests.QueryEngineTest;
+import tools.refinery.store.query.resultset.ResultSet;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.FunctionView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ResultSetStreamTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Integer> age = Symbol.of("age", 1, Integer.class);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final FunctionView<Integer> ageView = new FunctionView<>(age);
+
+	@QueryEngineTest
+	void parallelStreamTest(QueryEvaluationHint hint) {
+		var friendQuery = Query.of("Friend", (builder, p1, p2) -> builder.clause(
+				personView.call(p1),
+				personView.call(p2),
+				friendView.call(p1, p2)
+		));
+		var ageQuery = Query.of("Age", Integer.class, (builder, p1, output) -> builder.clause(
+				personView.call(p1),
+				ageView.call(p1, output)
+		));
+
+		var store = ModelStore.builder()
+				.symbols(person, friend, age)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(hint)
+						.queries(friendQuery, ageQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var ageInterpretation = model.getInterpretation(age);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var friendResultSet = queryEngine.getResultSet(friendQuery);
+		var ageResultSet = queryEngine.getResultSet(ageQuery);
+
+		int nodeCount = 200;
+		for (int i = 0; i < nodeCount; i++) {
+			personInterpretation.put(Tuple.of(i), true);
+			ageInterpretation.put(Tuple.of(i), i % 50);
+			friendInterpretation.put(Tuple.of(i, (i * 7) % nodeCount), true);
+			friendInterpretation.put(Tuple.of(i, (i * 13 + 1) % nodeCount), true);
+		}
+		queryEngine.flushChanges();
+
+		assertStream(friendResultSet);
+		assertStream(ageResultSet);
+	}
+
+	private static <T> void assertStream(ResultSet<T> resultSet) {
+		var expected = new HashMap<Tuple, T>();
+		var cursor = resultSet.getAll();
+		while (cursor.move()) {
+			expected.put(cursor.getKey(), cursor.getValue());
+		}
+		var actual = resultSet.stream()
+				.parallel()
+				.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+		assertThat(actual, is(expected));
+		assertThat(resultSet.stream().count(), is((long) resultSet.size()));
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.rete.profiler.NodeProfile;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ReteProfilingTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendQuery = Query.of("FriendQuery", (builder, p1, p2) -> builder.clause(
+			personView.call(p1),
+			personView.call(p2),
+			friendView.call(p1, p2)
+	));
+
+	@Test
+	void profileTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.reteProfiling(true)
+						.queries(friendQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(QueryInterpreterAdapter.class);
+		var resultSet = queryEngine.getResultSet(friendQuery);
+		queryEngine.resetReteProfile();
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		queryEngine.flushChanges();
+		assertThat(resultSet.size(), is(1));
+
+		var profile = queryEngine.getReteProfile();
+		assertThat(profile.getNodes(), not(empty()));
+		long totalInserts = profile.getNodes().stream().mapToLong(NodeProfile::getInsertsReceived).sum();
+		assertThat(totalInserts, greaterThan(0L));
+		assertThat(profile.getNodes().stream().mapToLong(NodeProfile::getDeletesReceived).sum(), is(0L));
+		assertThat(profile.getNodes().stream().anyMatch(node -> node.getMemorySize() > 0), is(true));
+
+		var canonicalDnf = queryEngine.getStoreAdapter().getCanonicalQuery(friendQuery).getDnf();
+		var nodesByDnf = queryEngine.getReteProfileByDnf();
+		assertThat(nodesByDnf, hasKey(canonicalDnf));
+		assertThat(nodesByDnf.get(canonicalDnf), not(empty()));
+
+		assertThat(profile.toJson(), startsWith("{\"nodes\":["));
+		assertThat(profile.toDot(), startsWith("digraph rete {"));
+
+		queryEngine.resetReteProfile();
+		var resetProfile = queryEngine.getReteProfile();
+		assertThat(resetProfile.getNodes().stream().mapToLong(NodeProfile::getMessagesReceived).sum(), is(0L));
+	}
+
+	@Test
+	void profilingDisabledTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(friendQuery))
+				.build();
+
+		var queryEngine = store.createEmptyModel().getAdapter(QueryInterpreterAdapter.class);
+		assertThrows(IllegalStateException.class, queryEngine::getReteProfile);
+	}
+}
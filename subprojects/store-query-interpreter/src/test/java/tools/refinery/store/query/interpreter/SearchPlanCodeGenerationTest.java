@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.localsearch.MatchingFrame;
+import tools.refinery.interpreter.localsearch.matcher.ISearchContext;
+import tools.refinery.interpreter.localsearch.matcher.integration.LocalSearchHintOptions;
+import tools.refinery.interpreter.localsearch.operations.ISearchOperation;
+import tools.refinery.interpreter.localsearch.planner.specialization.ProfileSplittingSearchPlanSpecializer;
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+import static tools.refinery.store.query.literal.Literals.not;
+
+class SearchPlanCodeGenerationTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendOfFriendQuery = Query.of("FriendOfFriend",
+			(builder, p1, p3) -> builder.clause(p2 -> List.of(
+					personView.call(p1),
+					friendView.call(p1, p2),
+					friendView.call(p2, p3),
+					personView.call(p3),
+					not(friendView.call(p1, p3))
+			)));
+
+	@Test
+	void generatedPlanTest() {
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(new QueryEvaluationHint(Map.of(LocalSearchHintOptions.SEARCH_PLAN_CODE_GENERATOR,
+								ProfileSplittingSearchPlanSpecializer.INSTANCE),
+								QueryEvaluationHint.BackendRequirement.DEFAULT_SEARCH))
+						.queries(friendOfFriendQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var resultSet = queryEngine.getResultSet(friendOfFriendQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		personInterpretation.put(Tuple.of(2), true);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		friendInterpretation.put(Tuple.of(1, 0), true);
+		friendInterpretation.put(Tuple.of(2, 3), true);
+
+		queryEngine.flushChanges();
+		assertThat(resultSet.size(), is(3));
+		assertResults(Map.of(
+				Tuple.of(0, 2), true,
+				Tuple.of(0, 0), true,
+				Tuple.of(1, 1), true,
+				Tuple.of(1, 3), false,
+				Tuple.of(2, 0), false
+		), resultSet);
+
+		friendInterpretation.put(Tuple.of(0, 2), true);
+		queryEngine.flushChanges();
+		assertThat(resultSet.size(), is(2));
+		assertResults(Map.of(
+				Tuple.of(0, 2), false,
+				Tuple.of(0, 0), true,
+				Tuple.of(1, 1), true
+		), resultSet);
+	}
+
+	@Test
+	void generatedPlanIsCachedTest() {
+		var generator = new ProfileSplittingSearchPlanSpecializer();
+		List<ISearchOperation> operations = List.of(new RangeOperation(0, 3), new RangeOperation(1, 2));
+		var compiledPlan = generator.generate(operations);
+		assertThat(generator.generate(new ArrayList<>(operations)), is(sameInstance(compiledPlan)));
+	}
+
+	@Test
+	void reentrantGeneratedPlanTest() {
+		var generator = new ProfileSplittingSearchPlanSpecializer();
+		List<ISearchOperation> operations = List.of(new RangeOperation(0, 3), new RangeOperation(1, 2));
+		var compiledPlan = generator.generate(operations);
+		var outerExecutors = createExecutors(operations);
+		var innerExecutors = createExecutors(operations);
+		var matches = new ArrayList<List<Object>>();
+		compiledPlan.forEachMatch(outerExecutors, null, new MatchingFrame(2), outerFrame -> {
+			var outerMatch = List.of(outerFrame.getValue(0), outerFrame.getValue(1));
+			compiledPlan.forEachMatch(innerExecutors, null, new MatchingFrame(2), innerFrame ->
+					matches.add(List.of(outerMatch, List.of(innerFrame.getValue(0), innerFrame.getValue(1)))));
+		});
+		assertThat(matches.size(), is(36));
+		assertThat(matches.get(0), is(List.of(List.of(0, 0), List.of(0, 0))));
+		assertThat(matches.get(7), is(List.of(List.of(0, 1), List.of(0, 1))));
+		assertThat(matches.get(35), is(List.of(List.of(2, 1), List.of(2, 1))));
+	}
+
+	private static List<ISearchOperation.ISearchOperationExecutor> createExecutors(
+			List<ISearchOperation> operations) {
+		return operations.stream().map(ISearchOperation::createExecutor).toList();
+	}
+
+	/**
+	 * Binds a frame slot to the integers from zero to {@code count - 1} in order.
+	 */
+	private static final class RangeOperation implements ISearchOperation {
+		private final int position;
+		private final int count;
+
+		RangeOperation(int position, int count) {
+			this.position = position;
+			this.count = count;
+		}
+
+		@Override
+		public ISearchOperationExecutor createExecutor() {
+			return new ISearchOperationExecutor() {
+				private int nextValue;
+
+				@Override
+				public ISearchOperation getOperation() {
+					return RangeOperation.this;
+				}
+
+				@Override
+				public void onInitialize(MatchingFrame frame, ISearchContext context) {
+					nextValue = 0;
+				}
+
+				@Override
+				public void onBacktrack(MatchingFrame frame, ISearchContext context) {
+					frame.setValue(position, null);
+				}
+
+				@Override
+				public boolean execute(MatchingFrame frame, ISearchContext context) {
+					if (nextValue >= count) {
+						return false;
+					}
+					frame.setValue(position, nextValue);
+					nextValue++;
+					return true;
+				}
+			};
+		}
+
+		@Override
+		public List<Integer> getVariablePositions() {
+			return List.of(position);
+		}
+
+		@Override
+		public String toString(Function<Integer, String> variableMapping) {
+			return "range " + variableMapping.apply(position);
+		}
+	}
+}
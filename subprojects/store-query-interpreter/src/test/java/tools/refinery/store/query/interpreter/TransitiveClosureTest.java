@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class TransitiveClosureTest {
+	private static final int NODE_COUNT = 24;
+
+	private static final Symbol<Boolean> edge = Symbol.of("edge", 2);
+	private static final AnySymbolView edgeView = new KeyOnlyView<>(edge);
+	private static final RelationalQuery transitiveQuery = Query.of("Transitive", (builder, p1, p2) -> builder
+			.clause(edgeView.callTransitive(p1, p2)));
+
+	@Test
+	void randomUpdatesTest() {
+		var store = ModelStore.builder()
+				.symbols(edge)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(transitiveQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var edgeInterpretation = model.getInterpretation(edge);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var resultSet = queryEngine.getResultSet(transitiveQuery);
+
+		var adjacency = new boolean[NODE_COUNT][NODE_COUNT];
+		var random = new Random(1);
+		for (int step = 0; step < 200; step++) {
+			// Toggle a few edges at once to exercise both insertion and deletion with re-derivation, including
+			// self-loops and cycles.
+			for (int i = 0; i < 3; i++) {
+				int source = random.nextInt(NODE_COUNT);
+				int target = random.nextInt(NODE_COUNT);
+				adjacency[source][target] = !adjacency[source][target];
+				edgeInterpretation.put(Tuple.of(source, target), adjacency[source][target]);
+			}
+			queryEngine.flushChanges();
+			assertResults(computeClosure(adjacency), resultSet);
+		}
+	}
+
+	private static HashMap<Tuple, Boolean> computeClosure(boolean[][] adjacency) {
+		var reachable = new boolean[NODE_COUNT][];
+		for (int i = 0; i < NODE_COUNT; i++) {
+			reachable[i] = adjacency[i].clone();
+		}
+		for (int k = 0; k < NODE_COUNT; k++) {
+			for (int i = 0; i < NODE_COUNT; i++) {
+				if (reachable[i][k]) {
+					for (int j = 0; j < NODE_COUNT; j++) {
+						reachable[i][j] |= reachable[k][j];
+					}
+				}
+			}
+		}
+		var expected = new HashMap<Tuple, Boolean>();
+		for (int i = 0; i < NODE_COUNT; i++) {
+			for (int j = 0; j < NODE_COUNT; j++) {
+				expected.put(Tuple.of(i, j), reachable[i][j]);
+			}
+		}
+		return expected;
+	}
+}
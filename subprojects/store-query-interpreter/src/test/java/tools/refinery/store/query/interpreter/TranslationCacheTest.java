@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter;
+
+import tools.refinery.interpreter.matchers.backend.QueryEvaluationHint;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.interpreter.tests.QueryEngineTest;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.FilteredView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.representation.TruthValue;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class TranslationCacheTest {
+	@QueryEngineTest
+	void freshSymbolsTest(QueryEvaluationHint hint) {
+		var cache = Dnf2PQueryCache.create();
+		checkFreshStore(cache, hint);
+		assertThat(cache.getHitCount(), is(0L));
+		long missCount = cache.getMissCount();
+
+		// Each store is built from newly created symbols and queries, as if they came from a new problem.
+		checkFreshStore(cache, hint);
+		assertThat(cache.getHitCount(), greaterThan(0L));
+		assertThat(cache.getMissCount(), is(missCount));
+	}
+
+	private static void checkFreshStore(Dnf2PQueryCache cache, QueryEvaluationHint hint) {
+		var person = Symbol.of("Person", 1);
+		var friend = Symbol.of("friend", 2, TruthValue.class, TruthValue.FALSE);
+		AnySymbolView personView = new KeyOnlyView<>(person);
+		// Views with predicates are never equal to the views of another store.
+		AnySymbolView friendView = new FilteredView<>(friend, "must", TruthValue::must);
+		var personQuery = Query.of("PersonQuery", (builder, p1) -> builder.clause(personView.call(p1)));
+		var friendQuery = Query.of("FriendOfPerson", (builder, p1, p2) -> builder.clause(
+				personQuery.call(p1),
+				personQuery.call(p2),
+				friendView.call(p1, p2)
+		));
+
+		var store = ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.defaultHint(hint)
+						.translationCache(cache)
+						.queries(friendQuery))
+				.build();
+
+		var model = store.createEmptyModel();
+		var personInterpretation = model.getInterpretation(person);
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var friendResultSet = queryEngine.getResultSet(friendQuery);
+
+		personInterpretation.put(Tuple.of(0), true);
+		personInterpretation.put(Tuple.of(1), true);
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(1, 0), TruthValue.UNKNOWN);
+		friendInterpretation.put(Tuple.of(1, 2), TruthValue.TRUE);
+
+		queryEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 0), false,
+				Tuple.of(1, 2), false
+		), friendResultSet);
+	}
+}
@@ -16,8 +16,10 @@ import tools.refinery.store.query.view.KeyOnlyView;
 import tools.refinery.store.representation.Symbol;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.is;
@@ -185,4 +187,69 @@ class WeaklyConnectedComponentsTest {
 		assertThat(resultSet.size(), is(2));
 		assertThat(resultSet.get(Tuple.of(2)), is(true));
 	}
+
+	@Test
+	void randomUpdateTest() {
+		var query = Query.of("SymbolViewRepresentative", (builder, p1, p2) -> builder
+				.clause(v1 -> List.of(
+						new RepresentativeElectionLiteral(Connectivity.WEAK, friendView, p1, v1),
+						new RepresentativeElectionLiteral(Connectivity.WEAK, friendView, p2, v1)
+				)));
+
+		var store = ModelStore.builder()
+				.symbols(friend)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(query))
+				.build();
+
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var queryEngine = model.getAdapter(ModelQueryAdapter.class);
+		var resultSet = queryEngine.getResultSet(query);
+
+		int nodeCount = 12;
+		var edges = new boolean[nodeCount][nodeCount];
+		var random = new Random(1);
+		for (int step = 0; step < 100; step++) {
+			for (int i = 0; i < 2; i++) {
+				int source = random.nextInt(nodeCount);
+				int target = random.nextInt(nodeCount);
+				edges[source][target] = !edges[source][target];
+				friendInterpretation.put(Tuple.of(source, target), edges[source][target]);
+			}
+			queryEngine.flushChanges();
+			assertResults(getSameComponent(edges), resultSet);
+		}
+	}
+
+	private static Map<Tuple, Boolean> getSameComponent(boolean[][] edges) {
+		int nodeCount = edges.length;
+		var components = new int[nodeCount];
+		var present = new boolean[nodeCount];
+		for (int i = 0; i < nodeCount; i++) {
+			components[i] = i;
+		}
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = 0; j < nodeCount; j++) {
+				if (edges[i][j]) {
+					present[i] = true;
+					present[j] = true;
+					int oldComponent = components[j];
+					int newComponent = components[i];
+					for (int k = 0; k < nodeCount; k++) {
+						if (components[k] == oldComponent) {
+							components[k] = newComponent;
+						}
+					}
+				}
+			}
+		}
+		var expected = new HashMap<Tuple, Boolean>();
+		for (int i = 0; i < nodeCount; i++) {
+			for (int j = 0; j < nodeCount; j++) {
+				expected.put(Tuple.of(i, j), present[i] && present[j] && components[i] == components[j]);
+			}
+		}
+		return expected;
+	}
 }
@@ -0,0 +1,138 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.planning.SubPlan;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.ModelQueryAdapter;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.dnf.RelationalQuery;
+import tools.refinery.store.query.interpreter.QueryInterpreterAdapter;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.HashSet;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.anEmptyMap;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static tools.refinery.store.query.interpreter.tests.QueryAssertions.assertResults;
+
+class QueryPlanSharingTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+	private static final RelationalQuery friendOfPerson = Query.of("FriendOfPerson", (builder, p1, p2) -> builder
+			.clause(
+					personView.call(p1),
+					friendView.call(p1, p2)
+			));
+
+	@Test
+	void secondModelReusesPlansTest() {
+		var store = createStore();
+
+		var firstModel = store.createEmptyModel();
+		var firstEngine = getAdapter(firstModel);
+		var firstResultSet = firstEngine.getResultSet(friendOfPerson);
+		var firstPlans = firstEngine.getReteEngine().getCompiler().getCachedQueryPlans();
+		assertThat(firstPlans, is(not(anEmptyMap())));
+		var plansAfterFirstModel = new HashSet<SubPlan>(firstPlans.values());
+
+		var secondModel = store.createEmptyModel();
+		var secondEngine = getAdapter(secondModel);
+		var secondResultSet = secondEngine.getResultSet(friendOfPerson);
+		var secondPlans = secondEngine.getReteEngine().getCompiler().getCachedQueryPlans();
+		assertThat(new HashSet<>(secondPlans.values()), is(plansAfterFirstModel));
+		assertSameCompiledQueries(secondEngine, firstEngine);
+
+		populate(firstModel, 0);
+		populate(secondModel, 1);
+		firstEngine.flushChanges();
+		secondEngine.flushChanges();
+
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 0), false
+		), firstResultSet);
+		assertResults(Map.of(
+				Tuple.of(0, 1), false,
+				Tuple.of(1, 0), true
+		), secondResultSet);
+	}
+
+	@Test
+	void resetKeepsSharedPlansTest() {
+		var store = createStore();
+
+		var firstModel = store.createEmptyModel();
+		var firstEngine = getAdapter(firstModel);
+		var firstResultSet = firstEngine.getResultSet(friendOfPerson);
+		var secondModel = store.createEmptyModel();
+		var secondCompiler = getAdapter(secondModel).getReteEngine().getCompiler();
+		assertThat(secondCompiler.getCachedQueryPlans(), is(not(anEmptyMap())));
+
+		secondCompiler.reset();
+
+		// Resetting a compiler only clears its own state.
+		assertThat(secondCompiler.getCachedCompiledQueries(), is(anEmptyMap()));
+		assertThat(firstEngine.getReteEngine().getCompiler().getCachedQueryPlans(), is(not(anEmptyMap())));
+		populate(firstModel, 0);
+		firstEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), true,
+				Tuple.of(1, 0), false
+		), firstResultSet);
+
+		var thirdModel = store.createEmptyModel();
+		var thirdEngine = getAdapter(thirdModel);
+		var thirdResultSet = thirdEngine.getResultSet(friendOfPerson);
+		assertSameCompiledQueries(thirdEngine, firstEngine);
+		populate(thirdModel, 1);
+		thirdEngine.flushChanges();
+		assertResults(Map.of(
+				Tuple.of(0, 1), false,
+				Tuple.of(1, 0), true
+		), thirdResultSet);
+	}
+
+	private static ModelStore createStore() {
+		return ModelStore.builder()
+				.symbols(person, friend)
+				.with(QueryInterpreterAdapter.builder()
+						.queries(friendOfPerson))
+				.build();
+	}
+
+	private static QueryInterpreterAdapterImpl getAdapter(Model model) {
+		return (QueryInterpreterAdapterImpl) model.getAdapter(ModelQueryAdapter.class);
+	}
+
+	private static void assertSameCompiledQueries(QueryInterpreterAdapterImpl engine,
+												  QueryInterpreterAdapterImpl expectedEngine) {
+		var compiledQueries = engine.getReteEngine().getCompiler().getCachedCompiledQueries();
+		var expectedCompiledQueries = expectedEngine.getReteEngine().getCompiler().getCachedCompiledQueries();
+		assertThat(compiledQueries, is(not(anEmptyMap())));
+		for (var entry : compiledQueries.entrySet()) {
+			assertThat(entry.getValue(), sameInstance(expectedCompiledQueries.get(entry.getKey())));
+		}
+	}
+
+	private static void populate(Model model, int personNode) {
+		model.getInterpretation(person).put(Tuple.of(personNode), true);
+		var friendInterpretation = model.getInterpretation(friend);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(1, 0), true);
+	}
+}
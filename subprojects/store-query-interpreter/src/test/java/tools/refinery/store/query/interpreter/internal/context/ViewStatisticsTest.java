@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.context;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.view.FilteredView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.representation.TruthValue;
+import tools.refinery.store.tuple.Tuple;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class ViewStatisticsTest {
+	private static final Symbol<TruthValue> friend = Symbol.of("friend", 2, TruthValue.class, TruthValue.FALSE);
+	private static final FilteredView<TruthValue> friendMustView = new FilteredView<>(friend, "must",
+			TruthValue::must);
+
+	@Test
+	void initialStatisticsTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(0, 2), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(1, 2), TruthValue.UNKNOWN);
+
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> {
+		});
+
+		assertThat(statistics.getCount(), is(2L));
+		assertThat(statistics.getDistinctCount(0), is(1L));
+		assertThat(statistics.getDistinctCount(1), is(2L));
+		assertThat(statistics.getDegree(0, 0), is(2));
+		assertThat(statistics.getDegree(0, 1), is(0));
+		assertThat(statistics.getDegree(1, 2), is(1));
+	}
+
+	@Test
+	void incrementalStatisticsTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> {
+		});
+
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(3, 1), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(3, 2), TruthValue.UNKNOWN);
+		assertThat(statistics.getCount(), is(2L));
+		assertThat(statistics.getDistinctCount(0), is(2L));
+		assertThat(statistics.getDistinctCount(1), is(1L));
+		assertThat(statistics.getDegree(1, 1), is(2));
+
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.UNKNOWN);
+		assertThat(statistics.getCount(), is(1L));
+		assertThat(statistics.getDistinctCount(0), is(1L));
+		assertThat(statistics.getDegree(0, 0), is(0));
+		assertThat(statistics.getDegree(1, 1), is(1));
+	}
+
+	@Test
+	void restoreTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> {
+		});
+
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.TRUE);
+		var version = model.commit();
+		friendInterpretation.put(Tuple.of(1, 2), TruthValue.TRUE);
+		friendInterpretation.put(Tuple.of(2, 0), TruthValue.TRUE);
+		model.commit();
+		assertThat(statistics.getCount(), is(3L));
+
+		model.restore(version);
+		assertThat(statistics.getCount(), is(1L));
+		assertThat(statistics.getDistinctCount(0), is(1L));
+		assertThat(statistics.getDegree(0, 2), is(0));
+	}
+
+	@Test
+	void driftTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		int[] driftCount = new int[1];
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> driftCount[0]++);
+
+		assertThat(statistics.getPlannedCount(), is(0L));
+		for (int i = 0; i < ViewStatistics.MINIMAL_DRIFT - 1; i++) {
+			friendInterpretation.put(Tuple.of(0, i), TruthValue.TRUE);
+		}
+		assertThat(driftCount[0], is(0));
+		friendInterpretation.put(Tuple.of(1, 0), TruthValue.TRUE);
+		assertThat(driftCount[0], is(1));
+		friendInterpretation.put(Tuple.of(1, 1), TruthValue.TRUE);
+		assertThat(driftCount[0], is(1));
+	}
+
+	@Test
+	void markPlannedTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		int[] driftCount = new int[1];
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> driftCount[0]++);
+
+		for (int i = 0; i < ViewStatistics.MINIMAL_DRIFT - 1; i++) {
+			friendInterpretation.put(Tuple.of(0, i), TruthValue.TRUE);
+		}
+		// Reading the statistics must not move the drift baseline.
+		assertThat(statistics.getCount(), is(ViewStatistics.MINIMAL_DRIFT - 1));
+		assertThat(statistics.getPlannedCount(), is(0L));
+
+		statistics.markPlanned();
+		assertThat(statistics.getPlannedCount(), is(ViewStatistics.MINIMAL_DRIFT - 1));
+		friendInterpretation.put(Tuple.of(1, 0), TruthValue.TRUE);
+		assertThat(driftCount[0], is(0));
+	}
+
+	@Test
+	void disposeTest() {
+		var store = ModelStore.builder().symbols(friend).build();
+		var model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		var statistics = new ViewStatistics<>(friendMustView, friendInterpretation, () -> {
+		});
+
+		friendInterpretation.put(Tuple.of(0, 1), TruthValue.TRUE);
+		statistics.dispose();
+		friendInterpretation.put(Tuple.of(0, 2), TruthValue.TRUE);
+		assertThat(statistics.getCount(), is(1L));
+	}
+}
@@ -0,0 +1,235 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.matcher;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.tuple.IntTupleEncoding;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.interpreter.matchers.util.CollectionsFactory;
+import tools.refinery.interpreter.matchers.util.FlatTupleMultiset;
+import tools.refinery.interpreter.matchers.util.FlatTupleSetMemory;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FlatTupleMemoryTest {
+	@Test
+	void addAndCountTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		assertThat(memory.addOne(node(1, 2)), is(true));
+		assertThat(memory.addOne(node(1, 2)), is(false));
+		assertThat(memory.addOne(node(2, 1)), is(true));
+		assertThat(memory.getCount(node(1, 2)), is(2));
+		assertThat(memory.getCount(node(2, 1)), is(1));
+		assertThat(memory.getCount(node(2, 2)), is(0));
+		assertThat(memory.size(), is(2));
+	}
+
+	@Test
+	void collisionChainTest() {
+		var memory = new FlatTupleMultiset(CollidingEncoding.INSTANCE);
+		for (int i = 0; i < 20; i++) {
+			memory.addOne(colliding(i, i + 1));
+		}
+		for (int i = 0; i < 20; i++) {
+			assertThat(memory.getCount(colliding(i, i + 1)), is(1));
+		}
+		assertThat(memory.getCount(colliding(20, 21)), is(0));
+		assertThat(memory.size(), is(20));
+	}
+
+	@Test
+	void deleteAndReinsertInCollisionChainTest() {
+		var memory = new FlatTupleMultiset(CollidingEncoding.INSTANCE);
+		for (int i = 0; i < 10; i++) {
+			memory.addOne(colliding(i, i));
+		}
+		for (int i = 0; i < 10; i += 3) {
+			assertThat(memory.removeOne(colliding(i, i)), is(true));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(memory.getCount(colliding(i, i)), is(i % 3 == 0 ? 0 : 1));
+		}
+		for (int i = 0; i < 10; i += 3) {
+			assertThat(memory.addOne(colliding(i, i)), is(true));
+		}
+		for (int i = 0; i < 10; i++) {
+			assertThat(memory.getCount(colliding(i, i)), is(1));
+		}
+		assertThat(memory.size(), is(10));
+	}
+
+	@Test
+	void resizeTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		int size = 1000;
+		for (int i = 0; i < size; i++) {
+			memory.addPositive(node(i, size - i, i % 7), i % 3 + 1);
+		}
+		assertThat(memory.size(), is(size));
+		Set<Tuple> distinctValues = new HashSet<>();
+		for (var tuple : memory) {
+			distinctValues.add(tuple);
+		}
+		assertThat(distinctValues, hasSize(size));
+		for (int i = 0; i < size; i++) {
+			var tuple = node(i, size - i, i % 7);
+			assertThat(distinctValues.contains(tuple), is(true));
+			assertThat(memory.getCount(tuple), is(i % 3 + 1));
+		}
+	}
+
+	@Test
+	void countsGoingToZeroTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		memory.addSigned(node(1, 2), 3);
+		memory.addOne(node(2, 3));
+		assertThat(memory.addSigned(node(1, 2), -2), is(false));
+		assertThat(memory.getCount(node(1, 2)), is(1));
+		assertThat(memory.addSigned(node(1, 2), -1), is(true));
+		assertThat(memory.containsNonZero(node(1, 2)), is(false));
+		assertThat(memory.size(), is(1));
+		assertThat(memory.removeOne(node(2, 3)), is(true));
+		assertThat(memory.isEmpty(), is(true));
+		assertThat(memory.iterator().hasNext(), is(false));
+		var missing = node(2, 3);
+		assertThrows(IllegalStateException.class, () -> memory.removeOne(missing));
+		assertThrows(IllegalStateException.class, () -> memory.addSigned(missing, -1));
+		assertThat(memory.addOne(node(2, 3)), is(true));
+		assertThat(memory.getCount(node(2, 3)), is(1));
+	}
+
+	@Test
+	void overflowTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		memory.addOne(node(1, 2));
+		var dataTuple = Tuples.flatTupleOf(tools.refinery.store.tuple.Tuple.of(1), 2);
+		var ternaryTuple = node(1, 2, 3);
+		memory.addOne(dataTuple);
+		memory.addOne(ternaryTuple);
+		assertThat(memory.size(), is(3));
+		assertThat(memory.getCount(dataTuple), is(1));
+		assertThat(memory.getCount(ternaryTuple), is(1));
+		assertThat(memory.distinctValues(), containsInAnyOrder(node(1, 2), dataTuple, ternaryTuple));
+		memory.removeOne(dataTuple);
+		assertThat(memory.size(), is(2));
+	}
+
+	@Test
+	void overflowBeforeFlatStorageTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		var dataTuple = Tuples.flatTupleOf(tools.refinery.store.tuple.Tuple.of(1), 2);
+		memory.addOne(dataTuple);
+		assertThat(memory.addOne(node(1, 2)), is(true));
+		assertThat(memory.addOne(node(1, 2)), is(false));
+		assertThat(memory.getCount(node(1, 2)), is(2));
+		assertThat(memory.size(), is(2));
+	}
+
+	@Test
+	void decodedTuplesTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		memory.addOne(node(1, 2));
+		var decoded = memory.iterator().next();
+		assertThat(decoded, is(node(1, 2)));
+		assertThat(decoded.hashCode(), is(node(1, 2).hashCode()));
+		assertThat(decoded.get(0), is(sameInstance(tools.refinery.store.tuple.Tuple.of(1))));
+	}
+
+	@Test
+	void withoutEncodingTest() {
+		var memory = CollectionsFactory.createTupleMemory(null, CollectionsFactory.MemoryType.MULTISETS);
+		assertThat(memory, not(instanceOf(FlatTupleMultiset.class)));
+		var flatMemory = CollectionsFactory.createTupleMemory(NodeTupleEncoding.INSTANCE,
+				CollectionsFactory.MemoryType.SETS);
+		assertThat(flatMemory, instanceOf(FlatTupleSetMemory.class));
+	}
+
+	@Test
+	void containedVersionTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		memory.addOne(node(1, 2));
+		var tuple = node(1, 2);
+		assertThat(memory.theContainedVersionOf(tuple), is(sameInstance(tuple)));
+		assertThat(memory.theContainedVersionOf(node(2, 1)), is(nullValue()));
+	}
+
+	@Test
+	void setMemoryTest() {
+		var memory = new FlatTupleSetMemory(NodeTupleEncoding.INSTANCE);
+		assertThat(memory.addOne(node(1, 2)), is(true));
+		assertThat(memory.addOne(node(1, 2)), is(false));
+		assertThat(memory.getCount(node(1, 2)), is(1));
+		assertThat(memory.removeOneOrNop(node(1, 2)), is(true));
+		assertThat(memory.removeOneOrNop(node(1, 2)), is(false));
+		assertThat(memory.isEmpty(), is(true));
+	}
+
+	@Test
+	void clearTest() {
+		var memory = new FlatTupleMultiset(NodeTupleEncoding.INSTANCE);
+		for (int i = 0; i < 20; i++) {
+			memory.addOne(node(i, i));
+		}
+		memory.addOne(node(1, 2, 3));
+		memory.clear();
+		assertThat(memory.isEmpty(), is(true));
+		assertThat(memory.getCount(node(1, 1)), is(0));
+		memory.addOne(node(1, 1));
+		assertThat(memory.size(), is(1));
+	}
+
+	private static Tuple node(int... values) {
+		var elements = new Object[values.length];
+		for (int i = 0; i < values.length; i++) {
+			elements[i] = tools.refinery.store.tuple.Tuple.of(values[i]);
+		}
+		return Tuples.flatTupleOf(elements);
+	}
+
+	private static Tuple colliding(int value0, int value1) {
+		return Tuples.flatTupleOf(new CollidingElement(value0), new CollidingElement(value1));
+	}
+
+	private record CollidingElement(int value) {
+		@Override
+		public int hashCode() {
+			return 0;
+		}
+	}
+
+	/**
+	 * Maps every element to the same hash code, so all tuples of the same arity share a single probe sequence.
+	 */
+	private static class CollidingEncoding implements IntTupleEncoding {
+		public static final CollidingEncoding INSTANCE = new CollidingEncoding();
+
+		@Override
+		public boolean canEncode(Object element) {
+			return element instanceof CollidingElement;
+		}
+
+		@Override
+		public int encode(Object element) {
+			return ((CollidingElement) element).value();
+		}
+
+		@Override
+		public Object decode(int value) {
+			return new CollidingElement(value);
+		}
+
+		@Override
+		public int hashCode(int value) {
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.matcher;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.interpreter.matchers.util.CollectionsFactory;
+import tools.refinery.interpreter.matchers.util.FlatTupleMultiset;
+import tools.refinery.store.model.TupleHashProvider;
+import tools.refinery.store.tuple.Tuple;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class NodeTupleEncodingTest {
+	private static final NodeTupleEncoding encoding = NodeTupleEncoding.INSTANCE;
+
+	@Test
+	void encodeNodesTest() {
+		assertThat(encoding.canEncode(Tuple.of(2)), is(true));
+		assertThat(encoding.encode(Tuple.of(2)), is(2));
+		assertThat(encoding.decode(2), sameInstance(Tuple.of(2)));
+	}
+
+	@Test
+	void hashCodeTest() {
+		assertThat(encoding.hashCode(2), is(Tuple.of(2).hashCode()));
+	}
+
+	@Test
+	void dataValueTest() {
+		assertThat(encoding.canEncode(2), is(false));
+		assertThat(encoding.canEncode(Tuple.of(1, 2)), is(false));
+	}
+
+	@Test
+	void uncachedNodeTest() {
+		assertThat(encoding.canEncode(Tuple.of(-1)), is(false));
+		assertThat(encoding.canEncode(Tuple.of(TupleHashProvider.MAX_MODEL_SIZE)), is(false));
+	}
+
+	@Test
+	void encodedMemoryTest() {
+		var memory = CollectionsFactory.createTupleMultiset(encoding);
+		assertThat(memory, instanceOf(FlatTupleMultiset.class));
+		var tuple = Tuples.wideFlatTupleOf(Tuple.of(1), Tuple.of(2), Tuple.of(3), Tuple.of(4), Tuple.of(5));
+		memory.addOne(tuple);
+		var decoded = memory.iterator().next();
+		assertThat(decoded.hashCode(), is(tuple.hashCode()));
+		assertThat(decoded, is(tuple));
+		assertThat(tuple, is(decoded));
+	}
+}
@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.pquery;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.term.NodeVariable;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.FilteredView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.representation.TruthValue;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.function.BiPredicate;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class Dnf2PQueryCacheImplTest {
+	private static final NodeVariable p = Variable.of("p");
+	private static final NodeVariable q = Variable.of("q");
+
+	private static final AnySymbolView personView = new KeyOnlyView<>(Symbol.of("Person", 1));
+	private static final Symbol<TruthValue> friend = Symbol.of("friend", 2, TruthValue.class, TruthValue.FALSE);
+	private static final BiPredicate<Tuple, TruthValue> mustPredicate = (key, value) -> value.must();
+	private static final BiPredicate<Tuple, TruthValue> mayPredicate = (key, value) -> value.may();
+	private static final AnySymbolView friendView = new KeyOnlyView<>(Symbol.of("friend", 2));
+
+	@Test
+	void structurallyEqualQueryTest() {
+		var cache = new Dnf2PQueryCacheImpl(16);
+		var firstDnf2PQuery = new Dnf2PQuery();
+		firstDnf2PQuery.setCache(cache);
+		var firstPQuery = firstDnf2PQuery.translate(createFriendOfPersonQuery(personView, friendView));
+
+		var secondDnf2PQuery = new Dnf2PQuery();
+		secondDnf2PQuery.setCache(cache);
+		var secondPQuery = secondDnf2PQuery.translate(createFriendOfPersonQuery(personView, friendView));
+
+		assertThat(secondPQuery, sameInstance(firstPQuery));
+		assertThat(secondDnf2PQuery.getSymbolViews().keySet(),
+				is(firstDnf2PQuery.getSymbolViews().keySet()));
+		assertThat(cache.getHitCount(), is(1L));
+		assertThat(cache.getMissCount(), is(2L));
+		assertThat(cache.getHitRate(), closeTo(1.0 / 3, 1e-9));
+	}
+
+	@Test
+	void otherSymbolViewsTest() {
+		var cache = new Dnf2PQueryCacheImpl(16);
+		var firstDnf2PQuery = new Dnf2PQuery();
+		firstDnf2PQuery.setCache(cache);
+		var firstPQuery = firstDnf2PQuery.translate(createFriendOfPersonQuery(personView, friendView));
+
+		// Equal, but not identical symbol views, as if the queries were created anew for another store.
+		AnySymbolView otherPersonView = new KeyOnlyView<>(Symbol.of("Person", 1));
+		AnySymbolView otherFriendView = new KeyOnlyView<>(Symbol.of("friend", 2));
+		var secondDnf2PQuery = new Dnf2PQuery();
+		secondDnf2PQuery.setCache(cache);
+		var secondPQuery = secondDnf2PQuery.translate(createFriendOfPersonQuery(otherPersonView, otherFriendView));
+
+		assertThat(secondPQuery, sameInstance(firstPQuery));
+		assertThat(cache.getHitCount(), is(1L));
+		var secondSymbolViews = secondDnf2PQuery.getSymbolViews();
+		assertThat(secondSymbolViews.keySet(), hasSize(2));
+		for (var symbolView : secondSymbolViews.keySet()) {
+			assertThat(symbolView, either(sameInstance(otherPersonView))
+					.or(sameInstance(otherFriendView)));
+		}
+		// The input keys of the cached translation are shared, but they are mapped to the views of the second store.
+		assertThat(secondSymbolViews.get(otherPersonView),
+				sameInstance(firstDnf2PQuery.getSymbolViews().get(personView)));
+	}
+
+	@Test
+	void unequalSymbolViewsTest() {
+		var cache = new Dnf2PQueryCacheImpl(16);
+		var firstDnf2PQuery = new Dnf2PQuery();
+		firstDnf2PQuery.setCache(cache);
+		AnySymbolView firstFriendView = new FilteredView<>(friend, "must", TruthValue::must);
+		var firstPQuery = firstDnf2PQuery.translate(createFriendOfPersonQuery(personView, firstFriendView));
+
+		// Views with predicates are never equal, but they can be told apart by their name, arity, and kind.
+		AnySymbolView secondFriendView = new FilteredView<>(friend, "must", TruthValue::must);
+		var secondDnf2PQuery = new Dnf2PQuery();
+		secondDnf2PQuery.setCache(cache);
+		var secondPQuery = secondDnf2PQuery.translate(createFriendOfPersonQuery(personView, secondFriendView));
+
+		assertThat(secondFriendView, not(firstFriendView));
+		assertThat(secondPQuery, sameInstance(firstPQuery));
+		assertThat(secondDnf2PQuery.getSymbolViews().keySet(), hasItem(sameInstance(secondFriendView)));
+	}
+
+	@Test
+	void ambiguousSymbolViewsTest() {
+		var cache = new Dnf2PQueryCacheImpl(16);
+		var firstDnf2PQuery = new Dnf2PQuery();
+		firstDnf2PQuery.setCache(cache);
+		var firstPQuery = firstDnf2PQuery.translate(createSameNameQuery());
+
+		var secondDnf2PQuery = new Dnf2PQuery();
+		secondDnf2PQuery.setCache(cache);
+		var secondPQuery = secondDnf2PQuery.translate(createSameNameQuery());
+
+		assertThat(secondPQuery, not(sameInstance(firstPQuery)));
+		assertThat(cache.getHitCount(), is(0L));
+	}
+
+	@Test
+	void differentQueryTest() {
+		var cache = new Dnf2PQueryCacheImpl(16);
+		var firstDnf2PQuery = new Dnf2PQuery();
+		firstDnf2PQuery.setCache(cache);
+		var firstPQuery = firstDnf2PQuery.translate(createFriendOfPersonQuery(personView, friendView));
+
+		var secondDnf2PQuery = new Dnf2PQuery();
+		secondDnf2PQuery.setCache(cache);
+		var secondPQuery = secondDnf2PQuery.translate(Dnf.builder("FriendOfPerson").parameters(p).clause(
+				friendView.call(p, q)
+		).build());
+
+		assertThat(secondPQuery, not(sameInstance(firstPQuery)));
+		assertThat(cache.getHitCount(), is(0L));
+	}
+
+	@Test
+	void evictionTest() {
+		var cache = new Dnf2PQueryCacheImpl(1);
+		var dnf2PQuery = new Dnf2PQuery();
+		dnf2PQuery.setCache(cache);
+		dnf2PQuery.translate(createFriendOfPersonQuery(personView, friendView));
+
+		assertThat(cache.size(), is(1));
+		assertThat(cache.getEvictionCount(), is(1L));
+	}
+
+	private static Dnf createSameNameQuery() {
+		// Different views with the same name can't be told apart by their name, arity, and kind.
+		var mustView = new FilteredView<>(friend, "view", mustPredicate);
+		var mayView = new FilteredView<>(friend, "view", mayPredicate);
+		return Dnf.builder("SameName").parameters(p, q).clause(
+				mustView.call(p, q),
+				mayView.call(q, p)
+		).build();
+	}
+
+	private static Dnf createFriendOfPersonQuery(AnySymbolView person, AnySymbolView friend) {
+		// Create fresh queries to simulate a new model store.
+		var personQuery = Dnf.builder("PersonQuery").parameters(p).clause(person.call(p)).build();
+		return Dnf.builder("FriendOfPerson").parameters(p).clause(
+				personQuery.call(q),
+				friend.call(p, q)
+		).build();
+	}
+}
@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.pquery;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+import tools.refinery.store.query.term.DataVariable;
+import tools.refinery.store.query.term.Term;
+import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.term.bool.BoolTerms;
+import tools.refinery.store.query.term.int_.IntTerms;
+import tools.refinery.store.query.term.real.RealTerms;
+import tools.refinery.store.query.valuation.Valuation;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class TermCompilerTest {
+	private static final DataVariable<Integer> x = Variable.of("x", Integer.class);
+	private static final DataVariable<Integer> y = Variable.of("y", Integer.class);
+	private static final DataVariable<Double> r = Variable.of("r", Double.class);
+	private static final DataVariable<Boolean> b = Variable.of("b", Boolean.class);
+
+	@ParameterizedTest
+	@MethodSource
+	void compiledTermTest(Term<?> term, Integer xValue, Integer yValue, Double rValue, Boolean bValue) {
+		var positions = Map.of(x.getUniqueName(), 0, y.getUniqueName(), 1, r.getUniqueName(), 2,
+				b.getUniqueName(), 3);
+		var tuple = Tuples.flatTupleOf(xValue, yValue, rValue, bValue);
+		var valuation = Valuation.builder()
+				.put(x, xValue)
+				.put(y, yValue)
+				.put(r, rValue)
+				.put(b, bValue)
+				.build();
+		var compiled = new TermCompiler(positions).compile(term);
+		Object result;
+		try {
+			result = compiled.evaluateExpression(tuple);
+		} catch (Exception e) {
+			throw new AssertionError("Unexpected exception", e);
+		}
+		assertThat(result, is(term.evaluate(valuation)));
+	}
+
+	static Stream<Arguments> compiledTermTest() {
+		return Stream.of(
+				Arguments.of(IntTerms.add(x, IntTerms.mul(y, IntTerms.constant(3))), 2, 5, 0.0, true),
+				Arguments.of(IntTerms.div(x, y), 7, 2, 0.0, true),
+				Arguments.of(IntTerms.div(x, y), 7, 0, 0.0, true),
+				Arguments.of(IntTerms.pow(x, y), 3, 4, 0.0, true),
+				Arguments.of(IntTerms.pow(x, y), 3, -1, 0.0, true),
+				Arguments.of(IntTerms.add(x, y), 3, null, 0.0, true),
+				Arguments.of(IntTerms.minus(IntTerms.max(x, y)), 3, 8, 0.0, true),
+				Arguments.of(IntTerms.asInt(r), 0, 0, 2.7, true),
+				Arguments.of(IntTerms.asInt(r), 0, 0, Double.NaN, true),
+				Arguments.of(RealTerms.div(r, RealTerms.asReal(x)), 4, 0, 3.0, true),
+				Arguments.of(RealTerms.pow(r, RealTerms.constant(2.0)), 0, 0, -1.5, true),
+				Arguments.of(IntTerms.less(x, y), 1, 2, 0.0, true),
+				Arguments.of(IntTerms.greaterEq(x, y), 1, 2, 0.0, true),
+				Arguments.of(RealTerms.eq(r, RealTerms.constant(Double.NaN)), 0, 0, Double.NaN, true),
+				Arguments.of(RealTerms.less(r, RealTerms.constant(0.0)), 0, 0, -0.0, true),
+				Arguments.of(BoolTerms.and(b, IntTerms.notEq(x, y)), 1, 1, 0.0, true),
+				Arguments.of(BoolTerms.or(b, IntTerms.less(x, y)), 1, 2, 0.0, null),
+				Arguments.of(BoolTerms.xor(BoolTerms.not(b), IntTerms.lessEq(x, y)), 1, 2, 0.0, false)
+		);
+	}
+}
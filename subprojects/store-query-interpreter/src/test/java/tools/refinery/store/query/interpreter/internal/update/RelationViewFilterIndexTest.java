@@ -0,0 +1,81 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.interpreter.internal.update;
+
+import org.junit.jupiter.api.Test;
+import tools.refinery.interpreter.matchers.context.IQueryRuntimeContextListener;
+import tools.refinery.interpreter.matchers.tuple.Tuple;
+import tools.refinery.interpreter.matchers.tuple.Tuples;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RelationViewFilterIndexTest {
+	@Test
+	void unseededFilterTest() {
+		var index = new RelationViewFilterIndex();
+		var updates = new ArrayList<Tuple>();
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf(null, null), collect(updates)));
+
+		index.update(Tuples.flatTupleOf("a", "b"), true);
+		index.update(Tuples.flatTupleOf("c", "d"), true);
+
+		assertThat(updates, contains(Tuples.flatTupleOf("a", "b"), Tuples.flatTupleOf("c", "d")));
+	}
+
+	@Test
+	void singleSlotSeedTest() {
+		var index = new RelationViewFilterIndex();
+		var updatesA = new ArrayList<Tuple>();
+		var updatesC = new ArrayList<Tuple>();
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf("a", null), collect(updatesA)));
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf("c", null), collect(updatesC)));
+
+		index.update(Tuples.flatTupleOf("a", "b"), true);
+		index.update(Tuples.flatTupleOf("b", "a"), true);
+
+		assertThat(updatesA, contains(Tuples.flatTupleOf("a", "b")));
+		assertThat(updatesC, is(empty()));
+	}
+
+	@Test
+	void multipleSlotSeedTest() {
+		var index = new RelationViewFilterIndex();
+		var updates = new ArrayList<Tuple>();
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf("a", null, "c"), collect(updates)));
+
+		index.update(Tuples.flatTupleOf("a", "b", "c"), true);
+		index.update(Tuples.flatTupleOf("a", "b", "d"), true);
+		index.update(Tuples.flatTupleOf("c", "b", "a"), true);
+
+		assertThat(updates, contains(Tuples.flatTupleOf("a", "b", "c")));
+	}
+
+	@Test
+	void removeFilterTest() {
+		var index = new RelationViewFilterIndex();
+		var updates = new ArrayList<Tuple>();
+		var listener = collect(updates);
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf("a", null), listener));
+		index.add(new RelationViewFilter(null, Tuples.flatTupleOf(null, null), listener));
+
+		assertThat(index.remove(new RelationViewFilter(null, Tuples.flatTupleOf("a", null), listener)), is(true));
+		assertThat(index.remove(new RelationViewFilter(null, Tuples.flatTupleOf("b", null), listener)), is(false));
+		assertThat(index.isEmpty(), is(false));
+		assertThat(index.remove(new RelationViewFilter(null, Tuples.flatTupleOf(null, null), listener)), is(true));
+		assertThat(index.isEmpty(), is(true));
+
+		index.update(Tuples.flatTupleOf("a", "b"), true);
+		assertThat(updates, is(empty()));
+	}
+
+	private static IQueryRuntimeContextListener collect(List<Tuple> updates) {
+		return (key, updateTuple, isInsertion) -> updates.add(updateTuple);
+	}
+}
@@ -8,7 +8,9 @@ package tools.refinery.store.query.dnf;
 import tools.refinery.store.query.Constraint;
 import tools.refinery.store.query.InvalidQueryException;
 import tools.refinery.store.query.equality.DnfEqualityChecker;
+import tools.refinery.store.query.equality.DnfHashCodeCalculator;
 import tools.refinery.store.query.equality.LiteralEqualityHelper;
+import tools.refinery.store.query.equality.LiteralHashCodeHelper;
 import tools.refinery.store.query.equality.SubstitutingLiteralEqualityHelper;
 import tools.refinery.store.query.equality.SubstitutingLiteralHashCodeHelper;
 import tools.refinery.store.query.literal.Reduction;
@@ -149,8 +151,17 @@ public final class Dnf implements Constraint {
 		return false;
 	}
 
+	@Override
+	public int hashCode(LiteralHashCodeHelper helper) {
+		return helper.dnfHashCode(this);
+	}
+
 	public int hashCodeWithSubstitution() {
-		var helper = new SubstitutingLiteralHashCodeHelper();
+		return hashCodeWithSubstitution(DnfHashCodeCalculator.DEFAULT);
+	}
+
+	public int hashCodeWithSubstitution(DnfHashCodeCalculator callHashCodeCalculator) {
+		var helper = new SubstitutingLiteralHashCodeHelper(callHashCodeCalculator);
 		int result = 0;
 		for (var symbolicParameter : symbolicParameters) {
 			result = result * 31 + symbolicParameter.hashCodeWithSubstitution(helper);
@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.equality;
+
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.util.CycleDetectingMapper;
+
+/**
+ * Computes hash codes of {@link Dnf} instances that are compatible with {@link DeepDnfEqualityChecker}, i.e.,
+ * called {@link Dnf} instances are hashed by their structure instead of their identity.
+ */
+public class DeepDnfHashCodeCalculator implements DnfHashCodeCalculator {
+	private final CycleDetectingMapper<Dnf, Integer> mapper = new CycleDetectingMapper<>(Dnf::name,
+			this::doCalculateHashCode);
+
+	@Override
+	public int dnfHashCode(Dnf dnf) {
+		return mapper.map(dnf);
+	}
+
+	protected int doCalculateHashCode(Dnf dnf) {
+		return dnf.hashCodeWithSubstitution(this);
+	}
+}
@@ -6,6 +6,7 @@
 package tools.refinery.store.query.equality;
 
 import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.view.AnySymbolView;
 
 import java.util.Objects;
 
@@ -14,4 +15,8 @@ public interface DnfEqualityChecker {
 	DnfEqualityChecker DEFAULT = Objects::equals;
 
 	boolean dnfEqual(Dnf left, Dnf right);
+
+	default boolean symbolViewEqual(AnySymbolView left, AnySymbolView right) {
+		return Objects.equals(left, right);
+	}
 }
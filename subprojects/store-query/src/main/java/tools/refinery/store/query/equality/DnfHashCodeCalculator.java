@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.equality;
+
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.view.AnySymbolView;
+
+import java.util.Objects;
+
+@FunctionalInterface
+public interface DnfHashCodeCalculator {
+	DnfHashCodeCalculator DEFAULT = Objects::hashCode;
+
+	int dnfHashCode(Dnf dnf);
+
+	default int symbolViewHashCode(AnySymbolView symbolView) {
+		return Objects.hashCode(symbolView);
+	}
+}
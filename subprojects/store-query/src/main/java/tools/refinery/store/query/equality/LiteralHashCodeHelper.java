@@ -5,13 +5,19 @@
  */
 package tools.refinery.store.query.equality;
 
+import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.term.Variable;
 
 import java.util.Objects;
 
 @FunctionalInterface
-public interface LiteralHashCodeHelper {
+public interface LiteralHashCodeHelper extends DnfHashCodeCalculator {
 	LiteralHashCodeHelper DEFAULT = Objects::hashCode;
 
 	int getVariableHashCode(Variable variable);
+
+	@Override
+	default int dnfHashCode(Dnf dnf) {
+		return DnfHashCodeCalculator.DEFAULT.dnfHashCode(dnf);
+	}
 }
@@ -8,6 +8,7 @@ package tools.refinery.store.query.equality;
 import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.SymbolicParameter;
 import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.AnySymbolView;
 
 import java.util.HashMap;
 import java.util.List;
@@ -40,6 +41,11 @@ public class SubstitutingLiteralEqualityHelper implements LiteralEqualityHelper
 		return dnfEqualityChecker.dnfEqual(left, right);
 	}
 
+	@Override
+	public boolean symbolViewEqual(AnySymbolView left, AnySymbolView right) {
+		return dnfEqualityChecker.symbolViewEqual(left, right);
+	}
+
 	@Override
 	public boolean variableEqual(Variable left, Variable right) {
 		if (left.tryGetType().equals(right.tryGetType()) &&
@@ -5,14 +5,17 @@
  */
 package tools.refinery.store.query.equality;
 
+import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.SymbolicParameter;
 import tools.refinery.store.query.term.Variable;
+import tools.refinery.store.query.view.AnySymbolView;
 
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
 public class SubstitutingLiteralHashCodeHelper implements LiteralHashCodeHelper {
+	private final DnfHashCodeCalculator dnfHashCodeCalculator;
 	private final Map<Variable, Integer> assignedHashCodes = new LinkedHashMap<>();
 
 	// 0 is for {@code null}, so we start with 1.
@@ -23,6 +26,16 @@ public class SubstitutingLiteralHashCodeHelper implements LiteralHashCodeHelper
 	}
 
 	public SubstitutingLiteralHashCodeHelper(List<SymbolicParameter> parameters) {
+		this(DnfHashCodeCalculator.DEFAULT, parameters);
+	}
+
+	public SubstitutingLiteralHashCodeHelper(DnfHashCodeCalculator dnfHashCodeCalculator) {
+		this(dnfHashCodeCalculator, List.of());
+	}
+
+	public SubstitutingLiteralHashCodeHelper(DnfHashCodeCalculator dnfHashCodeCalculator,
+											 List<SymbolicParameter> parameters) {
+		this.dnfHashCodeCalculator = dnfHashCodeCalculator;
 		for (var parameter : parameters) {
 			getVariableHashCode(parameter.getVariable());
 		}
@@ -39,4 +52,14 @@ public class SubstitutingLiteralHashCodeHelper implements LiteralHashCodeHelper
 			return variable.hashCodeWithSubstitution(sequenceNumber);
 		});
 	}
+
+	@Override
+	public int dnfHashCode(Dnf dnf) {
+		return dnfHashCodeCalculator.dnfHashCode(dnf);
+	}
+
+	@Override
+	public int symbolViewHashCode(AnySymbolView symbolView) {
+		return dnfHashCodeCalculator.symbolViewHashCode(symbolView);
+	}
 }
@@ -126,7 +126,7 @@ public abstract class AbstractCallLiteral extends AbstractLiteral {
 
 	@Override
 	public int hashCodeWithSubstitution(LiteralHashCodeHelper helper) {
-		int result = super.hashCodeWithSubstitution(helper) * 31 + target.hashCode();
+		int result = super.hashCodeWithSubstitution(helper) * 31 + target.hashCode(helper);
 		for (var argument : arguments) {
 			result = result * 31 + helper.getVariableHashCode(argument);
 		}
@@ -11,6 +11,9 @@ import tools.refinery.store.query.ModelQueryAdapter;
 import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Map;
+import java.util.stream.Stream;
+
 public record EmptyResultSet<T>(ModelQueryAdapter adapter, Query<T> query) implements ResultSet<T> {
 	@Override
 	public ModelQueryAdapter getAdapter() {
@@ -32,6 +35,11 @@ public record EmptyResultSet<T>(ModelQueryAdapter adapter, Query<T> query) imple
 		return Cursors.empty();
 	}
 
+	@Override
+	public Stream<Map.Entry<Tuple, T>> stream() {
+		return Stream.empty();
+	}
+
 	@Override
 	public int size() {
 		return 0;
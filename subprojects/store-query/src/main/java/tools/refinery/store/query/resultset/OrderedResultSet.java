@@ -11,7 +11,9 @@ import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.query.utils.OrderStatisticTree;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Stream;
 
 public class OrderedResultSet<T> implements AutoCloseable, ResultSet<T> {
 	private final ResultSet<T> resultSet;
@@ -63,6 +65,11 @@ public class OrderedResultSet<T> implements AutoCloseable, ResultSet<T> {
 		return resultSet.getAll();
 	}
 
+	@Override
+	public Stream<Map.Entry<Tuple, T>> stream() {
+		return resultSet.stream();
+	}
+
 	@Override
 	public void addListener(ResultSetListener<T> listener) {
 		resultSet.addListener(listener);
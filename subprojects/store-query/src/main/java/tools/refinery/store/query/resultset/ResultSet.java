@@ -6,9 +6,16 @@
 package tools.refinery.store.query.resultset;
 
 import tools.refinery.store.map.Cursor;
+import tools.refinery.store.map.CursorAsIterator;
 import tools.refinery.store.query.dnf.Query;
 import tools.refinery.store.tuple.Tuple;
 
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 public non-sealed interface ResultSet<T> extends AnyResultSet {
 	Query<T> getCanonicalQuery();
 
@@ -16,6 +23,22 @@ public non-sealed interface ResultSet<T> extends AnyResultSet {
 
 	Cursor<Tuple, T> getAll();
 
+	/**
+	 * Gets the entries of this result set with non-default values as a stream, which may be processed in parallel.
+	 * <p>
+	 * Result sets backed by Rete production memories split the memory itself, while other result sets split the
+	 * entries of {@link #getAll()} into batches. The stream reflects a consistent snapshot of the result set only if
+	 * the model is neither modified nor its changes are flushed until the stream is consumed. Otherwise, the stream
+	 * may throw a {@link java.util.ConcurrentModificationException} or return a mixture of old and new entries.
+	 *
+	 * @return The stream of entries.
+	 */
+	default Stream<Map.Entry<Tuple, T>> stream() {
+		var iterator = new CursorAsIterator<>(getAll(), Map::entry);
+		var spliterator = Spliterators.spliterator(iterator, size(), Spliterator.DISTINCT | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false);
+	}
+
 	void addListener(ResultSetListener<T> listener);
 
 	void removeListener(ResultSetListener<T> listener);
@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.rewriter;
+
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.equality.DnfEqualityChecker;
+
+/**
+ * Wraps a {@link Dnf} to compare it with other {@link Dnf} up to the renaming of variables.
+ */
+class CanonicalDnf {
+	private final Dnf dnf;
+	private final int hash;
+
+	public CanonicalDnf(Dnf dnf) {
+		this.dnf = dnf;
+		hash = dnf.hashCodeWithSubstitution();
+	}
+
+	public Dnf getDnf() {
+		return dnf;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (obj == null || getClass() != obj.getClass()) {
+			return false;
+		}
+		var otherCanonicalDnf = (CanonicalDnf) obj;
+		return dnf.equalsWithSubstitution(DnfEqualityChecker.DEFAULT, otherCanonicalDnf.dnf);
+	}
+
+	@Override
+	public int hashCode() {
+		return hash;
+	}
+
+	@Override
+	public String toString() {
+		return dnf.name();
+	}
+}
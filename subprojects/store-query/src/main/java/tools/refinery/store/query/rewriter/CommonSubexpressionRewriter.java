@@ -0,0 +1,211 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.rewriter;
+
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.dnf.DnfClause;
+import tools.refinery.store.query.literal.AbstractCallLiteral;
+import tools.refinery.store.query.literal.CallLiteral;
+import tools.refinery.store.query.literal.CallPolarity;
+import tools.refinery.store.query.literal.Literal;
+import tools.refinery.store.query.literal.Reduction;
+import tools.refinery.store.query.term.ParameterDirection;
+import tools.refinery.store.query.term.Variable;
+
+import java.util.*;
+
+/**
+ * Factors joins that appear in multiple clauses into auxiliary {@link Dnf} that are called instead.
+ * <p>
+ * Pairs of positive calls without input parameters that share a variable are replaced with a call to an auxiliary
+ * {@link Dnf} if they appear in at least two clauses of a {@link Dnf} (up to the renaming of variables), or if an
+ * equivalent auxiliary {@link Dnf} was already created for another {@link Dnf} rewritten by this rewriter. Calls to
+ * auxiliary {@link Dnf} may be factored again, which builds up larger common subexpressions one literal at a time.
+ * <p>
+ * Query engines that build a single production for each called {@link Dnf} will compute each factored join only
+ * once, even if the join orders chosen for the individual clauses would differ. However, each auxiliary {@link Dnf}
+ * also needs nodes of its own, so a network with fewer join nodes may still have more nodes in total. Therefore, this
+ * rewriter is never applied by default, and has to be added explicitly with
+ * {@link tools.refinery.store.query.ModelQueryBuilder#rewriter(DnfRewriter)}.
+ */
+public class CommonSubexpressionRewriter extends AbstractRecursiveRewriter {
+	private final Map<CanonicalDnf, Dnf> sharedDnfs = new HashMap<>();
+
+	@Override
+	protected Dnf doRewrite(Dnf dnf) {
+		var clauses = new ArrayList<List<Literal>>(dnf.getClauses().size());
+		for (var clause : dnf.getClauses()) {
+			clauses.add(rewriteCalls(clause));
+		}
+		boolean changed = true;
+		while (changed) {
+			changed = factorMostCommonPair(dnf.name(), clauses);
+		}
+		var builder = Dnf.builderFrom(dnf);
+		for (var literals : clauses) {
+			builder.clause(literals);
+		}
+		return builder.build();
+	}
+
+	private List<Literal> rewriteCalls(DnfClause clause) {
+		var originalLiterals = clause.literals();
+		var literals = new ArrayList<Literal>(originalLiterals.size());
+		for (var literal : originalLiterals) {
+			var rewrittenLiteral = literal;
+			if (literal instanceof AbstractCallLiteral abstractCallLiteral &&
+					abstractCallLiteral.getTarget() instanceof Dnf targetDnf) {
+				var rewrittenTarget = rewrite(targetDnf);
+				rewrittenLiteral = abstractCallLiteral.withTarget(rewrittenTarget);
+			}
+			literals.add(rewrittenLiteral);
+		}
+		return literals;
+	}
+
+	private boolean factorMostCommonPair(String dnfName, List<List<Literal>> clauses) {
+		var occurrences = new LinkedHashMap<CanonicalDnf, Set<Integer>>();
+		int clauseCount = clauses.size();
+		for (int i = 0; i < clauseCount; i++) {
+			var literals = clauses.get(i);
+			int literalCount = literals.size();
+			for (int j = 0; j < literalCount; j++) {
+				for (int k = j + 1; k < literalCount; k++) {
+					var subexpression = Subexpression.of(literals.get(j), literals.get(k));
+					if (subexpression != null) {
+						occurrences.computeIfAbsent(subexpression.key(), ignored -> new HashSet<>()).add(i);
+					}
+				}
+			}
+		}
+		CanonicalDnf mostCommonKey = null;
+		int mostCommonCount = 0;
+		for (var entry : occurrences.entrySet()) {
+			var key = entry.getKey();
+			int count = entry.getValue().size();
+			if ((count >= 2 || sharedDnfs.containsKey(key)) && count > mostCommonCount) {
+				mostCommonKey = key;
+				mostCommonCount = count;
+			}
+		}
+		if (mostCommonKey == null) {
+			return false;
+		}
+		for (int clauseIndex : occurrences.get(mostCommonKey)) {
+			clauses.set(clauseIndex, factorPair(dnfName, clauses.get(clauseIndex), mostCommonKey));
+		}
+		return true;
+	}
+
+	private List<Literal> factorPair(String dnfName, List<Literal> literals, CanonicalDnf key) {
+		int literalCount = literals.size();
+		var replacements = new HashMap<Integer, Literal>();
+		var removed = new HashSet<Integer>();
+		for (int i = 0; i < literalCount; i++) {
+			for (int j = i + 1; j < literalCount; j++) {
+				if (replacements.containsKey(i) || removed.contains(i) || replacements.containsKey(j) ||
+						removed.contains(j)) {
+					continue;
+				}
+				var subexpression = Subexpression.of(literals.get(i), literals.get(j));
+				if (subexpression == null || !subexpression.key().equals(key)) {
+					continue;
+				}
+				var sharedDnf = sharedDnfs.computeIfAbsent(key, ignored -> subexpression.toDnf(
+						"%s#shared%d".formatted(dnfName, sharedDnfs.size())));
+				replacements.put(i, new CallLiteral(CallPolarity.POSITIVE, sharedDnf, subexpression.arguments()));
+				removed.add(j);
+			}
+		}
+		var factoredLiterals = new ArrayList<Literal>(literalCount - removed.size());
+		for (int i = 0; i < literalCount; i++) {
+			if (!removed.contains(i)) {
+				factoredLiterals.add(replacements.getOrDefault(i, literals.get(i)));
+			}
+		}
+		return factoredLiterals;
+	}
+
+	private record Subexpression(CanonicalDnf key, List<Variable> arguments, List<Literal> literals) {
+		public static Subexpression of(Literal left, Literal right) {
+			if (!(left instanceof CallLiteral leftCall) || !(right instanceof CallLiteral rightCall) ||
+					!isFactorable(leftCall) || !isFactorable(rightCall) ||
+					Collections.disjoint(leftCall.getArguments(), rightCall.getArguments())) {
+				return null;
+			}
+			var forward = create(leftCall, rightCall);
+			var backward = create(rightCall, leftCall);
+			if (forward == null || backward == null) {
+				return null;
+			}
+			// Both orders of the literals describe the same join, so we pick the one with the smaller canonical form to
+			// get the same key regardless of the order of the literals in the clause.
+			return forward.compareCanonicalForm(backward) <= 0 ? forward : backward;
+		}
+
+		/**
+		 * Compares the literals of two subexpressions up to the renaming of variables.
+		 * <p>
+		 * Variables are compared by their position in {@link #arguments()}, which lists them in the order of their
+		 * first appearance. Targets are compared by name, so two distinct targets with the same name may compare
+		 * equal. In that case, we might miss factoring the join, but never factor different joins together.
+		 */
+		private int compareCanonicalForm(Subexpression other) {
+			int literalCount = literals.size();
+			for (int i = 0; i < literalCount; i++) {
+				var call = (CallLiteral) literals.get(i);
+				var otherCall = (CallLiteral) other.literals.get(i);
+				int comparison = call.getTarget().name().compareTo(otherCall.getTarget().name());
+				if (comparison != 0) {
+					return comparison;
+				}
+				var callArguments = call.getArguments();
+				var otherCallArguments = otherCall.getArguments();
+				comparison = Integer.compare(callArguments.size(), otherCallArguments.size());
+				if (comparison != 0) {
+					return comparison;
+				}
+				int argumentCount = callArguments.size();
+				for (int j = 0; j < argumentCount; j++) {
+					comparison = Integer.compare(arguments.indexOf(callArguments.get(j)),
+							other.arguments.indexOf(otherCallArguments.get(j)));
+					if (comparison != 0) {
+						return comparison;
+					}
+				}
+			}
+			return 0;
+		}
+
+		private static boolean isFactorable(CallLiteral callLiteral) {
+			if (callLiteral.getPolarity() != CallPolarity.POSITIVE) {
+				return false;
+			}
+			for (var parameter : callLiteral.getTarget().getParameters()) {
+				if (parameter.getDirection() != ParameterDirection.OUT) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static Subexpression create(CallLiteral first, CallLiteral second) {
+			var argumentSet = new LinkedHashSet<Variable>(first.getArguments());
+			argumentSet.addAll(second.getArguments());
+			var arguments = List.copyOf(argumentSet);
+			var literals = List.<Literal>of(first, second);
+			var dnf = Dnf.builder().parameters(arguments, ParameterDirection.OUT).clause(literals).build();
+			if (dnf.getReduction() != Reduction.NOT_REDUCIBLE) {
+				return null;
+			}
+			return new Subexpression(new CanonicalDnf(dnf), arguments, literals);
+		}
+
+		public Dnf toDnf(String name) {
+			return Dnf.builder(name).parameters(arguments, ParameterDirection.OUT).clause(literals).build();
+		}
+	}
+}
@@ -8,7 +8,6 @@ package tools.refinery.store.query.rewriter;
 import tools.refinery.store.query.dnf.Dnf;
 import tools.refinery.store.query.dnf.DnfClause;
 import tools.refinery.store.query.dnf.Query;
-import tools.refinery.store.query.equality.DnfEqualityChecker;
 import tools.refinery.store.query.literal.AbstractCallLiteral;
 import tools.refinery.store.query.literal.Literal;
 
@@ -59,40 +58,4 @@ public class DuplicateDnfRemover extends AbstractRecursiveRewriter {
 		var rewrittenQuery = (Query<T>) queryCache.computeIfAbsent(rewrittenDnf, query::withDnf);
 		return rewrittenQuery;
 	}
-
-	private static class CanonicalDnf {
-		private final Dnf dnf;
-		private final int hash;
-
-		public CanonicalDnf(Dnf dnf) {
-			this.dnf = dnf;
-			hash = dnf.hashCodeWithSubstitution();
-		}
-
-		public Dnf getDnf() {
-			return dnf;
-		}
-
-		@Override
-		public boolean equals(Object obj) {
-			if (this == obj) {
-				return true;
-			}
-			if (obj == null || getClass() != obj.getClass()) {
-				return false;
-			}
-			var otherCanonicalDnf = (CanonicalDnf) obj;
-			return dnf.equalsWithSubstitution(DnfEqualityChecker.DEFAULT, otherCanonicalDnf.dnf);
-		}
-
-		@Override
-		public int hashCode() {
-			return hash;
-		}
-
-		@Override
-		public String toString() {
-			return dnf.name();
-		}
-	}
 }
@@ -0,0 +1,308 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.term;
+
+import java.util.Arrays;
+
+/**
+ * A sorted multiset of primitive keys stored as an AVL tree in parallel arrays.
+ * <p>
+ * Subclasses store the keys in a primitive array and compare them to a pending key, which has to be set before calling
+ * {@link #addPendingKey()}, {@link #removePendingKey()}, or {@link #findPendingKey()}. Every distinct key is stored
+ * in a single node along with its multiplicity, so updates take logarithmic time in the number of distinct keys.
+ * <p>
+ * Nodes always occupy the slots {@code 0} to {@code size() - 1}: when a node is removed, the node in the last slot is
+ * moved into its place. Therefore, the arrays can be trimmed by copying, and they are shrunk when they become at most
+ * a quarter full.
+ */
+public abstract class AbstractPrimitiveSortedMultiset {
+	protected static final int NONE = -1;
+
+	private static final int[] EMPTY_INTS = new int[0];
+	private static final byte[] EMPTY_BYTES = new byte[0];
+	private static final int INITIAL_CAPACITY = 4;
+
+	private int[] left;
+	private int[] right;
+	private int[] counts;
+	private byte[] heights;
+	private int size;
+	private int root = NONE;
+	private int maximum = NONE;
+	private int removedNode;
+	private boolean missing;
+
+	protected AbstractPrimitiveSortedMultiset() {
+		left = EMPTY_INTS;
+		right = EMPTY_INTS;
+		counts = EMPTY_INTS;
+		heights = EMPTY_BYTES;
+	}
+
+	protected AbstractPrimitiveSortedMultiset(AbstractPrimitiveSortedMultiset other) {
+		size = other.size;
+		left = Arrays.copyOf(other.left, size);
+		right = Arrays.copyOf(other.right, size);
+		counts = Arrays.copyOf(other.counts, size);
+		heights = Arrays.copyOf(other.heights, size);
+		root = other.root;
+		maximum = other.maximum;
+	}
+
+	/**
+	 * Compares the pending key to the key stored in a node.
+	 */
+	protected abstract int compareToPendingKey(int node);
+
+	/**
+	 * Compares the keys stored in two nodes.
+	 */
+	protected abstract int compareNodes(int node, int otherNode);
+
+	protected abstract void storePendingKey(int node);
+
+	protected abstract void moveKey(int fromNode, int toNode);
+
+	protected abstract void resizeKeys(int capacity);
+
+	/**
+	 * Returns the number of distinct keys.
+	 */
+	protected int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the node with the largest key, or {@link #NONE} if the multiset is empty.
+	 */
+	protected int getMaximumNode() {
+		return maximum;
+	}
+
+	protected int findPendingKey() {
+		int node = root;
+		while (node != NONE) {
+			int comparison = compareToPendingKey(node);
+			if (comparison == 0) {
+				return node;
+			}
+			node = comparison < 0 ? left[node] : right[node];
+		}
+		return NONE;
+	}
+
+	protected void addPendingKey() {
+		if (maximum != NONE) {
+			int comparison = compareToPendingKey(maximum);
+			if (comparison == 0) {
+				// Adding the current extremum is the most common update, so we avoid searching the tree for it.
+				counts[maximum]++;
+				return;
+			}
+		}
+		// Make sure that the arrays are not reallocated while inserting recursively.
+		if (size == counts.length) {
+			resize(Math.max(INITIAL_CAPACITY, size * 2));
+		}
+		int sizeBefore = size;
+		root = insert(root);
+		if (size > sizeBefore && (maximum == NONE || compareNodes(sizeBefore, maximum) > 0)) {
+			maximum = sizeBefore;
+		}
+	}
+
+	/**
+	 * Removes one occurrence of the pending key.
+	 *
+	 * @return {@code false} if the pending key was not present.
+	 */
+	protected boolean removePendingKey() {
+		removedNode = NONE;
+		missing = false;
+		root = remove(root);
+		if (missing) {
+			return false;
+		}
+		if (removedNode == NONE) {
+			return true;
+		}
+		int lastNode = size - 1;
+		if (removedNode != lastNode) {
+			moveNode(lastNode, removedNode);
+		}
+		size--;
+		if (maximum == removedNode || maximum == lastNode) {
+			maximum = findMaximum();
+		}
+		int capacity = counts.length;
+		if (capacity > INITIAL_CAPACITY && size <= capacity / 4) {
+			resize(Math.max(INITIAL_CAPACITY, capacity / 2));
+		}
+		return true;
+	}
+
+	private int insert(int node) {
+		if (node == NONE) {
+			int newNode = size;
+			size++;
+			storePendingKey(newNode);
+			counts[newNode] = 1;
+			left[newNode] = NONE;
+			right[newNode] = NONE;
+			heights[newNode] = 1;
+			return newNode;
+		}
+		int comparison = compareToPendingKey(node);
+		if (comparison == 0) {
+			counts[node]++;
+			return node;
+		}
+		if (comparison < 0) {
+			left[node] = insert(left[node]);
+		} else {
+			right[node] = insert(right[node]);
+		}
+		return balance(node);
+	}
+
+	private int remove(int node) {
+		if (node == NONE) {
+			missing = true;
+			return NONE;
+		}
+		int comparison = compareToPendingKey(node);
+		if (comparison < 0) {
+			left[node] = remove(left[node]);
+		} else if (comparison > 0) {
+			right[node] = remove(right[node]);
+		} else {
+			counts[node]--;
+			if (counts[node] > 0) {
+				return node;
+			}
+			removedNode = node;
+			int leftChild = left[node];
+			int rightChild = right[node];
+			if (leftChild == NONE) {
+				return rightChild;
+			}
+			if (rightChild == NONE) {
+				return leftChild;
+			}
+			int successor = rightChild;
+			while (left[successor] != NONE) {
+				successor = left[successor];
+			}
+			right[successor] = removeMinimum(rightChild);
+			left[successor] = leftChild;
+			return balance(successor);
+		}
+		return balance(node);
+	}
+
+	private int removeMinimum(int node) {
+		int leftChild = left[node];
+		if (leftChild == NONE) {
+			return right[node];
+		}
+		left[node] = removeMinimum(leftChild);
+		return balance(node);
+	}
+
+	/**
+	 * Moves a node into an unused slot and updates the reference from its parent.
+	 */
+	private void moveNode(int fromNode, int toNode) {
+		if (root == fromNode) {
+			root = toNode;
+		} else {
+			int parent = root;
+			while (true) {
+				if (compareNodes(fromNode, parent) < 0) {
+					if (left[parent] == fromNode) {
+						left[parent] = toNode;
+						break;
+					}
+					parent = left[parent];
+				} else {
+					if (right[parent] == fromNode) {
+						right[parent] = toNode;
+						break;
+					}
+					parent = right[parent];
+				}
+			}
+		}
+		moveKey(fromNode, toNode);
+		left[toNode] = left[fromNode];
+		right[toNode] = right[fromNode];
+		counts[toNode] = counts[fromNode];
+		heights[toNode] = heights[fromNode];
+	}
+
+	private int findMaximum() {
+		int node = root;
+		if (node == NONE) {
+			return NONE;
+		}
+		while (right[node] != NONE) {
+			node = right[node];
+		}
+		return node;
+	}
+
+	private void resize(int capacity) {
+		left = Arrays.copyOf(left, capacity);
+		right = Arrays.copyOf(right, capacity);
+		counts = Arrays.copyOf(counts, capacity);
+		heights = Arrays.copyOf(heights, capacity);
+		resizeKeys(capacity);
+	}
+
+	private int height(int node) {
+		return node == NONE ? 0 : heights[node];
+	}
+
+	private void updateHeight(int node) {
+		heights[node] = (byte) (Math.max(height(left[node]), height(right[node])) + 1);
+	}
+
+	private int balance(int node) {
+		updateHeight(node);
+		int balanceFactor = height(left[node]) - height(right[node]);
+		if (balanceFactor > 1) {
+			if (height(left[left[node]]) < height(right[left[node]])) {
+				left[node] = rotateLeft(left[node]);
+			}
+			return rotateRight(node);
+		}
+		if (balanceFactor < -1) {
+			if (height(right[right[node]]) < height(left[right[node]])) {
+				right[node] = rotateRight(right[node]);
+			}
+			return rotateLeft(node);
+		}
+		return node;
+	}
+
+	private int rotateLeft(int node) {
+		int newRoot = right[node];
+		right[node] = left[newRoot];
+		left[newRoot] = node;
+		updateHeight(node);
+		updateHeight(newRoot);
+		return newRoot;
+	}
+
+	private int rotateRight(int node) {
+		int newRoot = left[node];
+		left[node] = right[newRoot];
+		right[newRoot] = node;
+		updateHeight(node);
+		updateHeight(newRoot);
+		return newRoot;
+	}
+}
@@ -0,0 +1,132 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.term.int_;
+
+import tools.refinery.store.query.term.AbstractPrimitiveSortedMultiset;
+import tools.refinery.store.query.term.StatefulAggregate;
+import tools.refinery.store.query.term.StatefulAggregator;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintains the minimum or maximum of a multiset of integers.
+ * <p>
+ * Each aggregate is an {@link AbstractPrimitiveSortedMultiset} of the values ordered so that the extremal value is the
+ * largest. Updates take logarithmic time in the number of distinct values, and adding the current extremum takes
+ * constant time. Copying an aggregate only copies the primitive arrays of the tree, which are shrunk as values are
+ * removed.
+ */
+public final class IntExtremeValueAggregator implements StatefulAggregator<Integer, Integer> {
+	public static final IntExtremeValueAggregator MINIMUM = new IntExtremeValueAggregator(true);
+	public static final IntExtremeValueAggregator MAXIMUM = new IntExtremeValueAggregator(false);
+
+	private static final int[] EMPTY_ARRAY = new int[0];
+
+	private final boolean minimum;
+
+	private IntExtremeValueAggregator(boolean minimum) {
+		this.minimum = minimum;
+	}
+
+	@Override
+	public Class<Integer> getResultType() {
+		return Integer.class;
+	}
+
+	@Override
+	public Class<Integer> getInputType() {
+		return Integer.class;
+	}
+
+	@Override
+	public StatefulAggregate<Integer, Integer> createEmptyAggregate() {
+		return new Aggregate();
+	}
+
+	@Override
+	public Integer getEmptyResult() {
+		return minimum ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+	}
+
+	private int compare(int left, int right) {
+		return minimum ? Integer.compare(right, left) : Integer.compare(left, right);
+	}
+
+	private class Aggregate extends AbstractPrimitiveSortedMultiset implements StatefulAggregate<Integer, Integer> {
+		private int[] values;
+		private int pendingValue;
+
+		public Aggregate() {
+			values = EMPTY_ARRAY;
+		}
+
+		private Aggregate(Aggregate other) {
+			super(other);
+			values = Arrays.copyOf(other.values, other.size());
+		}
+
+		@Override
+		public void add(Integer value) {
+			pendingValue = value;
+			addPendingKey();
+		}
+
+		@Override
+		public void remove(Integer value) {
+			pendingValue = value;
+			if (!removePendingKey()) {
+				throw new IllegalStateException("Invalid count 0 for value %d".formatted(value));
+			}
+		}
+
+		@Override
+		public Integer getResult() {
+			int node = getMaximumNode();
+			return node == NONE ? getEmptyResult() : values[node];
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public StatefulAggregate<Integer, Integer> deepCopy() {
+			return new Aggregate(this);
+		}
+
+		@Override
+		public boolean contains(Integer value) {
+			pendingValue = value;
+			return findPendingKey() != NONE;
+		}
+
+		@Override
+		protected int compareToPendingKey(int node) {
+			return compare(pendingValue, values[node]);
+		}
+
+		@Override
+		protected int compareNodes(int node, int otherNode) {
+			return compare(values[node], values[otherNode]);
+		}
+
+		@Override
+		protected void storePendingKey(int node) {
+			values[node] = pendingValue;
+		}
+
+		@Override
+		protected void moveKey(int fromNode, int toNode) {
+			values[toNode] = values[fromNode];
+		}
+
+		@Override
+		protected void resizeKeys(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+	}
+}
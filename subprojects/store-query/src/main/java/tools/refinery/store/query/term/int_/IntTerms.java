@@ -7,18 +7,13 @@ package tools.refinery.store.query.term.int_;
 
 import tools.refinery.store.query.term.Aggregator;
 import tools.refinery.store.query.term.ConstantTerm;
-import tools.refinery.store.query.term.ExtremeValueAggregator;
 import tools.refinery.store.query.term.Term;
 import tools.refinery.store.query.term.comparable.*;
 
-import java.util.Comparator;
-
 public final class IntTerms {
 	public static final Aggregator<Integer, Integer> INT_SUM = IntSumAggregator.INSTANCE;
-	public static final Aggregator<Integer, Integer> INT_MIN = new ExtremeValueAggregator<>(Integer.class,
-			Integer.MAX_VALUE);
-	public static final Aggregator<Integer, Integer> INT_MAX = new ExtremeValueAggregator<>(Integer.class,
-			Integer.MIN_VALUE, Comparator.reverseOrder());
+	public static final Aggregator<Integer, Integer> INT_MIN = IntExtremeValueAggregator.MINIMUM;
+	public static final Aggregator<Integer, Integer> INT_MAX = IntExtremeValueAggregator.MAXIMUM;
 
 	private IntTerms() {
 		throw new IllegalArgumentException("This is a static utility class and should not be instantiated directly");
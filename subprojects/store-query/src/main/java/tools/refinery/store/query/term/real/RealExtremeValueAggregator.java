@@ -0,0 +1,135 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.term.real;
+
+import tools.refinery.store.query.term.AbstractPrimitiveSortedMultiset;
+import tools.refinery.store.query.term.StatefulAggregate;
+import tools.refinery.store.query.term.StatefulAggregator;
+
+import java.util.Arrays;
+
+/**
+ * Incrementally maintains the minimum or maximum of a multiset of real numbers.
+ * <p>
+ * Each aggregate is an {@link AbstractPrimitiveSortedMultiset} of the values ordered so that the extremal value is the
+ * largest. Updates take logarithmic time in the number of distinct values, and adding the current extremum takes
+ * constant time. Copying an aggregate only copies the primitive arrays of the tree, which are shrunk as values are
+ * removed.
+ * <p>
+ * Values are ordered by {@link Double#compare(double, double)}, which agrees with the natural ordering of
+ * {@link Double} even for {@code NaN} and signed zeros.
+ */
+public final class RealExtremeValueAggregator implements StatefulAggregator<Double, Double> {
+	public static final RealExtremeValueAggregator MINIMUM = new RealExtremeValueAggregator(true);
+	public static final RealExtremeValueAggregator MAXIMUM = new RealExtremeValueAggregator(false);
+
+	private static final double[] EMPTY_VALUES = new double[0];
+
+	private final boolean minimum;
+
+	private RealExtremeValueAggregator(boolean minimum) {
+		this.minimum = minimum;
+	}
+
+	@Override
+	public Class<Double> getResultType() {
+		return Double.class;
+	}
+
+	@Override
+	public Class<Double> getInputType() {
+		return Double.class;
+	}
+
+	@Override
+	public StatefulAggregate<Double, Double> createEmptyAggregate() {
+		return new Aggregate();
+	}
+
+	@Override
+	public Double getEmptyResult() {
+		return minimum ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+	}
+
+	private int compare(double left, double right) {
+		return minimum ? Double.compare(right, left) : Double.compare(left, right);
+	}
+
+	private class Aggregate extends AbstractPrimitiveSortedMultiset implements StatefulAggregate<Double, Double> {
+		private double[] values;
+		private double pendingValue;
+
+		public Aggregate() {
+			values = EMPTY_VALUES;
+		}
+
+		private Aggregate(Aggregate other) {
+			super(other);
+			values = Arrays.copyOf(other.values, other.size());
+		}
+
+		@Override
+		public void add(Double value) {
+			pendingValue = value;
+			addPendingKey();
+		}
+
+		@Override
+		public void remove(Double value) {
+			pendingValue = value;
+			if (!removePendingKey()) {
+				throw new IllegalStateException("Invalid count 0 for value %f".formatted(value));
+			}
+		}
+
+		@Override
+		public Double getResult() {
+			int node = getMaximumNode();
+			return node == NONE ? getEmptyResult() : values[node];
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public StatefulAggregate<Double, Double> deepCopy() {
+			return new Aggregate(this);
+		}
+
+		@Override
+		public boolean contains(Double value) {
+			pendingValue = value;
+			return findPendingKey() != NONE;
+		}
+
+		@Override
+		protected int compareToPendingKey(int node) {
+			return compare(pendingValue, values[node]);
+		}
+
+		@Override
+		protected int compareNodes(int node, int otherNode) {
+			return compare(values[node], values[otherNode]);
+		}
+
+		@Override
+		protected void storePendingKey(int node) {
+			values[node] = pendingValue;
+		}
+
+		@Override
+		protected void moveKey(int fromNode, int toNode) {
+			values[toNode] = values[fromNode];
+		}
+
+		@Override
+		protected void resizeKeys(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+	}
+}
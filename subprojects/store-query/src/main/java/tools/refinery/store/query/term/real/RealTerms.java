@@ -7,18 +7,13 @@ package tools.refinery.store.query.term.real;
 
 import tools.refinery.store.query.term.Aggregator;
 import tools.refinery.store.query.term.ConstantTerm;
-import tools.refinery.store.query.term.ExtremeValueAggregator;
 import tools.refinery.store.query.term.Term;
 import tools.refinery.store.query.term.comparable.*;
 
-import java.util.Comparator;
-
 public final class RealTerms {
 	public static final Aggregator<Double, Double> REAL_SUM = RealSumAggregator.INSTANCE;
-	public static final Aggregator<Double, Double> REAL_MIN = new ExtremeValueAggregator<>(Double.class,
-			Double.POSITIVE_INFINITY);
-	public static final Aggregator<Double, Double> REAL_MAX = new ExtremeValueAggregator<>(Double.class,
-			Double.NEGATIVE_INFINITY, Comparator.reverseOrder());
+	public static final Aggregator<Double, Double> REAL_MIN = RealExtremeValueAggregator.MINIMUM;
+	public static final Aggregator<Double, Double> REAL_MAX = RealExtremeValueAggregator.MAXIMUM;
 
 	private RealTerms() {
 		throw new IllegalArgumentException("This is a static utility class and should not be instantiated directly");
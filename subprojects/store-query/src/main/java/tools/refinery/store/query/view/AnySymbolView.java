@@ -7,6 +7,8 @@ package tools.refinery.store.query.view;
 
 import tools.refinery.store.model.Model;
 import tools.refinery.store.query.dnf.FunctionalDependency;
+import tools.refinery.store.query.equality.LiteralEqualityHelper;
+import tools.refinery.store.query.equality.LiteralHashCodeHelper;
 import tools.refinery.store.representation.AnySymbol;
 import tools.refinery.store.query.Constraint;
 
@@ -36,4 +38,14 @@ public sealed interface AnySymbolView extends Constraint permits SymbolView {
 	default boolean canIndexSlot(int slot) {
 		return false;
 	}
+
+	@Override
+	default boolean equals(LiteralEqualityHelper helper, Constraint other) {
+		return other instanceof AnySymbolView otherSymbolView && helper.symbolViewEqual(this, otherSymbolView);
+	}
+
+	@Override
+	default int hashCode(LiteralHashCodeHelper helper) {
+		return helper.symbolViewHashCode(this);
+	}
 }
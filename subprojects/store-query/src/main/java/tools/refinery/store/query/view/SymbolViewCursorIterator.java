@@ -0,0 +1,169 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.view;
+
+import tools.refinery.store.map.Cursor;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.tuple.Tuple;
+import tools.refinery.store.tuple.Tuple1;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Enumerates the tuples of a {@link SymbolView} straight from the cursor of its interpretation.
+ * <p>
+ * Unlike {@link SymbolView#getAll(Model)} and {@link AnySymbolView#getAdjacent(Model, int, Object)}, we never
+ * materialize the view tuples as {@code Object[]} arrays. Seeds on node slots are compared as primitive {@code int}
+ * values and node slots are mapped to the cached {@link Tuple1} instances, so the only per-tuple allocation is the
+ * result of {@link #transform(Tuple, Object)} (if any).
+ * <p>
+ * Only views accepted by {@link #canEnumerate(AnySymbolView)} may be enumerated.
+ *
+ * @param <T> The value type of the underlying symbol.
+ * @param <R> The type of enumerated elements.
+ */
+public abstract class SymbolViewCursorIterator<T, R> implements Iterator<R> {
+	private final SymbolView<T> view;
+	private final int[] nodeSeedSlots;
+	private final int[] nodeSeedValues;
+	private Object valueSeed;
+	private final Cursor<Tuple, T> cursor;
+	private boolean hasNext;
+
+	/**
+	 * Creates a new iterator.
+	 *
+	 * @param model      The model to enumerate.
+	 * @param view       The view to enumerate.
+	 * @param seedSlots  The slots of the view bound by the seed.
+	 * @param seedValues The values of the bound slots in the same order as {@code seedSlots}. Node slots must be
+	 *                   bound to {@link Tuple1} instances, while the value slot of an {@link AbstractFunctionView} must
+	 *                   be bound to a forward mapped value.
+	 */
+	protected SymbolViewCursorIterator(Model model, SymbolView<T> view, int[] seedSlots, Object[] seedValues) {
+		if (!canEnumerate(view)) {
+			throw new IllegalArgumentException("Cannot enumerate view %s from its cursor".formatted(view));
+		}
+		this.view = view;
+		int symbolArity = view.getSymbol().arity();
+		int seedSize = seedSlots.length;
+		int nodeSeedCount = 0;
+		for (int slot : seedSlots) {
+			if (slot < symbolArity) {
+				nodeSeedCount++;
+			}
+		}
+		nodeSeedSlots = new int[nodeSeedCount];
+		nodeSeedValues = new int[nodeSeedCount];
+		int nodeSeedIndex = 0;
+		boolean validSeed = true;
+		for (int i = 0; i < seedSize; i++) {
+			int slot = seedSlots[i];
+			var seedElement = seedValues[i];
+			if (slot >= symbolArity) {
+				valueSeed = seedElement;
+			} else if (seedElement instanceof Tuple1 wrapper) {
+				nodeSeedSlots[nodeSeedIndex] = slot;
+				nodeSeedValues[nodeSeedIndex] = wrapper.value0();
+				nodeSeedIndex++;
+			} else {
+				// Node slots may only ever contain nodes.
+				validSeed = false;
+			}
+		}
+		if (!validSeed) {
+			cursor = null;
+			return;
+		}
+		var interpretation = model.getInterpretation(view.getSymbol());
+		// Use the first bound slot to restrict the cursor, the remaining slots are checked by the iterator.
+		cursor = nodeSeedCount > 0 ? interpretation.getAdjacent(nodeSeedSlots[0], nodeSeedValues[0]) :
+				interpretation.getAll();
+		moveToNext();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return hasNext;
+	}
+
+	@Override
+	public R next() {
+		if (!hasNext) {
+			throw new NoSuchElementException();
+		}
+		var result = transform(cursor.getKey(), cursor.getValue());
+		moveToNext();
+		return result;
+	}
+
+	/**
+	 * Counts the remaining elements without transforming them.
+	 *
+	 * @return The number of remaining elements.
+	 */
+	public int countRemaining() {
+		int result = 0;
+		while (hasNext) {
+			result++;
+			moveToNext();
+		}
+		return result;
+	}
+
+	protected abstract R transform(Tuple key, T value);
+
+	/**
+	 * Gets an element of the current view tuple.
+	 *
+	 * @param key   The key of the current cursor position.
+	 * @param value The value of the current cursor position.
+	 * @param slot  The slot of the view tuple.
+	 * @return The cached {@link Tuple1} for node slots, or the forward mapped value for the value slot.
+	 */
+	protected Object getElement(Tuple key, T value, int slot) {
+		if (slot < key.getSize()) {
+			return Tuple.of(key.get(slot));
+		}
+		return ((AbstractFunctionView<T>) view).forwardMapValue(value);
+	}
+
+	private void moveToNext() {
+		while (cursor.move()) {
+			var key = cursor.getKey();
+			var value = cursor.getValue();
+			if (isMatchingNodeSeed(key) && view.filter(key, value) && isMatchingValueSeed(value)) {
+				hasNext = true;
+				return;
+			}
+		}
+		hasNext = false;
+	}
+
+	private boolean isMatchingNodeSeed(Tuple key) {
+		for (int i = 0; i < nodeSeedSlots.length; i++) {
+			if (key.get(nodeSeedSlots[i]) != nodeSeedValues[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean isMatchingValueSeed(T value) {
+		return valueSeed == null || ((AbstractFunctionView<T>) view).valueEquals(value, valueSeed);
+	}
+
+	/**
+	 * Determines whether a view can be enumerated by this iterator.
+	 *
+	 * @param view The view to enumerate.
+	 * @return {@code true} if the leading slots of the view correspond to the slots of the symbol in order.
+	 */
+	public static boolean canEnumerate(AnySymbolView view) {
+		return view instanceof TuplePreservingView<?> || view instanceof AbstractFunctionView<?>;
+	}
+}
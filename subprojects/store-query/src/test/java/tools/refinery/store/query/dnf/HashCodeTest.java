@@ -6,6 +6,7 @@
 package tools.refinery.store.query.dnf;
 
 import org.junit.jupiter.api.Test;
+import tools.refinery.store.query.equality.DeepDnfHashCodeCalculator;
 import tools.refinery.store.query.term.NodeVariable;
 import tools.refinery.store.query.term.Variable;
 import tools.refinery.store.query.view.AnySymbolView;
@@ -64,4 +65,30 @@ class HashCodeTest {
 
 		assertThat(actual.hashCodeWithSubstitution(), not(expected.hashCodeWithSubstitution()));
 	}
+
+	@Test
+	void deepStructuralEqualsTest() {
+		var expected = Dnf.builder("Expected").parameters(q).clause(
+				Dnf.builder("Expected2").parameters(p).clause(personView.call(p)).build().call(q)
+		).build();
+		var actual = Dnf.builder("Actual").parameters(q).clause(
+				Dnf.builder("Actual2").parameters(p).clause(personView.call(p)).build().call(q)
+		).build();
+
+		assertThat(actual.hashCodeWithSubstitution(new DeepDnfHashCodeCalculator()),
+				is(expected.hashCodeWithSubstitution(new DeepDnfHashCodeCalculator())));
+	}
+
+	@Test
+	void deepStructuralNotEqualsTest() {
+		var expected = Dnf.builder("Expected").parameters(q).clause(
+				Dnf.builder("Expected2").parameters(p).clause(personView.call(p)).build().call(q)
+		).build();
+		var actual = Dnf.builder("Actual").parameters(q).clause(
+				Dnf.builder("Actual2").parameters(p).clause(friendView.call(p, p)).build().call(q)
+		).build();
+
+		assertThat(actual.hashCodeWithSubstitution(new DeepDnfHashCodeCalculator()),
+				not(expected.hashCodeWithSubstitution(new DeepDnfHashCodeCalculator())));
+	}
 }
@@ -0,0 +1,168 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.rewriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.query.dnf.Dnf;
+import tools.refinery.store.query.dnf.Query;
+import tools.refinery.store.query.literal.AbstractCallLiteral;
+import tools.refinery.store.query.literal.Literal;
+import tools.refinery.store.query.view.AnySymbolView;
+import tools.refinery.store.query.view.KeyOnlyView;
+import tools.refinery.store.representation.Symbol;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static tools.refinery.store.query.literal.Literals.not;
+
+class CommonSubexpressionRewriterTest {
+	private static final Symbol<Boolean> person = Symbol.of("Person", 1);
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final AnySymbolView personView = new KeyOnlyView<>(person);
+	private static final AnySymbolView friendView = new KeyOnlyView<>(friend);
+
+	private CommonSubexpressionRewriter sut;
+
+	@BeforeEach
+	void beforeEach() {
+		sut = new CommonSubexpressionRewriter();
+	}
+
+	@Test
+	void factorSharedJoinTest() {
+		var query = Query.of("Query", (builder, x, z) -> builder
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						friendView.call(y, z),
+						personView.call(x)
+				))
+				.clause((y) -> List.of(
+						personView.call(z),
+						friendView.call(x, y),
+						friendView.call(y, z)
+				)));
+
+		var clauses = sut.rewrite(query).getDnf().getClauses();
+
+		assertThat(clauses, hasSize(2));
+		var firstLiterals = clauses.get(0).literals();
+		var secondLiterals = clauses.get(1).literals();
+		assertThat(firstLiterals, hasSize(2));
+		assertThat(secondLiterals, hasSize(2));
+		var sharedDnf = getSharedTarget(firstLiterals);
+		assertThat(getSharedTarget(secondLiterals), is(sameInstance(sharedDnf)));
+		assertThat(sharedDnf.arity(), is(3));
+		assertThat(sharedDnf.getClauses().get(0).literals(), hasSize(2));
+	}
+
+	@Test
+	void factorSwappedJoinTest() {
+		var query = Query.of("Query", (builder, x, z) -> builder
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						personView.call(y),
+						personView.call(z)
+				))
+				.clause((y) -> List.of(
+						personView.call(y),
+						friendView.call(x, y),
+						friendView.call(z, x)
+				)));
+
+		var clauses = sut.rewrite(query).getDnf().getClauses();
+
+		var sharedDnf = getSharedTarget(clauses.get(0).literals());
+		assertThat(getSharedTarget(clauses.get(1).literals()), is(sameInstance(sharedDnf)));
+		assertThat(sharedDnf.arity(), is(2));
+	}
+
+	@Test
+	void reuseSharedJoinTest() {
+		var one = Query.of("One", (builder, x, z) -> builder
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						friendView.call(y, z),
+						personView.call(x)
+				))
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						friendView.call(y, z),
+						personView.call(z)
+				)));
+		var two = Query.of("Two", (builder, p, q) -> builder.clause((r) -> List.of(
+				friendView.call(p, r),
+				friendView.call(r, q),
+				not(personView.call(p))
+		)));
+
+		var oneResult = sut.rewrite(one);
+		var twoResult = sut.rewrite(two);
+
+		var sharedDnf = getSharedTarget(oneResult.getDnf().getClauses().get(0).literals());
+		var twoLiterals = twoResult.getDnf().getClauses().get(0).literals();
+		assertThat(twoLiterals, hasSize(2));
+		assertThat(getSharedTarget(twoLiterals), is(sameInstance(sharedDnf)));
+	}
+
+	@Test
+	void notSharedTest() {
+		var query = Query.of("Query", (builder, x, z) -> builder
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						friendView.call(y, z),
+						personView.call(x)
+				))
+				.clause((y) -> List.of(
+						friendView.call(x, y),
+						friendView.call(z, y)
+				)));
+
+		var result = sut.rewrite(query);
+
+		assertThat(result, is(query));
+	}
+
+	@Test
+	void negativeCallNotFactoredTest() {
+		var query = Query.of("Query", (builder, x) -> builder
+				.clause((y) -> List.of(
+						personView.call(x),
+						not(friendView.call(x, y)),
+						friendView.call(y, x)
+				))
+				.clause((y) -> List.of(
+						personView.call(y),
+						not(friendView.call(x, y)),
+						friendView.call(y, x)
+				)));
+
+		var clauses = sut.rewrite(query).getDnf().getClauses();
+
+		for (var clause : clauses) {
+			for (var literal : clause.literals()) {
+				if (literal instanceof AbstractCallLiteral callLiteral) {
+					assertThat(callLiteral.getTarget(), not(instanceOf(Dnf.class)));
+				}
+			}
+		}
+	}
+
+	private static Dnf getSharedTarget(List<Literal> literals) {
+		for (var literal : literals) {
+			if (literal instanceof AbstractCallLiteral callLiteral && callLiteral.getTarget() instanceof Dnf dnf) {
+				return dnf;
+			}
+		}
+		throw new AssertionError("No call to a shared Dnf in " + literals);
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.term.int_;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IntExtremeValueAggregatorTest {
+	@Test
+	void emptyAggregationTest() {
+		assertThat(IntExtremeValueAggregator.MINIMUM.createEmptyAggregate().getResult(), is(Integer.MAX_VALUE));
+		assertThat(IntExtremeValueAggregator.MAXIMUM.createEmptyAggregate().getResult(), is(Integer.MIN_VALUE));
+	}
+
+	@Test
+	void minimumTest() {
+		var accumulator = IntExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		accumulator.add(5);
+		accumulator.add(3);
+		accumulator.add(8);
+		accumulator.add(3);
+		assertThat(accumulator.getResult(), is(3));
+		accumulator.remove(3);
+		assertThat(accumulator.getResult(), is(3));
+		accumulator.remove(3);
+		assertThat(accumulator.getResult(), is(5));
+		accumulator.remove(5);
+		assertThat(accumulator.getResult(), is(8));
+		accumulator.remove(8);
+		assertThat(accumulator.isEmpty(), is(true));
+		assertThat(accumulator.getResult(), is(Integer.MAX_VALUE));
+	}
+
+	@Test
+	void maximumTest() {
+		var accumulator = IntExtremeValueAggregator.MAXIMUM.createEmptyAggregate();
+		for (int i = 0; i < 20; i++) {
+			accumulator.add((i * 7) % 20);
+		}
+		assertThat(accumulator.getResult(), is(19));
+		accumulator.remove(19);
+		accumulator.remove(18);
+		assertThat(accumulator.getResult(), is(17));
+		assertThat(accumulator.contains(18), is(false));
+		assertThat(accumulator.contains(10), is(true));
+	}
+
+	@Test
+	void deepCopyTest() {
+		var accumulator = IntExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		accumulator.add(2);
+		accumulator.add(1);
+		var copy = accumulator.deepCopy();
+		accumulator.remove(1);
+		assertThat(accumulator.getResult(), is(2));
+		assertThat(copy.getResult(), is(1));
+		copy.add(0);
+		assertThat(copy.getResult(), is(0));
+		assertThat(accumulator.getResult(), is(2));
+	}
+
+	@Test
+	void removeMissingTest() {
+		var accumulator = IntExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		accumulator.add(1);
+		assertThrows(IllegalStateException.class, () -> accumulator.remove(2));
+	}
+
+	@Test
+	void streamTest() {
+		assertThat(IntExtremeValueAggregator.MINIMUM.aggregateStream(Stream.of(4, -2, 9)), is(-2));
+		assertThat(IntExtremeValueAggregator.MAXIMUM.aggregateStream(Stream.of(4, -2, 9)), is(9));
+	}
+
+	@Test
+	void randomUpdatesTest() {
+		var random = new Random(1);
+		var accumulator = IntExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		var expected = new TreeMap<Integer, Integer>();
+		for (int i = 0; i < 10000; i++) {
+			int value = random.nextInt(200);
+			// Grow the multiset first, then remove most values to exercise shrinking.
+			boolean add = i < 5000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+			if (add) {
+				accumulator.add(value);
+				expected.merge(value, 1, Integer::sum);
+			} else if (expected.containsKey(value)) {
+				accumulator.remove(value);
+				expected.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+			} else {
+				assertThrows(IllegalStateException.class, () -> accumulator.remove(value));
+			}
+			assertThat(accumulator.getResult(), is(expected.isEmpty() ? Integer.MAX_VALUE : expected.firstKey()));
+			assertThat(accumulator.contains(value), is(expected.containsKey(value)));
+		}
+		var copy = accumulator.deepCopy();
+		for (var entry : expected.entrySet()) {
+			for (int i = 0; i < entry.getValue(); i++) {
+				accumulator.remove(entry.getKey());
+			}
+		}
+		assertThat(accumulator.isEmpty(), is(true));
+		assertThat(copy.getResult(), is(expected.isEmpty() ? Integer.MAX_VALUE : expected.firstKey()));
+	}
+
+	@Test
+	void removeAllTest() {
+		var accumulator = IntExtremeValueAggregator.MAXIMUM.createEmptyAggregate();
+		int count = 1000;
+		for (int i = 0; i < count; i++) {
+			accumulator.add(i);
+		}
+		for (int i = 0; i < count; i++) {
+			assertThat(accumulator.getResult(), is(count - 1));
+			accumulator.remove(i);
+		}
+		assertThat(accumulator.isEmpty(), is(true));
+		accumulator.add(3);
+		assertThat(accumulator.getResult(), is(3));
+	}
+}
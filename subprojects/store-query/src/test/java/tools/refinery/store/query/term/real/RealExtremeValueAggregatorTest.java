@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.term.real;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+class RealExtremeValueAggregatorTest {
+	@Test
+	void emptyAggregationTest() {
+		assertThat(RealExtremeValueAggregator.MINIMUM.createEmptyAggregate().getResult(),
+				is(Double.POSITIVE_INFINITY));
+		assertThat(RealExtremeValueAggregator.MAXIMUM.createEmptyAggregate().getResult(),
+				is(Double.NEGATIVE_INFINITY));
+	}
+
+	@Test
+	void minimumTest() {
+		var accumulator = RealExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		accumulator.add(2.5);
+		accumulator.add(-1.5);
+		accumulator.add(0.5);
+		assertThat(accumulator.getResult(), is(-1.5));
+		accumulator.remove(-1.5);
+		assertThat(accumulator.getResult(), is(0.5));
+	}
+
+	@Test
+	void maximumTest() {
+		var accumulator = RealExtremeValueAggregator.MAXIMUM.createEmptyAggregate();
+		accumulator.add(2.5);
+		accumulator.add(-1.5);
+		accumulator.add(2.5);
+		accumulator.remove(2.5);
+		assertThat(accumulator.getResult(), is(2.5));
+		accumulator.remove(2.5);
+		assertThat(accumulator.getResult(), is(-1.5));
+	}
+
+	@Test
+	void signedZeroTest() {
+		var accumulator = RealExtremeValueAggregator.MINIMUM.createEmptyAggregate();
+		accumulator.add(0.0);
+		accumulator.add(-0.0);
+		assertThat(accumulator.getResult(), is(-0.0));
+		assertThat(accumulator.contains(0.0), is(true));
+	}
+
+	@Test
+	void nanTest() {
+		var accumulator = RealExtremeValueAggregator.MAXIMUM.createEmptyAggregate();
+		accumulator.add(1.0);
+		accumulator.add(Double.NaN);
+		assertThat(accumulator.getResult(), is(Double.NaN));
+		accumulator.remove(Double.NaN);
+		assertThat(accumulator.getResult(), is(1.0));
+	}
+
+	@Test
+	void randomUpdatesTest() {
+		var random = new Random(1);
+		var accumulator = RealExtremeValueAggregator.MAXIMUM.createEmptyAggregate();
+		var expected = new TreeMap<Double, Integer>();
+		for (int i = 0; i < 10000; i++) {
+			double value = random.nextInt(200) / 4.0;
+			boolean add = i < 5000 ? random.nextInt(4) != 0 : random.nextInt(4) == 0;
+			if (add) {
+				accumulator.add(value);
+				expected.merge(value, 1, Integer::sum);
+			} else if (expected.containsKey(value)) {
+				accumulator.remove(value);
+				expected.computeIfPresent(value, (key, count) -> count == 1 ? null : count - 1);
+			}
+			assertThat(accumulator.getResult(), is(expected.isEmpty() ? Double.NEGATIVE_INFINITY :
+					expected.lastKey()));
+		}
+	}
+}
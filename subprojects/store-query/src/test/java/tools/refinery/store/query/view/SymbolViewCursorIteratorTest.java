@@ -0,0 +1,218 @@
+/*
+ * SPDX-FileCopyrightText: 2023 The Refinery Authors <https://refinery.tools/>
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ */
+package tools.refinery.store.query.view;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tools.refinery.store.model.Model;
+import tools.refinery.store.model.ModelStore;
+import tools.refinery.store.query.term.Parameter;
+import tools.refinery.store.representation.Symbol;
+import tools.refinery.store.tuple.Tuple;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SymbolViewCursorIteratorTest {
+	private static final Symbol<Boolean> friend = Symbol.of("friend", 2);
+	private static final Symbol<Integer> age = Symbol.of("age", 1, Integer.class);
+	private static final Symbol<Integer> score = Symbol.of("score", 1, Integer.class);
+
+	private Model model;
+
+	@BeforeEach
+	void beforeEach() {
+		var store = ModelStore.builder()
+				.symbols(friend, age, score)
+				.build();
+		model = store.createEmptyModel();
+		var friendInterpretation = model.getInterpretation(friend);
+		friendInterpretation.put(Tuple.of(0, 1), true);
+		friendInterpretation.put(Tuple.of(0, 2), true);
+		friendInterpretation.put(Tuple.of(1, 2), true);
+		var ageInterpretation = model.getInterpretation(age);
+		ageInterpretation.put(Tuple.of(0), 18);
+		ageInterpretation.put(Tuple.of(1), 21);
+		ageInterpretation.put(Tuple.of(2), 18);
+		var scoreInterpretation = model.getInterpretation(score);
+		scoreInterpretation.put(Tuple.of(0), 5);
+		scoreInterpretation.put(Tuple.of(1), 10);
+	}
+
+	@Test
+	void canEnumerateTest() {
+		assertThat(SymbolViewCursorIterator.canEnumerate(new KeyOnlyView<>(friend)), is(true));
+		assertThat(SymbolViewCursorIterator.canEnumerate(new FunctionView<>(age)), is(true));
+		assertThat(SymbolViewCursorIterator.canEnumerate(new FilteredView<>(age, value -> value > 20)), is(true));
+		assertThat(SymbolViewCursorIterator.canEnumerate(new SwappedView(friend)), is(false));
+	}
+
+	@Test
+	void enumerateAllTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[0], new Object[0]);
+		assertThat(toList(iterator), containsInAnyOrder(
+				List.of(Tuple.of(0), Tuple.of(1)),
+				List.of(Tuple.of(0), Tuple.of(2)),
+				List.of(Tuple.of(1), Tuple.of(2))
+		));
+		assertThrows(NoSuchElementException.class, iterator::next);
+	}
+
+	@Test
+	void enumerateBoundNodeTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[]{1}, new Object[]{Tuple.of(2)});
+		assertThat(toList(iterator), containsInAnyOrder(
+				List.of(Tuple.of(0), Tuple.of(2)),
+				List.of(Tuple.of(1), Tuple.of(2))
+		));
+	}
+
+	@Test
+	void enumerateBoundNodesTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[]{1, 0},
+				new Object[]{Tuple.of(2), Tuple.of(1)});
+		assertThat(toList(iterator), contains(List.of(Tuple.of(1), Tuple.of(2))));
+	}
+
+	@Test
+	void enumerateInvalidNodeSeedTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[]{0}, new Object[]{0});
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	void enumerateFilteredTest() {
+		var view = new FilteredView<>(age, value -> value > 20);
+		var iterator = new ElementListIterator<>(model, view, new int[0], new Object[0]);
+		assertThat(toList(iterator), contains(List.of(Tuple.of(1))));
+	}
+
+	@Test
+	void enumerateFunctionValuesTest() {
+		var iterator = new ElementListIterator<>(model, new FunctionView<>(age), new int[0], new Object[0]);
+		assertThat(toList(iterator), containsInAnyOrder(
+				List.of(Tuple.of(0), 18),
+				List.of(Tuple.of(1), 21),
+				List.of(Tuple.of(2), 18)
+		));
+	}
+
+	@Test
+	void enumerateBoundValueTest() {
+		var iterator = new ElementListIterator<>(model, new FunctionView<>(age), new int[]{1}, new Object[]{18});
+		assertThat(toList(iterator), containsInAnyOrder(
+				List.of(Tuple.of(0), 18),
+				List.of(Tuple.of(2), 18)
+		));
+	}
+
+	@Test
+	void enumerateForwardMappedValueTest() {
+		var view = new DoubledView(score);
+		var iterator = new ElementListIterator<>(model, view, new int[]{1}, new Object[]{20});
+		assertThat(toList(iterator), contains(List.of(Tuple.of(1), 20)));
+	}
+
+	@Test
+	void countRemainingTest() {
+		var view = new FunctionView<>(age);
+		assertThat(new ElementListIterator<>(model, view, new int[0], new Object[0]).countRemaining(), is(3));
+		assertThat(new ElementListIterator<>(model, view, new int[]{1}, new Object[]{18}).countRemaining(), is(2));
+		assertThat(new ElementListIterator<>(model, view, new int[]{0, 1}, new Object[]{Tuple.of(1), 18})
+				.countRemaining(), is(0));
+	}
+
+	@Test
+	void countRemainingAfterNextTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[0], new Object[0]);
+		iterator.next();
+		assertThat(iterator.countRemaining(), is(2));
+		assertThat(iterator.hasNext(), is(false));
+	}
+
+	@Test
+	void cannotEnumerateSwappedViewTest() {
+		var view = new SwappedView(friend);
+		var seedSlots = new int[0];
+		var seedValues = new Object[0];
+		assertThrows(IllegalArgumentException.class, () -> new ElementListIterator<>(model, view, seedSlots, seedValues));
+	}
+
+	@Test
+	void emptyTest() {
+		var iterator = new ElementListIterator<>(model, new KeyOnlyView<>(friend), new int[]{0}, new Object[]{Tuple.of(2)});
+		assertThat(toList(iterator), is(empty()));
+	}
+
+	private static List<List<Object>> toList(ElementListIterator<?> iterator) {
+		var result = new ArrayList<List<Object>>();
+		iterator.forEachRemaining(result::add);
+		return result;
+	}
+
+	private static class ElementListIterator<T> extends SymbolViewCursorIterator<T, List<Object>> {
+		private final int arity;
+
+		ElementListIterator(Model model, SymbolView<T> view, int[] seedSlots, Object[] seedValues) {
+			super(model, view, seedSlots, seedValues);
+			arity = view.arity();
+		}
+
+		@Override
+		protected List<Object> transform(Tuple key, T value) {
+			var elements = new ArrayList<>(arity);
+			for (int i = 0; i < arity; i++) {
+				elements.add(getElement(key, value, i));
+			}
+			return elements;
+		}
+	}
+
+	private static class DoubledView extends AbstractFunctionView<Integer> {
+		DoubledView(Symbol<Integer> symbol) {
+			super(symbol, "doubled", new Parameter(Integer.class));
+		}
+
+		@Override
+		protected Object forwardMapValue(Integer value) {
+			return value * 2;
+		}
+	}
+
+	private static class SwappedView extends SymbolView<Boolean> {
+		SwappedView(Symbol<Boolean> symbol) {
+			super(symbol, "swapped");
+		}
+
+		@Override
+		protected boolean doFilter(Tuple key, Boolean value) {
+			return true;
+		}
+
+		@Override
+		public Object[] forwardMap(Tuple key, Boolean value) {
+			return new Object[]{Tuple.of(key.get(1)), Tuple.of(key.get(0))};
+		}
+
+		@Override
+		public boolean get(Model model, Object[] tuple) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public List<Parameter> getParameters() {
+			return List.of(Parameter.NODE_OUT, Parameter.NODE_OUT);
+		}
+	}
+}